@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.model.showcase.CompiledForm;
+import com.yandex.money.api.model.showcase.Showcase;
+import com.yandex.money.api.model.showcase.components.uicontrols.ParameterControl;
+import com.yandex.money.api.model.showcase.components.uicontrols.Text;
+import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a keystroke in a showcase form: a value of a text control is changed, the form is validated and payment
+ * parameters are collected, with the component tree and with {@link CompiledForm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledFormBenchmark {
+
+    private static final String[] VALUES = { "7805498776", "780549877" };
+
+    private Showcase showcase;
+    private CompiledForm form;
+    private Text text;
+    private int counter;
+
+    @Setup
+    public void setUp() throws Exception {
+        showcase = ShowcaseTypeAdapter.getInstance().fromJson(Resources.load("/showcase/showcase_bills.json"));
+        form = new CompiledForm(showcase);
+        for (ParameterControl control : form.getControls()) {
+            if (control instanceof Text && ((Text) control).pattern != null) {
+                text = (Text) control;
+                break;
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> tree() {
+        text.setValue(VALUES[++counter & 1]);
+        return showcase.form.isValid() ? showcase.getPaymentParameters() : null;
+    }
+
+    @Benchmark
+    public Map<String, String> compiled() {
+        form.setValue(text, VALUES[++counter & 1]);
+        return form.isValid() ? form.getPaymentParameters() : null;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import com.yandex.money.api.time.Months;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link DateTime} with {@link Calendar} it used to wrap. Arithmetic benchmarks copy a calendar before
+ * changing it as the previous implementation of {@link DateTime} did. Footprint benchmarks create a batch of
+ * instances, run them with {@code -prof gc} and compare {@code gc.alloc.rate.norm} to see bytes per batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final long STEP = TimeUnit.MINUTES.toMillis(317);
+
+    private TimeZone timeZone;
+    private DateTime dateTime;
+    private Calendar calendar;
+
+    @Setup
+    public void setUp() {
+        timeZone = TimeZone.getTimeZone("Europe/Moscow");
+        dateTime = DateTime.from(1526367600000L, timeZone);
+        calendar = new GregorianCalendar(timeZone);
+        calendar.setTimeInMillis(dateTime.getMillis());
+    }
+
+    @Benchmark
+    public DateTime plusDays() {
+        return dateTime.plus(Days.ONE);
+    }
+
+    @Benchmark
+    public Calendar plusDaysCalendar() {
+        Calendar copy = (Calendar) calendar.clone();
+        copy.add(Calendar.DAY_OF_YEAR, 1);
+        copy.getTimeInMillis();
+        return copy;
+    }
+
+    @Benchmark
+    public DateTime plusMonths() {
+        return dateTime.plus(Months.ONE);
+    }
+
+    @Benchmark
+    public Calendar plusMonthsCalendar() {
+        Calendar copy = (Calendar) calendar.clone();
+        copy.add(Calendar.MONTH, 1);
+        copy.getTimeInMillis();
+        return copy;
+    }
+
+    @Benchmark
+    public DateTime withTimeAtStartOfDay() {
+        return dateTime.withTimeAtStartOfDay();
+    }
+
+    @Benchmark
+    public Calendar withTimeAtStartOfDayCalendar() {
+        Calendar copy = (Calendar) calendar.clone();
+        copy.set(Calendar.HOUR_OF_DAY, 0);
+        copy.set(Calendar.MINUTE, 0);
+        copy.set(Calendar.SECOND, 0);
+        copy.set(Calendar.MILLISECOND, 0);
+        copy.getTimeInMillis();
+        return copy;
+    }
+
+    @Benchmark
+    public int fields() {
+        return dateTime.getYear() + dateTime.getMonth() + dateTime.getDayOfMonth() + dateTime.getHourOfDay()
+                + dateTime.getMinute();
+    }
+
+    @Benchmark
+    public int fieldsCalendar() {
+        return calendar.get(Calendar.YEAR) + calendar.get(Calendar.MONTH) + calendar.get(Calendar.DAY_OF_MONTH)
+                + calendar.get(Calendar.HOUR_OF_DAY) + calendar.get(Calendar.MINUTE);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public DateTime[] footprint() {
+        DateTime[] batch = new DateTime[BATCH_SIZE];
+        long millis = dateTime.getMillis();
+        for (int i = 0; i < batch.length; ++i) {
+            batch[i] = DateTime.from(millis + i * STEP, timeZone);
+        }
+        return batch;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Calendar[] footprintCalendar() {
+        Calendar[] batch = new Calendar[BATCH_SIZE];
+        long millis = dateTime.getMillis();
+        for (int i = 0; i < batch.length; ++i) {
+            Calendar calendar = new GregorianCalendar(timeZone);
+            calendar.setTimeInMillis(millis + i * STEP);
+            batch[i] = calendar;
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.exceptions.IllegalAmountException;
+import com.yandex.money.api.model.showcase.AmountType;
+import com.yandex.money.api.model.showcase.DefaultFee;
+import com.yandex.money.api.model.showcase.Fee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fee calculations of {@link DefaultFee} that delegates to {@code StdFee}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeeBenchmark {
+
+    /**
+     * Coefficients a, b, c and d of a fee; an empty d means no maximum fee.
+     */
+    @Param({"0.005 0 0 ", "0.03 15.00 0 ", "0.005 0 0.60 0.04", "0.0333 0 0 "})
+    public String coefficients;
+
+    private Fee fee;
+    private BigDecimal amount;
+
+    @Setup
+    public void setUp() {
+        String[] values = coefficients.split(" ", -1);
+        BigDecimal d = values[3].isEmpty() ? null : new BigDecimal(values[3]);
+        fee = new DefaultFee(Fee.Type.STD, new BigDecimal(values[0]), new BigDecimal(values[1]),
+                new BigDecimal(values[2]), d, AmountType.AMOUNT);
+        amount = new BigDecimal("1234.56");
+    }
+
+    @Benchmark
+    public BigDecimal amount() {
+        return fee.amount(amount);
+    }
+
+    @Benchmark
+    public BigDecimal netAmount() throws IllegalAmountException {
+        return fee.netAmount(amount);
+    }
+}
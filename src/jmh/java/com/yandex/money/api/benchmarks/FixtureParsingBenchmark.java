@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.google.gson.Gson;
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.methods.InstanceId;
+import com.yandex.money.api.methods.payment.RequestExternalPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.methods.wallet.AccountInfo;
+import com.yandex.money.api.methods.wallet.IncomingTransferAccept;
+import com.yandex.money.api.methods.wallet.IncomingTransferReject;
+import com.yandex.money.api.methods.wallet.OperationDetails;
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.model.Card;
+import com.yandex.money.api.model.ExternalCard;
+import com.yandex.money.api.model.Fees;
+import com.yandex.money.api.typeadapters.GsonProvider;
+import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses each response fixture of {@code src/test/resources/methods} and {@code src/test/resources/model} with
+ * {@link GsonProvider} (showcase with {@link ShowcaseTypeAdapter}) the same way {@code ModelTests} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureParsingBenchmark {
+
+    @Param({
+            "/methods/instance-id-success.json",
+            "/methods/instance-id-refused.json",
+            "/methods/payment/request-external-payment-1.json",
+            "/methods/payment/request-external-payment-2.json",
+            "/methods/payment/request-external-payment-3.json",
+            "/methods/payment/request-payment-1.json",
+            "/methods/payment/request-payment-2.json",
+            "/methods/payment/request-payment-3.json",
+            "/methods/wallet/account-info.json",
+            "/methods/wallet/account-info-no-bonus.json",
+            "/methods/wallet/incoming-transfer-accept-success.json",
+            "/methods/wallet/incoming-transfer-accept-refused-1.json",
+            "/methods/wallet/incoming-transfer-accept-refused-2.json",
+            "/methods/wallet/incoming-transfer-reject-success.json",
+            "/methods/wallet/incoming-transfer-reject-refused.json",
+            "/methods/wallet/operation-details-1.json",
+            "/methods/wallet/operation-details-2.json",
+            "/methods/wallet/operation-details-3.json",
+            "/methods/wallet/operation-details-4.json",
+            "/methods/wallet/operation-details-5.json",
+            "/methods/wallet/operation-history-1.json",
+            "/methods/wallet/operation-history-2.json",
+            "/methods/wallet/operation-history-3.json",
+            "/methods/wallet/operation-history-4.json",
+            "/methods/wallet/operation-history-5.json",
+            "/methods/wallet/operation-history-6.json",
+            "/methods/wallet/operation-history-7.json",
+            "/model/card-1.json",
+            "/model/card-2.json",
+            "/model/external-card.json",
+            "/model/fees-1.json",
+            "/model/fees-2.json",
+            "/model/fees-3.json",
+            "/model/showcase.json"
+    })
+    public String fixture;
+
+    private Gson gson;
+    private Class<?> type;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        gson = GsonProvider.getGson();
+        type = getType(fixture);
+        json = Resources.load(fixture);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return type == null ? ShowcaseTypeAdapter.getInstance().fromJson(json) : gson.fromJson(json, type);
+    }
+
+    /**
+     * @return type of a fixture or {@code null} for the showcase
+     */
+    private static Class<?> getType(String fixture) {
+        String name = fixture.substring(fixture.lastIndexOf('/') + 1);
+        if (name.startsWith("instance-id")) {
+            return InstanceId.class;
+        } else if (name.startsWith("request-external-payment")) {
+            return RequestExternalPayment.class;
+        } else if (name.startsWith("request-payment")) {
+            return RequestPayment.class;
+        } else if (name.startsWith("account-info")) {
+            return AccountInfo.class;
+        } else if (name.startsWith("incoming-transfer-accept")) {
+            return IncomingTransferAccept.class;
+        } else if (name.startsWith("incoming-transfer-reject")) {
+            return IncomingTransferReject.class;
+        } else if (name.startsWith("operation-details")) {
+            return OperationDetails.class;
+        } else if (name.startsWith("operation-history")) {
+            return OperationHistory.class;
+        } else if (name.startsWith("card")) {
+            return Card.class;
+        } else if (name.startsWith("external-card")) {
+            return ExternalCard.class;
+        } else if (name.startsWith("fees")) {
+            return Fees.class;
+        } else if (name.equals("showcase.json")) {
+            return null;
+        } else {
+            throw new IllegalArgumentException("unknown fixture: " + fixture);
+        }
+    }
+}
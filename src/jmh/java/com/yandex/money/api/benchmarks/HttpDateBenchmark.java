@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.util.HttpHeaders;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares HTTP date codec of {@link HttpHeaders} with {@link SimpleDateFormat} confined to a thread. Formatting of
+ * the same second hits the cache of the last formatted second, formatting of distinct seconds does not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class HttpDateBenchmark {
+
+    private static final String VALUE = "Tue, 15 Nov 1994 08:12:00 GMT";
+
+    private DateFormat simpleDateFormat;
+    private DateTime dateTime;
+    private long millis;
+
+    @Setup
+    public void setUp() {
+        simpleDateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        simpleDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        dateTime = DateTime.from(784887120000L);
+        millis = dateTime.getMillis();
+    }
+
+    @Benchmark
+    public String formatSameSecond() {
+        return HttpHeaders.formatDateTime(dateTime);
+    }
+
+    @Benchmark
+    public String formatDistinctSeconds() {
+        millis += 1000L;
+        return HttpHeaders.formatDateTime(DateTime.from(millis));
+    }
+
+    @Benchmark
+    public String formatSimpleDateFormat() {
+        return simpleDateFormat.format(dateTime.getDate());
+    }
+
+    @Benchmark
+    public DateTime parse() throws ParseException {
+        return HttpHeaders.parseDateTime(VALUE);
+    }
+
+    @Benchmark
+    public Date parseSimpleDateFormat() throws ParseException {
+        return simpleDateFormat.parse(VALUE);
+    }
+}
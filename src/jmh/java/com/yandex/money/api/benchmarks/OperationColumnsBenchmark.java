@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.history.OperationColumns;
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares aggregation of operations in the object model with {@link OperationColumns}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OperationColumnsBenchmark {
+
+    @Param({"10000", "100000"})
+    public int operations;
+
+    private List<Operation> objects;
+    private OperationColumns columns;
+    private OperationColumns.Filter filter;
+
+    @Setup
+    public void setUp() throws Exception {
+        String json = new OperationHistoryGenerator().generate(operations, operations);
+        objects = GsonProvider.getGson().fromJson(json, OperationHistory.class).operations;
+        columns = new OperationColumns(objects.size());
+        columns.addAll(objects);
+        filter = new OperationColumns.Filter.Builder()
+                .setStatuses(OperationStatus.SUCCESS)
+                .create();
+    }
+
+    @Benchmark
+    public Map<Operation.Direction, BigDecimal> objectsSumByDirection() {
+        Map<Operation.Direction, BigDecimal> result = new EnumMap<>(Operation.Direction.class);
+        for (Operation operation : objects) {
+            if (operation.status == OperationStatus.SUCCESS && operation.direction != null) {
+                BigDecimal sum = result.get(operation.direction);
+                result.put(operation.direction, sum == null ? operation.amount : sum.add(operation.amount));
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Map<Operation.Direction, BigDecimal> columnsSumByDirection() {
+        return columns.sumByDirection(filter);
+    }
+
+    @Benchmark
+    public OperationColumns build() {
+        OperationColumns columns = new OperationColumns(objects.size());
+        columns.addAll(objects);
+        return columns;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Iso8601Format;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates synthetic operation history responses of arbitrary size. Operations are copied from operation history
+ * fixtures with unique ids and descending date times, so generated responses have the same shape as real ones.
+ */
+public final class OperationHistoryGenerator {
+
+    private static final int FIXTURES = 7;
+    private static final long START = 1526367600000L;
+    private static final TimeZone TIME_ZONE = TimeZone.getTimeZone("GMT+03:00");
+
+    private final List<JsonObject> templates;
+
+    /**
+     * Creates an instance of this class loading templates from fixtures.
+     *
+     * @throws FileNotFoundException if fixtures are not found
+     */
+    public OperationHistoryGenerator() throws FileNotFoundException {
+        JsonParser parser = new JsonParser();
+        templates = new ArrayList<>();
+        for (int i = 1; i <= FIXTURES; ++i) {
+            String json = Resources.load("/methods/wallet/operation-history-" + i + ".json");
+            JsonElement operations = parser.parse(json).getAsJsonObject().get("operations");
+            if (operations != null) {
+                for (JsonElement operation : operations.getAsJsonArray()) {
+                    templates.add(operation.getAsJsonObject());
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates operation history response.
+     *
+     * @param count number of operations
+     * @param seed seed of random sequence, same seeds produce same responses
+     * @return JSON of operation history response
+     */
+    public String generate(int count, long seed) {
+        Random random = new Random(seed);
+        StringWriter stringWriter = new StringWriter();
+        try {
+            JsonWriter writer = new JsonWriter(stringWriter);
+            writer.beginObject();
+            writer.name("next_record").value(Integer.toString(count));
+            writer.name("operations").beginArray();
+            long millis = START;
+            for (int i = 0; i < count; ++i) {
+                JsonObject operation = copy(templates.get(random.nextInt(templates.size())));
+                millis -= TimeUnit.SECONDS.toMillis(1 + random.nextInt(3600));
+                operation.addProperty("operation_id", Long.toString(100000000L + i));
+                operation.addProperty("datetime", Iso8601Format.format(DateTime.from(millis, TIME_ZONE)));
+                Streams.write(operation, writer);
+            }
+            writer.endArray();
+            writer.endObject();
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return stringWriter.toString();
+    }
+
+    private static JsonObject copy(JsonObject template) {
+        // shallow copy is enough since only top level properties are replaced
+        JsonObject copy = new JsonObject();
+        for (Map.Entry<String, JsonElement> entry : template.entrySet()) {
+            copy.add(entry.getKey(), entry.getValue());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.YearMonth;
+import com.yandex.money.api.typeadapters.GsonProvider;
+import com.yandex.money.api.typeadapters.model.OperationHistoryTypeAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses large operation history responses generated by {@link OperationHistoryGenerator} with streaming and
+ * reflective type adapters and with {@link OperationHistory.Listener} that never holds the whole list of operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OperationHistoryScaleBenchmark {
+
+    @Param({"10000", "50000", "100000"})
+    public int operations;
+
+    private Gson streaming;
+    private Gson reflective;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        streaming = GsonProvider.getGson();
+        reflective = new GsonBuilder()
+                .registerTypeAdapter(DateTime.class, streaming.getAdapter(DateTime.class))
+                .registerTypeAdapter(YearMonth.class, streaming.getAdapter(YearMonth.class))
+                .create();
+        json = new OperationHistoryGenerator().generate(operations, operations);
+    }
+
+    @Benchmark
+    public OperationHistory streaming() {
+        return streaming.fromJson(json, OperationHistory.class);
+    }
+
+    @Benchmark
+    public OperationHistory reflective() {
+        return reflective.fromJson(json, OperationHistory.class);
+    }
+
+    @Benchmark
+    public OperationHistory listener(final Blackhole blackhole) throws Exception {
+        return OperationHistoryTypeAdapter.read(streaming, new JsonReader(new StringReader(json)),
+                new OperationHistory.Listener() {
+                    @Override
+                    public void onOperation(Operation operation) {
+                        blackhole.consume(operation);
+                    }
+                });
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.net.ParametersBuffer;
+import okio.Buffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding of typical payment parameters (ASCII, Cyrillic and reserved characters) by
+ * {@link ParametersBuffer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParametersBufferBenchmark {
+
+    private ParametersBuffer parametersBuffer;
+    private Buffer sink;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> params = new HashMap<>();
+        params.put("pattern_id", "p2p");
+        params.put("to", "410011161616877");
+        params.put("amount_due", "1000.50");
+        params.put("comment", "Перевод за квартиру, март 2018");
+        params.put("message", "Оплата по счёту №42 & спасибо!");
+        params.put("label", "order:12345/item=7");
+        params.put("instance_id", "5V3gGcdnbvQ3CwMdrX4XHHsZ7yHjF2hRnKmUU3Wl2yK+2cK5C1Hlf0PuYrRv0ZnQ");
+        parametersBuffer = new ParametersBuffer().setParameters(params);
+        sink = new Buffer();
+    }
+
+    @Benchmark
+    public byte[] prepareBytes() {
+        return parametersBuffer.prepareBytes();
+    }
+
+    @Benchmark
+    public String prepareGet() {
+        return parametersBuffer.prepareGet();
+    }
+
+    @Benchmark
+    public long writeTo() throws IOException {
+        parametersBuffer.writeTo(sink);
+        long size = sink.size();
+        sink.clear();
+        return size;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.yandex.money.api.model.PayeeIdentifierType;
+import com.yandex.money.api.util.Patterns;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares single pass classification of {@link PayeeIdentifierType#determineAll(CharSequence[])} with matching of
+ * regular expressions from {@link Patterns} on a mixed set of payee identifiers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayeeIdentifierTypeBenchmark {
+
+    private static final String[] IDENTIFIERS = {
+            "41001000001",
+            "410011234567890123",
+            "+7 (912) 123-45-67",
+            "89121234567",
+            "8-800-250-66-99",
+            "user.name",
+            "user@example.com",
+            "first.last+tag@mail.example.co.uk",
+            "not an identifier",
+            "user@"
+    };
+
+    private String[] identifiers;
+
+    @Setup
+    public void setUp() {
+        identifiers = new String[1000];
+        for (int i = 0; i < identifiers.length; ++i) {
+            identifiers[i] = IDENTIFIERS[i % IDENTIFIERS.length];
+        }
+    }
+
+    @Benchmark
+    public PayeeIdentifierType[] singlePass() {
+        return PayeeIdentifierType.determineAll(identifiers);
+    }
+
+    @Benchmark
+    public PayeeIdentifierType[] patterns() {
+        PayeeIdentifierType[] types = new PayeeIdentifierType[identifiers.length];
+        for (int i = 0; i < identifiers.length; ++i) {
+            String identifier = identifiers[i];
+            if (identifier.matches(Patterns.ACCOUNT)) {
+                types[i] = PayeeIdentifierType.ACCOUNT;
+            } else if (identifier.matches(Patterns.PHONE)) {
+                types[i] = PayeeIdentifierType.PHONE;
+            } else if (identifier.matches(Patterns.YANDEX) || identifier.matches(Patterns.EMAIL)) {
+                types[i] = PayeeIdentifierType.EMAIL;
+            }
+        }
+        return types;
+    }
+}
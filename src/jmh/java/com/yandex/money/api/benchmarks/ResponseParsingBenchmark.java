@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.methods.wallet.OperationDetails;
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.YearMonth;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares streaming type adapters registered in {@link GsonProvider} with GSON's reflective type adapters on
+ * operation history and operation details fixtures. Run with {@code -prof gc} to see allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int fixture;
+
+    private Gson streaming;
+    private Gson reflective;
+    private String operationHistory;
+    private String operationDetails;
+
+    @Setup
+    public void setUp() throws Exception {
+        streaming = GsonProvider.getGson();
+        reflective = new GsonBuilder()
+                .registerTypeAdapter(DateTime.class, streaming.getAdapter(DateTime.class))
+                .registerTypeAdapter(YearMonth.class, streaming.getAdapter(YearMonth.class))
+                .create();
+        operationHistory = Resources.load("/methods/wallet/operation-history-" + fixture + ".json");
+        operationDetails = Resources.load("/methods/wallet/operation-details-" + fixture + ".json");
+    }
+
+    @Benchmark
+    public OperationHistory operationHistoryStreaming() {
+        return streaming.fromJson(operationHistory, OperationHistory.class);
+    }
+
+    @Benchmark
+    public OperationHistory operationHistoryReflective() {
+        return reflective.fromJson(operationHistory, OperationHistory.class);
+    }
+
+    @Benchmark
+    public OperationDetails operationDetailsStreaming() {
+        return streaming.fromJson(operationDetails, OperationDetails.class);
+    }
+
+    @Benchmark
+    public OperationDetails operationDetailsReflective() {
+        return reflective.fromJson(operationDetails, OperationDetails.class);
+    }
+}
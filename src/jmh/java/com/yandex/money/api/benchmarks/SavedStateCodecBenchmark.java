@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.benchmarks;
+
+import com.google.gson.Gson;
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.processes.PaymentProcess;
+import com.yandex.money.api.processes.SavedStateCodec;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SavedStateCodec} with GSON JSON form of a completed {@link PaymentProcess.SavedState}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SavedStateCodecBenchmark {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private Gson gson;
+    private PaymentProcess.SavedState savedState;
+    private byte[] binary;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        gson = GsonProvider.getGson();
+        RequestPayment requestPayment = gson.fromJson(Resources.load("/methods/payment/request-payment-1.json"),
+                RequestPayment.class);
+        ProcessPayment processPayment = (ProcessPayment) new ProcessPayment.Builder()
+                .setPaymentId("2ABCDE123456789")
+                .setBalance(new BigDecimal("1000.00"))
+                .setStatus(BaseProcessPayment.Status.SUCCESS)
+                .setInvoiceId("1234567890123456789")
+                .setAcsParams(Collections.<String, String>emptyMap())
+                .create();
+        savedState = new PaymentProcess.SavedState(requestPayment, processPayment, 3);
+        binary = encodeBinary();
+        json = encodeJson();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return SavedStateCodec.encode(savedState);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        String value = savedState.getFlags() + "\n" + gson.toJson(savedState.getRequestPayment()) + "\n" +
+                gson.toJson(savedState.getProcessPayment());
+        return value.getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public PaymentProcess.SavedState decodeBinary() {
+        return SavedStateCodec.decodePaymentProcessSavedState(binary);
+    }
+
+    @Benchmark
+    public PaymentProcess.SavedState decodeJson() {
+        String[] parts = new String(json, UTF_8).split("\n");
+        return new PaymentProcess.SavedState(gson.fromJson(parts[1], RequestPayment.class),
+                gson.fromJson(parts[2], ProcessPayment.class), Integer.parseInt(parts[0]));
+    }
+}
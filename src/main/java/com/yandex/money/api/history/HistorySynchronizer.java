@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.methods.wallet.OperationHistoryIterator;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.SingleFieldPeriod;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Incrementally synchronizes operation history of a wallet with {@link OperationStore}.
+ * <p/>
+ * Only operations newer than store's {@link Watermark} are requested. Operations in progress are rechecked: if the
+ * store contains operations in progress not older than {@code recheckPeriod}, history is requested starting from the
+ * oldest of them. Once synchronized, operations can be read from the store without network requests.
+ */
+public final class HistorySynchronizer {
+
+    private final AsyncApiClient client;
+    private final OperationStore store;
+    private final SingleFieldPeriod recheckPeriod;
+    private final boolean details;
+
+    /**
+     * Constructor.
+     *
+     * @param client authorized API client
+     * @param store store to synchronize
+     * @param recheckPeriod period during which operations in progress are rechecked
+     * @param details request detailed operations
+     */
+    public HistorySynchronizer(AsyncApiClient client, OperationStore store, SingleFieldPeriod recheckPeriod,
+                               boolean details) {
+        this.client = checkNotNull(client, "client");
+        this.store = checkNotNull(store, "store");
+        this.recheckPeriod = checkNotNull(recheckPeriod, "recheckPeriod");
+        this.details = details;
+    }
+
+    /**
+     * Fetches new and changed operations and appends them to the store. Watermark is advanced only if all operations
+     * were fetched successfully.
+     *
+     * @return number of operations appended to the store
+     * @throws OperationHistoryIterator.FetchException if a page of operation history can not be fetched
+     */
+    public int sync() throws Exception {
+        Watermark watermark = store.getWatermark();
+        DateTime from = null;
+        if (watermark != null) {
+            from = watermark.datetime;
+            DateTime inProgress = store.getOldestInProgress(DateTime.now().minus(recheckPeriod));
+            if (inProgress != null && inProgress.isBefore(from)) {
+                from = inProgress;
+            }
+        }
+
+        OperationHistory.Request.Builder builder = new OperationHistory.Request.Builder()
+                .setFrom(from)
+                .setDetails(details);
+        OperationHistoryIterator iterator = new OperationHistoryIterator(client, builder);
+        try {
+            int appended = 0;
+            Watermark newest = null;
+            while (iterator.hasNext()) {
+                Operation operation = iterator.next();
+                if (newest == null && operation.datetime != null) {
+                    newest = new Watermark(operation.datetime, operation.operationId);
+                }
+                if (store.append(operation)) {
+                    ++appended;
+                }
+            }
+            if (newest != null && (watermark == null || newest.datetime.isAfter(watermark.datetime))) {
+                store.setWatermark(newest);
+            } else {
+                store.flush();
+            }
+            return appended;
+        } finally {
+            iterator.close();
+        }
+    }
+}
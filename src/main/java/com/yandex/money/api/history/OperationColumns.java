@@ -0,0 +1,575 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.yandex.money.api.model.Currency;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.SingleFieldPeriod;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Column-oriented in-memory storage of operations for analytics queries.
+ * <p/>
+ * Operations are decomposed into primitive arrays: amounts are stored as longs scaled by {@link #SCALE}, date times
+ * as epoch milliseconds, enums as their ordinals and labels as codes of a dictionary. Queries select matching rows
+ * column by column in tight loops over arrays and aggregate selected amounts without creating {@link BigDecimal}s
+ * per operation.
+ * <p/>
+ * Only fields used in queries are stored: amount, amount currency, direction, type, status, date time, label and
+ * categories. The implementation of this class is not thread-safe, queries can be executed concurrently as long as
+ * operations are not added.
+ */
+public final class OperationColumns {
+
+    /**
+     * Number of digits after the decimal point of stored amounts.
+     */
+    public static final int SCALE = 2;
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final long NO_DATETIME = Long.MIN_VALUE;
+
+    private static final Operation.Direction[] DIRECTIONS = Operation.Direction.values();
+    private static final Operation.Type[] TYPES = Operation.Type.values();
+    private static final OperationStatus[] STATUSES = OperationStatus.values();
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final Map<String, Integer> labelCodes = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    private int size;
+    private long[] amounts;
+    private long[] datetimes;
+    private byte[] directions;
+    private byte[] types;
+    private byte[] statuses;
+    private short[] currencies;
+    private int[] labelIds;
+    private int[] categoryOffsets;
+    private int[] categories;
+
+    public OperationColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity expected number of operations
+     */
+    public OperationColumns(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity should not be negative");
+        }
+        amounts = new long[capacity];
+        datetimes = new long[capacity];
+        directions = new byte[capacity];
+        types = new byte[capacity];
+        statuses = new byte[capacity];
+        currencies = new short[capacity];
+        labelIds = new int[capacity];
+        categoryOffsets = new int[capacity + 1];
+        categories = new int[capacity];
+    }
+
+    /**
+     * Adds an operation.
+     *
+     * @param operation operation
+     * @throws ArithmeticException if amount has more than {@link #SCALE} digits after the decimal point or does not
+     * fit into long
+     */
+    public void add(Operation operation) {
+        checkNotNull(operation, "operation");
+        long amount = operation.amount == null ? 0 : toScaled(operation.amount);
+        List<Integer> operationCategories = operation.categories == null ?
+                Collections.<Integer>emptyList() : operation.categories;
+
+        ensureCapacity(size + 1);
+        int categoryCount = categoryOffsets[size];
+        if (categoryCount + operationCategories.size() > categories.length) {
+            categories = Arrays.copyOf(categories,
+                    Math.max(categories.length * 2, categoryCount + operationCategories.size()));
+        }
+        for (Integer category : operationCategories) {
+            categories[categoryCount++] = category;
+        }
+
+        amounts[size] = amount;
+        datetimes[size] = operation.datetime == null ? NO_DATETIME : operation.datetime.getMillis();
+        directions[size] = (byte) ordinal(operation.direction);
+        types[size] = (byte) ordinal(operation.type);
+        statuses[size] = (byte) ordinal(operation.status);
+        currencies[size] = (short) ordinal(operation.amountCurrency);
+        labelIds[size] = encodeLabel(operation.label);
+        categoryOffsets[size + 1] = categoryCount;
+        ++size;
+    }
+
+    /**
+     * Adds operations.
+     *
+     * @param operations operations
+     */
+    public void addAll(Iterable<Operation> operations) {
+        for (Operation operation : checkNotNull(operations, "operations")) {
+            add(operation);
+        }
+    }
+
+    /**
+     * @return number of operations
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return number of matching operations
+     */
+    public int count(Filter filter) {
+        return select(filter, new int[size]);
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amount of matching operations
+     */
+    public BigDecimal sum(Filter filter) {
+        int[] selection = new int[size];
+        int count = select(filter, selection);
+        long sum = 0;
+        for (int i = 0; i < count; ++i) {
+            sum += amounts[selection[i]];
+        }
+        return BigDecimal.valueOf(sum, SCALE);
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amounts of matching operations by direction
+     */
+    public Map<Operation.Direction, BigDecimal> sumByDirection(Filter filter) {
+        return group(DIRECTIONS, sumBy(filter, directions, DIRECTIONS.length));
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amounts of matching operations by type
+     */
+    public Map<Operation.Type, BigDecimal> sumByType(Filter filter) {
+        return group(TYPES, sumBy(filter, types, TYPES.length));
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amounts of matching operations by status
+     */
+    public Map<OperationStatus, BigDecimal> sumByStatus(Filter filter) {
+        return group(STATUSES, sumBy(filter, statuses, STATUSES.length));
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amounts of matching operations by currency
+     */
+    public Map<Currency, BigDecimal> sumByCurrency(Filter filter) {
+        int[] selection = new int[size];
+        int count = select(filter, selection);
+        long[] sums = new long[CURRENCIES.length + 1];
+        long[] counts = new long[CURRENCIES.length + 1];
+        for (int i = 0; i < count; ++i) {
+            int row = selection[i];
+            int group = currencies[row] + 1;
+            sums[group] += amounts[row];
+            ++counts[group];
+        }
+        return group(CURRENCIES, new long[][] { sums, counts });
+    }
+
+    /**
+     * @param filter filter of operations
+     * @return total amounts of matching operations by label
+     */
+    public Map<String, BigDecimal> sumByLabel(Filter filter) {
+        String[] values = labels.toArray(new String[labels.size()]);
+        int[] selection = new int[size];
+        int count = select(filter, selection);
+        long[] sums = new long[values.length + 1];
+        long[] counts = new long[values.length + 1];
+        for (int i = 0; i < count; ++i) {
+            int row = selection[i];
+            int group = labelIds[row] + 1;
+            sums[group] += amounts[row];
+            ++counts[group];
+        }
+        return group(values, new long[][] { sums, counts });
+    }
+
+    /**
+     * Sums amounts of matching operations by consecutive periods. Operations out of periods are ignored.
+     *
+     * @param filter filter of operations
+     * @param from start of the first period
+     * @param period length of a period
+     * @param periods number of periods
+     * @return total amounts by periods
+     */
+    public BigDecimal[] sumByPeriod(Filter filter, DateTime from, SingleFieldPeriod period, int periods) {
+        checkNotNull(from, "from");
+        checkNotNull(period, "period");
+        if (periods < 0) {
+            throw new IllegalArgumentException("periods should not be negative");
+        }
+
+        long[] bounds = new long[periods + 1];
+        DateTime bound = from;
+        for (int i = 0; i <= periods; ++i) {
+            bounds[i] = bound.getMillis();
+            bound = bound.plus(period);
+        }
+
+        int[] selection = new int[size];
+        int count = select(filter, selection);
+        long[] sums = new long[periods];
+        for (int i = 0; i < count; ++i) {
+            int row = selection[i];
+            int index = Arrays.binarySearch(bounds, datetimes[row]);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index >= 0 && index < periods) {
+                sums[index] += amounts[row];
+            }
+        }
+
+        BigDecimal[] result = new BigDecimal[periods];
+        for (int i = 0; i < periods; ++i) {
+            result[i] = BigDecimal.valueOf(sums[i], SCALE);
+        }
+        return result;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= amounts.length) {
+            return;
+        }
+        int length = Math.max(capacity, amounts.length * 2);
+        amounts = Arrays.copyOf(amounts, length);
+        datetimes = Arrays.copyOf(datetimes, length);
+        directions = Arrays.copyOf(directions, length);
+        types = Arrays.copyOf(types, length);
+        statuses = Arrays.copyOf(statuses, length);
+        currencies = Arrays.copyOf(currencies, length);
+        labelIds = Arrays.copyOf(labelIds, length);
+        categoryOffsets = Arrays.copyOf(categoryOffsets, length + 1);
+    }
+
+    private int encodeLabel(String label) {
+        if (label == null) {
+            return -1;
+        }
+        Integer code = labelCodes.get(label);
+        if (code == null) {
+            code = labels.size();
+            labels.add(label);
+            labelCodes.put(label, code);
+        }
+        return code;
+    }
+
+    /**
+     * Selects rows matching a filter.
+     *
+     * @param selection array of at least {@link #size} elements to put indices of selected rows to
+     * @return number of selected rows
+     */
+    private int select(Filter filter, int[] selection) {
+        checkNotNull(filter, "filter");
+        int count = 0;
+        if (filter.from != Long.MIN_VALUE || filter.till != Long.MAX_VALUE) {
+            long from = Math.max(filter.from, NO_DATETIME + 1);
+            long till = filter.till;
+            for (int i = 0; i < size; ++i) {
+                long datetime = datetimes[i];
+                selection[count] = i;
+                count += datetime >= from && datetime < till ? 1 : 0;
+            }
+        } else {
+            for (int i = 0; i < size; ++i) {
+                selection[i] = i;
+            }
+            count = size;
+        }
+
+        count = retain(selection, count, directions, filter.directions);
+        count = retain(selection, count, types, filter.types);
+        count = retain(selection, count, statuses, filter.statuses);
+        if (filter.currencies != null) {
+            int retained = 0;
+            for (int i = 0; i < count; ++i) {
+                int row = selection[i];
+                int code = currencies[row];
+                selection[retained] = row;
+                retained += code >= 0 && filter.currencies[code] ? 1 : 0;
+            }
+            count = retained;
+        }
+        if (filter.label != null) {
+            Integer code = labelCodes.get(filter.label);
+            if (code == null) {
+                return 0;
+            }
+            int retained = 0;
+            for (int i = 0; i < count; ++i) {
+                int row = selection[i];
+                selection[retained] = row;
+                retained += labelIds[row] == code ? 1 : 0;
+            }
+            count = retained;
+        }
+        if (filter.category != null) {
+            int category = filter.category;
+            int retained = 0;
+            for (int i = 0; i < count; ++i) {
+                int row = selection[i];
+                for (int j = categoryOffsets[row], end = categoryOffsets[row + 1]; j < end; ++j) {
+                    if (categories[j] == category) {
+                        selection[retained++] = row;
+                        break;
+                    }
+                }
+            }
+            count = retained;
+        }
+        return count;
+    }
+
+    private long[][] sumBy(Filter filter, byte[] column, int values) {
+        int[] selection = new int[size];
+        int count = select(filter, selection);
+        long[] sums = new long[values + 1];
+        long[] counts = new long[values + 1];
+        for (int i = 0; i < count; ++i) {
+            int row = selection[i];
+            int group = column[row] + 1;
+            sums[group] += amounts[row];
+            ++counts[group];
+        }
+        return new long[][] { sums, counts };
+    }
+
+    private static int retain(int[] selection, int count, byte[] column, boolean[] accepted) {
+        if (accepted == null) {
+            return count;
+        }
+        int retained = 0;
+        for (int i = 0; i < count; ++i) {
+            int row = selection[i];
+            int code = column[row];
+            selection[retained] = row;
+            retained += code >= 0 && accepted[code] ? 1 : 0;
+        }
+        return retained;
+    }
+
+    /**
+     * Creates a map of groups in order of their codes, operations without a value are grouped by {@code null} key
+     * which goes last.
+     *
+     * @param aggregates sums and counts of groups, a group with code {@code i} has index {@code i + 1}
+     */
+    private static <K> Map<K, BigDecimal> group(K[] keys, long[][] aggregates) {
+        long[] sums = aggregates[0];
+        long[] counts = aggregates[1];
+        Map<K, BigDecimal> result = new LinkedHashMap<>();
+        for (int i = 1; i < sums.length; ++i) {
+            if (counts[i] > 0) {
+                result.put(keys[i - 1], BigDecimal.valueOf(sums[i], SCALE));
+            }
+        }
+        if (counts[0] > 0) {
+            result.put(null, BigDecimal.valueOf(sums[0], SCALE));
+        }
+        return result;
+    }
+
+    private static long toScaled(BigDecimal amount) {
+        BigInteger value = amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue();
+        if (value.bitLength() > 63) {
+            throw new ArithmeticException("amount is out of range: " + amount);
+        }
+        return value.longValue();
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value == null ? -1 : value.ordinal();
+    }
+
+    /**
+     * Filter of operations. Operations match a filter if they match all of its conditions.
+     */
+    public static final class Filter {
+
+        /**
+         * Filter that matches all operations.
+         */
+        public static final Filter ALL = new Builder().create();
+
+        final boolean[] directions;
+        final boolean[] types;
+        final boolean[] statuses;
+        final boolean[] currencies;
+        final String label;
+        final Integer category;
+        final long from;
+        final long till;
+
+        Filter(Builder builder) {
+            directions = accepted(builder.directions, DIRECTIONS.length);
+            types = accepted(builder.types, TYPES.length);
+            statuses = accepted(builder.statuses, STATUSES.length);
+            currencies = accepted(builder.currencies, CURRENCIES.length);
+            label = builder.label;
+            category = builder.category;
+            from = builder.from == null ? Long.MIN_VALUE : builder.from.getMillis();
+            till = builder.till == null ? Long.MAX_VALUE : builder.till.getMillis();
+        }
+
+        private static boolean[] accepted(Enum<?>[] values, int length) {
+            if (values == null) {
+                return null;
+            }
+            boolean[] accepted = new boolean[length];
+            for (Enum<?> value : values) {
+                accepted[checkNotNull(value, "value").ordinal()] = true;
+            }
+            return accepted;
+        }
+
+        /**
+         * Builder for a {@link Filter}. Conditions which are not set match any operation.
+         */
+        public static final class Builder {
+
+            private Operation.Direction[] directions;
+            private Operation.Type[] types;
+            private OperationStatus[] statuses;
+            private Currency[] currencies;
+            private String label;
+            private Integer category;
+            private DateTime from;
+            private DateTime till;
+
+            /**
+             * @param directions accepted directions of operations
+             */
+            public Builder setDirections(Operation.Direction... directions) {
+                this.directions = directions;
+                return this;
+            }
+
+            /**
+             * @param types accepted types of operations
+             */
+            public Builder setTypes(Operation.Type... types) {
+                this.types = types;
+                return this;
+            }
+
+            /**
+             * @param statuses accepted statuses of operations
+             */
+            public Builder setStatuses(OperationStatus... statuses) {
+                this.statuses = statuses;
+                return this;
+            }
+
+            /**
+             * @param currencies accepted currencies of amounts
+             */
+            public Builder setCurrencies(Currency... currencies) {
+                this.currencies = currencies;
+                return this;
+            }
+
+            /**
+             * @param label label of operations
+             */
+            public Builder setLabel(String label) {
+                this.label = label;
+                return this;
+            }
+
+            /**
+             * @param category category that operations should have
+             */
+            public Builder setCategory(Integer category) {
+                this.category = category;
+                return this;
+            }
+
+            /**
+             * @param from operations starting from specified time
+             */
+            public Builder setFrom(DateTime from) {
+                this.from = from;
+                return this;
+            }
+
+            /**
+             * @param till operations before specified time
+             */
+            public Builder setTill(DateTime till) {
+                this.till = till;
+                return this;
+            }
+
+            /**
+             * Creates the {@link Filter}.
+             *
+             * @return the filter
+             */
+            public Filter create() {
+                return new Filter(this);
+            }
+        }
+    }
+}
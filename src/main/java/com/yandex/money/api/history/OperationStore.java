@@ -0,0 +1,532 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Iso8601Format;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Local file-backed store of operations of a single wallet.
+ * <p/>
+ * Operations are appended to a log of segments ({@code segment-NNNNNNNN.log}), one JSON document per line. When a
+ * segment exceeds its size, it is sealed: an index of its operations is written next to it
+ * ({@code segment-NNNNNNNN.idx}) and a new segment is started. On open, indices of sealed segments are loaded and only
+ * the last segment is scanned; an incomplete record at its end (e.g. after a crash) is truncated.
+ * <p/>
+ * An operation is appended again only if its status changes, the store returns the latest version of an operation.
+ * The store also persists a {@link Watermark} of synchronization. The implementation of this class is thread-safe.
+ */
+public final class OperationStore implements Closeable {
+
+    /**
+     * Default max size of a segment in bytes.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String SEGMENT_FORMAT = "segment-%08d";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String WATERMARK = "watermark";
+    private static final int INDEX_VERSION = 1;
+
+    private final File directory;
+    private final long segmentSize;
+
+    private final Map<String, Entry> index = new HashMap<>();
+    private final List<RandomAccessFile> readers = new ArrayList<>();
+
+    private int activeSegment;
+    private FileOutputStream activeStream;
+    private BufferedOutputStream activeOutput;
+    private long activeSize;
+    private Watermark watermark;
+    private boolean closed;
+
+    /**
+     * Opens a store with {@link #DEFAULT_SEGMENT_SIZE}.
+     *
+     * @param directory directory of a store, it is created if needed
+     */
+    public OperationStore(File directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens a store.
+     *
+     * @param directory directory of a store, it is created if needed
+     * @param segmentSize max size of a segment in bytes
+     */
+    public OperationStore(File directory, long segmentSize) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize should be positive");
+        }
+        this.directory = checkNotNull(directory, "directory");
+        this.segmentSize = segmentSize;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("unable to create directory " + directory);
+        }
+
+        int segments = 0;
+        while (getLogFile(segments).exists()) {
+            ++segments;
+        }
+        for (int segment = 0; segment < segments - 1; ++segment) {
+            if (!loadIndex(segment)) {
+                scan(segment);
+                writeIndex(segment);
+            }
+        }
+        activeSegment = Math.max(0, segments - 1);
+        activeSize = segments == 0 ? 0 : scan(activeSegment);
+        openActiveSegment();
+        watermark = readWatermark();
+    }
+
+    /**
+     * Appends an operation if it is not in the store or its status has changed.
+     *
+     * @param operation operation to append
+     * @return {@code true} if operation was appended
+     */
+    public synchronized boolean append(Operation operation) throws IOException {
+        checkOpen();
+        checkNotNull(operation, "operation");
+        String operationId = checkNotNull(operation.operationId, "operationId");
+
+        Entry entry = index.get(operationId);
+        if (entry != null && entry.status == operation.status) {
+            return false;
+        }
+
+        byte[] record = (GsonProvider.getGson().toJson(operation, Operation.class) + '\n').getBytes(UTF_8);
+        if (activeSize > 0 && activeSize + record.length > segmentSize) {
+            seal();
+        }
+        activeOutput.write(record);
+        index.put(operationId, new Entry(activeSegment, activeSize, operation.status,
+                operation.datetime == null ? Long.MIN_VALUE : operation.datetime.getMillis()));
+        activeSize += record.length;
+        return true;
+    }
+
+    /**
+     * Gets the latest version of an operation.
+     *
+     * @param operationId id of an operation
+     * @return operation or {@code null} if there is no such operation in the store
+     */
+    public synchronized Operation get(String operationId) throws IOException {
+        checkOpen();
+        Entry entry = index.get(checkNotNull(operationId, "operationId"));
+        return entry == null ? null : read(entry.segment, entry.offset);
+    }
+
+    /**
+     * @param operationId id of an operation
+     * @return {@code true} if the store contains an operation
+     */
+    public synchronized boolean contains(String operationId) {
+        return index.containsKey(checkNotNull(operationId, "operationId"));
+    }
+
+    /**
+     * @return number of operations in the store
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Reads latest versions of all operations sequentially in order they were appended.
+     *
+     * @param visitor visitor of operations
+     */
+    public synchronized void forEach(Visitor visitor) throws Exception {
+        checkOpen();
+        checkNotNull(visitor, "visitor");
+        activeOutput.flush();
+
+        Gson gson = GsonProvider.getGson();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        for (int segment = 0; segment <= activeSegment; ++segment) {
+            InputStream input = new BufferedInputStream(new FileInputStream(getLogFile(segment)));
+            try {
+                long offset = 0;
+                int length;
+                while ((length = readLine(input, line)) > 0) {
+                    Operation operation = parse(gson, line);
+                    Entry entry = index.get(operation.operationId);
+                    if (entry != null && entry.segment == segment && entry.offset == offset) {
+                        visitor.visit(operation);
+                    }
+                    offset += length;
+                }
+            } finally {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * Gets date time of the oldest operation in progress.
+     *
+     * @param notBefore operations before this date time are ignored
+     * @return date time or {@code null} if there are no operations in progress
+     */
+    public synchronized DateTime getOldestInProgress(DateTime notBefore) {
+        long limit = checkNotNull(notBefore, "notBefore").getMillis();
+        long oldest = Long.MAX_VALUE;
+        for (Entry entry : index.values()) {
+            if (entry.status == OperationStatus.IN_PROGRESS && entry.datetime >= limit && entry.datetime < oldest) {
+                oldest = entry.datetime;
+            }
+        }
+        return oldest == Long.MAX_VALUE ? null : DateTime.from(oldest);
+    }
+
+    /**
+     * @return watermark of synchronization or {@code null} if the store was not synchronized
+     */
+    public synchronized Watermark getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Persists watermark of synchronization. Appended operations are flushed first, so that watermark never gets
+     * ahead of operations.
+     *
+     * @param watermark watermark
+     */
+    public synchronized void setWatermark(Watermark watermark) throws IOException {
+        checkOpen();
+        checkNotNull(watermark, "watermark");
+        flush();
+        String value = Iso8601Format.format(watermark.datetime) + '\n' + watermark.operationId + '\n';
+        writeAtomically(new File(directory, WATERMARK), value.getBytes(UTF_8));
+        this.watermark = watermark;
+    }
+
+    /**
+     * Flushes appended operations to a storage device.
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        activeOutput.flush();
+        activeStream.getChannel().force(false);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            activeOutput.close();
+            for (RandomAccessFile reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+            readers.clear();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+
+    private void openActiveSegment() throws IOException {
+        activeStream = new FileOutputStream(getLogFile(activeSegment), true);
+        activeOutput = new BufferedOutputStream(activeStream);
+    }
+
+    private void seal() throws IOException {
+        flush();
+        activeOutput.close();
+        writeIndex(activeSegment);
+        ++activeSegment;
+        activeSize = 0;
+        openActiveSegment();
+    }
+
+    /**
+     * Scans a segment and puts its operations to the index. A broken tail of a segment is truncated.
+     *
+     * @return valid length of a segment
+     */
+    private long scan(int segment) throws IOException {
+        File file = getLogFile(segment);
+        Gson gson = GsonProvider.getGson();
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long offset = 0;
+        InputStream input = new BufferedInputStream(new FileInputStream(file));
+        try {
+            int length;
+            while ((length = readLine(input, line)) > 0) {
+                Operation operation;
+                try {
+                    operation = parse(gson, line);
+                } catch (JsonParseException e) {
+                    break;
+                }
+                index.put(operation.operationId, new Entry(segment, offset, operation.status,
+                        operation.datetime == null ? Long.MIN_VALUE : operation.datetime.getMillis()));
+                offset += length;
+            }
+        } finally {
+            input.close();
+        }
+
+        if (offset < file.length()) {
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            try {
+                raf.setLength(offset);
+            } finally {
+                raf.close();
+            }
+        }
+        return offset;
+    }
+
+    private boolean loadIndex(int segment) throws IOException {
+        File file = getIndexFile(segment);
+        if (!file.exists()) {
+            return false;
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (input.readInt() != INDEX_VERSION) {
+                return false;
+            }
+            OperationStatus[] statuses = OperationStatus.values();
+            for (int i = input.readInt(); i > 0; --i) {
+                String operationId = input.readUTF();
+                long offset = input.readLong();
+                int status = input.readByte();
+                long datetime = input.readLong();
+                entries.put(operationId, new Entry(segment, offset, status < 0 ? null : statuses[status], datetime));
+            }
+        } catch (IOException | RuntimeException e) {
+            // broken index, segment will be scanned
+            return false;
+        } finally {
+            input.close();
+        }
+        index.putAll(entries);
+        return true;
+    }
+
+    private void writeIndex(int segment) throws IOException {
+        List<Map.Entry<String, Entry>> entries = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : index.entrySet()) {
+            if (entry.getValue().segment == segment) {
+                entries.add(entry);
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(INDEX_VERSION);
+        output.writeInt(entries.size());
+        for (Map.Entry<String, Entry> entry : entries) {
+            Entry value = entry.getValue();
+            output.writeUTF(entry.getKey());
+            output.writeLong(value.offset);
+            output.writeByte(value.status == null ? -1 : value.status.ordinal());
+            output.writeLong(value.datetime);
+        }
+        output.flush();
+        writeAtomically(getIndexFile(segment), bytes.toByteArray());
+    }
+
+    private Watermark readWatermark() throws IOException {
+        File file = new File(directory, WATERMARK);
+        if (!file.exists()) {
+            return null;
+        }
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        InputStream input = new BufferedInputStream(new FileInputStream(file));
+        try {
+            readLine(input, line);
+            DateTime datetime = Iso8601Format.parse(toString(line));
+            readLine(input, line);
+            return new Watermark(datetime, toString(line));
+        } catch (ParseException e) {
+            throw new IOException("broken watermark", e);
+        } finally {
+            input.close();
+        }
+    }
+
+    private Operation read(int segment, long offset) throws IOException {
+        if (segment == activeSegment) {
+            activeOutput.flush();
+        }
+        while (readers.size() <= segment) {
+            readers.add(null);
+        }
+        RandomAccessFile reader = readers.get(segment);
+        if (reader == null) {
+            reader = new RandomAccessFile(getLogFile(segment), "r");
+            readers.set(segment, reader);
+        }
+
+        reader.seek(offset);
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int count;
+        while ((count = reader.read(buffer)) > 0) {
+            int end = 0;
+            while (end < count && buffer[end] != '\n') {
+                ++end;
+            }
+            line.write(buffer, 0, end);
+            if (end < count) {
+                break;
+            }
+        }
+        return parse(GsonProvider.getGson(), line);
+    }
+
+    private File getLogFile(int segment) {
+        return new File(directory, String.format(Locale.US, SEGMENT_FORMAT, segment) + LOG_SUFFIX);
+    }
+
+    private File getIndexFile(int segment) {
+        return new File(directory, String.format(Locale.US, SEGMENT_FORMAT, segment) + INDEX_SUFFIX);
+    }
+
+    private static Operation parse(Gson gson, ByteArrayOutputStream line) {
+        Operation operation = gson.fromJson(toString(line), Operation.class);
+        if (operation == null || operation.operationId == null) {
+            throw new JsonParseException("operation id is missing");
+        }
+        return operation;
+    }
+
+    private static String toString(ByteArrayOutputStream line) {
+        return new String(line.toByteArray(), UTF_8);
+    }
+
+    /**
+     * Reads a line terminated by {@code '\n'}.
+     *
+     * @return number of bytes read including terminator or {@code 0} if there is no complete line
+     */
+    private static int readLine(InputStream input, ByteArrayOutputStream line) throws IOException {
+        line.reset();
+        int length = 0;
+        int b;
+        while ((b = input.read()) >= 0) {
+            ++length;
+            if (b == '\n') {
+                return length;
+            }
+            line.write(b);
+        }
+        return 0;
+    }
+
+    private static void writeAtomically(File file, byte[] bytes) throws IOException {
+        File temp = new File(file.getPath() + TEMP_SUFFIX);
+        FileOutputStream output = new FileOutputStream(temp);
+        try {
+            output.write(bytes);
+            output.getChannel().force(false);
+        } finally {
+            output.close();
+        }
+        if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+            throw new IOException("unable to write " + file);
+        }
+    }
+
+    /**
+     * Visits operations of a store.
+     */
+    public interface Visitor {
+        /**
+         * Visits an operation.
+         *
+         * @param operation operation
+         * @throws Exception if operation can not be processed, iteration is stopped
+         */
+        void visit(Operation operation) throws Exception;
+    }
+
+    private static final class Entry {
+
+        final int segment;
+        final long offset;
+        final OperationStatus status;
+        final long datetime;
+
+        Entry(int segment, long offset, OperationStatus status, long datetime) {
+            this.segment = segment;
+            this.offset = offset;
+            this.status = status;
+            this.datetime = datetime;
+        }
+    }
+}
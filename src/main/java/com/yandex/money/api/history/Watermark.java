@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.yandex.money.api.time.DateTime;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Position in operation history up to which operations are synchronized: date time and id of the newest operation
+ * seen.
+ */
+public final class Watermark {
+
+    public final DateTime datetime;
+    public final String operationId;
+
+    public Watermark(DateTime datetime, String operationId) {
+        this.datetime = checkNotNull(datetime, "datetime");
+        this.operationId = checkNotNull(operationId, "operationId");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Watermark watermark = (Watermark) o;
+
+        return datetime.getMillis() == watermark.datetime.getMillis() && operationId.equals(watermark.operationId);
+    }
+
+    @Override
+    public int hashCode() {
+        long millis = datetime.getMillis();
+        int result = (int) (millis ^ (millis >>> 32));
+        result = 31 * result + operationId.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Watermark{" +
+                "datetime=" + datetime +
+                ", operationId='" + operationId + '\'' +
+                '}';
+    }
+}
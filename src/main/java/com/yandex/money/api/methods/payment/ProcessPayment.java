@@ -50,7 +50,7 @@ public class ProcessPayment extends BaseProcessPayment {
     public final String paymentId;
 
     /**
-     * Account's balance.
+     * Account's balance. Present only if access token has {@code account-info} permission.
      */
     @SuppressWarnings("WeakerAccess")
     @SerializedName("balance")
@@ -111,7 +111,6 @@ public class ProcessPayment extends BaseProcessPayment {
         switch (status) {
             case SUCCESS:
                 checkNotNull(builder.paymentId, "paymentId");
-                checkNotNull(builder.balance, "balance");
                 break;
             case REFUSED:
                 if(error == Error.ACCOUNT_BLOCKED) {
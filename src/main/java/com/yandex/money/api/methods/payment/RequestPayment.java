@@ -57,7 +57,7 @@ public class RequestPayment extends BaseRequestPayment {
     public final MoneySource moneySource;
 
     /**
-     * Account's balance.
+     * Account's balance. Present only if access token has {@code account-info} permission.
      */
     @SuppressWarnings("WeakerAccess")
     @SerializedName("balance")
@@ -108,18 +108,13 @@ public class RequestPayment extends BaseRequestPayment {
     @SuppressWarnings("WeakerAccess")
     protected RequestPayment(Builder builder) {
         super(builder);
-        switch (status) {
-            case SUCCESS:
-                checkNotNull(builder.balance, "balance");
-                break;
-            case REFUSED:
-                if (error == Error.ACCOUNT_BLOCKED) {
-                    checkNotNull(builder.accountUnblockUri, "accountUnblockUri");
-                }
-                if (error == Error.EXT_ACTION_REQUIRED) {
-                    checkNotNull(builder.extActionUri, "extActionUri");
-                }
-                break;
+        if (status == Status.REFUSED) {
+            if (error == Error.ACCOUNT_BLOCKED) {
+                checkNotNull(builder.accountUnblockUri, "accountUnblockUri");
+            }
+            if (error == Error.EXT_ACTION_REQUIRED) {
+                checkNotNull(builder.extActionUri, "extActionUri");
+            }
         }
         this.moneySource = builder.moneySource;
         this.balance = builder.balance;
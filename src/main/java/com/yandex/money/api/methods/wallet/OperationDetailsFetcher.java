@@ -0,0 +1,328 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.methods.wallet;
+
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.net.clients.ApiCallback;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Fetches {@link OperationDetails} of many operations concurrently.
+ * <p/>
+ * Ids are deduplicated and requested with {@link AsyncApiClient#executeAsync(com.yandex.money.api.net.ApiRequest,
+ * ApiCallback)}. Number of requests in flight is limited by {@code parallelism} for all tenants and by
+ * {@code tenantLimit} for every tenant, where a tenant is an {@link AsyncApiClient} instance (e.g. a view created with
+ * {@link com.yandex.money.api.net.clients.DefaultApiClient#forTenant(String, com.yandex.money.api.util.Language)}).
+ * <p/>
+ * Details of operations in a terminal status ({@link OperationStatus#SUCCESS} or {@link OperationStatus#REFUSED})
+ * never change, so they are cached per tenant and are not requested again. The implementation of this class is
+ * thread-safe, an instance is supposed to be shared.
+ */
+public final class OperationDetailsFetcher {
+
+    /**
+     * Default max number of cached operations per tenant.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+    private final Semaphore permits;
+    private final int tenantLimit;
+    private final int cacheCapacity;
+    private final Map<AsyncApiClient, Tenant> tenants = new WeakHashMap<>();
+
+    /**
+     * Creates a fetcher with {@link #DEFAULT_CACHE_CAPACITY}.
+     *
+     * @param parallelism max number of concurrent requests
+     * @param tenantLimit max number of concurrent requests of a tenant
+     */
+    public OperationDetailsFetcher(int parallelism, int tenantLimit) {
+        this(parallelism, tenantLimit, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism max number of concurrent requests
+     * @param tenantLimit max number of concurrent requests of a tenant
+     * @param cacheCapacity max number of cached operations per tenant
+     */
+    public OperationDetailsFetcher(int parallelism, int tenantLimit, int cacheCapacity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be positive");
+        }
+        if (tenantLimit < 1) {
+            throw new IllegalArgumentException("tenantLimit should be positive");
+        }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("cacheCapacity should not be negative");
+        }
+        this.permits = new Semaphore(parallelism);
+        this.tenantLimit = tenantLimit;
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    /**
+     * Fetches details of operations. Details are passed to a consumer on a calling thread as soon as they are
+     * available: cached details first, then in order requests complete. The method blocks until all details are
+     * passed to a consumer.
+     * <p/>
+     * If API responds with an error (e.g. operation is not found) details with {@link OperationDetails#error} are
+     * passed to a consumer.
+     *
+     * @param client client of a tenant
+     * @param operationIds ids of operations, duplicates are fetched once
+     * @param consumer consumer of operation details
+     * @throws Exception if request fails or consumer throws an exception, remaining requests are cancelled
+     */
+    public void fetch(AsyncApiClient client, Collection<String> operationIds, Consumer consumer) throws Exception {
+        checkNotNull(client, "client");
+        checkNotNull(consumer, "consumer");
+
+        Tenant tenant = getTenant(client);
+        Deque<String> pending = new ArrayDeque<>();
+        for (String operationId : new LinkedHashSet<>(checkNotNull(operationIds, "operationIds"))) {
+            OperationDetails details = tenant.cache.get(checkNotNull(operationId, "operationId"));
+            if (details == null) {
+                pending.add(operationId);
+            } else {
+                consumer.accept(details);
+            }
+        }
+
+        BlockingQueue<Call> completed = new LinkedBlockingQueue<>();
+        Set<Call> inFlight = new LinkedHashSet<>();
+        try {
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (!pending.isEmpty() && acquire(tenant, inFlight.isEmpty())) {
+                    Call call = new Call(tenant, pending.poll(), completed);
+                    inFlight.add(call);
+                    call.start(client);
+                }
+
+                Call call = completed.take();
+                inFlight.remove(call);
+                if (call.error != null) {
+                    throw call.error;
+                }
+                if (isTerminal(call.result)) {
+                    tenant.cache.put(call.operationId, call.result);
+                }
+                consumer.accept(call.result);
+            }
+        } finally {
+            for (Call call : inFlight) {
+                call.cancel();
+            }
+        }
+    }
+
+    /**
+     * Fetches details of operations and collects them to a list.
+     *
+     * @param client client of a tenant
+     * @param operationIds ids of operations, duplicates are fetched once
+     * @return list of operation details in order they were received
+     * @see #fetch(AsyncApiClient, Collection, Consumer)
+     */
+    public List<OperationDetails> fetch(AsyncApiClient client, Collection<String> operationIds) throws Exception {
+        final List<OperationDetails> result = new ArrayList<>(operationIds.size());
+        fetch(client, operationIds, new Consumer() {
+            @Override
+            public void accept(OperationDetails details) {
+                result.add(details);
+            }
+        });
+        return result;
+    }
+
+    private Tenant getTenant(AsyncApiClient client) {
+        synchronized (tenants) {
+            Tenant tenant = tenants.get(client);
+            if (tenant == null) {
+                tenant = new Tenant(tenantLimit, cacheCapacity);
+                tenants.put(client, tenant);
+            }
+            return tenant;
+        }
+    }
+
+    /**
+     * Acquires permits of a tenant and a global one.
+     *
+     * @param block block until permits are available, otherwise only try to acquire them
+     * @return {@code true} if permits are acquired
+     */
+    private boolean acquire(Tenant tenant, boolean block) throws InterruptedException {
+        if (block) {
+            tenant.permits.acquire();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                tenant.permits.release();
+                throw e;
+            }
+            return true;
+        }
+        if (!tenant.permits.tryAcquire()) {
+            return false;
+        }
+        if (!permits.tryAcquire()) {
+            tenant.permits.release();
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isTerminal(OperationDetails details) {
+        return details.error == null &&
+                (details.status == OperationStatus.SUCCESS || details.status == OperationStatus.REFUSED);
+    }
+
+    /**
+     * Consumes fetched operation details.
+     */
+    public interface Consumer {
+        /**
+         * Accepts operation details.
+         *
+         * @param details operation details
+         * @throws Exception if details can not be processed, fetching is stopped
+         */
+        void accept(OperationDetails details) throws Exception;
+    }
+
+    private static final class Tenant {
+
+        final Semaphore permits;
+        final DetailsCache cache;
+
+        Tenant(int limit, int cacheCapacity) {
+            permits = new Semaphore(limit);
+            cache = new DetailsCache(cacheCapacity);
+        }
+    }
+
+    /**
+     * LRU cache of operation details.
+     */
+    private static final class DetailsCache {
+
+        private final Map<String, OperationDetails> entries;
+
+        DetailsCache(final int capacity) {
+            entries = new LinkedHashMap<String, OperationDetails>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, OperationDetails> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized OperationDetails get(String operationId) {
+            return entries.get(operationId);
+        }
+
+        synchronized void put(String operationId, OperationDetails details) {
+            entries.put(operationId, details);
+        }
+    }
+
+    /**
+     * Request of details of one operation. Permits are released once when request completes or is cancelled.
+     */
+    private final class Call implements ApiCallback<OperationDetails> {
+
+        final Tenant tenant;
+        final String operationId;
+        final BlockingQueue<Call> completed;
+        final AtomicBoolean released = new AtomicBoolean();
+
+        volatile OperationDetails result;
+        volatile Exception error;
+        volatile Future<OperationDetails> future;
+
+        Call(Tenant tenant, String operationId, BlockingQueue<Call> completed) {
+            this.tenant = tenant;
+            this.operationId = operationId;
+            this.completed = completed;
+        }
+
+        void start(AsyncApiClient client) {
+            try {
+                future = client.executeAsync(new OperationDetails.Request(operationId), this);
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        void cancel() {
+            Future<OperationDetails> future = this.future;
+            if (future != null) {
+                future.cancel(true);
+            }
+            release();
+        }
+
+        @Override
+        public void onSuccess(OperationDetails response) {
+            result = response;
+            release();
+            completed.add(this);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            error = e;
+            release();
+            completed.add(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+                tenant.permits.release();
+            }
+        }
+    }
+}
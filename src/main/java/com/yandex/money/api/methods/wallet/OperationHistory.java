@@ -25,13 +25,18 @@
 package com.yandex.money.api.methods.wallet;
 
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.Error;
 import com.yandex.money.api.model.Operation;
 import com.yandex.money.api.net.FirstApiRequest;
 import com.yandex.money.api.net.providers.HostsProvider;
 import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.typeadapters.GsonProvider;
+import com.yandex.money.api.typeadapters.model.OperationHistoryTypeAdapter;
 import com.yandex.money.api.util.Enums;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -132,6 +137,21 @@ public class OperationHistory {
         }
     }
 
+    /**
+     * Receives operations of a page as soon as they are parsed.
+     *
+     * @see Request.Builder#setListener(Listener)
+     */
+    public interface Listener {
+        /**
+         * Called for every operation of a page in order of a response.
+         *
+         * @param operation operation
+         * @throws Exception if operation can not be processed, parsing of a response is stopped
+         */
+        void onOperation(Operation operation) throws Exception;
+    }
+
     /**
      * Requests for a list of operations in user's history.
      * <p/>
@@ -139,13 +159,16 @@ public class OperationHistory {
      */
     public static class Request extends FirstApiRequest<OperationHistory> {
 
+        private final Listener listener;
+
         /**
          * Use builder to create the request.
          */
         Request(Set<FilterType> types, String label, DateTime from, DateTime till, String startRecord, Integer records,
-                Boolean details, Boolean includeCurrencyExchanges) {
+                Boolean details, Boolean includeCurrencyExchanges, Listener listener) {
 
             super(OperationHistory.class);
+            this.listener = listener;
             if (from != null && till != null && from.isAfter(till)) {
                 throw new IllegalArgumentException("\'from\' should be before \'till\'");
             }
@@ -172,6 +195,15 @@ public class OperationHistory {
             return hostsProvider.getMoneyApi() + "/operation-history";
         }
 
+        @Override
+        protected OperationHistory parseJson(InputStream inputStream) throws Exception {
+            if (listener == null) {
+                return super.parseJson(inputStream);
+            }
+            JsonReader reader = new JsonReader(new InputStreamReader(inputStream, "UTF-8"));
+            return OperationHistoryTypeAdapter.read(GsonProvider.getGson(), reader, listener);
+        }
+
         private static String prepareTypeValue(Set<FilterType> types) {
             StringBuilder builder = new StringBuilder();
             Iterator<FilterType> iterator = types.iterator();
@@ -198,6 +230,7 @@ public class OperationHistory {
             private Integer records;
             private Boolean details;
             private Boolean includeCurrencyExchanges;
+            private Listener listener;
 
             /**
              * Specifies types of operations that respond should contain. Can be omitted if no
@@ -282,6 +315,18 @@ public class OperationHistory {
                 return this;
             }
 
+            /**
+             * Parses response in a streaming manner: every operation is passed to a listener as soon as it is read
+             * and {@link OperationHistory#operations} of a response is empty, so that a page is never held in memory
+             * as a whole. Listener is called on a thread that parses response.
+             *
+             * @param listener listener of operations or {@code null} to collect operations to a list
+             */
+            public Builder setListener(Listener listener) {
+                this.listener = listener;
+                return this;
+            }
+
             /**
              * Creates the {@link OperationHistory.Request}
              *
@@ -289,7 +334,24 @@ public class OperationHistory {
              */
             public Request create() {
                 return new Request(types == null ? Collections.<FilterType>emptySet() : types,
-                        label, from, till, startRecord, records, details, includeCurrencyExchanges);
+                        label, from, till, startRecord, records, details, includeCurrencyExchanges, listener);
+            }
+
+            /**
+             * @return a copy of this builder
+             */
+            Builder copy() {
+                Builder copy = new Builder();
+                copy.types = types;
+                copy.label = label;
+                copy.from = from;
+                copy.till = till;
+                copy.startRecord = startRecord;
+                copy.records = records;
+                copy.details = details;
+                copy.includeCurrencyExchanges = includeCurrencyExchanges;
+                copy.listener = listener;
+                return copy;
             }
         }
     }
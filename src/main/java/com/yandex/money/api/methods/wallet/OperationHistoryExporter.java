@@ -0,0 +1,251 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.methods.wallet;
+
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Interval;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Exports operation history for an {@link Interval} concurrently. The interval is split into time slices that are
+ * requested with {@link AsyncApiClient#executeAsync(com.yandex.money.api.net.ApiRequest)}, at most {@code parallelism}
+ * requests are in flight at any time. A slice that has more operations than fit into one page is split again: its
+ * remaining part (till the oldest received operation inclusive) is divided into new slices that are fetched
+ * concurrently. If all operations of a page have the same time, the slice is continued with {@code start_record}
+ * instead.
+ * <p/>
+ * Slices don't overlap, so results are merged by emitting slices in order. Operations are passed to a consumer in
+ * descending order of {@link Operation#datetime} (as operation history does), operations that are received twice at
+ * slice boundaries are passed once. Only a bounded number of pages is held in memory.
+ */
+public final class OperationHistoryExporter {
+
+    /**
+     * Max number of records API returns per request.
+     */
+    public static final int MAX_RECORDS = 100;
+
+    private static final long MIN_SLICE_MILLIS = 1000L;
+
+    private final AsyncApiClient client;
+    private final OperationHistory.Request.Builder filter;
+    private final int parallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param client client to use
+     * @param filter builder of a request that specifies types, label and details; its dates, start record, number
+     *               of records and listener are ignored
+     * @param parallelism max number of concurrent requests
+     */
+    public OperationHistoryExporter(AsyncApiClient client, OperationHistory.Request.Builder filter, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be positive");
+        }
+        this.client = checkNotNull(client, "client");
+        this.filter = checkNotNull(filter, "filter").copy().setListener(null);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Exports operations. The method blocks until all operations are passed to a consumer.
+     *
+     * @param interval interval of operations' dates
+     * @param consumer consumer of operations
+     * @throws OperationHistoryIterator.FetchException if API returns an error
+     * @throws Exception if request fails or consumer throws an exception
+     */
+    public void export(Interval interval, Consumer consumer) throws Exception {
+        checkNotNull(interval, "interval");
+        checkNotNull(consumer, "consumer");
+
+        TimeZone timeZone = interval.from.getTimeZone();
+        LinkedList<Slice> slices = new LinkedList<>();
+        split(slices, interval.from.getMillis(), interval.till.getMillis(), timeZone);
+
+        Set<String> boundaryIds = new HashSet<>();
+        long boundaryMillis = Long.MAX_VALUE;
+        try {
+            while (!slices.isEmpty()) {
+                schedule(slices);
+                Slice slice = slices.removeFirst();
+                OperationHistory page = slice.get();
+                if (page.error != null) {
+                    throw new OperationHistoryIterator.FetchException(page.error);
+                }
+
+                List<Operation> operations = page.operations;
+                if (operations == null) {
+                    operations = new ArrayList<>();
+                }
+                for (Operation operation : operations) {
+                    long millis = operation.datetime.getMillis();
+                    if (millis < boundaryMillis) {
+                        boundaryMillis = millis;
+                        boundaryIds.clear();
+                    }
+                    if (millis > boundaryMillis || boundaryIds.add(operation.operationId)) {
+                        consumer.accept(operation);
+                    }
+                }
+
+                if (page.nextRecord != null) {
+                    LinkedList<Slice> remaining = new LinkedList<>();
+                    long till = operations.isEmpty() ? slice.till
+                            : operations.get(operations.size() - 1).datetime.getMillis() + 1;
+                    if (till < slice.till) {
+                        split(remaining, slice.from, till, timeZone);
+                    } else {
+                        remaining.add(new Slice(slice.from, slice.till, page.nextRecord, timeZone));
+                    }
+                    slices.addAll(0, remaining);
+                }
+            }
+        } finally {
+            for (Slice slice : slices) {
+                slice.cancel();
+            }
+        }
+    }
+
+    /**
+     * Splits a range into up to {@code parallelism} slices ordered from the newest to the oldest.
+     */
+    private void split(List<Slice> slices, long from, long till, TimeZone timeZone) {
+        long count = Math.max(1, Math.min(parallelism, (till - from) / MIN_SLICE_MILLIS));
+        long sliceTill = till;
+        for (long i = count - 1; i >= 0; --i) {
+            long sliceFrom = from + (till - from) * i / count;
+            slices.add(new Slice(sliceFrom, sliceTill, null, timeZone));
+            sliceTill = sliceFrom;
+        }
+    }
+
+    /**
+     * Requests slices in order while there are less than {@code parallelism} requests in flight. Only slices in the
+     * window of {@code 2 * parallelism} next slices are requested, so that memory is bounded.
+     */
+    private void schedule(List<Slice> slices) {
+        int inFlight = 0;
+        for (Slice slice : slices) {
+            if (slice.isInFlight()) {
+                ++inFlight;
+            }
+        }
+
+        int window = 2 * parallelism;
+        Iterator<Slice> candidates = slices.iterator();
+        for (int i = 0; i < window && inFlight < parallelism && candidates.hasNext(); ++i) {
+            Slice slice = candidates.next();
+            if (!slice.isRequested()) {
+                slice.request();
+                ++inFlight;
+            }
+        }
+    }
+
+    /**
+     * Consumes exported operations.
+     */
+    public interface Consumer {
+        /**
+         * Accepts an operation.
+         *
+         * @param operation operation
+         * @throws Exception if operation can not be processed, export is stopped
+         */
+        void accept(Operation operation) throws Exception;
+    }
+
+    /**
+     * Time range {@code [from, till)} of operations.
+     */
+    private final class Slice {
+
+        final long from;
+        final long till;
+        final String startRecord;
+        final TimeZone timeZone;
+
+        Future<OperationHistory> future;
+
+        Slice(long from, long till, String startRecord, TimeZone timeZone) {
+            this.from = from;
+            this.till = till;
+            this.startRecord = startRecord;
+            this.timeZone = timeZone;
+        }
+
+        boolean isRequested() {
+            return future != null;
+        }
+
+        boolean isInFlight() {
+            return future != null && !future.isDone();
+        }
+
+        void request() {
+            OperationHistory.Request request = filter.copy()
+                    .setFrom(DateTime.from(from, timeZone))
+                    .setTill(DateTime.from(till, timeZone))
+                    .setStartRecord(startRecord)
+                    .setRecords(MAX_RECORDS)
+                    .create();
+            future = client.executeAsync(request);
+        }
+
+        OperationHistory get() throws Exception {
+            if (future == null) {
+                request();
+            }
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+
+        void cancel() {
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+    }
+}
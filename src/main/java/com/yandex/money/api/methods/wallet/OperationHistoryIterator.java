@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.methods.wallet;
+
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.net.clients.ApiCallback;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Future;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Lazily iterates over operations of a user's history page by page. Pages are requested with
+ * {@link AsyncApiClient#executeAsync(com.yandex.money.api.net.ApiRequest, ApiCallback)}: while a caller processes one
+ * page up to {@code prefetch} next pages are requested in background. The first page is requested on the first call
+ * of {@link #hasNext()} or {@link #next()}.
+ * <p/>
+ * Methods of the iterator should be called from a single thread. If a caller stops iterating early it should call
+ * {@link #close()} to cancel pending request. Errors of the API and transport errors are thrown from
+ * {@link #hasNext()} and {@link #next()} as {@link FetchException}.
+ */
+public final class OperationHistoryIterator implements Iterator<Operation>, Closeable {
+
+    /**
+     * Default number of pages requested ahead.
+     */
+    public static final int DEFAULT_PREFETCH = 1;
+
+    private final AsyncApiClient client;
+    private final OperationHistory.Request.Builder builder;
+    private final int prefetch;
+
+    private final Deque<List<Operation>> pages = new ArrayDeque<>();
+    private Future<OperationHistory> pending;
+    private boolean fetching;
+    private int fetches;
+    private String nextRecord;
+    private boolean hasMorePages = true;
+    private boolean closed;
+    private FetchException error;
+
+    private Iterator<Operation> current = Collections.emptyIterator();
+
+    /**
+     * Creates iterator with {@link #DEFAULT_PREFETCH}.
+     *
+     * @param client client to use
+     * @param builder builder of a request that specifies filter of operations, start record is used for the first page
+     *                and listener is ignored
+     */
+    public OperationHistoryIterator(AsyncApiClient client, OperationHistory.Request.Builder builder) {
+        this(client, builder, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * Creates iterator.
+     *
+     * @param client client to use
+     * @param builder builder of a request that specifies filter of operations, start record is used for the first page
+     *                and listener is ignored
+     * @param prefetch max number of pages requested ahead of a caller, {@code 0} to request pages on demand only
+     */
+    public OperationHistoryIterator(AsyncApiClient client, OperationHistory.Request.Builder builder, int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch is negative");
+        }
+        this.client = checkNotNull(client, "client");
+        this.builder = checkNotNull(builder, "builder").copy().setListener(null);
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (current.hasNext()) {
+            return true;
+        }
+
+        synchronized (this) {
+            while (true) {
+                if (closed) {
+                    return false;
+                }
+
+                List<Operation> page = pages.poll();
+                if (page != null) {
+                    fetchIfNeeded(prefetch);
+                    current = page.iterator();
+                    if (current.hasNext()) {
+                        return true;
+                    }
+                    continue;
+                }
+
+                if (error != null) {
+                    throw error;
+                }
+                if (!hasMorePages && !fetching) {
+                    return false;
+                }
+
+                fetchIfNeeded(1);
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FetchException(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Operation next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    /**
+     * Stops iteration and cancels pending request. Subsequent calls of {@link #hasNext()} return {@code false}.
+     */
+    @Override
+    public void close() {
+        Future<OperationHistory> pending;
+        synchronized (this) {
+            closed = true;
+            pages.clear();
+            pending = this.pending;
+            this.pending = null;
+            fetching = false;
+            notifyAll();
+        }
+        current = Collections.emptyIterator();
+        if (pending != null) {
+            pending.cancel(true);
+        }
+    }
+
+    /**
+     * Requests next page if there are less than {@code limit} pages buffered. Must be called holding the lock.
+     */
+    private void fetchIfNeeded(int limit) {
+        if (closed || fetching || !hasMorePages || error != null || pages.size() >= limit) {
+            return;
+        }
+
+        if (fetches > 0) {
+            builder.setStartRecord(nextRecord);
+        }
+        int fetch = ++fetches;
+        fetching = true;
+        Future<OperationHistory> future = client.executeAsync(builder.create(), new PageCallback(fetch));
+        // callback may have been called already (e.g. by caching client)
+        if (fetching && fetches == fetch) {
+            pending = future;
+        }
+    }
+
+    private synchronized void onPage(int fetch, OperationHistory page, Exception e) {
+        if (closed || fetch != fetches) {
+            return;
+        }
+        fetching = false;
+        pending = null;
+
+        if (e != null) {
+            error = new FetchException(e);
+        } else if (page.error != null) {
+            error = new FetchException(page.error);
+        } else {
+            if (page.operations != null && !page.operations.isEmpty()) {
+                pages.add(page.operations);
+            }
+            nextRecord = page.nextRecord;
+            hasMorePages = nextRecord != null;
+            fetchIfNeeded(prefetch);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Thrown when a page of operation history can not be obtained.
+     */
+    public static final class FetchException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Error returned by API or {@code null} if request failed with an exception.
+         */
+        public final Error error;
+
+        FetchException(Error error) {
+            super("operation history error: " + error.getCode());
+            this.error = error;
+        }
+
+        FetchException(Exception cause) {
+            super(cause);
+            this.error = null;
+        }
+    }
+
+    private final class PageCallback implements ApiCallback<OperationHistory> {
+
+        private final int fetch;
+
+        PageCallback(int fetch) {
+            this.fetch = fetch;
+        }
+
+        @Override
+        public void onSuccess(OperationHistory response) {
+            onPage(fetch, response, null);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            onPage(fetch, null, e);
+        }
+    }
+}
@@ -287,7 +287,8 @@ public class Operation implements Identifiable {
         amountDueCurrency = builder.amountDueCurrency;
         fee = builder.fee;
         feeCurrency = builder.feeCurrency;
-        datetime = builder.datetime;
+        // current time is default value, it is not obtained eagerly because it is expensive
+        datetime = builder.hasDatetime ? builder.datetime : DateTime.now();
         sender = builder.sender;
         recipient = builder.recipient;
         recipientType = builder.recipientType;
@@ -596,7 +597,8 @@ public class Operation implements Identifiable {
         Currency amountDueCurrency;
         BigDecimal fee;
         Currency feeCurrency;
-        DateTime datetime = DateTime.now();
+        DateTime datetime;
+        boolean hasDatetime;
         String title;
         String sender;
         String recipient;
@@ -681,6 +683,7 @@ public class Operation implements Identifiable {
 
         public Builder setDatetime(DateTime datetime) {
             this.datetime = datetime;
+            this.hasDatetime = true;
             return this;
         }
 
@@ -27,7 +27,8 @@ package com.yandex.money.api.model;
 import com.google.gson.annotations.SerializedName;
 import com.yandex.money.api.util.Enums;
 import com.yandex.money.api.util.Patterns;
-import com.yandex.money.api.util.Strings;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
  * Type of payee identifier.
@@ -78,18 +79,175 @@ public enum PayeeIdentifierType implements Enums.WithCode<PayeeIdentifierType> {
      * @return type or {@code null} if unable to determine
      */
     public static PayeeIdentifierType determine(String identifier) {
-        if (Strings.isNullOrEmpty(identifier)) {
+        return determine((CharSequence) identifier);
+    }
+
+    /**
+     * Determines identifier type by identifier. Identifier is checked to match {@link Patterns#ACCOUNT},
+     * {@link Patterns#PHONE}, {@link Patterns#YANDEX} and {@link Patterns#EMAIL} in that order in a single pass
+     * without regular expressions.
+     *
+     * @param identifier the identifier
+     * @return type or {@code null} if unable to determine
+     */
+    public static PayeeIdentifierType determine(CharSequence identifier) {
+        if (identifier == null || identifier.length() == 0) {
             return null;
         }
 
-        if (identifier.matches(Patterns.ACCOUNT)) {
-            return ACCOUNT;
-        } else if (identifier.matches(Patterns.PHONE)) {
+        int length = identifier.length();
+        int digits = 0;
+        int phoneChars = 0;
+        int yandexChars = 0;
+        for (int i = 0; i < length; ++i) {
+            char c = identifier.charAt(i);
+            if (isDigit(c)) {
+                ++digits;
+            } else if (isPhoneSeparator(c) || c == '+' || c == '(' || c == ')') {
+                ++phoneChars;
+            }
+            if (isYandexChar(c)) {
+                ++yandexChars;
+            }
+        }
+
+        if (digits == length) {
+            if (length >= 11 && length <= 33 && identifier.charAt(0) == '4' && identifier.charAt(1) == '1') {
+                return ACCOUNT;
+            }
+        }
+        if (digits + phoneChars == length && isPhone(identifier)) {
             return PHONE;
-        } else if (identifier.matches(Patterns.YANDEX) || identifier.matches(Patterns.EMAIL)) {
+        }
+        if (yandexChars == length ? length <= 256 : isEmail(identifier)) {
             return EMAIL;
-        } else {
-            return null;
         }
+        return null;
+    }
+
+    /**
+     * Determines types of identifiers.
+     *
+     * @param identifiers identifiers
+     * @return types of identifiers, an element is {@code null} if unable to determine the type
+     * @see #determine(CharSequence)
+     */
+    public static PayeeIdentifierType[] determineAll(CharSequence[] identifiers) {
+        checkNotNull(identifiers, "identifiers");
+        PayeeIdentifierType[] types = new PayeeIdentifierType[identifiers.length];
+        for (int i = 0; i < identifiers.length; ++i) {
+            types[i] = determine(identifiers[i]);
+        }
+        return types;
+    }
+
+    /**
+     * Matches {@link Patterns#PHONE}: optional {@code +digits} and {@code (digits)} prefixes, each followed by
+     * separators, and a number of at least three characters that starts and ends with a digit.
+     */
+    private static boolean isPhone(CharSequence value) {
+        int length = value.length();
+        int i = 0;
+        if (value.charAt(0) == '+') {
+            i = skipDigits(value, 1);
+            if (i == 1) {
+                return false;
+            }
+            i = skipSeparators(value, i);
+            if (i == length || value.charAt(i) != '(') {
+                // digits of the prefix can be a part of the number, so the shortest prefix is taken
+                return isPhoneNumber(value, skipSeparators(value, 2));
+            }
+        }
+        if (value.charAt(i) == '(') {
+            int end = skipDigits(value, i + 1);
+            if (end == i + 1 || end == length || value.charAt(end) != ')') {
+                return false;
+            }
+            i = skipSeparators(value, end + 1);
+        }
+        return isPhoneNumber(value, i);
+    }
+
+    private static boolean isPhoneNumber(CharSequence value, int start) {
+        int length = value.length();
+        if (length - start < 3 || !isDigit(value.charAt(start)) || !isDigit(value.charAt(length - 1))) {
+            return false;
+        }
+        for (int i = start + 1; i < length - 1; ++i) {
+            char c = value.charAt(i);
+            if (!isDigit(c) && !isPhoneSeparator(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches {@link Patterns#EMAIL}: a local part of up to 256 characters, {@code @} and at least two domain labels,
+     * the first one is up to 65 characters long and the others are up to 26 characters long.
+     */
+    private static boolean isEmail(CharSequence value) {
+        int length = value.length();
+        int at = 0;
+        while (at < length && isYandexChar(value.charAt(at))) {
+            ++at;
+        }
+        if (at == 0 || at > 256 || at == length || value.charAt(at) != '@') {
+            return false;
+        }
+
+        int labels = 0;
+        int start = at + 1;
+        while (true) {
+            if (start == length || !isLetterOrDigit(value.charAt(start))) {
+                return false;
+            }
+            int end = start + 1;
+            while (end < length && (isLetterOrDigit(value.charAt(end)) || value.charAt(end) == '-')) {
+                ++end;
+            }
+            if (end - start > (labels == 0 ? 65 : 26)) {
+                return false;
+            }
+            ++labels;
+            if (end == length) {
+                return labels > 1;
+            }
+            if (value.charAt(end) != '.') {
+                return false;
+            }
+            start = end + 1;
+        }
+    }
+
+    private static int skipDigits(CharSequence value, int start) {
+        while (start < value.length() && isDigit(value.charAt(start))) {
+            ++start;
+        }
+        return start;
+    }
+
+    private static int skipSeparators(CharSequence value, int start) {
+        while (start < value.length() && isPhoneSeparator(value.charAt(start))) {
+            ++start;
+        }
+        return start;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetterOrDigit(char c) {
+        return isDigit(c) || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isPhoneSeparator(char c) {
+        return c == '-' || c == ' ' || c == '.';
+    }
+
+    private static boolean isYandexChar(char c) {
+        return isLetterOrDigit(c) || c == '+' || c == '.' || c == '_' || c == '%' || c == '-';
     }
 }
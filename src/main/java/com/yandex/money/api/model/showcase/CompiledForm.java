@@ -0,0 +1,457 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.model.showcase;
+
+import com.yandex.money.api.model.showcase.components.Component;
+import com.yandex.money.api.model.showcase.components.containers.Group;
+import com.yandex.money.api.model.showcase.components.uicontrols.Checkbox;
+import com.yandex.money.api.model.showcase.components.uicontrols.Date;
+import com.yandex.money.api.model.showcase.components.uicontrols.Email;
+import com.yandex.money.api.model.showcase.components.uicontrols.Month;
+import com.yandex.money.api.model.showcase.components.uicontrols.ParameterControl;
+import com.yandex.money.api.model.showcase.components.uicontrols.Select;
+import com.yandex.money.api.model.showcase.components.uicontrols.Tel;
+import com.yandex.money.api.model.showcase.components.uicontrols.Text;
+import com.yandex.money.api.model.showcase.components.uicontrols.TextArea;
+import com.yandex.money.api.time.DateTime;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Form of a {@link Showcase} compiled for repeated validation and submits.
+ * <p/>
+ * The component tree is flattened once into an array of {@link ParameterControl}s, including controls of groups of
+ * {@link Select.Option}s, with validators that have their patterns compiled and bounds prepared. When a value is
+ * changed with {@link #setValue(ParameterControl, String)} or {@link #setChecked(Checkbox, boolean)} only the changed
+ * control is revalidated, groups of options are activated or deactivated according to the selected option and payment
+ * parameters are updated in place. So {@link #isValid()} and {@link #getPaymentParameters()} take constant time and
+ * are equivalent to {@link Group#isValid()} and {@link Showcase#getPaymentParameters()}.
+ * <p/>
+ * Values should be changed through this form. If controls are changed directly call {@link #refresh()}. This class is
+ * not thread-safe.
+ */
+public final class CompiledForm {
+
+    private static final int NO_PARENT = -1;
+
+    private final ParameterControl[] controls;
+    private final Validator[] validators;
+    private final int[] parents;
+    private final int[] parentOptions;
+    private final int[] ends;
+    private final Map<ParameterControl, Integer> indices = new IdentityHashMap<>();
+    private final Map<String, int[]> indicesByName = new HashMap<>();
+    private final Map<String, String> hiddenFields;
+
+    private final int[] selectedOptions;
+    private final boolean[] active;
+    private final boolean[] valid;
+    private final Map<String, String> params = new HashMap<>();
+    private int invalidCount;
+
+    /**
+     * Compiles a form of a showcase.
+     *
+     * @param showcase showcase
+     * @throws java.util.regex.PatternSyntaxException if a pattern of a {@link Text} control is invalid
+     */
+    public CompiledForm(Showcase showcase) {
+        checkNotNull(showcase, "showcase");
+        hiddenFields = showcase.hiddenFields;
+
+        Flattener flattener = new Flattener();
+        if (showcase.form != null) {
+            flattener.addGroup(showcase.form, NO_PARENT, 0);
+        }
+        int size = flattener.controls.size();
+        controls = flattener.controls.toArray(new ParameterControl[size]);
+        parents = toArray(flattener.parents);
+        parentOptions = toArray(flattener.parentOptions);
+        ends = toArray(flattener.ends);
+
+        validators = new Validator[size];
+        Map<String, List<Integer>> names = new HashMap<>();
+        for (int i = 0; i < size; ++i) {
+            ParameterControl control = controls[i];
+            validators[i] = createValidator(control);
+            indices.put(control, i);
+            List<Integer> list = names.get(control.name);
+            if (list == null) {
+                list = new ArrayList<>();
+                names.put(control.name, list);
+            }
+            list.add(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : names.entrySet()) {
+            indicesByName.put(entry.getKey(), toArray(entry.getValue()));
+        }
+
+        selectedOptions = new int[size];
+        active = new boolean[size];
+        valid = new boolean[size];
+        refresh();
+    }
+
+    /**
+     * @return all parameter controls of a form including ones of groups of options in order of a form
+     */
+    public List<ParameterControl> getControls() {
+        return Collections.unmodifiableList(Arrays.asList(controls));
+    }
+
+    /**
+     * @param control control of this form
+     * @return {@code true} if control is not in a group of an option that is not selected
+     */
+    public boolean isActive(ParameterControl control) {
+        return active[indexOf(control)];
+    }
+
+    /**
+     * @param control control of this form
+     * @return {@code true} if value of a control is valid
+     */
+    public boolean isValid(ParameterControl control) {
+        return valid[indexOf(control)];
+    }
+
+    /**
+     * @return {@code true} if all active controls are valid
+     */
+    public boolean isValid() {
+        return invalidCount == 0;
+    }
+
+    /**
+     * Sets value of a control.
+     *
+     * @param control control of this form
+     * @param value value
+     * @return {@code true} if value is valid
+     */
+    public boolean setValue(ParameterControl control, String value) {
+        int index = indexOf(control);
+        control.setValue(value);
+        return update(index);
+    }
+
+    /**
+     * Checks or unchecks a checkbox.
+     *
+     * @param checkbox checkbox of this form
+     * @param checked checked state
+     * @return {@code true} if checkbox is valid
+     */
+    public boolean setChecked(Checkbox checkbox, boolean checked) {
+        int index = indexOf(checkbox);
+        checkbox.checked = checked;
+        return update(index);
+    }
+
+    /**
+     * @return key-value pairs of payment parameters, the map is updated when values are changed
+     */
+    public Map<String, String> getPaymentParameters() {
+        return Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Revalidates all controls and rebuilds payment parameters. Use it if controls were changed directly.
+     */
+    public void refresh() {
+        invalidCount = 0;
+        for (int i = 0; i < controls.length; ++i) {
+            selectedOptions[i] = selectedOption(controls[i]);
+            active[i] = isActive(i);
+            valid[i] = validate(i);
+            if (active[i] && !valid[i]) {
+                ++invalidCount;
+            }
+        }
+        params.clear();
+        params.putAll(hiddenFields);
+        for (int i = 0; i < controls.length; ++i) {
+            if (active[i]) {
+                params.put(controls[i].name, controls[i].getValue());
+            }
+        }
+    }
+
+    private boolean update(int index) {
+        setValid(index, validate(index));
+        updateParameter(controls[index].name);
+
+        int selectedOption = selectedOption(controls[index]);
+        if (selectedOption != selectedOptions[index]) {
+            selectedOptions[index] = selectedOption;
+            Set<String> names = new HashSet<>();
+            for (int i = index + 1; i < ends[index]; ++i) {
+                boolean value = isActive(i);
+                if (value != active[i]) {
+                    active[i] = value;
+                    if (!valid[i]) {
+                        invalidCount += value ? 1 : -1;
+                    }
+                    names.add(controls[i].name);
+                }
+            }
+            for (String name : names) {
+                updateParameter(name);
+            }
+        }
+        return valid[index];
+    }
+
+    private void setValid(int index, boolean value) {
+        if (valid[index] != value && active[index]) {
+            invalidCount += value ? -1 : 1;
+        }
+        valid[index] = value;
+    }
+
+    /**
+     * Sets parameter to a value of the last active control with the name or to a value of hidden field.
+     */
+    private void updateParameter(String name) {
+        int[] candidates = indicesByName.get(name);
+        for (int i = candidates.length - 1; i >= 0; --i) {
+            if (active[candidates[i]]) {
+                params.put(name, controls[candidates[i]].getValue());
+                return;
+            }
+        }
+        if (hiddenFields.containsKey(name)) {
+            params.put(name, hiddenFields.get(name));
+        } else {
+            params.remove(name);
+        }
+    }
+
+    private boolean isActive(int index) {
+        int parent = parents[index];
+        return parent == NO_PARENT || active[parent] && selectedOptions[parent] == parentOptions[index];
+    }
+
+    private boolean validate(int index) {
+        return validators[index].isValid(controls[index].getValue());
+    }
+
+    private int indexOf(ParameterControl control) {
+        Integer index = indices.get(checkNotNull(control, "control"));
+        if (index == null) {
+            throw new IllegalArgumentException("control '" + control.name + "' does not belong to this form");
+        }
+        return index;
+    }
+
+    private static int selectedOption(ParameterControl control) {
+        if (!(control instanceof Select)) {
+            return -1;
+        }
+        Select select = (Select) control;
+        Select.Option option = select.getSelectedOption();
+        for (int i = 0; i < select.options.size(); ++i) {
+            if (select.options.get(i) == option) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static Validator createValidator(ParameterControl control) {
+        // subclasses may redefine validation, so only exact classes are compiled
+        Class<?> type = control.getClass();
+        if (type == Text.class || type == Email.class || type == Tel.class) {
+            return new TextValidator((Text) control);
+        } else if (type == TextArea.class) {
+            return new TextAreaValidator((TextArea) control);
+        } else if (type == Date.class || type == Month.class) {
+            return new DateValidator((Date) control);
+        } else if (type == Select.class) {
+            return new SelectValidator((Select) control);
+        }
+        return new ControlValidator(control);
+    }
+
+    /**
+     * Flattens component tree in pre-order: controls of groups of options follow their select.
+     */
+    private static final class Flattener {
+
+        final List<ParameterControl> controls = new ArrayList<>();
+        final List<Integer> parents = new ArrayList<>();
+        final List<Integer> parentOptions = new ArrayList<>();
+        final List<Integer> ends = new ArrayList<>();
+
+        void addGroup(Group group, int parent, int parentOption) {
+            for (Component component : group.items) {
+                if (component instanceof Group) {
+                    addGroup((Group) component, parent, parentOption);
+                } else if (component instanceof ParameterControl) {
+                    int index = controls.size();
+                    controls.add((ParameterControl) component);
+                    parents.add(parent);
+                    parentOptions.add(parentOption);
+                    ends.add(index + 1);
+                    if (component instanceof Select) {
+                        List<Select.Option> options = ((Select) component).options;
+                        for (int i = 0; i < options.size(); ++i) {
+                            if (options.get(i).group != null) {
+                                addGroup(options.get(i).group, index, i);
+                            }
+                        }
+                        ends.set(index, controls.size());
+                    }
+                }
+            }
+        }
+    }
+
+    private interface Validator {
+        boolean isValid(String value);
+    }
+
+    private static final class ControlValidator implements Validator {
+
+        private final ParameterControl control;
+
+        ControlValidator(ParameterControl control) {
+            this.control = control;
+        }
+
+        @Override
+        public boolean isValid(String value) {
+            return control.isValid(value);
+        }
+    }
+
+    private static class TextAreaValidator implements Validator {
+
+        private final boolean required;
+        private final int minLength;
+        private final int maxLength;
+
+        TextAreaValidator(TextArea control) {
+            required = control.required;
+            minLength = control.minLength == null ? 0 : control.minLength;
+            maxLength = control.maxLength == null ? Integer.MAX_VALUE : control.maxLength;
+        }
+
+        @Override
+        public boolean isValid(String value) {
+            if (value == null || value.isEmpty()) {
+                return !required;
+            }
+            return value.length() >= minLength && value.length() <= maxLength;
+        }
+    }
+
+    private static final class TextValidator extends TextAreaValidator {
+
+        private final Pattern pattern;
+
+        TextValidator(Text control) {
+            super(control);
+            pattern = control.pattern == null ? null : Pattern.compile(control.pattern);
+        }
+
+        @Override
+        public boolean isValid(String value) {
+            return super.isValid(value) && (value == null || value.isEmpty() ||
+                    (pattern == null || pattern.matcher(value).matches()) && value.indexOf('\n') < 0);
+        }
+    }
+
+    private static final class DateValidator implements Validator {
+
+        private final boolean required;
+        private final DateTime min;
+        private final DateTime max;
+        private final DateFormat formatter;
+
+        DateValidator(Date control) {
+            required = control.required;
+            min = control.min;
+            max = control.max;
+            // shared formatter is not thread-safe
+            formatter = (DateFormat) control.getFormatter().clone();
+        }
+
+        @Override
+        public boolean isValid(String value) {
+            if (value == null || value.isEmpty()) {
+                return !required;
+            }
+            try {
+                DateTime dateTime = Date.parseDate(value, formatter);
+                return dateTime == null ||
+                        (min == null || min.isBefore(dateTime) || min.equals(dateTime)) &&
+                                (max == null || max.isAfter(dateTime) || max.equals(dateTime));
+            } catch (IllegalArgumentException | ParseException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class SelectValidator implements Validator {
+
+        private final boolean required;
+        private final Set<String> values;
+
+        SelectValidator(Select control) {
+            required = control.required;
+            values = new HashSet<>(control.values);
+        }
+
+        @Override
+        public boolean isValid(String value) {
+            if (value == null || value.isEmpty()) {
+                return !required;
+            }
+            return values.contains(value);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.model.showcase;
+
+import com.yandex.money.api.model.showcase.components.Component;
+import com.yandex.money.api.model.showcase.components.Parameter;
+import com.yandex.money.api.model.showcase.components.containers.Group;
+import com.yandex.money.api.model.showcase.components.uicontrols.Control;
+import com.yandex.money.api.model.showcase.components.uicontrols.Select;
+import com.yandex.money.api.net.ApiRequest;
+import com.yandex.money.api.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Immutable variant of {@link ShowcaseContext}.
+ * <p/>
+ * Every transition ({@link #pushStep(ShowcaseContext.Step)}, {@link #popStep()} or a response to
+ * {@link #createRequest()}) returns a new context and leaves this one intact. History of steps is a persistent stack:
+ * contexts share their common steps, so a transition costs O(1) regardless of the number of steps.
+ * <p/>
+ * Steps are shared by reference and their controls hold values entered by a user, so values of controls are copied on
+ * write: when a step is pushed to history, values of its controls are captured in the history node, and
+ * {@link #snapshot()} captures values of the current step. A context with captured values is a checkpoint that is not
+ * affected by further input, {@link #restore()} writes its values back to the controls to continue from it. The
+ * current step of a context without captured values is live: it reflects input to the controls of the step.
+ */
+public final class ImmutableShowcaseContext {
+
+    private final History history;
+    private final DateTime lastModified;
+    private final ShowcaseContext.Step currentStep;
+    private final Values values;
+    private final Map<String, String> params;
+    private final ShowcaseContext.State state;
+
+    /**
+     * Constructor.
+     *
+     * @param currentStep  current step
+     * @param lastModified {@link DateTime} of last showcase changes on remote server
+     * @param state        status code of current (last) operation
+     */
+    public ImmutableShowcaseContext(ShowcaseContext.Step currentStep, DateTime lastModified,
+                                    ShowcaseContext.State state) {
+        this(null, lastModified, currentStep, null, Collections.<String, String>emptyMap(), state);
+    }
+
+    private ImmutableShowcaseContext(History history, DateTime lastModified, ShowcaseContext.Step currentStep,
+                                     Values values, Map<String, String> params, ShowcaseContext.State state) {
+        this.history = history;
+        this.lastModified = checkNotNull(lastModified, "lastModified");
+        this.currentStep = checkNotNull(currentStep, "currentStep");
+        this.values = values;
+        this.params = params;
+        this.state = checkNotNull(state, "state");
+    }
+
+    /**
+     * Creates immutable context of the same state as {@code context}. Values of controls of history steps are
+     * captured, the current step is live.
+     *
+     * @param context mutable context
+     * @return immutable context
+     */
+    public static ImmutableShowcaseContext of(ShowcaseContext context) {
+        History history = null;
+        for (ShowcaseContext.Step step : checkNotNull(context, "context").getHistory()) {
+            history = new History(step, Values.capture(step), history);
+        }
+        return new ImmutableShowcaseContext(history, context.getLastModified(), context.getCurrentStep(), null,
+                Collections.unmodifiableMap(context.getParams()), context.getState());
+    }
+
+    /**
+     * Converts this context to a mutable one. Steps are shared by reference with values that their controls hold at
+     * the moment, captured values are not written back.
+     *
+     * @return mutable context of the same state
+     */
+    public ShowcaseContext toShowcaseContext() {
+        Stack<ShowcaseContext.Step> stack = new Stack<>();
+        stack.addAll(getHistory());
+        return new ShowcaseContext(stack, lastModified, currentStep, params, state);
+    }
+
+    /**
+     * Creates request to submit the current step. If this context has captured values, they are written to the
+     * controls of the step first (see {@link #restore()}).
+     *
+     * @return request to move on the next state, it returns a new context
+     */
+    public ApiRequest<ImmutableShowcaseContext> createRequest() {
+        return new Request(restore());
+    }
+
+    /**
+     * Captures values of controls of the current step. The history is shared with this context.
+     *
+     * @return context that is not affected by further input to controls
+     */
+    public ImmutableShowcaseContext snapshot() {
+        return new ImmutableShowcaseContext(history, lastModified, currentStep, Values.capture(currentStep), params,
+                state);
+    }
+
+    /**
+     * Writes captured values of the current step to its controls, e.g. to continue from a snapshot or after
+     * {@link #popStep()}. Controls of the step are shared with other contexts holding it.
+     *
+     * @return context with live current step
+     */
+    public ImmutableShowcaseContext restore() {
+        if (values == null) {
+            return this;
+        }
+        values.apply();
+        return new ImmutableShowcaseContext(history, lastModified, currentStep, null, params, state);
+    }
+
+    /**
+     * Pushes current step to history using new step as current step. Values of the current step are captured unless
+     * they already are.
+     *
+     * @param step new step
+     * @return context in {@link ShowcaseContext.State#HAS_NEXT_STEP} state
+     */
+    public ImmutableShowcaseContext pushStep(ShowcaseContext.Step step) {
+        checkNotNull(step, "step");
+        History node = new History(currentStep, values == null ? Values.capture(currentStep) : values, history);
+        return new ImmutableShowcaseContext(node, lastModified, step, null, Collections.<String, String>emptyMap(),
+                ShowcaseContext.State.HAS_NEXT_STEP);
+    }
+
+    /**
+     * Pops previous step from history setting it as a current step.
+     * <p/>
+     * If context has state {@code COMPLETED} params are removed and the state is reset to {@code HAS_NEXT_STEP}
+     * instead.
+     * <p/>
+     * If history is empty this context is returned.
+     * <p/>
+     * Previous step keeps values captured when it was pushed, call {@link #restore()} to write them to its controls.
+     *
+     * @return previous context
+     */
+    public ImmutableShowcaseContext popStep() {
+        if (!params.isEmpty()) {
+            return new ImmutableShowcaseContext(history, lastModified, currentStep, values,
+                    Collections.<String, String>emptyMap(), ShowcaseContext.State.HAS_NEXT_STEP);
+        } else if (history != null) {
+            return new ImmutableShowcaseContext(history.previous, lastModified, history.step, history.values, params,
+                    state);
+        }
+        return this;
+    }
+
+    /**
+     * @return size of processed steps
+     */
+    public int getHistorySize() {
+        return history == null ? 0 : history.size;
+    }
+
+    /**
+     * @return reached steps, the first one is the oldest
+     */
+    public List<ShowcaseContext.Step> getHistory() {
+        ShowcaseContext.Step[] steps = new ShowcaseContext.Step[getHistorySize()];
+        for (History node = history; node != null; node = node.previous) {
+            steps[node.size - 1] = node.step;
+        }
+        return Collections.unmodifiableList(Arrays.asList(steps));
+    }
+
+    /**
+     * @return current step
+     */
+    public ShowcaseContext.Step getCurrentStep() {
+        return currentStep;
+    }
+
+    /**
+     * @return {@link DateTime} of last showcase changes on remote server
+     */
+    public DateTime getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return payment parameters in case of last step or empty map otherwise
+     */
+    public Map<String, String> getParams() {
+        return params;
+    }
+
+    /**
+     * @return status code of current (last) operation
+     */
+    public ShowcaseContext.State getState() {
+        return state;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ImmutableShowcaseContext that = (ImmutableShowcaseContext) o;
+
+        return History.equals(history, that.history) && lastModified.equals(that.lastModified)
+                && currentStep.equals(that.currentStep)
+                && getValues().equals(that.getValues())
+                && params.equals(that.params)
+                && state == that.state;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = getHistory().hashCode();
+        result = 31 * result + lastModified.hashCode();
+        result = 31 * result + currentStep.hashCode();
+        result = 31 * result + params.hashCode();
+        result = 31 * result + state.hashCode();
+        return result;
+    }
+
+    /**
+     * @return captured values or values of controls of the current step
+     */
+    private Values getValues() {
+        return values == null ? Values.capture(currentStep) : values;
+    }
+
+    @Override
+    public String toString() {
+        return "ImmutableShowcaseContext{" +
+                "history=" + getHistory() +
+                ", lastModified=" + lastModified +
+                ", currentStep=" + currentStep +
+                ", params=" + params +
+                ", state=" + state +
+                '}';
+    }
+
+    /**
+     * Node of a persistent stack of steps.
+     */
+    private static final class History {
+
+        final ShowcaseContext.Step step;
+        final Values values;
+        final History previous;
+        final int size;
+
+        History(ShowcaseContext.Step step, Values values, History previous) {
+            this.step = step;
+            this.values = values;
+            this.previous = previous;
+            this.size = previous == null ? 1 : previous.size + 1;
+        }
+
+        static boolean equals(History first, History second) {
+            if (first == null || second == null) {
+                return first == second;
+            }
+            if (first.size != second.size) {
+                return false;
+            }
+            // shared tails are compared by reference
+            while (first != second) {
+                if (!first.step.equals(second.step) || !first.values.equals(second.values)) {
+                    return false;
+                }
+                first = first.previous;
+                second = second.previous;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Values of controls of a step. Read-only controls are not captured since their values can not be changed.
+     */
+    private static final class Values {
+
+        final List<Parameter> parameters;
+        final List<String> values;
+
+        private Values(List<Parameter> parameters, List<String> values) {
+            this.parameters = parameters;
+            this.values = values;
+        }
+
+        static Values capture(ShowcaseContext.Step step) {
+            List<Parameter> parameters = new ArrayList<>();
+            if (step.showcase != null && step.showcase.form != null) {
+                collect(step.showcase.form, parameters);
+            }
+            List<String> values = new ArrayList<>(parameters.size());
+            for (Parameter parameter : parameters) {
+                values.add(parameter.getValue());
+            }
+            return new Values(Collections.unmodifiableList(parameters), Collections.unmodifiableList(values));
+        }
+
+        /**
+         * Collects parameters in order of their appearance, so that a value of {@link Select} is set before values of
+         * its options' groups. Groups of all options are collected because selected option can change.
+         */
+        private static void collect(Group group, List<Parameter> parameters) {
+            for (Component component : group.items) {
+                if (component instanceof Group) {
+                    collect((Group) component, parameters);
+                } else if (component instanceof Parameter) {
+                    if (!(component instanceof Control) || !((Control) component).readonly) {
+                        parameters.add((Parameter) component);
+                    }
+                    if (component instanceof Select) {
+                        for (Select.Option option : ((Select) component).options) {
+                            if (option.group != null) {
+                                collect(option.group, parameters);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        void apply() {
+            for (int i = 0; i < parameters.size(); ++i) {
+                parameters.get(i).setValue(values.get(i));
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof Values && values.equals(((Values) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+    }
+
+    private static final class Request extends ShowcaseStepRequest<ImmutableShowcaseContext> {
+
+        private final ImmutableShowcaseContext context;
+
+        Request(ImmutableShowcaseContext context) {
+            super(context.currentStep, context.lastModified);
+            this.context = context;
+        }
+
+        @Override
+        protected ImmutableShowcaseContext onCompleted(Map<String, String> params) {
+            return new ImmutableShowcaseContext(context.history, context.lastModified, context.currentStep, null,
+                    params, ShowcaseContext.State.COMPLETED);
+        }
+
+        @Override
+        protected ImmutableShowcaseContext onNextStep(ShowcaseContext.Step step) {
+            return context.pushStep(step);
+        }
+
+        @Override
+        protected ImmutableShowcaseContext onInvalidParams(ShowcaseContext.Step step) {
+            return new ImmutableShowcaseContext(context.history, context.lastModified, step, null, context.params,
+                    ShowcaseContext.State.INVALID_PARAMS);
+        }
+    }
+}
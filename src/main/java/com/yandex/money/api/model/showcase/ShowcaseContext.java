@@ -28,30 +28,20 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
-import com.yandex.money.api.exceptions.ResourceNotFoundException;
 import com.yandex.money.api.methods.payment.RequestExternalPayment;
 import com.yandex.money.api.methods.payment.RequestPayment;
 import com.yandex.money.api.net.ApiRequest;
-import com.yandex.money.api.net.BaseApiRequest;
-import com.yandex.money.api.net.HttpClientResponse;
-import com.yandex.money.api.net.providers.HostsProvider;
 import com.yandex.money.api.time.DateTime;
 import com.yandex.money.api.typeadapters.BaseTypeAdapter;
 import com.yandex.money.api.typeadapters.JsonUtils;
-import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
-import com.yandex.money.api.util.HttpHeaders;
 
-import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
-import java.net.HttpURLConnection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Stack;
 
-import static com.yandex.money.api.util.Common.checkNotEmpty;
 import static com.yandex.money.api.util.Common.checkNotNull;
-import static com.yandex.money.api.util.Responses.processError;
 
 /**
  * This class handles {@link Showcase} submit steps.
@@ -220,8 +210,14 @@ public final class ShowcaseContext {
         return result;
     }
 
-    void setParams(InputStream inputStream) {
-        params = ParamsTypeAdapter.getInstance()
+    /**
+     * Parses payment parameters of a completed showcase.
+     *
+     * @param inputStream response body
+     * @return payment parameters
+     */
+    static Map<String, String> parseParams(InputStream inputStream) {
+        return ParamsTypeAdapter.getInstance()
                 .fromJson(inputStream)
                 .params;
     }
@@ -299,66 +295,34 @@ public final class ShowcaseContext {
         }
     }
 
-    private static final class Request extends BaseApiRequest<ShowcaseContext> {
+    private static final class Request extends ShowcaseStepRequest<ShowcaseContext> {
 
         private final ShowcaseContext context;
 
-        public Request(ShowcaseContext context, DateTime lastModified) {
-            this.context = checkNotNull(context, "context");
-            checkNotEmpty(context.getCurrentStep().submitUrl, "currentStep.submitUrl");
-
-            addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
-            addParameters(checkNotNull(context.getCurrentStep().showcase, "currentStep.showcase").getPaymentParameters());
+        Request(ShowcaseContext context, DateTime lastModified) {
+            super(checkNotNull(context, "context").getCurrentStep(), lastModified);
+            this.context = context;
         }
 
         @Override
-        public Method getMethod() {
-            return Method.POST;
+        protected ShowcaseContext onCompleted(Map<String, String> params) {
+            context.params = params;
+            context.setState(State.COMPLETED);
+            return context;
         }
 
         @Override
-        protected String requestUrlBase(HostsProvider hostsProvider) {
-            return context.getCurrentStep().submitUrl;
+        protected ShowcaseContext onNextStep(Step step) {
+            context.pushCurrentStep(step);
+            context.setState(State.HAS_NEXT_STEP);
+            return context;
         }
 
         @Override
-        public ShowcaseContext parse(HttpClientResponse response) throws Exception {
-            InputStream inputStream = null;
-
-            try {
-                int responseCode = response.getCode();
-                switch (responseCode) {
-                    case HttpURLConnection.HTTP_OK:
-                        inputStream = response.getByteStream();
-                        context.setParams(inputStream);
-                        context.setState(ShowcaseContext.State.COMPLETED);
-                        return context;
-                    case HttpURLConnection.HTTP_MULT_CHOICE:
-                    case HttpURLConnection.HTTP_BAD_REQUEST:
-                        final String newLocation = response.getHeader(HttpHeaders.LOCATION);
-
-                        inputStream = response.getByteStream();
-                        Showcase newShowcase = ShowcaseTypeAdapter.getInstance().fromJson(inputStream);
-
-                        ShowcaseContext.Step step = new ShowcaseContext.Step(newShowcase, newLocation);
-                        if (responseCode == HttpURLConnection.HTTP_MULT_CHOICE) {
-                            context.pushCurrentStep(step);
-                            context.setState(ShowcaseContext.State.HAS_NEXT_STEP);
-                        } else {
-                            context.setCurrentStep(step);
-                            context.setState(ShowcaseContext.State.INVALID_PARAMS);
-                        }
-                        return context;
-                    case HttpURLConnection.HTTP_NOT_FOUND:
-                        throw new ResourceNotFoundException(response.getUrl());
-                    default:
-                        throw new IOException(processError(response));
-                }
-            } finally {
-                if (inputStream != null) {
-                    inputStream.close();
-                }
-            }
+        protected ShowcaseContext onInvalidParams(Step step) {
+            context.setCurrentStep(step);
+            context.setState(State.INVALID_PARAMS);
+            return context;
         }
     }
 
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.model.showcase;
+
+import com.yandex.money.api.exceptions.ResourceNotFoundException;
+import com.yandex.money.api.net.BaseApiRequest;
+import com.yandex.money.api.net.HttpClientResponse;
+import com.yandex.money.api.net.providers.HostsProvider;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
+import com.yandex.money.api.util.HttpHeaders;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Map;
+
+import static com.yandex.money.api.util.Common.checkNotEmpty;
+import static com.yandex.money.api.util.Common.checkNotNull;
+import static com.yandex.money.api.util.Responses.processError;
+
+/**
+ * Submits a step of a showcase. Subclasses define how an outcome of a submit is applied to a context.
+ *
+ * @param <T> type of a context
+ */
+abstract class ShowcaseStepRequest<T> extends BaseApiRequest<T> {
+
+    private final String submitUrl;
+
+    ShowcaseStepRequest(ShowcaseContext.Step currentStep, DateTime lastModified) {
+        checkNotNull(currentStep, "currentStep");
+        this.submitUrl = checkNotEmpty(currentStep.submitUrl, "currentStep.submitUrl");
+
+        addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        addParameters(checkNotNull(currentStep.showcase, "currentStep.showcase").getPaymentParameters());
+    }
+
+    @Override
+    public Method getMethod() {
+        return Method.POST;
+    }
+
+    @Override
+    protected String requestUrlBase(HostsProvider hostsProvider) {
+        return submitUrl;
+    }
+
+    @Override
+    public T parse(HttpClientResponse response) throws Exception {
+        InputStream inputStream = null;
+
+        try {
+            int responseCode = response.getCode();
+            switch (responseCode) {
+                case HttpURLConnection.HTTP_OK:
+                    inputStream = response.getByteStream();
+                    return onCompleted(ShowcaseContext.parseParams(inputStream));
+                case HttpURLConnection.HTTP_MULT_CHOICE:
+                case HttpURLConnection.HTTP_BAD_REQUEST:
+                    final String newLocation = response.getHeader(HttpHeaders.LOCATION);
+
+                    inputStream = response.getByteStream();
+                    Showcase newShowcase = ShowcaseTypeAdapter.getInstance().fromJson(inputStream);
+
+                    ShowcaseContext.Step step = new ShowcaseContext.Step(newShowcase, newLocation);
+                    return responseCode == HttpURLConnection.HTTP_MULT_CHOICE ? onNextStep(step) :
+                            onInvalidParams(step);
+                case HttpURLConnection.HTTP_NOT_FOUND:
+                    throw new ResourceNotFoundException(response.getUrl());
+                default:
+                    throw new IOException(processError(response));
+            }
+        } finally {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        }
+    }
+
+    /**
+     * Called when the last step is submitted.
+     *
+     * @param params complete bundle of payment parameters
+     * @return context in {@link ShowcaseContext.State#COMPLETED} state
+     */
+    protected abstract T onCompleted(Map<String, String> params);
+
+    /**
+     * Called when the step is accepted.
+     *
+     * @param step next step
+     * @return context in {@link ShowcaseContext.State#HAS_NEXT_STEP} state
+     */
+    protected abstract T onNextStep(ShowcaseContext.Step step);
+
+    /**
+     * Called when the step is rejected.
+     *
+     * @param step the same step with errors
+     * @return context in {@link ShowcaseContext.State#INVALID_PARAMS} state
+     */
+    protected abstract T onInvalidParams(ShowcaseContext.Step step);
+}
@@ -31,25 +31,30 @@ import com.yandex.money.api.time.Iso8601Format;
 import com.yandex.money.api.typeadapters.JsonUtils;
 import com.yandex.money.api.util.HttpHeaders;
 import com.yandex.money.api.util.MimeTypes;
+import okio.BufferedSink;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static com.yandex.money.api.util.Common.checkNotNull;
+
 /**
  * Base implementation of {@link ApiRequest}. It is preferable to extend your requests from this class or its
  * descendants rather than create your own implementation of {@link ApiRequest}.
  *
  * @author Slava Yasevich (vyasevich@yamoney.ru)
  */
-public abstract class BaseApiRequest<T> implements ApiRequest<T> {
+public abstract class BaseApiRequest<T> implements StreamingApiRequest<T> {
 
     private transient final Map<String, String> headers = new HashMap<>();
     private transient final Map<String, String> parameters = new HashMap<>();
     private transient final ParametersBuffer buffer = new ParametersBuffer();
 
     private transient byte[] body;
+    private transient JsonElement jsonBody;
 
     @Override
     public final String requestUrl(HostsProvider hostsProvider) {
@@ -70,7 +75,37 @@ public abstract class BaseApiRequest<T> implements ApiRequest<T> {
     @Override
     public final byte[] getBody() {
         prepareBody();
-        return body == null ? buffer.setParameters(parameters).prepareBytes() : body;
+        if (body != null) {
+            return body;
+        } else if (jsonBody != null) {
+            return JsonUtils.getBytes(jsonBody);
+        } else {
+            return buffer.setParameters(parameters).prepareBytes();
+        }
+    }
+
+    @Override
+    public final long getContentLength() {
+        prepareBody();
+        if (body != null) {
+            return body.length;
+        } else if (jsonBody != null) {
+            return JsonUtils.getByteCount(jsonBody);
+        } else {
+            return buffer.setParameters(parameters).contentLength();
+        }
+    }
+
+    @Override
+    public final void writeBody(BufferedSink sink) throws IOException {
+        prepareBody();
+        if (body != null) {
+            sink.write(body);
+        } else if (jsonBody != null) {
+            JsonUtils.write(jsonBody, sink);
+        } else {
+            buffer.setParameters(parameters).writeTo(sink);
+        }
     }
 
     @Override
@@ -204,20 +239,24 @@ public abstract class BaseApiRequest<T> implements ApiRequest<T> {
     @SuppressWarnings("WeakerAccess")
     protected final void setBody(byte[] body) {
         this.body = body;
+        this.jsonBody = null;
     }
 
     /**
-     * Sets a JSON body. Will override any added parameters if not {code null}.
+     * Sets a JSON body. Will override any added parameters if not {code null}. The element is serialized each time
+     * the body is written, so it should not be modified after the request was made.
      *
      * @param json JSON body
      * @see #setBody(byte[])
      */
     protected final void setBody(JsonElement json) {
-        setBody(JsonUtils.getBytes(json));
+        this.jsonBody = checkNotNull(json, "element");
+        this.body = null;
     }
 
     /**
-     * Allows you to lazily prepare request body before {@link #getBody()} method returns. You can use
+     * Allows you to lazily prepare request body before {@link #getBody()} method returns or
+     * {@link #writeBody(BufferedSink)} writes it. You can use
      * {@link #setBody(byte[])} or any of {@code addParameter*} methods here.
      */
     @SuppressWarnings("WeakerAccess")
@@ -89,7 +89,7 @@ public abstract class FirstApiRequest<T> extends BaseApiRequest<T> {
                 case HttpURLConnection.HTTP_BAD_REQUEST:
                     inputStream = response.getByteStream();
                     if (isJsonType(response)) {
-                        return Responses.parseJson(inputStream, cls, typeAdapter);
+                        return parseJson(inputStream);
                     } else {
                         throw new InvalidRequestException(processError(response));
                     }
@@ -107,6 +107,17 @@ public abstract class FirstApiRequest<T> extends BaseApiRequest<T> {
         }
     }
 
+    /**
+     * Parses JSON response document. By default the document is read with a class or a type adapter specified in
+     * constructor.
+     *
+     * @param inputStream response body
+     * @return response document
+     */
+    protected T parseJson(InputStream inputStream) throws Exception {
+        return Responses.parseJson(inputStream, cls, typeAdapter);
+    }
+
     private static boolean isJsonType(HttpClientResponse response) {
         String field = response.getHeader(HttpHeaders.CONTENT_TYPE);
         return field != null && (field.startsWith(MimeTypes.Application.JSON) || field.startsWith(MimeTypes.Text.JSON));
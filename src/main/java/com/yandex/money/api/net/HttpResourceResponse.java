@@ -60,8 +60,17 @@ public final class HttpResourceResponse<T> {
      */
     public final T document;
 
-    HttpResourceResponse(ResourceState resourceState, String contentType, DateTime lastModified,
-                         DateTime expires, T document) {
+    /**
+     * Constructor.
+     *
+     * @param resourceState state of a resource
+     * @param contentType content type, may be {@code null}
+     * @param lastModified last modified date
+     * @param expires expiration date, may be {@code null}
+     * @param document document, may be {@code null}
+     */
+    public HttpResourceResponse(ResourceState resourceState, String contentType, DateTime lastModified,
+                                DateTime expires, T document) {
 
         this.resourceState = checkNotNull(resourceState, "resourceState");
         this.lastModified = checkNotNull(lastModified, "lastModified");
@@ -25,12 +25,10 @@
 package com.yandex.money.api.net;
 
 import com.yandex.money.api.util.Strings;
+import okio.Buffer;
+import okio.BufferedSink;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
-import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Map;
 
@@ -39,13 +37,17 @@ import static com.yandex.money.api.util.Common.checkNotNull;
 /**
  * Buffers request parameters and creates request body for different methods. It also encodes keys
  * and values if needed using UTF-8 charset.
+ * <p>
+ * Keys and values are percent-encoded the same way as {@link java.net.URLEncoder} does with UTF-8 charset, but
+ * encoded bytes are written directly to a sink without intermediate strings and byte arrays.
  *
  * @author Slava Yasevich (vyasevich@yamoney.ru)
  */
 public final class ParametersBuffer {
 
-    private static final String UTF8_NAME = "UTF-8";
-    static final Charset UTF8_CHARSET = Charset.forName(UTF8_NAME);
+    private static final byte[] HEX_DIGITS = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
 
     private Map<String, String> params = Collections.emptyMap();
 
@@ -56,11 +58,13 @@ public final class ParametersBuffer {
      * @return UTF-8 byte array
      */
     public static byte[] encodeUtf8(String value) {
+        Buffer buffer = new Buffer();
         try {
-            return encode(value).getBytes(UTF8_CHARSET);
-        } catch (UnsupportedEncodingException e) {
+            writeEncoded(buffer, value);
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        return buffer.readByteArray();
     }
 
     /**
@@ -88,9 +92,13 @@ public final class ParametersBuffer {
      * @return url parameters
      */
     public String prepareGet() {
-        GetBuffer buffer = new GetBuffer();
-        iterate(buffer);
-        return buffer.toString();
+        Buffer buffer = new Buffer();
+        try {
+            write(buffer, true);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return buffer.readUtf8();
     }
 
     /**
@@ -102,91 +110,136 @@ public final class ParametersBuffer {
      * {@code params.put("key1", "value1");}<br/>
      * {@code params.put("key2", "value2");}
      * <p>
-     * Then the method will return byte array containing "?key1=value1&key2=value2".
+     * Then the method will return byte array containing "key1=value1&key2=value2".
      *
      * @return byte array of parameters
      */
     public byte[] prepareBytes() {
-        PostBuffer buffer = new PostBuffer();
-        iterate(buffer);
-        return buffer.getBytes();
+        Buffer buffer = new Buffer();
+        try {
+            write(buffer, false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return buffer.readByteArray();
     }
 
-    static String encode(String value) throws UnsupportedEncodingException {
-        return URLEncoder.encode(value, UTF8_CHARSET.name());
+    /**
+     * Writes parameters as a body of a request to a sink. Produces the same bytes as {@link #prepareBytes()}.
+     *
+     * @param sink sink to write to
+     */
+    public void writeTo(BufferedSink sink) throws IOException {
+        write(sink, false);
     }
 
-    private void iterate(Buffer buffer) {
+    /**
+     * Gets length of a body of a request in bytes without encoding it.
+     *
+     * @return number of bytes {@link #writeTo(BufferedSink)} writes
+     */
+    public long contentLength() {
+        long length = 0;
         for (Map.Entry<String, String> param : params.entrySet()) {
             String key = param.getKey();
-            if (Strings.isNullOrEmpty(key)) {
-                continue; // ignore empty keys
+            String value = param.getValue();
+            if (!isSkipped(key, value)) {
+                length += (length == 0 ? 0 : 1) + encodedLength(key) + 1 + encodedLength(value);
             }
+        }
+        return length;
+    }
 
+    private void write(BufferedSink sink, boolean query) throws IOException {
+        boolean first = true;
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            String key = param.getKey();
             String value = param.getValue();
-            if (Strings.isNullOrEmpty(value)) {
+            if (isSkipped(key, value)) {
                 continue;
             }
 
-            buffer.nextParameter(key, value);
+            if (!first || query) {
+                sink.writeByte(first ? '?' : '&');
+            }
+            writeEncoded(sink, key);
+            sink.writeByte('=');
+            writeEncoded(sink, value);
+            first = false;
         }
     }
 
-    private interface Buffer {
-        void nextParameter(String key, String value);
+    private static boolean isSkipped(String key, String value) {
+        // ignore empty keys and values
+        return Strings.isNullOrEmpty(key) || Strings.isNullOrEmpty(value);
     }
 
-    private static final class GetBuffer implements Buffer {
-
-        public final StringBuilder builder = new StringBuilder();
-
-        GetBuffer() {
-        }
-
-        @Override
-        public void nextParameter(String key, String value) {
-            try {
-                builder.append(builder.length() == 0 ? '?' : '&')
-                        .append(encode(key))
-                        .append('=')
-                        .append(encode(value));
-            } catch (UnsupportedEncodingException e) {
-                throw new RuntimeException(e);
+    /**
+     * Writes percent-encoded UTF-8 bytes of a value to a sink.
+     *
+     * @param sink sink to write to
+     * @param value value to encode
+     */
+    static void writeEncoded(BufferedSink sink, String value) throws IOException {
+        for (int i = 0, length = value.length(); i < length; ++i) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                sink.writeByte(c);
+            } else if (c == ' ') {
+                sink.writeByte('+');
+            } else if (c < 0x80) {
+                writePercentEncoded(sink, c);
+            } else if (c < 0x800) {
+                writePercentEncoded(sink, 0xc0 | (c >> 6));
+                writePercentEncoded(sink, 0x80 | (c & 0x3f));
+            } else if (!Character.isSurrogate(c)) {
+                writePercentEncoded(sink, 0xe0 | (c >> 12));
+                writePercentEncoded(sink, 0x80 | ((c >> 6) & 0x3f));
+                writePercentEncoded(sink, 0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writePercentEncoded(sink, 0xf0 | (codePoint >> 18));
+                writePercentEncoded(sink, 0x80 | ((codePoint >> 12) & 0x3f));
+                writePercentEncoded(sink, 0x80 | ((codePoint >> 6) & 0x3f));
+                writePercentEncoded(sink, 0x80 | (codePoint & 0x3f));
+            } else {
+                // malformed surrogate is replaced with '?' as String.getBytes(Charset) does
+                writePercentEncoded(sink, '?');
             }
         }
-
-        @Override
-        public String toString() {
-            return builder.toString();
-        }
     }
 
-    private static final class PostBuffer implements Buffer {
-
-        private static final byte[] AMPERSAND = "&".getBytes(UTF8_CHARSET);
-        private static final byte[] EQUALS_SIGN = "=".getBytes(UTF8_CHARSET);
-
-        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-
-        PostBuffer() {
-        }
-
-        @Override
-        public void nextParameter(String key, String value) {
-            try {
-                if (stream.size() > 0) {
-                    stream.write(AMPERSAND);
-                }
-                stream.write(encodeUtf8(key));
-                stream.write(EQUALS_SIGN);
-                stream.write(encodeUtf8(value));
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    private static long encodedLength(String value) {
+        long length = 0;
+        for (int i = 0, size = value.length(); i < size; ++i) {
+            char c = value.charAt(i);
+            if (isUnreserved(c) || c == ' ') {
+                length += 1;
+            } else if (c < 0x80) {
+                length += 3;
+            } else if (c < 0x800) {
+                length += 6;
+            } else if (!Character.isSurrogate(c)) {
+                length += 9;
+            } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 12;
+                ++i;
+            } else {
+                length += 3;
             }
         }
+        return length;
+    }
 
-        byte[] getBytes() {
-            return stream.toByteArray();
-        }
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_';
+    }
+
+    private static void writePercentEncoded(BufferedSink sink, int b) throws IOException {
+        sink.writeByte('%')
+                .writeByte(HEX_DIGITS[(b >> 4) & 0xf])
+                .writeByte(HEX_DIGITS[b & 0xf]);
     }
 }
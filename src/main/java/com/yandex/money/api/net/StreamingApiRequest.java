@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net;
+
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * API request that is able to write its body directly to a transport sink. Clients check if a request implements
+ * this interface and fall back to {@link #getBody()} otherwise, so implementing it is optional. Both ways must
+ * produce the same bytes.
+ *
+ * @param <T> response
+ * @see BaseApiRequest
+ */
+public interface StreamingApiRequest<T> extends ApiRequest<T> {
+
+    /**
+     * Gets length of a body in bytes.
+     *
+     * @return number of bytes {@link #writeBody(BufferedSink)} writes or {@code -1} if unknown
+     */
+    long getContentLength();
+
+    /**
+     * Writes a body of a request to a sink. Can be called more than once if a request is retried.
+     *
+     * @param sink sink to write to
+     */
+    void writeBody(BufferedSink sink) throws IOException;
+}
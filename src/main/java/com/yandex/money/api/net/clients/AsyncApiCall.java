@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.net.ApiRequest;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Asynchronous execution of an {@link ApiRequest}. Network I/O is performed by OkHttp's dispatcher, response is parsed
+ * on a parsing executor with {@link ApiRequest#parse(com.yandex.money.api.net.HttpClientResponse)}. Cancellation of
+ * this future cancels underlying {@link Call}.
+ *
+ * @param <T> response document type
+ */
+final class AsyncApiCall<T> implements Future<T>, Callback {
+
+    private final Call call;
+    private final ApiRequest<T> request;
+    private final ApiCallback<T> callback;
+    private final Executor parsingExecutor;
+    private final boolean debugMode;
+
+    private boolean done;
+    private boolean cancelled;
+    private T result;
+    private Exception error;
+
+    AsyncApiCall(Call call, ApiRequest<T> request, ApiCallback<T> callback, Executor parsingExecutor,
+                 boolean debugMode) {
+        this.call = checkNotNull(call, "call");
+        this.request = checkNotNull(request, "request");
+        this.callback = callback;
+        this.parsingExecutor = checkNotNull(parsingExecutor, "parsingExecutor");
+        this.debugMode = debugMode;
+    }
+
+    /**
+     * Schedules the call.
+     *
+     * @return itself
+     */
+    AsyncApiCall<T> enqueue() {
+        call.enqueue(this);
+        return this;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            done = true;
+            notifyAll();
+        }
+        call.cancel();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (!done) {
+            wait();
+        }
+        return report();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (!done) {
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return report();
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+        complete(null, e);
+    }
+
+    @Override
+    public void onResponse(Call call, final Response response) {
+        try {
+            parsingExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    parse(response);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            response.close();
+            complete(null, e);
+        }
+    }
+
+    private void parse(Response response) {
+        try {
+            if (!isCancelled()) {
+                complete(request.parse(new OkHttpClientResponse(response, debugMode)), null);
+            }
+        } catch (Exception e) {
+            complete(null, e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private void complete(T result, Exception error) {
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            this.result = result;
+            this.error = error;
+            this.done = true;
+            notifyAll();
+        }
+
+        if (callback != null) {
+            if (error == null) {
+                callback.onSuccess(result);
+            } else {
+                callback.onFailure(error);
+            }
+        }
+    }
+
+    private T report() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+}
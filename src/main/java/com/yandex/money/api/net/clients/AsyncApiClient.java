@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.net.ApiRequest;
+
+import java.util.concurrent.Future;
+
+/**
+ * {@link ApiClient} that is able to execute requests without blocking a calling thread. Implementing this interface is
+ * optional, clients that do not implement it can only execute requests with {@link #execute(ApiRequest)}.
+ *
+ * @see DefaultApiClient
+ */
+public interface AsyncApiClient extends ApiClient {
+
+    /**
+     * Executes {@link ApiRequest} asynchronously. The method does not block: response is parsed on a parsing executor
+     * when it arrives. Cancelling returned future cancels network call.
+     *
+     * @param request request to execute
+     * @param <T> response document type
+     * @return future of a response document
+     */
+    <T> Future<T> executeAsync(ApiRequest<T> request);
+
+    /**
+     * Executes {@link ApiRequest} asynchronously and notifies callback about the outcome.
+     *
+     * @param request request to execute
+     * @param callback callback to notify, may be {@code null}
+     * @param <T> response document type
+     * @return future of a response document
+     * @see #executeAsync(ApiRequest)
+     */
+    <T> Future<T> executeAsync(ApiRequest<T> request, ApiCallback<T> callback);
+}
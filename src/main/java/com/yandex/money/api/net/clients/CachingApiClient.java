@@ -0,0 +1,316 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.authorization.AuthorizationData;
+import com.yandex.money.api.authorization.AuthorizationParameters;
+import com.yandex.money.api.net.ApiRequest;
+import com.yandex.money.api.net.DocumentApiRequest;
+import com.yandex.money.api.net.HttpClientResponse;
+import com.yandex.money.api.net.HttpResourceResponse;
+import com.yandex.money.api.net.StreamingApiRequest;
+import com.yandex.money.api.net.UserAgent;
+import com.yandex.money.api.net.providers.HostsProvider;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.Language;
+import okio.BufferedSink;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * {@link AsyncApiClient} that caches documents of {@link DocumentApiRequest}s. Fresh documents (not expired according
+ * to {@code Expires} header) are returned without network I/O, stale documents are revalidated with conditional GET
+ * requests using {@code If-Modified-Since} header. If a document is not modified, cached document is returned, so
+ * responses of this client always contain a document. Other requests are passed to an underlying client as is.
+ */
+public class CachingApiClient implements AsyncApiClient {
+
+    private final AsyncApiClient client;
+    private final DocumentCache cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong revalidationCount = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param client client to execute requests with
+     * @param cache cache to store documents in
+     */
+    public CachingApiClient(AsyncApiClient client, DocumentCache cache) {
+        this.client = checkNotNull(client, "client");
+        this.cache = checkNotNull(cache, "cache");
+    }
+
+    @Override
+    public String getClientId() {
+        return client.getClientId();
+    }
+
+    @Override
+    public Language getLanguage() {
+        return client.getLanguage();
+    }
+
+    @Override
+    public HostsProvider getHostsProvider() {
+        return client.getHostsProvider();
+    }
+
+    @Override
+    public UserAgent getUserAgent() {
+        return client.getUserAgent();
+    }
+
+    @Override
+    public <T> T execute(ApiRequest<T> request) throws Exception {
+        if (request instanceof DocumentApiRequest) {
+            T cached = getFresh(request);
+            return cached == null ? client.execute(cachedRequest(request)) : cached;
+        } else {
+            return client.execute(request);
+        }
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request) {
+        return executeAsync(request, null);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request, ApiCallback<T> callback) {
+        if (request instanceof DocumentApiRequest) {
+            T cached = getFresh(request);
+            if (cached != null) {
+                if (callback != null) {
+                    callback.onSuccess(cached);
+                }
+                return new CompletedFuture<>(cached);
+            }
+            return client.executeAsync(cachedRequest(request), callback);
+        } else {
+            return client.executeAsync(request, callback);
+        }
+    }
+
+    @Override
+    public AuthorizationData createAuthorizationData(AuthorizationParameters parameters) {
+        return client.createAuthorizationData(parameters);
+    }
+
+    @Override
+    public void setAccessToken(String accessToken) {
+        client.setAccessToken(accessToken);
+    }
+
+    @Override
+    public boolean isAuthorized() {
+        return client.isAuthorized();
+    }
+
+    /**
+     * @return number of requests served from the cache without network I/O
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return number of requests for documents that were not cached
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of conditional requests made to revalidate stale documents
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * Gets key of a request in the cache.
+     *
+     * @param request request
+     * @return key
+     */
+    protected String getKey(ApiRequest<?> request) {
+        return getLanguage().iso6391Code + ' ' + request.requestUrl(getHostsProvider());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getFresh(ApiRequest<T> request) {
+        HttpResourceResponse<?> cached = cache.get(getKey(request));
+        if (cached != null && cached.expires != null && cached.expires.isAfter(DateTime.now())) {
+            hitCount.incrementAndGet();
+            return (T) cached;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ApiRequest<T> cachedRequest(ApiRequest<T> request) {
+        String key = getKey(request);
+        HttpResourceResponse<?> cached = cache.get(key);
+        if (cached == null) {
+            missCount.incrementAndGet();
+        } else {
+            revalidationCount.incrementAndGet();
+        }
+        return (ApiRequest<T>) new CachedDocumentRequest<>((ApiRequest<HttpResourceResponse<Object>>) request, key,
+                (HttpResourceResponse<Object>) cached);
+    }
+
+    /**
+     * Wraps document request to make it conditional and to store its result.
+     */
+    private final class CachedDocumentRequest<T> implements StreamingApiRequest<HttpResourceResponse<T>> {
+
+        private final ApiRequest<HttpResourceResponse<T>> request;
+        private final String key;
+        private final HttpResourceResponse<T> cached;
+
+        CachedDocumentRequest(ApiRequest<HttpResourceResponse<T>> request, String key,
+                              HttpResourceResponse<T> cached) {
+            this.request = request;
+            this.key = key;
+            this.cached = cached;
+        }
+
+        @Override
+        public Method getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public String requestUrl(HostsProvider hostsProvider) {
+            return request.requestUrl(hostsProvider);
+        }
+
+        @Override
+        public Map<String, String> getHeaders() {
+            if (cached == null) {
+                return request.getHeaders();
+            }
+            Map<String, String> headers = new HashMap<>(request.getHeaders());
+            headers.put(HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.formatDateTime(cached.lastModified));
+            return headers;
+        }
+
+        @Override
+        public Map<String, String> getParameters() {
+            return request.getParameters();
+        }
+
+        @Override
+        public byte[] getBody() {
+            return request.getBody();
+        }
+
+        @Override
+        public long getContentLength() {
+            if (request instanceof StreamingApiRequest) {
+                return ((StreamingApiRequest<?>) request).getContentLength();
+            } else {
+                return request.getBody().length;
+            }
+        }
+
+        @Override
+        public void writeBody(BufferedSink sink) throws IOException {
+            if (request instanceof StreamingApiRequest) {
+                ((StreamingApiRequest<?>) request).writeBody(sink);
+            } else {
+                sink.write(request.getBody());
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            return request.getContentType();
+        }
+
+        @Override
+        public HttpResourceResponse<T> parse(HttpClientResponse response) throws Exception {
+            HttpResourceResponse<T> result = request.parse(response);
+            if (result.hasDocument()) {
+                cache.put(key, result);
+                return result;
+            } else if (cached != null) {
+                HttpResourceResponse<T> revalidated = new HttpResourceResponse<>(
+                        HttpResourceResponse.ResourceState.DOCUMENT, cached.contentType, cached.lastModified,
+                        result.expires, cached.document);
+                cache.put(key, revalidated);
+                return revalidated;
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private static final class CompletedFuture<T> implements Future<T> {
+
+        private final T value;
+
+        CompletedFuture(T value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public T get() {
+            return value;
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) {
+            return value;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.yandex.money.api.authorization.AuthorizationData;
 import com.yandex.money.api.authorization.AuthorizationParameters;
 import com.yandex.money.api.net.ApiRequest;
 import com.yandex.money.api.net.DefaultUserAgent;
+import com.yandex.money.api.net.StreamingApiRequest;
 import com.yandex.money.api.net.UserAgent;
 import com.yandex.money.api.net.providers.DefaultApiV1HostsProvider;
 import com.yandex.money.api.net.providers.HostsProvider;
@@ -42,6 +43,8 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import static com.yandex.money.api.util.Common.checkNotNull;
 
@@ -51,7 +54,14 @@ import static com.yandex.money.api.util.Common.checkNotNull;
  *
  * @author Slava Yasevich (vyasevich@yamoney.ru)
  */
-public class DefaultApiClient implements ApiClient {
+public class DefaultApiClient implements AsyncApiClient {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
 
     private final CacheControl cacheControl = new CacheControl.Builder().noCache().build();
 
@@ -61,8 +71,9 @@ public class DefaultApiClient implements ApiClient {
     private final Language language;
     private final boolean debugMode;
     private final OkHttpClient httpClient;
+    private final Executor parsingExecutor;
 
-    private String accessToken;
+    private volatile String accessToken;
 
     /**
      * Constructor.
@@ -80,6 +91,7 @@ public class DefaultApiClient implements ApiClient {
             builder.httpClient = HttpClientFactory.newOkHttpClient(debugMode);
         }
         httpClient = builder.httpClient;
+        parsingExecutor = builder.parsingExecutor == null ? DIRECT_EXECUTOR : builder.parsingExecutor;
     }
 
     @Override
@@ -104,8 +116,17 @@ public class DefaultApiClient implements ApiClient {
 
     @Override
     public <T> T execute(ApiRequest<T> request) throws Exception {
-        Response response = httpClient.newCall(prepareRequest(request)).execute();
-        return request.parse(new OkHttpClientResponse(response, debugMode));
+        return execute(request, accessToken, getLanguage());
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request) {
+        return executeAsync(request, null);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request, ApiCallback<T> callback) {
+        return executeAsync(request, callback, accessToken, getLanguage());
     }
 
     @Override
@@ -124,6 +145,19 @@ public class DefaultApiClient implements ApiClient {
         return !Strings.isNullOrEmpty(accessToken);
     }
 
+    /**
+     * Creates a lightweight view of this client that executes requests with its own access token and language. Views
+     * share HTTP client, dispatcher and connection pool of this client and can be created per wallet in a
+     * multi-tenant environment. Setting access token of a view doesn't affect this client or other views.
+     *
+     * @param accessToken access token to use, may be {@code null}
+     * @param language language to use, if {@code null} the language of this client is used
+     * @return view of this client
+     */
+    public AsyncApiClient forTenant(String accessToken, Language language) {
+        return new TenantApiClient(this, accessToken, language == null ? getLanguage() : language);
+    }
+
     /**
      * @return {@code true} if debug mode is enabled
      */
@@ -131,16 +165,28 @@ public class DefaultApiClient implements ApiClient {
         return debugMode;
     }
 
-    private Request prepareRequest(ApiRequest<?> request) {
+    final <T> T execute(ApiRequest<T> request, String accessToken, Language language) throws Exception {
+        Response response = httpClient.newCall(prepareRequest(request, accessToken, language)).execute();
+        return request.parse(new OkHttpClientResponse(response, debugMode));
+    }
+
+    final <T> Future<T> executeAsync(ApiRequest<T> request, ApiCallback<T> callback, String accessToken,
+                                     Language language) {
+
+        return new AsyncApiCall<>(httpClient.newCall(prepareRequest(request, accessToken, language)), request,
+                callback, parsingExecutor, debugMode).enqueue();
+    }
+
+    private Request prepareRequest(ApiRequest<?> request, String accessToken, Language language) {
         checkNotNull(request, "request");
 
         Request.Builder builder = new Request.Builder()
                 .cacheControl(cacheControl)
                 .url(request.requestUrl(getHostsProvider()))
                 .addHeader(HttpHeaders.USER_AGENT, getUserAgent().getName())
-                .addHeader(HttpHeaders.ACCEPT_LANGUAGE, getLanguage().iso6391Code);
+                .addHeader(HttpHeaders.ACCEPT_LANGUAGE, language.iso6391Code);
 
-        if (isAuthorized()) {
+        if (!Strings.isNullOrEmpty(accessToken)) {
             builder.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
         }
 
@@ -153,7 +199,7 @@ public class DefaultApiClient implements ApiClient {
 
         ApiRequest.Method method = request.getMethod();
         if (method != ApiRequest.Method.GET) {
-            RequestBody body = RequestBody.create(MediaType.parse(request.getContentType()), request.getBody());
+            RequestBody body = createRequestBody(request);
             switch (method) {
                 case POST:
                     builder.post(body);
@@ -170,6 +216,15 @@ public class DefaultApiClient implements ApiClient {
         return builder.build();
     }
 
+    private static RequestBody createRequestBody(ApiRequest<?> request) {
+        MediaType contentType = MediaType.parse(request.getContentType());
+        if (request instanceof StreamingApiRequest) {
+            return new StreamingRequestBody(contentType, (StreamingApiRequest<?>) request);
+        } else {
+            return RequestBody.create(contentType, request.getBody());
+        }
+    }
+
     /**
      * Builder for {@link DefaultApiClient}.
      */
@@ -181,6 +236,7 @@ public class DefaultApiClient implements ApiClient {
         HostsProvider hostsProvider = new DefaultApiV1HostsProvider(false);
         Language language = Language.getDefault();
         OkHttpClient httpClient;
+        Executor parsingExecutor;
 
         /**
          * Sets debug mode. Enables logging. Default value is {@code false}.
@@ -248,6 +304,18 @@ public class DefaultApiClient implements ApiClient {
             return this;
         }
 
+        /**
+         * Sets executor to parse responses of asynchronous requests on. By default responses are parsed on a thread of
+         * HTTP client's dispatcher.
+         *
+         * @param parsingExecutor executor to use
+         * @return itself
+         */
+        public final Builder setParsingExecutor(Executor parsingExecutor) {
+            this.parsingExecutor = parsingExecutor;
+            return this;
+        }
+
         /**
          * Creates instance of {@link DefaultApiClient}.
          *
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.net.HttpResourceResponse;
+
+/**
+ * Storage of documents used by {@link CachingApiClient}. Implementations must be thread safe.
+ */
+public interface DocumentCache {
+
+    /**
+     * Gets cached document response.
+     *
+     * @param key key of a document
+     * @return cached response or {@code null} if there is no such document
+     */
+    HttpResourceResponse<?> get(String key);
+
+    /**
+     * Stores document response.
+     *
+     * @param key key of a document
+     * @param response response to store, always contains a document
+     */
+    void put(String key, HttpResourceResponse<?> response);
+
+    /**
+     * Removes document from the cache.
+     *
+     * @param key key of a document
+     */
+    void remove(String key);
+
+    /**
+     * Removes all documents from the cache.
+     */
+    void clear();
+}
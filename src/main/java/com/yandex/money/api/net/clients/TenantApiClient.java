@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.authorization.AuthorizationData;
+import com.yandex.money.api.authorization.AuthorizationParameters;
+import com.yandex.money.api.net.ApiRequest;
+import com.yandex.money.api.net.UserAgent;
+import com.yandex.money.api.net.providers.HostsProvider;
+import com.yandex.money.api.util.Language;
+import com.yandex.money.api.util.Strings;
+
+import java.util.concurrent.Future;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * View of {@link DefaultApiClient} with its own credentials. All requests are executed by the parent client.
+ *
+ * @see DefaultApiClient#forTenant(String, Language)
+ */
+final class TenantApiClient implements AsyncApiClient {
+
+    private final DefaultApiClient client;
+    private final Language language;
+
+    private volatile String accessToken;
+
+    TenantApiClient(DefaultApiClient client, String accessToken, Language language) {
+        this.client = checkNotNull(client, "client");
+        this.language = checkNotNull(language, "language");
+        this.accessToken = accessToken;
+    }
+
+    @Override
+    public String getClientId() {
+        return client.getClientId();
+    }
+
+    @Override
+    public Language getLanguage() {
+        return language;
+    }
+
+    @Override
+    public HostsProvider getHostsProvider() {
+        return client.getHostsProvider();
+    }
+
+    @Override
+    public UserAgent getUserAgent() {
+        return client.getUserAgent();
+    }
+
+    @Override
+    public <T> T execute(ApiRequest<T> request) throws Exception {
+        return client.execute(request, accessToken, language);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request) {
+        return executeAsync(request, null);
+    }
+
+    @Override
+    public <T> Future<T> executeAsync(ApiRequest<T> request, ApiCallback<T> callback) {
+        return client.executeAsync(request, callback, accessToken, language);
+    }
+
+    @Override
+    public AuthorizationData createAuthorizationData(AuthorizationParameters parameters) {
+        return client.createAuthorizationData(parameters);
+    }
+
+    @Override
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    @Override
+    public boolean isAuthorized() {
+        return !Strings.isNullOrEmpty(accessToken);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.processes;
+
+import com.yandex.money.api.net.clients.ApiCallback;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Payment process that can be driven without blocking a calling thread. Implementing this interface is optional.
+ *
+ * @see BasePaymentProcess
+ * @see ExtendedPaymentProcess
+ */
+public interface AsyncPaymentProcess extends IPaymentProcess {
+
+    /**
+     * Asynchronous variant of {@link #proceed()}. Does not block: network calls are executed with
+     * {@link AsyncApiClient#executeAsync(com.yandex.money.api.net.ApiRequest, ApiCallback)} and pending payments are
+     * parked on the scheduler until next retry. Single scheduler thread can drive any number of processes. A process
+     * must not be proceeded again until returned future is done.
+     * <p/>
+     * If client of a process is not an {@link AsyncApiClient}, returned future fails with
+     * {@link UnsupportedOperationException} and {@code callback} is notified about the failure.
+     *
+     * @param scheduler scheduler to park pending payments on
+     * @param callback callback to notify, may be {@code null}
+     * @return future that is completed with {@code true} if process is completed
+     */
+    Future<Boolean> proceedAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback);
+
+    /**
+     * Asynchronous variant of {@link #repeat()}.
+     *
+     * @param scheduler scheduler to park pending payments on
+     * @param callback callback to notify, may be {@code null}
+     * @return future that is completed with {@code true} if process is completed
+     * @see #proceedAsync(ScheduledExecutorService, ApiCallback)
+     */
+    Future<Boolean> repeatAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback);
+}
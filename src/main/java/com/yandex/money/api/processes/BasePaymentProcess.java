@@ -27,9 +27,15 @@ package com.yandex.money.api.processes;
 import com.yandex.money.api.methods.payment.BaseProcessPayment;
 import com.yandex.money.api.methods.payment.BaseRequestPayment;
 import com.yandex.money.api.net.ApiRequest;
+import com.yandex.money.api.net.clients.ApiCallback;
 import com.yandex.money.api.net.clients.ApiClient;
+import com.yandex.money.api.net.clients.AsyncApiClient;
 import com.yandex.money.api.util.Threads;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
@@ -38,7 +44,7 @@ import static com.yandex.money.api.util.Common.checkNotNull;
  * @author Slava Yasevich (vyasevich@yamoney.ru)
  */
 public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
-        PP extends BaseProcessPayment> implements IPaymentProcess {
+        PP extends BaseProcessPayment> implements AsyncPaymentProcess {
 
     /**
      * Provides parameters for requests.
@@ -50,11 +56,12 @@ public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
     private RP requestPayment;
     private PP processPayment;
     private State state;
+    private volatile StateListener stateListener;
 
     /**
      * Constructor.
      *
-     * @param client client to use for the process
+     * @param client client to use for the process, asynchronous methods require an {@link AsyncApiClient}
      * @param parameterProvider parameter's provider
      */
     @SuppressWarnings("WeakerAccess")
@@ -98,6 +105,50 @@ public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
         return isCompleted();
     }
 
+    @Override
+    public final Future<Boolean> proceedAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback) {
+        ProcessFuture future = new ProcessFuture(callback);
+        if (!checkAsyncClient(future)) {
+            return future;
+        }
+        switch (state) {
+            case CREATED:
+                executeRequestPaymentAsync(future);
+                break;
+            case STARTED:
+                executeProcessPaymentAsync(createProcessPayment(), scheduler, future);
+                break;
+            case PROCESSING:
+                executeProcessPaymentAsync(createRepeatProcessPayment(), scheduler, future);
+                break;
+            default:
+                future.complete(isCompleted());
+        }
+        return future;
+    }
+
+    @Override
+    public final Future<Boolean> repeatAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback) {
+        ProcessFuture future = new ProcessFuture(callback);
+        if (!checkAsyncClient(future)) {
+            return future;
+        }
+        switch (state) {
+            case STARTED:
+                executeRequestPaymentAsync(future);
+                break;
+            case PROCESSING:
+                executeProcessPaymentAsync(createProcessPayment(), scheduler, future);
+                break;
+            case COMPLETED:
+                executeProcessPaymentAsync(createRepeatProcessPayment(), scheduler, future);
+                break;
+            default:
+                future.complete(isCompleted());
+        }
+        return future;
+    }
+
     @Override
     public final void reset() {
         this.requestPayment = null;
@@ -167,9 +218,19 @@ public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
 
     protected abstract SavedState<RP, PP> createSavedState(RP requestPayment, PP processPayment, State state);
 
+    /**
+     * Sets listener of state transitions.
+     *
+     * @param stateListener listener or {@code null}
+     */
+    final void setStateListener(StateListener stateListener) {
+        this.stateListener = stateListener;
+    }
+
     private void executeRequestPayment() throws Exception {
         requestPayment = execute(createRequestPayment());
         state = State.STARTED;
+        notifyStateChanged();
     }
 
     private void executeProcessPayment() throws Exception {
@@ -180,25 +241,129 @@ public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
         executeProcessPayment(createRepeatProcessPayment());
     }
 
-    private void executeProcessPayment(final ApiRequest<PP> request) throws Exception {
+    private void executeProcessPayment(ApiRequest<PP> request) throws Exception {
+        while (true) {
+            boolean retry = updateProcessPayment(execute(request));
+            notifyStateChanged();
+            if (!retry) {
+                break;
+            }
+            Threads.sleep(processPayment.nextRetry);
+        }
+    }
+
+    private boolean checkAsyncClient(ProcessFuture future) {
+        if (client instanceof AsyncApiClient) {
+            return true;
+        }
+        future.fail(new UnsupportedOperationException("client does not support asynchronous execution"));
+        return false;
+    }
+
+    private AsyncApiClient getAsyncClient() {
+        return (AsyncApiClient) client;
+    }
+
+    private void executeRequestPaymentAsync(final ProcessFuture future) {
+        future.setPending(getAsyncClient().executeAsync(createRequestPayment(), new ApiCallback<RP>() {
+            @Override
+            public void onSuccess(RP response) {
+                requestPayment = response;
+                state = State.STARTED;
+                if (notifyStateChanged(future)) {
+                    future.complete(isCompleted());
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.fail(e);
+            }
+        }));
+    }
+
+    private void executeProcessPaymentAsync(final ApiRequest<PP> request, final ScheduledExecutorService scheduler,
+                                            final ProcessFuture future) {
+
+        future.setPending(getAsyncClient().executeAsync(request, new ApiCallback<PP>() {
+            @Override
+            public void onSuccess(PP response) {
+                boolean retry = updateProcessPayment(response);
+                if (!notifyStateChanged(future)) {
+                    return;
+                }
+                if (!retry) {
+                    future.complete(isCompleted());
+                    return;
+                }
+
+                try {
+                    future.setPending(scheduler.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!future.isDone()) {
+                                executeProcessPaymentAsync(request, scheduler, future);
+                            }
+                        }
+                    }, processPayment.nextRetry, TimeUnit.MILLISECONDS));
+                } catch (Exception e) {
+                    future.fail(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.fail(e);
+            }
+        }));
+    }
+
+    /**
+     * Applies process payment response to the state of this process.
+     *
+     * @param response process payment response
+     * @return {@code true} if process payment should be retried after {@link BaseProcessPayment#nextRetry}
+     */
+    private boolean updateProcessPayment(PP response) {
         BaseProcessPayment.Status previousStatus = processPayment == null ? null :
                 processPayment.status;
-        processPayment = execute(request);
+        processPayment = response;
 
         switch (processPayment.status) {
             case EXT_AUTH_REQUIRED:
                 if (previousStatus != BaseProcessPayment.Status.EXT_AUTH_REQUIRED) {
                     state = State.PROCESSING;
-                    return;
+                    return false;
                 }
             case IN_PROGRESS:
                 state = State.PROCESSING;
-                Threads.sleep(processPayment.nextRetry);
-                executeProcessPayment(request);
-                return;
+                return true;
         }
 
         state = State.COMPLETED;
+        return false;
+    }
+
+    private void notifyStateChanged() throws Exception {
+        StateListener stateListener = this.stateListener;
+        if (stateListener != null) {
+            stateListener.onStateChanged();
+        }
+    }
+
+    /**
+     * Notifies listener of a state transition in asynchronous step.
+     *
+     * @return {@code false} if listener failed and the step is failed
+     */
+    private boolean notifyStateChanged(ProcessFuture future) {
+        try {
+            notifyStateChanged();
+            return true;
+        } catch (Exception e) {
+            future.fail(e);
+            return false;
+        }
     }
 
     private <T> T execute(ApiRequest<T> apiRequest) throws Exception {
@@ -209,6 +374,19 @@ public abstract class BasePaymentProcess<RP extends BaseRequestPayment,
         return state == State.COMPLETED;
     }
 
+    /**
+     * Listener of state transitions of a process. It is called after every request payment and process payment
+     * response is applied and before the process continues, so that the state can be persisted.
+     */
+    interface StateListener {
+        /**
+         * Called when state is changed.
+         *
+         * @throws Exception if state can not be handled, the process step fails
+         */
+        void onStateChanged() throws Exception;
+    }
+
     /**
      * State of payment process
      */
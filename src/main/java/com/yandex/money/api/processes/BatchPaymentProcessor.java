@@ -0,0 +1,458 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.processes;
+
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.params.PaymentParams;
+import com.yandex.money.api.model.MoneySource;
+import com.yandex.money.api.net.clients.ApiCallback;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Runs payment processes of many payments concurrently, e.g. mass p2p transfers or shop payments.
+ * <p/>
+ * Every payment gets its own {@link BasePaymentProcess} which is driven with
+ * {@link BasePaymentProcess#proceedAsync(ScheduledExecutorService, ApiCallback)}: the first step requests payment, the
+ * second one processes it including retries while payment is in progress. At most {@code maxInFlight} steps are run
+ * at any time. Payments with requested payment have priority over new payments, so that free slots are used to request
+ * next payments while previous ones are being processed and number of requested but not processed payments is
+ * bounded.
+ * <p/>
+ * Payments are read from an iterator lazily and results are passed to a listener as soon as payments are completed,
+ * so batches of any size can be processed in bounded memory. Payments that require external authorization are not
+ * completed, their results contain process payment with {@link BaseProcessPayment.Status#EXT_AUTH_REQUIRED} status.
+ */
+public final class BatchPaymentProcessor {
+
+    private final ProcessFactory processFactory;
+    private final ScheduledExecutorService scheduler;
+    private final int maxInFlight;
+
+    /**
+     * Constructor.
+     *
+     * @param processFactory factory of payment processes
+     * @param scheduler scheduler for retries of process payment
+     * @param maxInFlight max number of concurrently running steps of processes
+     */
+    public BatchPaymentProcessor(ProcessFactory processFactory, ScheduledExecutorService scheduler, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight should be positive");
+        }
+        this.processFactory = checkNotNull(processFactory, "processFactory");
+        this.scheduler = checkNotNull(scheduler, "scheduler");
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Processes payments. The method blocks until all payments are completed.
+     *
+     * @param payments payments to process
+     * @param listener listener of results, called on a calling thread
+     * @return statistics of the batch
+     * @throws InterruptedException if calling thread is interrupted, running processes are cancelled
+     */
+    public Statistics process(Iterator<? extends PaymentParams> payments, Listener listener)
+            throws InterruptedException {
+
+        checkNotNull(payments, "payments");
+        checkNotNull(listener, "listener");
+
+        BlockingQueue<Item> completed = new LinkedBlockingQueue<>();
+        Deque<Item> requested = new ArrayDeque<>();
+        Set<Item> inFlight = new LinkedHashSet<>();
+        StatisticsBuilder statistics = new StatisticsBuilder();
+        int index = 0;
+
+        try {
+            while (true) {
+                while (inFlight.size() < maxInFlight) {
+                    Item item = requested.poll();
+                    if (item == null) {
+                        if (!payments.hasNext()) {
+                            break;
+                        }
+                        PaymentParams params = checkNotNull(payments.next(), "payment");
+                        item = new Item(index++, params, completed);
+                        try {
+                            item.process = checkNotNull(processFactory.create(params), "process");
+                        } catch (RuntimeException e) {
+                            report(item, e, statistics, listener);
+                            continue;
+                        }
+                    }
+                    inFlight.add(item);
+                    item.proceed(scheduler);
+                }
+                if (inFlight.isEmpty()) {
+                    break;
+                }
+
+                Item item = completed.take();
+                inFlight.remove(item);
+                if (item.error != null) {
+                    report(item, item.error, statistics, listener);
+                } else if (item.process.getProcessPayment() == null &&
+                        item.process.getRequestPayment().status == BaseRequestPayment.Status.SUCCESS) {
+                    requested.add(item);
+                } else {
+                    report(item, null, statistics, listener);
+                }
+            }
+        } finally {
+            for (Item item : inFlight) {
+                item.cancel();
+            }
+        }
+        return statistics.create();
+    }
+
+    private static void report(Item item, Exception error, StatisticsBuilder statistics, Listener listener) {
+        BasePaymentProcess<?, ?> process = item.process;
+        Result result = new Result(item.index, item.params,
+                process == null ? null : process.getRequestPayment(),
+                process == null ? null : process.getProcessPayment(),
+                error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - item.started));
+        statistics.add(result);
+        listener.onResult(result);
+    }
+
+    /**
+     * Creates payment processes for payments.
+     */
+    public interface ProcessFactory {
+        /**
+         * Creates payment process.
+         *
+         * @param params parameters of a payment
+         * @return payment process in its initial state
+         */
+        BasePaymentProcess<?, ?> create(PaymentParams params);
+    }
+
+    /**
+     * Receives results of payments.
+     */
+    public interface Listener {
+        /**
+         * Called when payment is completed.
+         *
+         * @param result result of a payment
+         */
+        void onResult(Result result);
+    }
+
+    /**
+     * Creates {@link PaymentProcess} of an authorized user for every payment. All payments are paid from the same
+     * money source.
+     */
+    public static final class WalletProcessFactory implements ProcessFactory {
+
+        private final AsyncApiClient client;
+        private final MoneySource moneySource;
+        private final String csc;
+
+        /**
+         * Constructor.
+         *
+         * @param client authorized client
+         * @param moneySource money source, if {@code null} wallet is used
+         * @param csc Card Security Code if money source requires it
+         */
+        public WalletProcessFactory(AsyncApiClient client, MoneySource moneySource, String csc) {
+            this.client = checkNotNull(client, "client");
+            this.moneySource = moneySource;
+            this.csc = csc;
+        }
+
+        @Override
+        public BasePaymentProcess<?, ?> create(final PaymentParams params) {
+            return new PaymentProcess(client, new IPaymentProcess.ParameterProvider() {
+                @Override
+                public String getPatternId() {
+                    return params.patternId;
+                }
+
+                @Override
+                public Map<String, String> getPaymentParameters() {
+                    return params.paymentParams;
+                }
+
+                @Override
+                public MoneySource getMoneySource() {
+                    return moneySource;
+                }
+
+                @Override
+                public String getCsc() {
+                    return csc;
+                }
+
+                @Override
+                public String getExtAuthSuccessUri() {
+                    return null;
+                }
+
+                @Override
+                public String getExtAuthFailUri() {
+                    return null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Result of a payment.
+     */
+    public static final class Result {
+
+        /**
+         * Index of a payment in a batch.
+         */
+        public final int index;
+        public final PaymentParams params;
+        /**
+         * Request payment response or {@code null} if it was not received.
+         */
+        public final BaseRequestPayment requestPayment;
+        /**
+         * Process payment response or {@code null} if payment was not requested successfully.
+         */
+        public final BaseProcessPayment processPayment;
+        /**
+         * Exception if process failed.
+         */
+        public final Exception error;
+        /**
+         * Time from the start of a process till its completion in milliseconds.
+         */
+        public final long latency;
+
+        Result(int index, PaymentParams params, BaseRequestPayment requestPayment, BaseProcessPayment processPayment,
+               Exception error, long latency) {
+            this.index = index;
+            this.params = params;
+            this.requestPayment = requestPayment;
+            this.processPayment = processPayment;
+            this.error = error;
+            this.latency = latency;
+        }
+
+        /**
+         * @return {@code true} if payment succeeded
+         */
+        public boolean isSuccessful() {
+            return error == null && processPayment != null &&
+                    processPayment.status == BaseProcessPayment.Status.SUCCESS;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "index=" + index +
+                    ", params=" + params +
+                    ", requestPayment=" + requestPayment +
+                    ", processPayment=" + processPayment +
+                    ", error=" + error +
+                    ", latency=" + latency +
+                    '}';
+        }
+    }
+
+    /**
+     * Statistics of a batch.
+     */
+    public static final class Statistics {
+
+        /**
+         * Number of payments.
+         */
+        public final int count;
+        /**
+         * Number of successful payments.
+         */
+        public final int succeeded;
+        /**
+         * Number of payments failed with an exception.
+         */
+        public final int failed;
+        /**
+         * Duration of a batch in milliseconds.
+         */
+        public final long elapsed;
+
+        private final long[] latencies;
+
+        Statistics(int count, int succeeded, int failed, long elapsed, long[] latencies) {
+            this.count = count;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.elapsed = elapsed;
+            this.latencies = latencies;
+        }
+
+        /**
+         * @return number of payments per second
+         */
+        public double getThroughput() {
+            return count == 0 ? 0 : count * 1000.0 / Math.max(1, elapsed);
+        }
+
+        /**
+         * @return average latency of payments in milliseconds
+         */
+        public double getAverageLatency() {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            long sum = 0;
+            for (long latency : latencies) {
+                sum += latency;
+            }
+            return (double) sum / latencies.length;
+        }
+
+        /**
+         * Gets latency percentile (nearest rank).
+         *
+         * @param percentile percentile in range {@code (0, 100]}
+         * @return latency in milliseconds
+         */
+        public long getLatency(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile should be in range (0, 100]");
+            }
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "count=" + count +
+                    ", succeeded=" + succeeded +
+                    ", failed=" + failed +
+                    ", elapsed=" + elapsed +
+                    ", throughput=" + getThroughput() +
+                    ", averageLatency=" + getAverageLatency() +
+                    '}';
+        }
+    }
+
+    private static final class StatisticsBuilder {
+
+        private final long started = System.nanoTime();
+
+        private int count;
+        private int succeeded;
+        private int failed;
+        private long[] latencies = new long[16];
+
+        void add(Result result) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = result.latency;
+            if (result.isSuccessful()) {
+                ++succeeded;
+            } else if (result.error != null) {
+                ++failed;
+            }
+        }
+
+        Statistics create() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Statistics(count, succeeded, failed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), sorted);
+        }
+    }
+
+    /**
+     * Payment in a batch. Completes to a queue after every step of its process.
+     */
+    private static final class Item implements ApiCallback<Boolean> {
+
+        final int index;
+        final PaymentParams params;
+        final BlockingQueue<Item> completed;
+        final long started = System.nanoTime();
+
+        BasePaymentProcess<?, ?> process;
+        volatile Exception error;
+        volatile Future<Boolean> future;
+
+        Item(int index, PaymentParams params, BlockingQueue<Item> completed) {
+            this.index = index;
+            this.params = params;
+            this.completed = completed;
+        }
+
+        void proceed(ScheduledExecutorService scheduler) {
+            try {
+                future = process.proceedAsync(scheduler, this);
+            } catch (RuntimeException e) {
+                onFailure(e);
+            }
+        }
+
+        void cancel() {
+            Future<Boolean> future = this.future;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public void onSuccess(Boolean response) {
+            completed.add(this);
+        }
+
+        @Override
+        public void onFailure(Exception e) {
+            error = e;
+            completed.add(this);
+        }
+    }
+}
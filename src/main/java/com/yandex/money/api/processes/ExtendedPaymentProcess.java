@@ -29,14 +29,18 @@ import com.yandex.money.api.methods.payment.BaseRequestPayment;
 import com.yandex.money.api.model.ExternalCard;
 import com.yandex.money.api.model.Identifiable;
 import com.yandex.money.api.model.Wallet;
+import com.yandex.money.api.net.clients.ApiCallback;
 import com.yandex.money.api.net.clients.ApiClient;
 
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+
 import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
  * Combined payment process of {@link PaymentProcess} and {@link ExternalPaymentProcess}.
  */
-public final class ExtendedPaymentProcess implements IPaymentProcess {
+public final class ExtendedPaymentProcess implements AsyncPaymentProcess {
 
     private final ApiClient client;
     private final PaymentProcess paymentProcess;
@@ -73,6 +77,19 @@ public final class ExtendedPaymentProcess implements IPaymentProcess {
                 externalPaymentProcess.repeat();
     }
 
+    @Override
+    public Future<Boolean> proceedAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback) {
+        switchContextIfRequired();
+        return paymentContext == PaymentContext.PAYMENT ? paymentProcess.proceedAsync(scheduler, callback) :
+                externalPaymentProcess.proceedAsync(scheduler, callback);
+    }
+
+    @Override
+    public Future<Boolean> repeatAsync(ScheduledExecutorService scheduler, ApiCallback<Boolean> callback) {
+        return paymentContext == PaymentContext.PAYMENT ? paymentProcess.repeatAsync(scheduler, callback) :
+                externalPaymentProcess.repeatAsync(scheduler, callback);
+    }
+
     @Override
     public void reset() {
         paymentProcess.reset();
@@ -152,6 +169,16 @@ public final class ExtendedPaymentProcess implements IPaymentProcess {
         return paymentContext;
     }
 
+    /**
+     * Sets listener of state transitions of both payment processes.
+     *
+     * @param stateListener listener or {@code null}
+     */
+    void setStateListener(BasePaymentProcess.StateListener stateListener) {
+        paymentProcess.setStateListener(stateListener);
+        externalPaymentProcess.setStateListener(stateListener);
+    }
+
     private void invalidatePaymentContext() {
         this.paymentContext = client.isAuthorized() ? PaymentContext.PAYMENT :
                 PaymentContext.EXTERNAL_PAYMENT;
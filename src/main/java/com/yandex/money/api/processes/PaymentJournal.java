@@ -0,0 +1,497 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.processes;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.ProcessExternalPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.methods.payment.RequestExternalPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Durable journal of payment processes.
+ * <p/>
+ * Every state transition of an attached process (see {@link #attach(String, PaymentProcess)}) is appended to a file as
+ * a record with process' saved state: its flags, request payment and process payment responses. A transition is
+ * durable before the process continues. Records of concurrent processes are committed in groups: while one thread
+ * writes and forces a batch of records to a storage device, other threads add their records to the next batch.
+ * <p/>
+ * When a journal is opened, the file is read sequentially and saved states of unfinished payments (neither in
+ * {@code COMPLETED} state nor with unsuccessful request payment) are rebuilt, then the file is compacted to contain
+ * only them. Payments are resumed with {@code restoreSavedState()} of a process. An incomplete record at the end of a
+ * file (e.g. after a crash) is ignored, while an invalid record anywhere else fails opening of a journal with
+ * {@link IOException} and the file is left intact. The implementation of this class is thread-safe.
+ */
+public final class PaymentJournal implements Closeable {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String TYPE_PAYMENT = "payment";
+    private static final String TYPE_EXTERNAL_PAYMENT = "external_payment";
+    private static final String TYPE_EXTENDED_PAYMENT = "extended_payment";
+    private static final String TYPE_REMOVED = "removed";
+
+    private final File file;
+    private final Object lock = new Object();
+    private final Map<String, Object> unfinished = new LinkedHashMap<>();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    private FileOutputStream output;
+    private long appended;
+    private long durable;
+    private long syncCount;
+    private boolean writing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens a journal.
+     *
+     * @param file journal file, it is created if it does not exist
+     */
+    public PaymentJournal(File file) throws IOException {
+        this.file = checkNotNull(file, "file");
+        if (file.exists()) {
+            replay();
+        }
+        compact();
+    }
+
+    /**
+     * Records every state transition of a process.
+     *
+     * @param paymentId unique id of a payment
+     * @param process payment process
+     */
+    public void attach(final String paymentId, final PaymentProcess process) {
+        checkNotNull(paymentId, "paymentId");
+        checkNotNull(process, "process").setStateListener(new BasePaymentProcess.StateListener() {
+            @Override
+            public void onStateChanged() throws IOException {
+                record(paymentId, process.getSavedState());
+            }
+        });
+    }
+
+    /**
+     * Records every state transition of a process.
+     *
+     * @param paymentId unique id of a payment
+     * @param process payment process
+     */
+    public void attach(final String paymentId, final ExternalPaymentProcess process) {
+        checkNotNull(paymentId, "paymentId");
+        checkNotNull(process, "process").setStateListener(new BasePaymentProcess.StateListener() {
+            @Override
+            public void onStateChanged() throws IOException {
+                record(paymentId, process.getSavedState());
+            }
+        });
+    }
+
+    /**
+     * Records every state transition of a process.
+     *
+     * @param paymentId unique id of a payment
+     * @param process payment process
+     */
+    public void attach(final String paymentId, final ExtendedPaymentProcess process) {
+        checkNotNull(paymentId, "paymentId");
+        checkNotNull(process, "process").setStateListener(new BasePaymentProcess.StateListener() {
+            @Override
+            public void onStateChanged() throws IOException {
+                record(paymentId, process.getSavedState());
+            }
+        });
+    }
+
+    /**
+     * Records saved state of a payment. The method returns when the record is durable.
+     *
+     * @param paymentId unique id of a payment
+     * @param savedState saved state
+     */
+    public void record(String paymentId, PaymentProcess.SavedState savedState) throws IOException {
+        append(paymentId, TYPE_PAYMENT, encode(checkNotNull(savedState, "savedState")), savedState);
+    }
+
+    /**
+     * Records saved state of a payment. The method returns when the record is durable.
+     *
+     * @param paymentId unique id of a payment
+     * @param savedState saved state
+     */
+    public void record(String paymentId, ExternalPaymentProcess.SavedState savedState) throws IOException {
+        append(paymentId, TYPE_EXTERNAL_PAYMENT, encode(checkNotNull(savedState, "savedState")), savedState);
+    }
+
+    /**
+     * Records saved state of a payment. The method returns when the record is durable.
+     *
+     * @param paymentId unique id of a payment
+     * @param savedState saved state
+     */
+    public void record(String paymentId, ExtendedPaymentProcess.SavedState savedState) throws IOException {
+        append(paymentId, TYPE_EXTENDED_PAYMENT, encode(checkNotNull(savedState, "savedState")), savedState);
+    }
+
+    /**
+     * Removes unfinished payment from the journal, e.g. if it is abandoned.
+     *
+     * @param paymentId unique id of a payment
+     */
+    public void remove(String paymentId) throws IOException {
+        append(paymentId, TYPE_REMOVED, null, null);
+    }
+
+    /**
+     * @return saved states of unfinished payments of {@link PaymentProcess} by payment ids
+     */
+    public Map<String, PaymentProcess.SavedState> getPaymentProcessStates() {
+        return select(PaymentProcess.SavedState.class);
+    }
+
+    /**
+     * @return saved states of unfinished payments of {@link ExternalPaymentProcess} by payment ids
+     */
+    public Map<String, ExternalPaymentProcess.SavedState> getExternalPaymentProcessStates() {
+        return select(ExternalPaymentProcess.SavedState.class);
+    }
+
+    /**
+     * @return saved states of unfinished payments of {@link ExtendedPaymentProcess} by payment ids
+     */
+    public Map<String, ExtendedPaymentProcess.SavedState> getExtendedPaymentProcessStates() {
+        return select(ExtendedPaymentProcess.SavedState.class);
+    }
+
+    /**
+     * @return number of times records were forced to a storage device
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            while (writing) {
+                waitUninterruptibly();
+            }
+            output.close();
+        }
+    }
+
+    /**
+     * Appends a record and waits until it is durable. The first thread that finds no write in progress becomes a
+     * leader: it writes and forces all pending records, including ones appended by other threads, which wait for it.
+     */
+    private void append(String paymentId, String type, JsonObject state, Object savedState) throws IOException {
+        checkNotNull(paymentId, "paymentId");
+        JsonObject record = new JsonObject();
+        record.addProperty("id", paymentId);
+        record.addProperty("type", type);
+        if (state != null) {
+            record.add("state", state);
+        }
+        byte[] bytes = (GsonProvider.getGson().toJson(record) + '\n').getBytes(UTF_8);
+
+        long sequence;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("journal is closed");
+            }
+            pending.write(bytes, 0, bytes.length);
+            sequence = ++appended;
+            apply(paymentId, savedState);
+
+            while (writing) {
+                waitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new IOException("journal failed", failure);
+            }
+            if (durable >= sequence) {
+                return;
+            }
+            writing = true;
+        }
+
+        byte[] batch;
+        long batchEnd;
+        synchronized (lock) {
+            batch = pending.toByteArray();
+            pending.reset();
+            batchEnd = appended;
+        }
+
+        IOException error = null;
+        try {
+            output.write(batch);
+            output.getChannel().force(false);
+        } catch (IOException e) {
+            error = e;
+        }
+
+        synchronized (lock) {
+            writing = false;
+            if (error == null) {
+                durable = batchEnd;
+                ++syncCount;
+            } else {
+                failure = error;
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void waitUninterruptibly() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(String paymentId, Object savedState) {
+        if (savedState == null || isCompleted(savedState)) {
+            unfinished.remove(paymentId);
+        } else {
+            unfinished.put(paymentId, savedState);
+        }
+    }
+
+    private <T> Map<String, T> select(Class<T> type) {
+        Map<String, T> result = new LinkedHashMap<>();
+        synchronized (lock) {
+            for (Map.Entry<String, Object> entry : unfinished.entrySet()) {
+                if (type.isInstance(entry.getValue())) {
+                    result.put(entry.getKey(), type.cast(entry.getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads records of the file. An invalid record is skipped only if it is the last one, otherwise the journal is
+     * corrupt and the file is left as is.
+     */
+    private void replay() throws IOException {
+        JsonParser parser = new JsonParser();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+        try {
+            int lineNumber = 0;
+            String line = reader.readLine();
+            while (line != null) {
+                ++lineNumber;
+                String next = reader.readLine();
+                String paymentId;
+                Object savedState;
+                try {
+                    JsonElement element = parser.parse(line);
+                    if (!element.isJsonObject()) {
+                        throw new JsonParseException("record is not an object");
+                    }
+                    JsonObject record = element.getAsJsonObject();
+                    paymentId = getString(record, "id");
+                    String type = getString(record, "type");
+                    savedState = decode(type, TYPE_REMOVED.equals(type) ? null : getObject(record, "state"));
+                } catch (JsonParseException | IllegalArgumentException e) {
+                    if (next == null) {
+                        // incomplete record at the end of a file
+                        break;
+                    }
+                    throw new IOException("corrupt record at line " + lineNumber + " of " + file, e);
+                }
+                apply(paymentId, savedState);
+                line = next;
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Rewrites the file with records of unfinished payments only and opens it for appending.
+     */
+    private void compact() throws IOException {
+        File temp = new File(file.getPath() + TEMP_SUFFIX);
+        FileOutputStream stream = new FileOutputStream(temp);
+        try {
+            Gson gson = GsonProvider.getGson();
+            for (Map.Entry<String, Object> entry : unfinished.entrySet()) {
+                Object savedState = entry.getValue();
+                JsonObject record = new JsonObject();
+                record.addProperty("id", entry.getKey());
+                if (savedState instanceof PaymentProcess.SavedState) {
+                    record.addProperty("type", TYPE_PAYMENT);
+                    record.add("state", encode((PaymentProcess.SavedState) savedState));
+                } else if (savedState instanceof ExternalPaymentProcess.SavedState) {
+                    record.addProperty("type", TYPE_EXTERNAL_PAYMENT);
+                    record.add("state", encode((ExternalPaymentProcess.SavedState) savedState));
+                } else {
+                    record.addProperty("type", TYPE_EXTENDED_PAYMENT);
+                    record.add("state", encode((ExtendedPaymentProcess.SavedState) savedState));
+                }
+                stream.write((gson.toJson(record) + '\n').getBytes(UTF_8));
+            }
+            stream.getChannel().force(false);
+        } finally {
+            stream.close();
+        }
+        if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+            throw new IOException("unable to write " + file);
+        }
+        output = new FileOutputStream(file, true);
+    }
+
+    private static boolean isCompleted(Object savedState) {
+        if (savedState instanceof ExtendedPaymentProcess.SavedState) {
+            ExtendedPaymentProcess.SavedState state = (ExtendedPaymentProcess.SavedState) savedState;
+            return isCompleted(state.paymentContext == ExtendedPaymentProcess.PaymentContext.PAYMENT ?
+                    state.paymentProcessSavedState : state.externalPaymentProcessSavedState);
+        }
+        return isCompleted((BasePaymentProcess.SavedState<?, ?>) savedState);
+    }
+
+    /**
+     * A payment is finished when it is completed or when its request payment is not successful: such a payment stays
+     * in {@code STARTED} state, but can not be processed.
+     */
+    private static boolean isCompleted(BasePaymentProcess.SavedState<?, ?> savedState) {
+        BaseRequestPayment requestPayment = savedState.getRequestPayment();
+        return savedState.getState() == BasePaymentProcess.State.COMPLETED || (savedState.getProcessPayment() == null &&
+                requestPayment != null && requestPayment.status != BaseRequestPayment.Status.SUCCESS);
+    }
+
+    private static JsonObject encode(BasePaymentProcess.SavedState<?, ?> savedState) {
+        Gson gson = GsonProvider.getGson();
+        JsonObject object = new JsonObject();
+        object.addProperty("flags", savedState.getFlags());
+        if (savedState.getRequestPayment() != null) {
+            object.add("request_payment", gson.toJsonTree(savedState.getRequestPayment()));
+        }
+        if (savedState.getProcessPayment() != null) {
+            object.add("process_payment", gson.toJsonTree(savedState.getProcessPayment()));
+        }
+        return object;
+    }
+
+    private static JsonObject encode(ExtendedPaymentProcess.SavedState savedState) {
+        JsonObject object = new JsonObject();
+        object.addProperty("flags", savedState.getFlags());
+        object.add(TYPE_PAYMENT, encode(savedState.paymentProcessSavedState));
+        object.add(TYPE_EXTERNAL_PAYMENT, encode(savedState.externalPaymentProcessSavedState));
+        return object;
+    }
+
+    private static Object decode(String type, JsonObject state) {
+        switch (type) {
+            case TYPE_PAYMENT:
+                return decodePayment(state);
+            case TYPE_EXTERNAL_PAYMENT:
+                return decodeExternalPayment(state);
+            case TYPE_EXTENDED_PAYMENT:
+                return new ExtendedPaymentProcess.SavedState(decodePayment(getObject(state, TYPE_PAYMENT)),
+                        decodeExternalPayment(getObject(state, TYPE_EXTERNAL_PAYMENT)), getInt(state, "flags"));
+            case TYPE_REMOVED:
+                return null;
+            default:
+                throw new JsonParseException("unknown record type: " + type);
+        }
+    }
+
+    private static PaymentProcess.SavedState decodePayment(JsonObject state) {
+        Gson gson = GsonProvider.getGson();
+        return new PaymentProcess.SavedState(
+                gson.fromJson(state.get("request_payment"), RequestPayment.class),
+                gson.fromJson(state.get("process_payment"), ProcessPayment.class),
+                getInt(state, "flags"));
+    }
+
+    private static ExternalPaymentProcess.SavedState decodeExternalPayment(JsonObject state) {
+        Gson gson = GsonProvider.getGson();
+        return new ExternalPaymentProcess.SavedState(
+                gson.fromJson(state.get("request_payment"), RequestExternalPayment.class),
+                gson.fromJson(state.get("process_payment"), ProcessExternalPayment.class),
+                getInt(state, "flags"));
+    }
+
+    private static JsonObject getObject(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        if (element == null || !element.isJsonObject()) {
+            throw new JsonParseException("object expected: " + member);
+        }
+        return element.getAsJsonObject();
+    }
+
+    private static String getString(JsonObject object, String member) {
+        return getPrimitive(object, member).getAsString();
+    }
+
+    private static int getInt(JsonObject object, String member) {
+        return getPrimitive(object, member).getAsInt();
+    }
+
+    private static JsonPrimitive getPrimitive(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        if (element == null || !element.isJsonPrimitive()) {
+            throw new JsonParseException("value expected: " + member);
+        }
+        return element.getAsJsonPrimitive();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.processes;
+
+import com.yandex.money.api.net.clients.ApiCallback;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of an asynchronous step of a process. Holds a pending operation (network call or scheduled retry) so that
+ * cancellation reaches it.
+ */
+final class ProcessFuture implements Future<Boolean> {
+
+    private final ApiCallback<Boolean> callback;
+
+    private Future<?> pending;
+    private boolean done;
+    private boolean cancelled;
+    private boolean completed;
+    private Exception error;
+
+    ProcessFuture(ApiCallback<Boolean> callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        Future<?> pending;
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            done = true;
+            pending = this.pending;
+            this.pending = null;
+            notifyAll();
+        }
+        if (pending != null) {
+            pending.cancel(mayInterruptIfRunning);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public synchronized Boolean get() throws InterruptedException, ExecutionException {
+        while (!done) {
+            wait();
+        }
+        return report();
+    }
+
+    @Override
+    public synchronized Boolean get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+
+        long remaining = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remaining;
+        while (!done) {
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return report();
+    }
+
+    /**
+     * Sets pending operation. If this future is already cancelled, the operation is cancelled immediately. Operations
+     * that are already done are ignored because they could have been superseded by the next step.
+     *
+     * @param pending pending operation
+     */
+    void setPending(Future<?> pending) {
+        if (pending.isDone()) {
+            return;
+        }
+        synchronized (this) {
+            if (!done) {
+                this.pending = pending;
+                return;
+            }
+        }
+        pending.cancel(false);
+    }
+
+    /**
+     * Completes this future successfully.
+     *
+     * @param completed {@code true} if process is completed
+     */
+    void complete(boolean completed) {
+        if (finish(completed, null) && callback != null) {
+            callback.onSuccess(completed);
+        }
+    }
+
+    /**
+     * Completes this future exceptionally.
+     *
+     * @param error cause
+     */
+    void fail(Exception error) {
+        if (finish(false, error) && callback != null) {
+            callback.onFailure(error);
+        }
+    }
+
+    private synchronized boolean finish(boolean completed, Exception error) {
+        if (done) {
+            return false;
+        }
+        this.completed = completed;
+        this.error = error;
+        this.done = true;
+        this.pending = null;
+        notifyAll();
+        return true;
+    }
+
+    private Boolean report() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return completed;
+    }
+}
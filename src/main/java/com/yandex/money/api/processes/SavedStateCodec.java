@@ -0,0 +1,716 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.processes;
+
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.ProcessExternalPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.methods.payment.RequestExternalPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.model.AccountStatus;
+import com.yandex.money.api.model.AccountType;
+import com.yandex.money.api.model.Card;
+import com.yandex.money.api.model.CardBrand;
+import com.yandex.money.api.model.DigitalGoods;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.ExternalCard;
+import com.yandex.money.api.model.Fees;
+import com.yandex.money.api.model.Good;
+import com.yandex.money.api.model.Wallet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Compact binary encoding of saved states of payment processes and payment responses.
+ * <p/>
+ * Every encoded value starts with a {@link #VERSION} and a type of the value. Integers are written as varints (signed
+ * ones are zigzag encoded), strings as a length and UTF-8 bytes, amounts as a scale and an unscaled long value and
+ * enums ({@link BaseRequestPayment.Status}, {@link BaseProcessPayment.Status}, {@link Error}, {@link CardBrand} etc.)
+ * as indices of their constants. Absent values take a single byte.
+ * <p/>
+ * Enum constants are coded in declaration order, so changing the order of constants of a coded enum requires a new
+ * {@link #VERSION}. Values of other versions are rejected.
+ */
+public final class SavedStateCodec {
+
+    /**
+     * Version of the encoding.
+     */
+    public static final int VERSION = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int TYPE_PAYMENT_PROCESS = 1;
+    private static final int TYPE_EXTERNAL_PAYMENT_PROCESS = 2;
+    private static final int TYPE_EXTENDED_PAYMENT_PROCESS = 3;
+    private static final int TYPE_REQUEST_PAYMENT = 4;
+    private static final int TYPE_REQUEST_EXTERNAL_PAYMENT = 5;
+    private static final int TYPE_PROCESS_PAYMENT = 6;
+    private static final int TYPE_PROCESS_EXTERNAL_PAYMENT = 7;
+
+    private static final int DECIMAL_NULL = 0;
+    private static final int DECIMAL_LONG = 1;
+    private static final int DECIMAL_BIG = 2;
+
+    private static final BaseRequestPayment.Status[] REQUEST_STATUSES = BaseRequestPayment.Status.values();
+    private static final BaseProcessPayment.Status[] PROCESS_STATUSES = BaseProcessPayment.Status.values();
+    private static final Error[] ERRORS = Error.values();
+    private static final AccountStatus[] ACCOUNT_STATUSES = AccountStatus.values();
+    private static final AccountType[] ACCOUNT_TYPES = AccountType.values();
+    private static final CardBrand[] CARD_BRANDS = CardBrand.values();
+
+    private SavedStateCodec() {
+    }
+
+    /**
+     * @param savedState saved state of {@link PaymentProcess}
+     * @return encoded saved state
+     */
+    public static byte[] encode(PaymentProcess.SavedState savedState) {
+        Output output = new Output(TYPE_PAYMENT_PROCESS);
+        writePaymentProcess(output, checkNotNull(savedState, "savedState"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param savedState saved state of {@link ExternalPaymentProcess}
+     * @return encoded saved state
+     */
+    public static byte[] encode(ExternalPaymentProcess.SavedState savedState) {
+        Output output = new Output(TYPE_EXTERNAL_PAYMENT_PROCESS);
+        writeExternalPaymentProcess(output, checkNotNull(savedState, "savedState"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param savedState saved state of {@link ExtendedPaymentProcess}
+     * @return encoded saved state
+     */
+    public static byte[] encode(ExtendedPaymentProcess.SavedState savedState) {
+        checkNotNull(savedState, "savedState");
+        Output output = new Output(TYPE_EXTENDED_PAYMENT_PROCESS);
+        output.writeVarint(savedState.getFlags());
+        writePaymentProcess(output, savedState.paymentProcessSavedState);
+        writeExternalPaymentProcess(output, savedState.externalPaymentProcessSavedState);
+        return output.toByteArray();
+    }
+
+    /**
+     * @param requestPayment request payment response
+     * @return encoded response
+     */
+    public static byte[] encode(RequestPayment requestPayment) {
+        Output output = new Output(TYPE_REQUEST_PAYMENT);
+        writeRequestPayment(output, checkNotNull(requestPayment, "requestPayment"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param requestExternalPayment request external payment response
+     * @return encoded response
+     */
+    public static byte[] encode(RequestExternalPayment requestExternalPayment) {
+        Output output = new Output(TYPE_REQUEST_EXTERNAL_PAYMENT);
+        writeBaseRequestPayment(output, checkNotNull(requestExternalPayment, "requestExternalPayment"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param processPayment process payment response
+     * @return encoded response
+     */
+    public static byte[] encode(ProcessPayment processPayment) {
+        Output output = new Output(TYPE_PROCESS_PAYMENT);
+        writeProcessPayment(output, checkNotNull(processPayment, "processPayment"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param processExternalPayment process external payment response
+     * @return encoded response
+     */
+    public static byte[] encode(ProcessExternalPayment processExternalPayment) {
+        Output output = new Output(TYPE_PROCESS_EXTERNAL_PAYMENT);
+        writeProcessExternalPayment(output, checkNotNull(processExternalPayment, "processExternalPayment"));
+        return output.toByteArray();
+    }
+
+    /**
+     * @param bytes encoded saved state
+     * @return saved state of {@link PaymentProcess}
+     * @throws IllegalArgumentException if bytes are not an encoded saved state of this version
+     */
+    public static PaymentProcess.SavedState decodePaymentProcessSavedState(byte[] bytes) {
+        return readPaymentProcess(new Input(bytes, TYPE_PAYMENT_PROCESS));
+    }
+
+    /**
+     * @param bytes encoded saved state
+     * @return saved state of {@link ExternalPaymentProcess}
+     * @throws IllegalArgumentException if bytes are not an encoded saved state of this version
+     */
+    public static ExternalPaymentProcess.SavedState decodeExternalPaymentProcessSavedState(byte[] bytes) {
+        return readExternalPaymentProcess(new Input(bytes, TYPE_EXTERNAL_PAYMENT_PROCESS));
+    }
+
+    /**
+     * @param bytes encoded saved state
+     * @return saved state of {@link ExtendedPaymentProcess}
+     * @throws IllegalArgumentException if bytes are not an encoded saved state of this version
+     */
+    public static ExtendedPaymentProcess.SavedState decodeExtendedPaymentProcessSavedState(byte[] bytes) {
+        Input input = new Input(bytes, TYPE_EXTENDED_PAYMENT_PROCESS);
+        int flags = input.readInt();
+        return new ExtendedPaymentProcess.SavedState(readPaymentProcess(input), readExternalPaymentProcess(input),
+                flags);
+    }
+
+    /**
+     * @param bytes encoded response
+     * @return request payment response
+     * @throws IllegalArgumentException if bytes are not an encoded response of this version
+     */
+    public static RequestPayment decodeRequestPayment(byte[] bytes) {
+        return readRequestPayment(new Input(bytes, TYPE_REQUEST_PAYMENT));
+    }
+
+    /**
+     * @param bytes encoded response
+     * @return request external payment response
+     * @throws IllegalArgumentException if bytes are not an encoded response of this version
+     */
+    public static RequestExternalPayment decodeRequestExternalPayment(byte[] bytes) {
+        return readRequestExternalPayment(new Input(bytes, TYPE_REQUEST_EXTERNAL_PAYMENT));
+    }
+
+    /**
+     * @param bytes encoded response
+     * @return process payment response
+     * @throws IllegalArgumentException if bytes are not an encoded response of this version
+     */
+    public static ProcessPayment decodeProcessPayment(byte[] bytes) {
+        return readProcessPayment(new Input(bytes, TYPE_PROCESS_PAYMENT));
+    }
+
+    /**
+     * @param bytes encoded response
+     * @return process external payment response
+     * @throws IllegalArgumentException if bytes are not an encoded response of this version
+     */
+    public static ProcessExternalPayment decodeProcessExternalPayment(byte[] bytes) {
+        return readProcessExternalPayment(new Input(bytes, TYPE_PROCESS_EXTERNAL_PAYMENT));
+    }
+
+    private static void writePaymentProcess(Output output, PaymentProcess.SavedState savedState) {
+        output.writeVarint(savedState.getFlags());
+        RequestPayment requestPayment = savedState.getRequestPayment();
+        output.writeBoolean(requestPayment != null);
+        if (requestPayment != null) {
+            writeRequestPayment(output, requestPayment);
+        }
+        ProcessPayment processPayment = savedState.getProcessPayment();
+        output.writeBoolean(processPayment != null);
+        if (processPayment != null) {
+            writeProcessPayment(output, processPayment);
+        }
+    }
+
+    private static PaymentProcess.SavedState readPaymentProcess(Input input) {
+        int flags = input.readInt();
+        RequestPayment requestPayment = input.readBoolean() ? readRequestPayment(input) : null;
+        ProcessPayment processPayment = input.readBoolean() ? readProcessPayment(input) : null;
+        return new PaymentProcess.SavedState(requestPayment, processPayment, flags);
+    }
+
+    private static void writeExternalPaymentProcess(Output output, ExternalPaymentProcess.SavedState savedState) {
+        output.writeVarint(savedState.getFlags());
+        RequestExternalPayment requestPayment = savedState.getRequestPayment();
+        output.writeBoolean(requestPayment != null);
+        if (requestPayment != null) {
+            writeBaseRequestPayment(output, requestPayment);
+        }
+        ProcessExternalPayment processPayment = savedState.getProcessPayment();
+        output.writeBoolean(processPayment != null);
+        if (processPayment != null) {
+            writeProcessExternalPayment(output, processPayment);
+        }
+    }
+
+    private static ExternalPaymentProcess.SavedState readExternalPaymentProcess(Input input) {
+        int flags = input.readInt();
+        RequestExternalPayment requestPayment = input.readBoolean() ? readRequestExternalPayment(input) : null;
+        ProcessExternalPayment processPayment = input.readBoolean() ? readProcessExternalPayment(input) : null;
+        return new ExternalPaymentProcess.SavedState(requestPayment, processPayment, flags);
+    }
+
+    private static void writeBaseRequestPayment(Output output, BaseRequestPayment requestPayment) {
+        output.writeEnum(requestPayment.status);
+        output.writeEnum(requestPayment.error);
+        output.writeString(requestPayment.requestId);
+        output.writeDecimal(requestPayment.contractAmount);
+        output.writeString(requestPayment.title);
+        Fees fees = requestPayment.fees;
+        output.writeBoolean(fees != null);
+        if (fees != null) {
+            output.writeDecimal(fees.service);
+            output.writeDecimal(fees.counterparty);
+        }
+    }
+
+    private static void readBaseRequestPayment(Input input, BaseRequestPayment.Builder builder) {
+        builder.setStatus(input.readEnum(REQUEST_STATUSES));
+        builder.setError(input.readEnum(ERRORS));
+        builder.setRequestId(input.readString());
+        builder.setContractAmount(input.readDecimal());
+        builder.setTitle(input.readString());
+        if (input.readBoolean()) {
+            builder.setFees(new Fees(input.readDecimal(), input.readDecimal()));
+        }
+    }
+
+    private static RequestExternalPayment readRequestExternalPayment(Input input) {
+        RequestExternalPayment.Builder builder = new RequestExternalPayment.Builder();
+        readBaseRequestPayment(input, builder);
+        return builder.create();
+    }
+
+    private static void writeRequestPayment(Output output, RequestPayment requestPayment) {
+        writeBaseRequestPayment(output, requestPayment);
+        RequestPayment.MoneySource moneySource = requestPayment.moneySource;
+        output.writeBoolean(moneySource != null);
+        if (moneySource != null) {
+            output.writeNullableBoolean(moneySource.wallet != null ? moneySource.wallet.allowed : null);
+            RequestPayment.Cards cards = moneySource.cards;
+            output.writeBoolean(cards != null);
+            if (cards != null) {
+                output.writeBoolean(cards.allowed);
+                output.writeBoolean(cards.cscRequired);
+                output.writeSize(cards.items);
+                if (cards.items != null) {
+                    for (Card card : cards.items) {
+                        output.writeString(card.id);
+                        output.writeString(card.panFragment);
+                        output.writeEnum(card.type);
+                    }
+                }
+            }
+        }
+        output.writeDecimal(requestPayment.balance);
+        output.writeEnum(requestPayment.recipientAccountStatus);
+        output.writeEnum(requestPayment.recipientAccountType);
+        output.writeString(requestPayment.protectionCode);
+        output.writeString(requestPayment.accountUnblockUri);
+        output.writeString(requestPayment.extActionUri);
+        output.writeNullableBoolean(requestPayment.multipleRecipientsFound);
+    }
+
+    private static RequestPayment readRequestPayment(Input input) {
+        RequestPayment.Builder builder = new RequestPayment.Builder();
+        readBaseRequestPayment(input, builder);
+        if (input.readBoolean()) {
+            Boolean walletAllowed = input.readNullableBoolean();
+            RequestPayment.Cards cards = null;
+            if (input.readBoolean()) {
+                boolean allowed = input.readBoolean();
+                boolean cscRequired = input.readBoolean();
+                int size = input.readSize();
+                List<Card> items = null;
+                if (size >= 0) {
+                    items = new ArrayList<>(size);
+                    for (int i = 0; i < size; ++i) {
+                        items.add(new Card.Builder()
+                                .setId(input.readString())
+                                .setPanFragment(input.readString())
+                                .setType(input.readEnum(CARD_BRANDS))
+                                .create());
+                    }
+                }
+                cards = new RequestPayment.Cards(allowed, cscRequired, items);
+            }
+            builder.setMoneySources(new RequestPayment.MoneySource(
+                    walletAllowed != null ? new Wallet(walletAllowed) : null, cards));
+        }
+        builder.setBalance(input.readDecimal());
+        builder.setRecipientAccountStatus(input.readEnum(ACCOUNT_STATUSES));
+        builder.setRecipientAccountType(input.readEnum(ACCOUNT_TYPES));
+        builder.setProtectionCode(input.readString());
+        builder.setAccountUnblockUri(input.readString());
+        builder.setExtActionUri(input.readString());
+        builder.setMultipleRecipientsFound(input.readNullableBoolean());
+        return builder.create();
+    }
+
+    private static void writeBaseProcessPayment(Output output, BaseProcessPayment processPayment) {
+        output.writeEnum(processPayment.status);
+        output.writeEnum(processPayment.error);
+        output.writeString(processPayment.invoiceId);
+        output.writeString(processPayment.acsUri);
+        Map<String, String> acsParams = processPayment.acsParams;
+        output.writeSize(acsParams != null ? acsParams.keySet() : null);
+        if (acsParams != null) {
+            for (Map.Entry<String, String> entry : acsParams.entrySet()) {
+                output.writeString(entry.getKey());
+                output.writeString(entry.getValue());
+            }
+        }
+        output.writeSignedVarint(processPayment.nextRetry);
+    }
+
+    private static void readBaseProcessPayment(Input input, BaseProcessPayment.Builder builder) {
+        builder.setStatus(input.readEnum(PROCESS_STATUSES));
+        builder.setError(input.readEnum(ERRORS));
+        builder.setInvoiceId(input.readString());
+        builder.setAcsUri(input.readString());
+        int size = input.readSize();
+        Map<String, String> acsParams = null;
+        if (size >= 0) {
+            acsParams = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; ++i) {
+                acsParams.put(input.readString(), input.readString());
+            }
+        }
+        builder.setAcsParams(acsParams);
+        builder.setNextRetry(input.readSignedVarint());
+    }
+
+    private static void writeProcessPayment(Output output, ProcessPayment processPayment) {
+        writeBaseProcessPayment(output, processPayment);
+        output.writeString(processPayment.paymentId);
+        output.writeDecimal(processPayment.balance);
+        output.writeString(processPayment.payer);
+        output.writeString(processPayment.payee);
+        output.writeDecimal(processPayment.creditAmount);
+        output.writeString(processPayment.accountUnblockUri);
+        output.writeString(processPayment.payeeUid);
+        output.writeString(processPayment.holdForPickupLink);
+        DigitalGoods digitalGoods = processPayment.digitalGoods;
+        output.writeBoolean(digitalGoods != null);
+        if (digitalGoods != null) {
+            writeGoods(output, digitalGoods.article);
+            writeGoods(output, digitalGoods.bonus);
+        }
+    }
+
+    private static ProcessPayment readProcessPayment(Input input) {
+        ProcessPayment.Builder builder = new ProcessPayment.Builder();
+        readBaseProcessPayment(input, builder);
+        builder.setPaymentId(input.readString());
+        builder.setBalance(input.readDecimal());
+        builder.setPayer(input.readString());
+        builder.setPayee(input.readString());
+        builder.setCreditAmount(input.readDecimal());
+        builder.setAccountUnblockUri(input.readString());
+        builder.setPayeeUid(input.readString());
+        builder.setHoldForPickupLink(input.readString());
+        if (input.readBoolean()) {
+            List<Good> article = readGoods(input);
+            builder.setDigitalGoods(new DigitalGoods(article, readGoods(input)));
+        }
+        return builder.create();
+    }
+
+    private static void writeGoods(Output output, List<Good> goods) {
+        output.writeSize(goods);
+        if (goods != null) {
+            for (Good good : goods) {
+                output.writeString(good.serial);
+                output.writeString(good.secret);
+                output.writeString(good.secretUrl);
+                output.writeString(good.merchantArticleId);
+            }
+        }
+    }
+
+    private static List<Good> readGoods(Input input) {
+        int size = input.readSize();
+        if (size < 0) {
+            return null;
+        }
+        List<Good> goods = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            goods.add(new Good(input.readString(), input.readString(), input.readString(), input.readString()));
+        }
+        return goods;
+    }
+
+    private static void writeProcessExternalPayment(Output output, ProcessExternalPayment processPayment) {
+        writeBaseProcessPayment(output, processPayment);
+        ExternalCard externalCard = processPayment.externalCard;
+        output.writeBoolean(externalCard != null);
+        if (externalCard != null) {
+            output.writeEnum(externalCard.type);
+            output.writeString(externalCard.panFragment);
+            output.writeString(externalCard.fundingSourceType);
+            output.writeString(externalCard.moneySourceToken);
+        }
+    }
+
+    private static ProcessExternalPayment readProcessExternalPayment(Input input) {
+        ProcessExternalPayment.Builder builder = new ProcessExternalPayment.Builder();
+        readBaseProcessPayment(input, builder);
+        if (input.readBoolean()) {
+            builder.setExternalCard(new ExternalCard.Builder()
+                    .setType(input.readEnum(CARD_BRANDS))
+                    .setPanFragment(input.readString())
+                    .setFundingSourceType(input.readString())
+                    .setMoneySourceToken(input.readString())
+                    .create());
+        }
+        return builder.create();
+    }
+
+    /**
+     * Growable buffer of encoded value.
+     */
+    private static final class Output {
+
+        private byte[] buffer = new byte[128];
+        private int size;
+
+        Output(int type) {
+            writeVarint(VERSION);
+            writeVarint(type);
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeNullableBoolean(Boolean value) {
+            writeByte(value == null ? 0 : value ? 2 : 1);
+        }
+
+        void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeSignedVarint(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * Writes size of a collection, {@code null} collection is written as {@code 0}.
+         */
+        void writeSize(Collection<?> collection) {
+            writeVarint(collection == null ? 0 : collection.size() + 1);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeByte(0);
+                return;
+            }
+            int length = value.length();
+            int i = 0;
+            while (i < length && value.charAt(i) < 0x80) {
+                ++i;
+            }
+            if (i == length) {
+                writeVarint(length + 1);
+                ensureCapacity(length);
+                for (i = 0; i < length; ++i) {
+                    buffer[size++] = (byte) value.charAt(i);
+                }
+            } else {
+                byte[] bytes = value.getBytes(UTF_8);
+                writeVarint(bytes.length + 1);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, size, bytes.length);
+                size += bytes.length;
+            }
+        }
+
+        void writeEnum(Enum<?> value) {
+            writeVarint(value == null ? 0 : value.ordinal() + 1);
+        }
+
+        void writeDecimal(BigDecimal value) {
+            if (value == null) {
+                writeByte(DECIMAL_NULL);
+                return;
+            }
+            BigInteger unscaled = value.unscaledValue();
+            if (unscaled.bitLength() < 64) {
+                writeByte(DECIMAL_LONG);
+                writeSignedVarint(value.scale());
+                writeSignedVarint(unscaled.longValue());
+            } else {
+                byte[] bytes = unscaled.toByteArray();
+                writeByte(DECIMAL_BIG);
+                writeSignedVarint(value.scale());
+                writeVarint(bytes.length);
+                ensureCapacity(bytes.length);
+                System.arraycopy(bytes, 0, buffer, size, bytes.length);
+                size += bytes.length;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        private void ensureCapacity(int count) {
+            if (size + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + count));
+            }
+        }
+    }
+
+    /**
+     * Reader of encoded value.
+     */
+    private static final class Input {
+
+        private final byte[] buffer;
+        private int position;
+
+        Input(byte[] buffer, int type) {
+            this.buffer = checkNotNull(buffer, "bytes");
+            long version = readVarint();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported version: " + version);
+            }
+            long actualType = readVarint();
+            if (actualType != type) {
+                throw new IllegalArgumentException("unexpected type: " + actualType);
+            }
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        Boolean readNullableBoolean() {
+            int value = readByte();
+            return value == 0 ? null : value == 2;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("malformed varint at " + position);
+        }
+
+        long readSignedVarint() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int readInt() {
+            long value = readVarint();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("value is too large: " + value);
+            }
+            return (int) value;
+        }
+
+        /**
+         * @return size of a collection or {@code -1} for {@code null} collection
+         */
+        int readSize() {
+            return readInt() - 1;
+        }
+
+        String readString() {
+            int length = readSize();
+            if (length < 0) {
+                return null;
+            }
+            checkAvailable(length);
+            String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+
+        <E extends Enum<E>> E readEnum(E[] values) {
+            int index = readInt();
+            if (index > values.length) {
+                throw new IllegalArgumentException("unknown constant " + index + " of " +
+                        values.getClass().getComponentType().getSimpleName());
+            }
+            return index == 0 ? null : values[index - 1];
+        }
+
+        BigDecimal readDecimal() {
+            int kind = readByte();
+            switch (kind) {
+                case DECIMAL_NULL:
+                    return null;
+                case DECIMAL_LONG: {
+                    int scale = (int) readSignedVarint();
+                    return BigDecimal.valueOf(readSignedVarint(), scale);
+                }
+                case DECIMAL_BIG: {
+                    int scale = (int) readSignedVarint();
+                    int length = readInt();
+                    checkAvailable(length);
+                    byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+                    position += length;
+                    return new BigDecimal(new BigInteger(bytes), scale);
+                }
+                default:
+                    throw new IllegalArgumentException("malformed amount at " + position);
+            }
+        }
+
+        private int readByte() {
+            checkAvailable(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        private void checkAvailable(int count) {
+            if (count > buffer.length - position) {
+                throw new IllegalArgumentException("unexpected end of data");
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.time;
+
+/**
+ * Arithmetic of proleptic Gregorian calendar used to convert between epoch days and calendar fields without
+ * {@link java.util.Calendar}. Algorithms are described in http://howardhinnant.github.io/date_algorithms.html
+ * <p/>
+ * {@link java.util.GregorianCalendar} uses Julian calendar before {@link #GREGORIAN_CUTOVER_DAYS}, so callers should
+ * check {@link #isGregorian(long)} and fall back to it for earlier dates.
+ * <p/>
+ * This class is shared by date and time utilities of the library and is not intended for use by clients.
+ */
+public final class Chronology {
+
+    public static final long MILLIS_PER_SECOND = 1000L;
+    public static final long MILLIS_PER_MINUTE = 60L * MILLIS_PER_SECOND;
+    public static final long MILLIS_PER_HOUR = 60L * MILLIS_PER_MINUTE;
+    public static final long MILLIS_PER_DAY = 24L * MILLIS_PER_HOUR;
+
+    /**
+     * Days from the epoch to the first day of Gregorian calendar (1582-10-15).
+     */
+    static final long GREGORIAN_CUTOVER_DAYS = -141427L;
+
+    /**
+     * The last year that contains dates of Julian calendar.
+     */
+    static final int GREGORIAN_CUTOVER_YEAR = 1582;
+
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_FROM_ERA_TO_EPOCH = 719468;
+
+    private Chronology() {
+    }
+
+    /**
+     * Gets number of days from the epoch. Values of month and day out of their ranges are rolled over.
+     *
+     * @param year year
+     * @param monthOfYear month of year starting from 1
+     * @param dayOfMonth day of month starting from 1
+     * @return days from 1970-01-01
+     */
+    public static long daysFromCivil(long year, int monthOfYear, int dayOfMonth) {
+        int monthIndex = monthOfYear - 1;
+        year += floorDiv(monthIndex, 12);
+        monthOfYear = (int) floorMod(monthIndex, 12) + 1;
+
+        long y = monthOfYear <= 2 ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (monthOfYear > 2 ? monthOfYear - 3 : monthOfYear + 9) + 2) / 5 + dayOfMonth - 1;
+        long dayOfEra = yearOfEra * 365L + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_FROM_ERA_TO_EPOCH;
+    }
+
+    /**
+     * Gets date from number of days from the epoch.
+     *
+     * @param days days from 1970-01-01
+     * @return date packed by {@link #packDate(long, int, int)}
+     */
+    public static long civilFromDays(long days) {
+        long z = days + DAYS_FROM_ERA_TO_EPOCH;
+        long era = floorDiv(z, DAYS_PER_ERA);
+        int dayOfEra = (int) (z - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int dayOfMonth = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int monthOfYear = mp < 10 ? mp + 3 : mp - 9;
+        return packDate(yearOfEra + era * 400 + (monthOfYear <= 2 ? 1 : 0), monthOfYear, dayOfMonth);
+    }
+
+    /**
+     * Checks if local time is in Gregorian calendar, so that it can be computed by this class.
+     *
+     * @param localMillis local time in milliseconds from the epoch
+     * @return {@code true} if local time is on or after 1582-10-15
+     */
+    static boolean isGregorian(long localMillis) {
+        return floorDiv(localMillis, MILLIS_PER_DAY) >= GREGORIAN_CUTOVER_DAYS;
+    }
+
+    /**
+     * Gets number of days in a month.
+     *
+     * @param year year
+     * @param monthOfYear month of year starting from 1
+     * @return number of days
+     */
+    public static int daysInMonth(long year, int monthOfYear) {
+        switch (monthOfYear) {
+            case 2:
+                return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Packs date fields to a single long value.
+     */
+    public static long packDate(long year, int monthOfYear, int dayOfMonth) {
+        return (year << 9) | (monthOfYear << 5) | dayOfMonth;
+    }
+
+    /**
+     * @return year of a date packed by {@link #packDate(long, int, int)}
+     */
+    public static int year(long packedDate) {
+        return (int) (packedDate >> 9);
+    }
+
+    /**
+     * @return month of year starting from 1 of a date packed by {@link #packDate(long, int, int)}
+     */
+    public static int monthOfYear(long packedDate) {
+        return (int) (packedDate >> 5) & 0xf;
+    }
+
+    /**
+     * @return day of month starting from 1 of a date packed by {@link #packDate(long, int, int)}
+     */
+    public static int dayOfMonth(long packedDate) {
+        return (int) packedDate & 0x1f;
+    }
+
+    /**
+     * Divides rounding towards negative infinity.
+     */
+    public static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    /**
+     * Gets modulus with the sign of the divisor.
+     */
+    public static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
+    }
+}
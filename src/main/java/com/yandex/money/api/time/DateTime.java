@@ -27,24 +27,31 @@ package com.yandex.money.api.time;
 import java.text.DateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
- * Represents a date-time value that is backed up by a {@link Calendar} instance. The implementation of this class is
- * immutable.
+ * Represents a date-time value as an instant in UTC milliseconds from the epoch and a time zone. Calendar fields are
+ * computed arithmetically in Gregorian calendar, {@link Calendar} is only used when calendar arithmetic crosses a time
+ * zone transition and for dates before 1582-10-15, which are in Julian calendar as in {@link GregorianCalendar}. The
+ * implementation of this class is immutable.
  *
  * @see Calendar
  */
 public final class DateTime implements Comparable<DateTime> {
 
-    private final Calendar calendar;
+    private static volatile TimeZone defaultTimeZone = TimeZone.getDefault();
 
-    DateTime(Calendar calendar) {
-        this.calendar = calendar;
-        // we want to manually invoke update time within a calendar
-        this.calendar.getTimeInMillis();
+    private final long millis;
+    private final TimeZone timeZone;
+    private final int offset;
+
+    private DateTime(long millis, TimeZone timeZone) {
+        this.millis = millis;
+        this.timeZone = timeZone;
+        this.offset = timeZone.getOffset(millis);
     }
 
     /**
@@ -52,7 +59,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @see Calendar#getInstance()
      */
     public static DateTime now() {
-        return new DateTime(Calendar.getInstance());
+        return new DateTime(System.currentTimeMillis(), getDefaultTimeZone());
     }
 
     /**
@@ -60,9 +67,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified time and default timezone
      */
     public static DateTime from(long millis) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(millis);
-        return new DateTime(calendar);
+        return new DateTime(millis, getDefaultTimeZone());
     }
 
     /**
@@ -71,10 +76,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified time and timezone
      */
     public static DateTime from(long millis, TimeZone timeZone) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(millis);
-        calendar.setTimeZone(timeZone);
-        return new DateTime(calendar);
+        return new DateTime(millis, checkNotNull(timeZone, "timeZone"));
     }
 
     /**
@@ -82,9 +84,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified date and default timezone
      */
     public static DateTime from(Date date) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        return new DateTime(calendar);
+        return new DateTime(checkNotNull(date, "date").getTime(), getDefaultTimeZone());
     }
 
     /**
@@ -96,7 +96,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified values and default timezone
      */
     public static DateTime from(int year, int month, int date, int hour, int minute) {
-        return from(year, month, date, hour, minute, TimeZone.getDefault());
+        return from(year, month, date, hour, minute, getDefaultTimeZone());
     }
 
     /**
@@ -109,11 +109,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified values
      */
     public static DateTime from(int year, int month, int date, int hour, int minute, TimeZone timeZone) {
-        Calendar calendar = Calendar.getInstance(timeZone);
-        calendar.set(year, month, date, hour, minute);
-        calendar.clear(Calendar.SECOND);
-        calendar.clear(Calendar.MILLISECOND);
-        return new DateTime(calendar);
+        return fromLocal(year, month, date, hour, minute, 0, checkNotNull(timeZone, "timeZone"));
     }
 
     /**
@@ -126,10 +122,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @return an instance of this class with specified values and default timezone
      */
     public static DateTime from(int year, int month, int date, int hour, int minute, int second) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.set(year, month, date, hour, minute, second);
-        calendar.clear(Calendar.MILLISECOND);
-        return new DateTime(calendar);
+        return fromLocal(year, month, date, hour, minute, second, getDefaultTimeZone());
     }
 
     /**
@@ -177,12 +170,18 @@ public final class DateTime implements Comparable<DateTime> {
      */
     @SuppressWarnings("WeakerAccess")
     public DateTime withTimeAtStartOfDay() {
-        DateTime copy = copy();
-        copy.calendar.set(Calendar.HOUR_OF_DAY, 0);
-        copy.calendar.set(Calendar.MINUTE, 0);
-        copy.calendar.set(Calendar.SECOND, 0);
-        copy.calendar.set(Calendar.MILLISECOND, 0);
-        return copy;
+        long local = getLocalMillis();
+        long midnight = Chronology.floorDiv(local, Chronology.MILLIS_PER_DAY) * Chronology.MILLIS_PER_DAY;
+        DateTime result = fromLocal(midnight, timeZone);
+        if (result == null) {
+            Calendar calendar = toCalendar();
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            result = from(calendar);
+        }
+        return result;
     }
 
     /**
@@ -194,9 +193,7 @@ public final class DateTime implements Comparable<DateTime> {
      */
     @SuppressWarnings("WeakerAccess")
     public DateTime withZone(TimeZone timeZone) {
-        DateTime copy = copy();
-        copy.calendar.setTimeZone(timeZone);
-        return copy;
+        return new DateTime(millis, checkNotNull(timeZone, "timeZone"));
     }
 
     /**
@@ -204,49 +201,58 @@ public final class DateTime implements Comparable<DateTime> {
      * @see Calendar#getTimeZone()
      */
     public TimeZone getTimeZone() {
-        return calendar.getTimeZone();
+        // time zones are shared between instances, so a copy is returned
+        return (TimeZone) timeZone.clone();
+    }
+
+    /**
+     * @return the time in UTC milliseconds from the epoch
+     * @see Calendar#getTimeInMillis()
+     */
+    public long getMillis() {
+        return millis;
     }
 
     /**
      * @return {@link Date} instance that represents this class
      */
     public Date getDate() {
-        return calendar.getTime();
+        return new Date(millis);
     }
 
     @SuppressWarnings("WeakerAccess")
     public int getYear() {
-        return calendar.get(Calendar.YEAR);
+        return Chronology.year(getLocalDate());
     }
 
     public int getMonth() {
-        return calendar.get(Calendar.MONTH);
+        return getMonthOfYear() - 1;
     }
 
     public int getMonthOfYear() {
-        return getMonth() + 1;
+        return Chronology.monthOfYear(getLocalDate());
     }
 
     @SuppressWarnings("WeakerAccess")
     public int getDayOfMonth() {
-        return calendar.get(Calendar.DAY_OF_MONTH);
+        return Chronology.dayOfMonth(getLocalDate());
     }
 
     @SuppressWarnings("WeakerAccess")
     public int getHourOfDay() {
-        return calendar.get(Calendar.HOUR_OF_DAY);
+        return (int) (getMillisOfDay() / Chronology.MILLIS_PER_HOUR);
     }
 
     public int getMinute() {
-        return calendar.get(Calendar.MINUTE);
+        return (int) (getMillisOfDay() / Chronology.MILLIS_PER_MINUTE % 60);
     }
 
     public int getSecond() {
-        return calendar.get(Calendar.SECOND);
+        return (int) (getMillisOfDay() / Chronology.MILLIS_PER_SECOND % 60);
     }
 
     public int getMillisecond() {
-        return calendar.get(Calendar.MILLISECOND);
+        return (int) (getMillisOfDay() % Chronology.MILLIS_PER_SECOND);
     }
 
     /**
@@ -257,7 +263,7 @@ public final class DateTime implements Comparable<DateTime> {
      * @see Calendar#after(Object)
      */
     public boolean isAfter(DateTime dateTime) {
-        return calendar.after(checkNotNull(dateTime, "dateTime").calendar);
+        return millis > checkNotNull(dateTime, "dateTime").millis;
     }
 
     /**
@@ -268,12 +274,12 @@ public final class DateTime implements Comparable<DateTime> {
      * @see Calendar#before(Object)
      */
     public boolean isBefore(DateTime dateTime) {
-        return calendar.before(checkNotNull(dateTime, "dateTime").calendar);
+        return millis < checkNotNull(dateTime, "dateTime").millis;
     }
 
     @Override
     public int compareTo(DateTime other) {
-        return calendar.compareTo(other.calendar);
+        return millis < other.millis ? -1 : (millis == other.millis ? 0 : 1);
     }
 
     @Override
@@ -283,12 +289,14 @@ public final class DateTime implements Comparable<DateTime> {
 
         DateTime dateTime = (DateTime) o;
 
-        return calendar.equals(dateTime.calendar);
+        return millis == dateTime.millis && timeZone.equals(dateTime.timeZone);
     }
 
     @Override
     public int hashCode() {
-        return calendar.hashCode();
+        int result = (int) (millis ^ (millis >>> 32));
+        result = 31 * result + timeZone.hashCode();
+        return result;
     }
 
     @Override
@@ -300,27 +308,204 @@ public final class DateTime implements Comparable<DateTime> {
         return checkNotNull(formatter, "formatter").format(getDate());
     }
 
-    Calendar getCalendar() {
+    /**
+     * @return offset of the time zone from UTC in milliseconds including daylight saving
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return a new calendar that represents this date time
+     */
+    Calendar toCalendar() {
+        Calendar calendar = new GregorianCalendar(timeZone);
+        calendar.setTimeInMillis(millis);
         return calendar;
     }
 
+    private static DateTime from(Calendar calendar) {
+        return new DateTime(calendar.getTimeInMillis(), calendar.getTimeZone());
+    }
+
+    private static DateTime fromLocal(int year, int month, int date, int hour, int minute, int second,
+                                      TimeZone timeZone) {
+
+        long local = Chronology.daysFromCivil(year, month + 1, date) * Chronology.MILLIS_PER_DAY
+                + hour * Chronology.MILLIS_PER_HOUR + minute * Chronology.MILLIS_PER_MINUTE
+                + second * Chronology.MILLIS_PER_SECOND;
+        DateTime result = year > Chronology.GREGORIAN_CUTOVER_YEAR && Chronology.isGregorian(local) ?
+                fromLocal(local, timeZone) : null;
+        if (result == null) {
+            Calendar calendar = new GregorianCalendar(timeZone);
+            calendar.clear();
+            calendar.set(year, month, date, hour, minute, second);
+            result = from(calendar);
+        }
+        return result;
+    }
+
+    /**
+     * Converts local time to an instance of this class. Like {@link Calendar} standard time is preferred if local time
+     * is ambiguous.
+     *
+     * @return date time or {@code null} if local time falls into a time zone transition
+     */
+    private static DateTime fromLocal(long local, TimeZone timeZone) {
+        return fromLocal(local, timeZone, timeZone.getOffset(local - timeZone.getRawOffset()));
+    }
+
+    /**
+     * Converts local time to an instance of this class. The expected offset is tried first, then the offset of the time
+     * zone at the resulting instant.
+     *
+     * @return date time or {@code null} if local time falls into a time zone transition (e.g. daylight saving time
+     * gap) and the caller should use {@link Calendar} to resolve it
+     */
+    private static DateTime fromLocal(long local, TimeZone timeZone, int expectedOffset) {
+        DateTime result = new DateTime(local - expectedOffset, timeZone);
+        if (result.offset == expectedOffset) {
+            return result;
+        }
+        int actualOffset = result.offset;
+        result = new DateTime(local - actualOffset, timeZone);
+        return result.offset == actualOffset ? result : null;
+    }
+
+    private static TimeZone getDefaultTimeZone() {
+        // TimeZone.getDefault() returns a new copy each time, share it to save memory
+        TimeZone current = TimeZone.getDefault();
+        TimeZone cached = defaultTimeZone;
+        if (cached.getID().equals(current.getID())) {
+            return cached;
+        }
+        defaultTimeZone = current;
+        return current;
+    }
+
+    private long getLocalMillis() {
+        return millis + offset;
+    }
+
+    /**
+     * @return local date packed by {@link Chronology#packDate(long, int, int)}, dates before 1582-10-15 are in Julian
+     * calendar and their year is a year of an era
+     */
+    long getLocalDate() {
+        long local = getLocalMillis();
+        if (Chronology.isGregorian(local)) {
+            return Chronology.civilFromDays(Chronology.floorDiv(local, Chronology.MILLIS_PER_DAY));
+        }
+        Calendar calendar = toCalendar();
+        return Chronology.packDate(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1,
+                calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    private long getMillisOfDay() {
+        return Chronology.floorMod(getLocalMillis(), Chronology.MILLIS_PER_DAY);
+    }
+
     private DateTime add(Period period, int multiplier) {
-        DateTime result = copy();
-        result.calendar.add(Calendar.YEAR, multiplier * period.years);
-        result.calendar.add(Calendar.MONTH, multiplier * period.months);
-        result.calendar.add(Calendar.DAY_OF_YEAR, multiplier * period.days);
+        checkNotNull(period, "period");
+        // fields are added one by one as Calendar does, any of the steps may fall into a time zone transition
+        DateTime result = this;
+        if (period.years != 0) {
+            result = plusMonths(result, multiplier * period.years * 12L);
+        }
+        if (result != null && period.months != 0) {
+            result = plusMonths(result, multiplier * (long) period.months);
+        }
+        if (result != null && period.days != 0) {
+            long local = result.getLocalMillis() + multiplier * period.days * Chronology.MILLIS_PER_DAY;
+            result = fromLocal(local, timeZone, result.offset);
+        }
+        if (result == null) {
+            Calendar calendar = toCalendar();
+            calendar.add(Calendar.YEAR, multiplier * period.years);
+            calendar.add(Calendar.MONTH, multiplier * period.months);
+            calendar.add(Calendar.DAY_OF_YEAR, multiplier * period.days);
+            result = from(calendar);
+        }
         return result;
     }
 
     private DateTime add(SingleFieldPeriod period, int multiplier) {
         checkNotNull(period, "period");
-        DateTime result = copy();
+        int field = period.getField();
+        long amount = multiplier * (long) period.getAmount();
+        switch (field) {
+            case Calendar.MILLISECOND:
+                return new DateTime(millis + amount, timeZone);
+            case Calendar.SECOND:
+                return new DateTime(millis + amount * Chronology.MILLIS_PER_SECOND, timeZone);
+            case Calendar.MINUTE:
+                return new DateTime(millis + amount * Chronology.MILLIS_PER_MINUTE, timeZone);
+            case Calendar.HOUR:
+            case Calendar.HOUR_OF_DAY:
+                return new DateTime(millis + amount * Chronology.MILLIS_PER_HOUR, timeZone);
+        }
+
+        // like Calendar, day arithmetic keeps current offset if possible, month arithmetic prefers standard time
+        long local = getLocalMillis();
+        DateTime result;
+        switch (field) {
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.DAY_OF_YEAR:
+            case Calendar.DAY_OF_WEEK:
+                result = fromLocal(local + amount * Chronology.MILLIS_PER_DAY, timeZone, offset);
+                break;
+            case Calendar.WEEK_OF_YEAR:
+            case Calendar.WEEK_OF_MONTH:
+            case Calendar.DAY_OF_WEEK_IN_MONTH:
+                result = fromLocal(local + amount * 7 * Chronology.MILLIS_PER_DAY, timeZone, offset);
+                break;
+            case Calendar.MONTH:
+                result = plusMonths(this, amount);
+                break;
+            case Calendar.YEAR:
+                result = plusMonths(this, amount * 12);
+                break;
+            default:
+                result = null;
+        }
+        return result == null ? addWithCalendar(field, (int) amount) : result;
+    }
+
+    private DateTime addWithCalendar(int field, int amount) {
+        Calendar calendar = toCalendar();
         //noinspection MagicConstant
-        result.calendar.add(period.getField(), multiplier * period.getAmount());
-        return result;
+        calendar.add(field, amount);
+        return from(calendar);
+    }
+
+    /**
+     * Adds months to date time.
+     *
+     * @return date time or {@code null} if any of dates is before 1582-10-15 or the result falls into a time zone
+     * transition, so that {@link Calendar} should be used
+     */
+    private static DateTime plusMonths(DateTime dateTime, long months) {
+        long local = dateTime.getLocalMillis();
+        long result = addMonths(local, months);
+        return Chronology.isGregorian(local) && Chronology.isGregorian(result) ?
+                fromLocal(result, dateTime.timeZone) : null;
     }
 
-    private DateTime copy() {
-        return new DateTime((Calendar) calendar.clone());
+    /**
+     * Adds months to local time. Day of month is pinned to the last day of a resulting month if needed.
+     */
+    private static long addMonths(long local, long months) {
+        if (months == 0) {
+            return local;
+        }
+        long days = Chronology.floorDiv(local, Chronology.MILLIS_PER_DAY);
+        long millisOfDay = local - days * Chronology.MILLIS_PER_DAY;
+        long date = Chronology.civilFromDays(days);
+
+        long monthIndex = Chronology.year(date) * 12L + Chronology.monthOfYear(date) - 1 + months;
+        long year = Chronology.floorDiv(monthIndex, 12);
+        int monthOfYear = (int) Chronology.floorMod(monthIndex, 12) + 1;
+        int dayOfMonth = Math.min(Chronology.dayOfMonth(date), Chronology.daysInMonth(year, monthOfYear));
+        return Chronology.daysFromCivil(year, monthOfYear, dayOfMonth) * Chronology.MILLIS_PER_DAY + millisOfDay;
     }
 }
@@ -24,20 +24,30 @@
 
 package com.yandex.money.api.time;
 
-import com.google.gson.internal.bind.util.ISO8601Utils;
-
 import java.text.ParseException;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.SimpleTimeZone;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
- * Simple utility class to parse and format ISO 8601 dates.
+ * Simple utility class to parse and format ISO 8601 dates. Date times with time are parsed and formatted
+ * arithmetically in Gregorian calendar without {@link java.util.Calendar}; time zones with fixed offsets are interned.
+ * Like {@link GregorianCalendar} dates before 1582-10-15 are in Julian calendar and years before 1 are years of BC
+ * era.
  */
 public final class Iso8601Format {
 
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private static final int MAX_OFFSET_MINUTES = 24 * 60 - 1;
+    private static final int MAX_OFFSET = MAX_OFFSET_MINUTES * (int) Chronology.MILLIS_PER_MINUTE;
+    private static final AtomicReferenceArray<TimeZone> OFFSET_TIME_ZONES =
+            new AtomicReferenceArray<>(2 * MAX_OFFSET_MINUTES + 1);
+
     private Iso8601Format() {
     }
 
@@ -121,41 +131,39 @@ public final class Iso8601Format {
                         break;
                 }
 
-                position = endPosition;
+                position = indexOfNonDigit(date, endPosition); // ignore digits beyond milliseconds
             }
         }
 
-        if (position > date.length()) {
+        if (position >= date.length()) {
             throw new ParseException("no timezone indicator", position);
         }
 
-        TimeZone timeZone = null;
+        int offset;
         char timeZoneChar = date.charAt(position);
-
         if (timeZoneChar == 'Z') {
-            timeZone = TimeZone.getTimeZone("GMT");
+            offset = 0;
         } else if (timeZoneChar == '+' || timeZoneChar == '-') {
-            String timeZoneOffset = date.substring(position);
-
-            timeZoneOffset = timeZoneOffset.length() >= 5 ? timeZoneOffset : timeZoneOffset + "00";
-
-            if ("+0000".equals(timeZoneOffset) || "+00:00".equals(timeZoneOffset)) {
-                timeZone = TimeZone.getTimeZone("GMT");
-            } else {
-                timeZone = TimeZone.getTimeZone("GMT" + timeZoneOffset);
+            offset = parseOffset(date, position + 1);
+            if (timeZoneChar == '-') {
+                offset = -offset;
             }
+        } else {
+            throw new ParseException("unsupported timezone indicator: " + timeZoneChar, position);
         }
 
-        Calendar calendar = new GregorianCalendar(timeZone);
-        calendar.set(Calendar.YEAR, year);
-        calendar.set(Calendar.MONTH, monthOfYear);
-        calendar.set(Calendar.DAY_OF_MONTH, day);
-        calendar.set(Calendar.HOUR_OF_DAY, hour);
-        calendar.set(Calendar.MINUTE, minutes);
-        calendar.set(Calendar.SECOND, seconds);
-        calendar.set(Calendar.MILLISECOND, milliseconds);
-
-        return new DateTime(calendar);
+        TimeZone timeZone = getTimeZone(offset);
+        if (year <= Chronology.GREGORIAN_CUTOVER_YEAR) {
+            Calendar calendar = new GregorianCalendar(timeZone);
+            calendar.clear();
+            calendar.set(year, monthOfYear, day, hour, minutes, seconds);
+            calendar.set(Calendar.MILLISECOND, milliseconds);
+            return DateTime.from(calendar.getTimeInMillis(), timeZone);
+        }
+        long days = Chronology.daysFromCivil(year, monthOfYear + 1, day);
+        long millis = days * Chronology.MILLIS_PER_DAY + hour * Chronology.MILLIS_PER_HOUR
+                + minutes * Chronology.MILLIS_PER_MINUTE + seconds * Chronology.MILLIS_PER_SECOND + milliseconds;
+        return DateTime.from(millis - offset, timeZone);
     }
 
     /**
@@ -165,16 +173,116 @@ public final class Iso8601Format {
      * @return formatted string
      */
     public static String format(DateTime dateTime) {
-        Calendar calendar = checkNotNull(dateTime, "dateTime").getCalendar();
-        return ISO8601Utils.format(calendar.getTime(), true, calendar.getTimeZone());
+        checkNotNull(dateTime, "dateTime");
+        int offset = dateTime.getOffset();
+        long localMillis = dateTime.getMillis() + offset;
+        long days = Chronology.floorDiv(localMillis, Chronology.MILLIS_PER_DAY);
+        int millisOfDay = (int) (localMillis - days * Chronology.MILLIS_PER_DAY);
+        long date = dateTime.getLocalDate();
+        int year = Chronology.year(date);
+
+        char[] chars = new char[offset == 0 ? 24 : 29];
+        int position;
+        if (year >= 0 && year <= 9999) {
+            position = writeDigits(chars, 0, year, 4);
+        } else {
+            String value = Integer.toString(year);
+            char[] extended = new char[chars.length + value.length() - 4];
+            value.getChars(0, value.length(), extended, 0);
+            chars = extended;
+            position = value.length();
+        }
+        chars[position++] = '-';
+        position = writeDigits(chars, position, Chronology.monthOfYear(date), 2);
+        chars[position++] = '-';
+        position = writeDigits(chars, position, Chronology.dayOfMonth(date), 2);
+        chars[position++] = 'T';
+        position = writeDigits(chars, position, (int) (millisOfDay / Chronology.MILLIS_PER_HOUR), 2);
+        chars[position++] = ':';
+        position = writeDigits(chars, position, (int) (millisOfDay / Chronology.MILLIS_PER_MINUTE % 60), 2);
+        chars[position++] = ':';
+        position = writeDigits(chars, position, (int) (millisOfDay / Chronology.MILLIS_PER_SECOND % 60), 2);
+        chars[position++] = '.';
+        position = writeDigits(chars, position, (int) (millisOfDay % Chronology.MILLIS_PER_SECOND), 3);
+        if (offset == 0) {
+            chars[position] = 'Z';
+        } else {
+            int offsetMinutes = Math.abs(offset) / (int) Chronology.MILLIS_PER_MINUTE;
+            chars[position++] = offset < 0 ? '-' : '+';
+            position = writeDigits(chars, position, offsetMinutes / 60, 2);
+            chars[position++] = ':';
+            writeDigits(chars, position, offsetMinutes % 60, 2);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Gets time zone with fixed offset. Time zones are interned, so parsing doesn't look them up in the global cache
+     * of {@link TimeZone}.
+     *
+     * @param offset offset in milliseconds
+     * @return time zone
+     */
+    static TimeZone getTimeZone(int offset) {
+        if (offset == 0) {
+            return GMT;
+        }
+        if (offset % Chronology.MILLIS_PER_MINUTE != 0 || Math.abs(offset) > MAX_OFFSET) {
+            return new SimpleTimeZone(offset, formatTimeZoneId(offset));
+        }
+        int index = offset / (int) Chronology.MILLIS_PER_MINUTE + MAX_OFFSET_MINUTES;
+        TimeZone timeZone = OFFSET_TIME_ZONES.get(index);
+        if (timeZone == null) {
+            timeZone = TimeZone.getTimeZone(formatTimeZoneId(offset));
+            if (!OFFSET_TIME_ZONES.compareAndSet(index, null, timeZone)) {
+                timeZone = OFFSET_TIME_ZONES.get(index);
+            }
+        }
+        return timeZone;
+    }
+
+    private static String formatTimeZoneId(int offset) {
+        int offsetMinutes = Math.abs(offset) / (int) Chronology.MILLIS_PER_MINUTE;
+        char[] chars = { 'G', 'M', 'T', offset < 0 ? '-' : '+', '0', '0', ':', '0', '0' };
+        writeDigits(chars, 4, offsetMinutes / 60, 2);
+        writeDigits(chars, 7, offsetMinutes % 60, 2);
+        return new String(chars);
+    }
+
+    /**
+     * Parses {@code hh}, {@code hhmm} or {@code hh:mm}.
+     *
+     * @return offset in milliseconds
+     */
+    private static int parseOffset(String value, int position) throws ParseException {
+        int hours = parseInt(value, position, position += 2);
+        if (checkPosition(value, position, ':')) {
+            ++position;
+        }
+        int minutes = position < value.length() ? parseInt(value, position, position += 2) : 0;
+        if (position != value.length() || hours > 23 || minutes > 59) {
+            throw new ParseException("unable to parse timezone offset", position);
+        }
+        return (int) (hours * Chronology.MILLIS_PER_HOUR + minutes * Chronology.MILLIS_PER_MINUTE);
+    }
+
+    private static int writeDigits(char[] chars, int position, int value, int digits) {
+        for (int i = position + digits - 1; i >= position; --i) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digits;
     }
 
     private static int parseInt(String value, int begin, int end) throws ParseException {
+        if (end > value.length()) {
+            throw new ParseException("unexpected end of value", value.length());
+        }
         int result = 0;
         for (int i = begin; i < end; ++i) {
             char c = value.charAt(i);
-            if (Character.isDigit(c)) {
-                result = result * 10 + Character.getNumericValue(c);
+            if (c >= '0' && c <= '9') {
+                result = result * 10 + (c - '0');
             } else {
                 throw new ParseException("unable to parse int value", begin);
             }
@@ -194,7 +302,7 @@ public final class Iso8601Format {
     private static int indexOfNonDigit(String value, int position) {
         for (int i = position; i < value.length(); ++i) {
             char c = value.charAt(i);
-            if (!Character.isDigit(c)) {
+            if (c < '0' || c > '9') {
                 return i;
             }
         }
@@ -25,16 +25,12 @@
 package com.yandex.money.api.time;
 
 import java.text.DateFormat;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents the year and monthOfYear fields.
  */
 public final class YearMonth implements Comparable<YearMonth> {
 
-    private static final Pattern PATTERN = Pattern.compile("(\\d{4})-(\\d{2})");
-
     /**
      * Year.
      */
@@ -71,11 +67,12 @@ public final class YearMonth implements Comparable<YearMonth> {
      * @return year month instance
      */
     public static YearMonth parse(String value) {
-        Matcher matcher = PATTERN.matcher(value);
-        if (!matcher.matches() || matcher.groupCount() != 2) {
+        int year = value.length() == 7 && value.charAt(4) == '-' ? parseDigits(value, 0, 4) : -1;
+        int month = year < 0 ? -1 : parseDigits(value, 5, 7);
+        if (month < 0) {
             throw new IllegalArgumentException("unsupported value: " + value);
         }
-        return new YearMonth(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+        return new YearMonth(year, month);
     }
 
     @Override
@@ -105,10 +102,36 @@ public final class YearMonth implements Comparable<YearMonth> {
 
     @Override
     public String toString() {
-        return String.format("%04d-%02d", year, month);
+        if (year > 9999) {
+            return String.format("%04d-%02d", year, month);
+        }
+        char[] chars = new char[7];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, month, 2);
+        return new String(chars);
     }
 
     public String toString(DateFormat formatter) {
         return DateTime.from(year, month - 1, 1, 0, 0).toString(formatter);
     }
+
+    private static int parseDigits(String value, int begin, int end) {
+        int result = 0;
+        for (int i = begin; i < end; ++i) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static void writeDigits(char[] chars, int position, int value, int digits) {
+        for (int i = position + digits - 1; i >= position; --i) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
 }
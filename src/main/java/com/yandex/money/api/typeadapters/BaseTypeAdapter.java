@@ -24,13 +24,19 @@
 
 package com.yandex.money.api.typeadapters;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -48,7 +54,7 @@ import static com.yandex.money.api.typeadapters.GsonProvider.registerTypeAdapter
 public abstract class BaseTypeAdapter<T> implements TypeAdapter<T>, JsonSerializer<T>, JsonDeserializer<T> {
 
     public BaseTypeAdapter() {
-        registerTypeAdapter(getType(), this);
+        registerTypeAdapter(getType(), getGsonTypeAdapter());
     }
 
     @Override
@@ -109,4 +115,42 @@ public abstract class BaseTypeAdapter<T> implements TypeAdapter<T>, JsonSerializ
     }
 
     protected abstract Class<T> getType();
+
+    /**
+     * Gets an object to register with GSON for {@link #getType()}. By default it is this instance, so GSON builds a
+     * {@link JsonElement} tree and passes it to {@link #deserialize}. Subclasses that read JSON in a streaming manner
+     * return {@link StreamingTypeAdapter} instead. Called from constructor.
+     *
+     * @return type adapter to register
+     */
+    protected Object getGsonTypeAdapter() {
+        return this;
+    }
+
+    /**
+     * GSON type adapter that reads values directly from {@link com.google.gson.stream.JsonReader} and writes them
+     * using {@link #serialize}.
+     */
+    protected abstract class StreamingTypeAdapter extends com.google.gson.TypeAdapter<T> {
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+            } else {
+                final Gson gson = getGson();
+                gson.toJson(serialize(value, getType(), new JsonSerializationContext() {
+                    @Override
+                    public JsonElement serialize(Object src) {
+                        return src == null ? JsonNull.INSTANCE : gson.toJsonTree(src);
+                    }
+
+                    @Override
+                    public JsonElement serialize(Object src, Type typeOfSrc) {
+                        return src == null ? JsonNull.INSTANCE : gson.toJsonTree(src, typeOfSrc);
+                    }
+                }), out);
+            }
+        }
+    }
 }
@@ -26,36 +26,69 @@ package com.yandex.money.api.typeadapters;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.yandex.money.api.time.DateTime;
 import com.yandex.money.api.time.YearMonth;
+import com.yandex.money.api.typeadapters.model.AccountInfoTypeAdapter;
+import com.yandex.money.api.typeadapters.model.OperationHistoryTypeAdapter;
+import com.yandex.money.api.typeadapters.model.OperationTypeAdapter;
+import com.yandex.money.api.typeadapters.model.ProcessPaymentTypeAdapter;
+import com.yandex.money.api.typeadapters.model.RequestPaymentTypeAdapter;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
 
 /**
  * Provides a single GSON instance to serialize / deserialize any object within this SDK.
+ * <p/>
+ * GSON instance is an immutable snapshot published through a volatile reference, so {@link #getGson()} never takes
+ * a lock. Type adapters are kept in a concurrent registry which the snapshot consults lazily when it meets a type
+ * for the first time. Because of that a registration of a type that was not used yet (which is the case for type
+ * adapters registered by {@link BaseTypeAdapter}'s constructor) does not require a new snapshot. The snapshot is
+ * rebuilt only if a type adapter is registered for a type the current snapshot has already resolved.
  */
 public final class GsonProvider {
 
-    private static final GsonBuilder BUILDER = new GsonBuilder();
-    static {
-        BUILDER.registerTypeAdapter(DateTime.class, new DateTimeTypeAdapter());
-        BUILDER.registerTypeAdapter(YearMonth.class, new YearMonthTypeAdapter());
-    }
+    private static final Object LOCK = new Object();
+    private static final Map<Type, Object> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Type adapters that can not be served from the registry (e.g. {@link com.google.gson.InstanceCreator}s),
+     * copy-on-write, guarded by {@link #LOCK}.
+     */
+    private static volatile List<Registration> builderRegistrations = Collections.emptyList();
+    private static volatile Snapshot snapshot = new Snapshot();
 
-    private static Gson gson = BUILDER.create();
-    private static boolean hasNewTypeAdapter = false;
+    private GsonProvider() {
+        // disallow instance creation
+    }
 
     /**
-     * Gets actual instance of GSON. If necessary rebuilds it to add new type adapters.
+     * Gets actual instance of GSON.
      *
      * @return instance of GSON
      */
-    public static synchronized Gson getGson() {
-        if (hasNewTypeAdapter) {
-            gson = BUILDER.create();
-            hasNewTypeAdapter = false;
-        }
-        return gson;
+    public static Gson getGson() {
+        return snapshot.gson;
     }
 
     /**
@@ -65,8 +98,199 @@ public final class GsonProvider {
      * @param typeAdapter type adapter
      */
     @SuppressWarnings("WeakerAccess")
-    public static synchronized void registerTypeAdapter(Type type, Object typeAdapter) {
-        BUILDER.registerTypeAdapter(type, typeAdapter);
-        hasNewTypeAdapter = true;
+    public static void registerTypeAdapter(Type type, Object typeAdapter) {
+        registerTypeAdapters(Collections.singletonMap(type, typeAdapter));
+    }
+
+    /**
+     * Registers several type adapters at once. GSON instance is rebuilt at most once for the whole batch.
+     *
+     * @param typeAdapters type adapters by types for which they are registered
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static void registerTypeAdapters(Map<? extends Type, ?> typeAdapters) {
+        checkNotNull(typeAdapters, "typeAdapters");
+        synchronized (LOCK) {
+            Snapshot current = snapshot;
+            boolean rebuild = false;
+            List<Registration> registrations = null;
+            for (Map.Entry<? extends Type, ?> entry : typeAdapters.entrySet()) {
+                Type type = TypeToken.get(checkNotNull(entry.getKey(), "type")).getType();
+                Object typeAdapter = checkNotNull(entry.getValue(), "typeAdapter");
+                if (isRegistrable(typeAdapter)) {
+                    // registry is updated before the check, see Snapshot.RegistryFactory.create
+                    REGISTRY.put(type, typeAdapter);
+                    rebuild |= current.isResolved(type);
+                } else {
+                    if (registrations == null) {
+                        registrations = new ArrayList<>(builderRegistrations);
+                    }
+                    registrations.add(new Registration(type, typeAdapter));
+                    rebuild = true;
+                }
+            }
+            if (registrations != null) {
+                builderRegistrations = Collections.unmodifiableList(registrations);
+            }
+            if (rebuild) {
+                snapshot = new Snapshot();
+            }
+        }
+    }
+
+    static GsonBuilder createBuilder() {
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapter(DateTime.class, new DateTimeTypeAdapter())
+                .registerTypeAdapter(YearMonth.class, new YearMonthTypeAdapter())
+                .registerTypeAdapterFactory(OperationTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(OperationHistoryTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(AccountInfoTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(RequestPaymentTypeAdapter.FACTORY)
+                .registerTypeAdapterFactory(ProcessPaymentTypeAdapter.FACTORY);
+        for (Registration registration : builderRegistrations) {
+            builder.registerTypeAdapter(registration.type, registration.typeAdapter);
+        }
+        return builder;
+    }
+
+    private static boolean isRegistrable(Object typeAdapter) {
+        return typeAdapter instanceof TypeAdapter || typeAdapter instanceof JsonSerializer ||
+                typeAdapter instanceof JsonDeserializer;
+    }
+
+    /**
+     * Immutable GSON instance with a set of types it has resolved.
+     */
+    private static final class Snapshot {
+
+        final Set<Type> resolved = Collections.newSetFromMap(new ConcurrentHashMap<Type, Boolean>());
+        final Gson gson = createBuilder()
+                .registerTypeAdapterFactory(new RegistryFactory())
+                .create();
+
+        boolean isResolved(Type type) {
+            return resolved.contains(type);
+        }
+
+        /**
+         * Serves type adapters from the registry.
+         */
+        private final class RegistryFactory implements TypeAdapterFactory {
+
+            @Override
+            public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+                Type type = typeToken.getType();
+                Class<? super T> rawType = typeToken.getRawType();
+
+                // a type is marked as resolved before the registry lookup, registration does the opposite, so a
+                // concurrent registration either is found here or sees this type as resolved and rebuilds snapshot
+                resolved.add(type);
+                if (type != rawType) {
+                    resolved.add(rawType);
+                }
+
+                Object typeAdapter = REGISTRY.get(type);
+                if (typeAdapter == null && type != rawType) {
+                    // serializers and deserializers registered for a raw type also handle its parameterizations
+                    typeAdapter = REGISTRY.get(rawType);
+                    if (typeAdapter instanceof TypeAdapter) {
+                        typeAdapter = null;
+                    }
+                }
+
+                if (typeAdapter == null) {
+                    return null;
+                } else if (typeAdapter instanceof TypeAdapter) {
+                    @SuppressWarnings("unchecked")
+                    TypeAdapter<T> result = (TypeAdapter<T>) typeAdapter;
+                    return result;
+                } else {
+                    return new TreeTypeAdapter<>(gson, this, typeToken, typeAdapter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adapts {@link JsonSerializer} and {@link JsonDeserializer} to {@link TypeAdapter} in the same way as
+     * {@link GsonBuilder#registerTypeAdapter(Type, Object)} does.
+     */
+    private static final class TreeTypeAdapter<T> extends TypeAdapter<T>
+            implements JsonSerializationContext, JsonDeserializationContext {
+
+        private final Gson gson;
+        private final TypeAdapterFactory skipPast;
+        private final TypeToken<T> typeToken;
+        private final JsonSerializer<T> serializer;
+        private final JsonDeserializer<T> deserializer;
+        private final TypeAdapter<JsonElement> elementAdapter;
+
+        private TypeAdapter<T> delegate;
+
+        @SuppressWarnings("unchecked")
+        TreeTypeAdapter(Gson gson, TypeAdapterFactory skipPast, TypeToken<T> typeToken, Object typeAdapter) {
+            this.gson = gson;
+            this.skipPast = skipPast;
+            this.typeToken = typeToken;
+            this.serializer = typeAdapter instanceof JsonSerializer ? (JsonSerializer<T>) typeAdapter : null;
+            this.deserializer = typeAdapter instanceof JsonDeserializer ? (JsonDeserializer<T>) typeAdapter : null;
+            this.elementAdapter = gson.getAdapter(JsonElement.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            if (serializer == null) {
+                delegate().write(out, value);
+            } else if (value == null) {
+                out.nullValue();
+            } else {
+                elementAdapter.write(out, serializer.serialize(value, typeToken.getType(), this));
+            }
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (deserializer == null) {
+                return delegate().read(in);
+            }
+            JsonElement element = elementAdapter.read(in);
+            return element == null || element.isJsonNull() ? null :
+                    deserializer.deserialize(element, typeToken.getType(), this);
+        }
+
+        @Override
+        public JsonElement serialize(Object src) {
+            return src == null ? JsonNull.INSTANCE : gson.toJsonTree(src);
+        }
+
+        @Override
+        public JsonElement serialize(Object src, Type typeOfSrc) {
+            return src == null ? JsonNull.INSTANCE : gson.toJsonTree(src, typeOfSrc);
+        }
+
+        @Override
+        public <R> R deserialize(JsonElement json, Type typeOfT) throws JsonParseException {
+            return gson.fromJson(json, typeOfT);
+        }
+
+        private TypeAdapter<T> delegate() {
+            TypeAdapter<T> delegate = this.delegate;
+            if (delegate == null) {
+                delegate = gson.getDelegateAdapter(skipPast, typeToken);
+                this.delegate = delegate;
+            }
+            return delegate;
+        }
+    }
+
+    private static final class Registration {
+
+        final Type type;
+        final Object typeAdapter;
+
+        Registration(Type type, Object typeAdapter) {
+            this.type = type;
+            this.typeAdapter = typeAdapter;
+        }
     }
 }
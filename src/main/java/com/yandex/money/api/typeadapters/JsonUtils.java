@@ -31,12 +31,15 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.stream.JsonWriter;
 import com.yandex.money.api.time.DateTime;
 import com.yandex.money.api.time.Iso8601Format;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Sink;
+import okio.Timeout;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.Collections;
 import java.util.HashMap;
@@ -227,15 +230,43 @@ public final class JsonUtils {
      * @return byte array
      */
     public static byte[] getBytes(JsonElement element) {
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        JsonWriter writer = new JsonWriter(new OutputStreamWriter(stream, Charset.forName("UTF-8")));
+        Buffer buffer = new Buffer();
+        try {
+            write(element, buffer);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return buffer.readByteArray();
+    }
+
+    /**
+     * Writes UTF-8 bytes of JSON element directly to a sink.
+     *
+     * @param element JSON element
+     * @param sink sink to write to
+     */
+    public static void write(JsonElement element, BufferedSink sink) throws IOException {
+        JsonWriter writer = new JsonWriter(new SinkWriter(sink));
         GsonProvider.getGson().toJson(checkNotNull(element, "element"), writer);
+        writer.flush();
+    }
+
+    /**
+     * Gets number of UTF-8 bytes of JSON element without materializing them.
+     *
+     * @param element JSON element
+     * @return number of bytes {@link #write(JsonElement, BufferedSink)} writes
+     */
+    public static long getByteCount(JsonElement element) {
+        CountingSink counter = new CountingSink();
+        BufferedSink sink = Okio.buffer(counter);
         try {
-            writer.close();
+            write(element, sink);
+            sink.close();
         } catch (IOException e) {
             throw new JsonIOException(e);
         }
-        return stream.toByteArray();
+        return counter.count;
     }
 
     private static JsonPrimitive getPrimitiveChecked(JsonObject object, String memberName) {
@@ -254,4 +285,71 @@ public final class JsonUtils {
     private static <T> T checkMandatoryValue(T value, String memberName) {
         return checkNotNull(value, "mandatory value \'" + memberName + "\'");
     }
+
+    /**
+     * Writer that encodes characters to UTF-8 directly into a sink.
+     */
+    private static final class SinkWriter extends Writer {
+
+        private final BufferedSink sink;
+
+        SinkWriter(BufferedSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            sink.writeUtf8CodePoint(c);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            sink.writeUtf8(str, off, off + len);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            sink.writeUtf8(new String(cbuf, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            sink.emit();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Sink that only counts bytes written to it.
+     */
+    private static final class CountingSink implements Sink {
+
+        long count;
+
+        CountingSink() {
+        }
+
+        @Override
+        public void write(Buffer source, long byteCount) throws IOException {
+            count += byteCount;
+            source.skip(byteCount);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
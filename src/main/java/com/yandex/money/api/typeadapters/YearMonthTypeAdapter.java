@@ -24,27 +24,34 @@
 
 package com.yandex.money.api.typeadapters;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParseException;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializationContext;
-import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.yandex.money.api.time.YearMonth;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
-final class YearMonthTypeAdapter implements JsonSerializer<YearMonth>, JsonDeserializer<YearMonth> {
+/**
+ * Streaming type adapter for {@link YearMonth} in {@code yyyy-MM} format.
+ */
+final class YearMonthTypeAdapter extends TypeAdapter<YearMonth> {
 
     @Override
-    public YearMonth deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-            throws JsonParseException {
-        return YearMonth.parse(json.getAsString());
+    public void write(JsonWriter out, YearMonth value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.toString());
+        }
     }
 
     @Override
-    public JsonElement serialize(YearMonth src, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(src.toString());
+    public YearMonth read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return YearMonth.parse(in.nextString());
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.methods.wallet.AccountInfo;
+import com.yandex.money.api.model.AccountStatus;
+import com.yandex.money.api.model.AccountType;
+import com.yandex.money.api.model.Avatar;
+import com.yandex.money.api.model.BalanceDetails;
+import com.yandex.money.api.model.Card;
+import com.yandex.money.api.model.Currency;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBigDecimal;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
+/**
+ * Streaming type adapter for {@link AccountInfo}. Reads members straight from {@link JsonReader} into
+ * {@link AccountInfo.Builder} without reflection. Optional members that are absent in JSON are {@code null}, exactly
+ * as if the object was read reflectively. Members required by {@link AccountInfo} keep defaults of the builder.
+ * Serialization is delegated to reflective type adapter.
+ */
+public final class AccountInfoTypeAdapter extends TypeAdapter<AccountInfo> {
+
+    /**
+     * Factory to register with {@link com.google.gson.GsonBuilder}.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == AccountInfo.class) {
+                @SuppressWarnings("unchecked")
+                TypeAdapter<AccountInfo> delegate = (TypeAdapter<AccountInfo>) gson.getDelegateAdapter(this, type);
+                @SuppressWarnings("unchecked")
+                TypeAdapter<T> adapter = (TypeAdapter<T>) new AccountInfoTypeAdapter(gson, delegate);
+                return adapter;
+            }
+            return null;
+        }
+    };
+
+    private static final TypeAdapter<Currency> NUMERIC_CURRENCY = new NumericCurrencyTypeAdapter().nullSafe();
+    private static final TypeAdapter<BigDecimal> BONUS_BALANCE = new BonusBalanceTypeAdapter().nullSafe();
+
+    private final TypeAdapter<AccountInfo> delegate;
+
+    private final TypeAdapter<AccountStatus> accountStatus;
+    private final TypeAdapter<AccountType> accountType;
+    private final TypeAdapter<Avatar> avatar;
+    private final TypeAdapter<BalanceDetails> balanceDetails;
+    private final TypeAdapter<List<Card>> linkedCards;
+
+    private AccountInfoTypeAdapter(Gson gson, TypeAdapter<AccountInfo> delegate) {
+        this.delegate = delegate;
+        accountStatus = gson.getAdapter(AccountStatus.class);
+        accountType = gson.getAdapter(AccountType.class);
+        avatar = gson.getAdapter(Avatar.class);
+        balanceDetails = gson.getAdapter(BalanceDetails.class);
+        linkedCards = gson.getAdapter(new TypeToken<List<Card>>() {});
+    }
+
+    @Override
+    public void write(JsonWriter out, AccountInfo value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public AccountInfo read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        AccountInfo.Builder builder = new AccountInfo.Builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "account":
+                    builder.setAccount(readString(in));
+                    break;
+                case "balance":
+                    builder.setBalance(readBigDecimal(in));
+                    break;
+                case "currency":
+                    builder.setCurrency(NUMERIC_CURRENCY.read(in));
+                    break;
+                case "account_status":
+                    builder.setAccountStatus(accountStatus.read(in));
+                    break;
+                case "account_type":
+                    builder.setAccountType(accountType.read(in));
+                    break;
+                case "avatar":
+                    builder.setAvatar(avatar.read(in));
+                    break;
+                case "balance_details":
+                    builder.setBalanceDetails(balanceDetails.read(in));
+                    break;
+                case "cards_linked":
+                    builder.setLinkedCards(linkedCards.read(in));
+                    break;
+                case "bonus_balance":
+                    builder.setBonusBalance(BONUS_BALANCE.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return builder.create();
+    }
+}
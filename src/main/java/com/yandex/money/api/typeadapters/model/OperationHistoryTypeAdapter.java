@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
+/**
+ * Streaming type adapter for {@link OperationHistory}. Operations are read with {@link OperationTypeAdapter}.
+ * Serialization is delegated to reflective type adapter.
+ */
+public final class OperationHistoryTypeAdapter extends TypeAdapter<OperationHistory> {
+
+    /**
+     * Factory to register with {@link com.google.gson.GsonBuilder}.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == OperationHistory.class) {
+                @SuppressWarnings("unchecked")
+                TypeAdapter<T> adapter = (TypeAdapter<T>) new OperationHistoryTypeAdapter(gson,
+                        gson.getDelegateAdapter(this, TypeToken.get(OperationHistory.class)));
+                return adapter;
+            }
+            return null;
+        }
+    };
+
+    private final TypeAdapter<OperationHistory> delegate;
+    private final TypeAdapter<Error> error;
+    private final TypeAdapter<Operation> operation;
+
+    private OperationHistoryTypeAdapter(Gson gson, TypeAdapter<OperationHistory> delegate) {
+        this.delegate = delegate;
+        this.error = gson.getAdapter(Error.class);
+        this.operation = gson.getAdapter(Operation.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, OperationHistory value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public OperationHistory read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Error error = null;
+        String nextRecord = null;
+        List<Operation> operations = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "error":
+                    error = this.error.read(in);
+                    break;
+                case "next_record":
+                    nextRecord = readString(in);
+                    break;
+                case "operations":
+                    operations = readOperations(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new OperationHistory(error, nextRecord, operations);
+    }
+
+    /**
+     * Reads operation history passing every operation to a listener as soon as its object is read, so that only one
+     * operation is held in memory at a time.
+     *
+     * @param gson GSON to get type adapters from
+     * @param in JSON reader
+     * @param listener listener of operations
+     * @return operation history with error and next record, list of operations is empty
+     * @throws Exception if JSON can not be read or listener throws an exception
+     */
+    public static OperationHistory read(Gson gson, JsonReader in, OperationHistory.Listener listener)
+            throws Exception {
+
+        TypeAdapter<Operation> operationAdapter = gson.getAdapter(Operation.class);
+        Error error = null;
+        String nextRecord = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "error":
+                    error = gson.getAdapter(Error.class).read(in);
+                    break;
+                case "next_record":
+                    nextRecord = readString(in);
+                    break;
+                case "operations":
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        break;
+                    }
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        listener.onOperation(operationAdapter.read(in));
+                    }
+                    in.endArray();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new OperationHistory(error, nextRecord, Collections.<Operation>emptyList());
+    }
+
+    private List<Operation> readOperations(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<Operation> operations = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            operations.add(operation.read(in));
+        }
+        in.endArray();
+        return operations;
+    }
+}
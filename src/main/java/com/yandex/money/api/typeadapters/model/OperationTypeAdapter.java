@@ -0,0 +1,256 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.methods.wallet.OperationDetails;
+import com.yandex.money.api.model.Currency;
+import com.yandex.money.api.model.DigitalGoods;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.model.PayeeIdentifierType;
+import com.yandex.money.api.model.SpendingCategory;
+import com.yandex.money.api.model.showcase.ShowcaseReference;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBigDecimal;
+import static com.yandex.money.api.typeadapters.JsonReaders.readBoolean;
+import static com.yandex.money.api.typeadapters.JsonReaders.readDateTime;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
+/**
+ * Streaming type adapter for {@link Operation} and {@link OperationDetails}. Reads members straight from
+ * {@link JsonReader} into {@link Operation.Builder} without reflection and intermediate JSON trees. Members that are
+ * absent in JSON are {@code null}, exactly as if the object was read reflectively. Serialization is delegated to
+ * reflective type adapter.
+ *
+ * @param <T> type of operation
+ */
+public final class OperationTypeAdapter<T extends Operation> extends TypeAdapter<T> {
+
+    /**
+     * Factory to register with {@link com.google.gson.GsonBuilder}.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> rawType = type.getRawType();
+            if (rawType == Operation.class || rawType == OperationDetails.class) {
+                @SuppressWarnings("unchecked")
+                TypeAdapter<Operation> delegate = (TypeAdapter<Operation>) gson.getDelegateAdapter(this, type);
+                @SuppressWarnings("unchecked")
+                TypeAdapter<T> adapter = (TypeAdapter<T>) new OperationTypeAdapter<>(gson, delegate,
+                        rawType == OperationDetails.class);
+                return adapter;
+            }
+            return null;
+        }
+    };
+
+    private static final TypeAdapter<Currency> ALPHA_CURRENCY = new AlphaCurrencyTypeAdapter().nullSafe();
+
+    private final TypeAdapter<T> delegate;
+    private final boolean details;
+
+    private final TypeAdapter<OperationStatus> status;
+    private final TypeAdapter<Operation.Direction> direction;
+    private final TypeAdapter<Currency> currency;
+    private final TypeAdapter<PayeeIdentifierType> payeeIdentifierType;
+    private final TypeAdapter<Map<String, String>> paymentParameters;
+    private final TypeAdapter<Operation.Type> type;
+    private final TypeAdapter<DigitalGoods> digitalGoods;
+    private final TypeAdapter<List<Integer>> categories;
+    private final TypeAdapter<List<SpendingCategory>> spendingCategories;
+    private final TypeAdapter<ShowcaseReference.Format> showcaseFormat;
+    private final TypeAdapter<List<Operation.AvailableOperation>> availableOperations;
+    private final TypeAdapter<Error> error;
+
+    private OperationTypeAdapter(Gson gson, TypeAdapter<T> delegate, boolean details) {
+        this.delegate = delegate;
+        this.details = details;
+        status = gson.getAdapter(OperationStatus.class);
+        direction = gson.getAdapter(Operation.Direction.class);
+        currency = gson.getAdapter(Currency.class);
+        payeeIdentifierType = gson.getAdapter(PayeeIdentifierType.class);
+        paymentParameters = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+        type = gson.getAdapter(Operation.Type.class);
+        digitalGoods = gson.getAdapter(DigitalGoods.class);
+        categories = gson.getAdapter(new TypeToken<List<Integer>>() {});
+        spendingCategories = gson.getAdapter(new TypeToken<List<SpendingCategory>>() {});
+        showcaseFormat = gson.getAdapter(ShowcaseReference.Format.class);
+        availableOperations = gson.getAdapter(new TypeToken<List<Operation.AvailableOperation>>() {});
+        error = gson.getAdapter(Error.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Operation.Builder builder = details ? new OperationDetails.Builder() : new Operation.Builder();
+        // reset builder's defaults
+        builder.setAmount(null)
+                .setDatetime(null);
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "operation_id":
+                    builder.setOperationId(readString(in));
+                    break;
+                case "status":
+                    builder.setStatus(status.read(in));
+                    break;
+                case "pattern_id":
+                    builder.setPatternId(readString(in));
+                    break;
+                case "direction":
+                    builder.setDirection(direction.read(in));
+                    break;
+                case "amount":
+                    builder.setAmount(readBigDecimal(in));
+                    break;
+                case "amount_currency":
+                    builder.setAmountCurrency(ALPHA_CURRENCY.read(in));
+                    break;
+                case "exchange_amount":
+                    builder.setExchangeAmount(readBigDecimal(in));
+                    break;
+                case "exchange_amount_currency":
+                    builder.setExchangeAmountCurrency(ALPHA_CURRENCY.read(in));
+                    break;
+                case "amount_due":
+                    builder.setAmountDue(readBigDecimal(in));
+                    break;
+                case "amount_due_currency":
+                    builder.setAmountDueCurrency(currency.read(in));
+                    break;
+                case "fee":
+                    builder.setFee(readBigDecimal(in));
+                    break;
+                case "fee_currency":
+                    builder.setFeeCurrency(currency.read(in));
+                    break;
+                case "datetime":
+                    builder.setDatetime(readDateTime(in));
+                    break;
+                case "title":
+                    builder.setTitle(readString(in));
+                    break;
+                case "sender":
+                    builder.setSender(readString(in));
+                    break;
+                case "recipient":
+                    builder.setRecipient(readString(in));
+                    break;
+                case "recipient_type":
+                    builder.setRecipientType(payeeIdentifierType.read(in));
+                    break;
+                case "message":
+                    builder.setMessage(readString(in));
+                    break;
+                case "comment":
+                    builder.setComment(readString(in));
+                    break;
+                case "codepro":
+                    builder.setCodepro(readBoolean(in));
+                    break;
+                case "protection_code":
+                    builder.setProtectionCode(readString(in));
+                    break;
+                case "expires":
+                    builder.setExpires(readDateTime(in));
+                    break;
+                case "answer_datetime":
+                    builder.setAnswerDatetime(readDateTime(in));
+                    break;
+                case "label":
+                    builder.setLabel(readString(in));
+                    break;
+                case "details":
+                    builder.setDetails(readString(in));
+                    break;
+                case "repeatable":
+                    builder.setRepeatable(readBoolean(in));
+                    break;
+                case "payment_parameters":
+                    builder.setPaymentParameters(paymentParameters.read(in));
+                    break;
+                case "favourite":
+                    builder.setFavorite(readBoolean(in));
+                    break;
+                case "type":
+                    builder.setType(type.read(in));
+                    break;
+                case "digital_goods":
+                    builder.setDigitalGoods(digitalGoods.read(in));
+                    break;
+                case "categories":
+                    builder.setCategories(categories.read(in));
+                    break;
+                case "spendingCategories":
+                    builder.setSpendingCategories(spendingCategories.read(in));
+                    break;
+                case "showcase_format":
+                    builder.setFormat(showcaseFormat.read(in));
+                    break;
+                case "available_operations":
+                    builder.setAvailableOperations(availableOperations.read(in));
+                    break;
+                case "error":
+                    if (details) {
+                        ((OperationDetails.Builder) builder).setError(error.read(in));
+                    } else {
+                        in.skipValue();
+                    }
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return (T) (details ? ((OperationDetails.Builder) builder).create() : builder.create());
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.model.DigitalGoods;
+import com.yandex.money.api.model.Error;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBigDecimal;
+import static com.yandex.money.api.typeadapters.JsonReaders.readLong;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
+/**
+ * Streaming type adapter for {@link ProcessPayment}. Reads members straight from {@link JsonReader} into
+ * {@link ProcessPayment.Builder} without reflection. Members that are absent in JSON are {@code null} (or zero for
+ * {@link ProcessPayment#nextRetry}), exactly as if the object was read reflectively. Serialization is delegated to
+ * reflective type adapter.
+ */
+public final class ProcessPaymentTypeAdapter extends TypeAdapter<ProcessPayment> {
+
+    /**
+     * Factory to register with {@link com.google.gson.GsonBuilder}.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == ProcessPayment.class) {
+                @SuppressWarnings("unchecked")
+                TypeAdapter<ProcessPayment> delegate = (TypeAdapter<ProcessPayment>) gson.getDelegateAdapter(this,
+                        type);
+                @SuppressWarnings("unchecked")
+                TypeAdapter<T> adapter = (TypeAdapter<T>) new ProcessPaymentTypeAdapter(gson, delegate);
+                return adapter;
+            }
+            return null;
+        }
+    };
+
+    private final TypeAdapter<ProcessPayment> delegate;
+
+    private final TypeAdapter<BaseProcessPayment.Status> status;
+    private final TypeAdapter<Error> error;
+    private final TypeAdapter<Map<String, String>> acsParams;
+    private final TypeAdapter<DigitalGoods> digitalGoods;
+
+    private ProcessPaymentTypeAdapter(Gson gson, TypeAdapter<ProcessPayment> delegate) {
+        this.delegate = delegate;
+        status = gson.getAdapter(BaseProcessPayment.Status.class);
+        error = gson.getAdapter(Error.class);
+        acsParams = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+        digitalGoods = gson.getAdapter(DigitalGoods.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, ProcessPayment value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public ProcessPayment read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        ProcessPayment.Builder builder = new ProcessPayment.Builder();
+        // reset builder's defaults
+        builder.setAcsParams(null);
+        builder.setNextRetry(0L);
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "status":
+                    builder.setStatus(status.read(in));
+                    break;
+                case "error":
+                    builder.setError(error.read(in));
+                    break;
+                case "invoice_id":
+                    builder.setInvoiceId(readString(in));
+                    break;
+                case "acs_uri":
+                    builder.setAcsUri(readString(in));
+                    break;
+                case "acs_params":
+                    builder.setAcsParams(acsParams.read(in));
+                    break;
+                case "next_retry":
+                    Long nextRetry = readLong(in);
+                    builder.setNextRetry(nextRetry == null ? 0L : nextRetry);
+                    break;
+                case "payment_id":
+                    builder.setPaymentId(readString(in));
+                    break;
+                case "balance":
+                    builder.setBalance(readBigDecimal(in));
+                    break;
+                case "payer":
+                    builder.setPayer(readString(in));
+                    break;
+                case "payee":
+                    builder.setPayee(readString(in));
+                    break;
+                case "credit_amount":
+                    builder.setCreditAmount(readBigDecimal(in));
+                    break;
+                case "account_unblock_uri":
+                    builder.setAccountUnblockUri(readString(in));
+                    break;
+                case "payee_uid":
+                    builder.setPayeeUid(readString(in));
+                    break;
+                case "hold_for_pickup_link":
+                    builder.setHoldForPickupLink(readString(in));
+                    break;
+                case "digital_goods":
+                    builder.setDigitalGoods(digitalGoods.read(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return builder.create();
+    }
+}
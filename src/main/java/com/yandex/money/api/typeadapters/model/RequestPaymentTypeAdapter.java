@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters.model;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.model.AccountStatus;
+import com.yandex.money.api.model.AccountType;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.Fees;
+
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBigDecimal;
+import static com.yandex.money.api.typeadapters.JsonReaders.readBoolean;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
+/**
+ * Streaming type adapter for {@link RequestPayment}. Reads members straight from {@link JsonReader} into
+ * {@link RequestPayment.Builder} without reflection. Members that are absent in JSON are {@code null}, exactly as if
+ * the object was read reflectively. Serialization is delegated to reflective type adapter.
+ */
+public final class RequestPaymentTypeAdapter extends TypeAdapter<RequestPayment> {
+
+    /**
+     * Factory to register with {@link com.google.gson.GsonBuilder}.
+     */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            if (type.getRawType() == RequestPayment.class) {
+                @SuppressWarnings("unchecked")
+                TypeAdapter<RequestPayment> delegate = (TypeAdapter<RequestPayment>) gson.getDelegateAdapter(this,
+                        type);
+                @SuppressWarnings("unchecked")
+                TypeAdapter<T> adapter = (TypeAdapter<T>) new RequestPaymentTypeAdapter(gson, delegate);
+                return adapter;
+            }
+            return null;
+        }
+    };
+
+    private final TypeAdapter<RequestPayment> delegate;
+
+    private final TypeAdapter<BaseRequestPayment.Status> status;
+    private final TypeAdapter<Error> error;
+    private final TypeAdapter<Fees> fees;
+    private final TypeAdapter<RequestPayment.MoneySource> moneySource;
+    private final TypeAdapter<AccountStatus> accountStatus;
+    private final TypeAdapter<AccountType> accountType;
+
+    private RequestPaymentTypeAdapter(Gson gson, TypeAdapter<RequestPayment> delegate) {
+        this.delegate = delegate;
+        status = gson.getAdapter(BaseRequestPayment.Status.class);
+        error = gson.getAdapter(Error.class);
+        fees = gson.getAdapter(Fees.class);
+        moneySource = gson.getAdapter(RequestPayment.MoneySource.class);
+        accountStatus = gson.getAdapter(AccountStatus.class);
+        accountType = gson.getAdapter(AccountType.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, RequestPayment value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public RequestPayment read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        RequestPayment.Builder builder = new RequestPayment.Builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "status":
+                    builder.setStatus(status.read(in));
+                    break;
+                case "error":
+                    builder.setError(error.read(in));
+                    break;
+                case "request_id":
+                    builder.setRequestId(readString(in));
+                    break;
+                case "contract_amount":
+                    builder.setContractAmount(readBigDecimal(in));
+                    break;
+                case "title":
+                    builder.setTitle(readString(in));
+                    break;
+                case "fees":
+                    builder.setFees(fees.read(in));
+                    break;
+                case "money_source":
+                    builder.setMoneySources(moneySource.read(in));
+                    break;
+                case "balance":
+                    builder.setBalance(readBigDecimal(in));
+                    break;
+                case "recipient_account_status":
+                    builder.setRecipientAccountStatus(accountStatus.read(in));
+                    break;
+                case "recipient_account_type":
+                    builder.setRecipientAccountType(accountType.read(in));
+                    break;
+                case "protection_code":
+                    builder.setProtectionCode(readString(in));
+                    break;
+                case "account_unblock_uri":
+                    builder.setAccountUnblockUri(readString(in));
+                    break;
+                case "ext_action_uri":
+                    builder.setExtActionUri(readString(in));
+                    break;
+                case "multiple_recipients_found":
+                    builder.setMultipleRecipientsFound(readBoolean(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return builder.create();
+    }
+}
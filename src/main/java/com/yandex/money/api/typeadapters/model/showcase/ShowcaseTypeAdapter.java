@@ -24,26 +24,32 @@
 
 package com.yandex.money.api.typeadapters.model.showcase;
 
-import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.yandex.money.api.model.AllowedMoneySource;
 import com.yandex.money.api.model.showcase.Showcase;
 import com.yandex.money.api.model.showcase.Showcase.Error;
 import com.yandex.money.api.model.showcase.ShowcaseReference;
-import com.yandex.money.api.model.showcase.components.containers.Group;
 import com.yandex.money.api.typeadapters.BaseTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.container.GroupTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.container.GroupTypeAdapter.ListDelegate;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getNotNullMap;
+import static com.yandex.money.api.typeadapters.GsonProvider.getGson;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
 import static com.yandex.money.api.typeadapters.JsonUtils.getString;
 import static com.yandex.money.api.typeadapters.JsonUtils.toJsonObject;
 
@@ -63,6 +69,11 @@ public final class ShowcaseTypeAdapter extends BaseTypeAdapter<Showcase> {
     private static final String MEMBER_TITLE = "title";
     private static final String MEMBER_BONUS = "bonus_points";
 
+    private static final TypeToken<List<AllowedMoneySource>> MONEY_SOURCES =
+            new TypeToken<List<AllowedMoneySource>>() {};
+    private static final TypeToken<List<ShowcaseReference.BonusOperationType>> BONUS_POINTS =
+            new TypeToken<List<ShowcaseReference.BonusOperationType>>() {};
+
     private ShowcaseTypeAdapter() {
         //noinspection ResultOfMethodCallIgnored
         GroupTypeAdapter.getInstance();
@@ -78,32 +89,7 @@ public final class ShowcaseTypeAdapter extends BaseTypeAdapter<Showcase> {
     @Override
     public Showcase deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
             throws JsonParseException {
-
-        JsonObject object = json.getAsJsonObject();
-
-        Group form = null;
-        JsonArray array = object.getAsJsonArray(MEMBER_FORM);
-        if (array != null) {
-            form = ListDelegate.deserialize(array, context);
-        }
-
-        List<AllowedMoneySource> moneySources = context.deserialize(object.get(MEMBER_MONEY_SOURCE),
-                new TypeToken<List<AllowedMoneySource>>() {}.getType());
-        List<Error> errors = ErrorTypeAdapter.getInstance().fromJson(object.getAsJsonArray(MEMBER_ERROR));
-
-        List<ShowcaseReference.BonusOperationType> bonusPoints = context.deserialize(
-                object.get(MEMBER_BONUS),
-                new TypeToken<List<ShowcaseReference.BonusOperationType>>() {}.getType()
-        );
-
-        return new Showcase.Builder()
-                .setTitle(getString(object, MEMBER_TITLE))
-                .setHiddenFields(getNotNullMap(object, MEMBER_HIDDEN_FIELDS))
-                .setForm(form)
-                .setMoneySources(toEmptyListIfNull(moneySources))
-                .setErrors(toEmptyListIfNull(errors))
-                .setBonusPoints(toEmptyListIfNull(bonusPoints))
-                .create();
+        return getGsonTypeAdapter().fromJsonTree(json);
     }
 
     @Override
@@ -127,6 +113,92 @@ public final class ShowcaseTypeAdapter extends BaseTypeAdapter<Showcase> {
         return Showcase.class;
     }
 
+    @Override
+    protected StreamingTypeAdapter getGsonTypeAdapter() {
+        return new StreamingTypeAdapter() {
+            @Override
+            public Showcase read(JsonReader in) throws IOException {
+                return readShowcase(in);
+            }
+        };
+    }
+
+    private static Showcase readShowcase(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Showcase.Builder builder = new Showcase.Builder();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case MEMBER_TITLE:
+                    builder.setTitle(readString(in));
+                    break;
+                case MEMBER_HIDDEN_FIELDS:
+                    builder.setHiddenFields(readMap(in));
+                    break;
+                case MEMBER_FORM:
+                    builder.setForm(ListDelegate.read(in));
+                    break;
+                case MEMBER_MONEY_SOURCE:
+                    builder.setMoneySources(toEmptyListIfNull(getGson().getAdapter(MONEY_SOURCES).read(in)));
+                    break;
+                case MEMBER_ERROR:
+                    builder.setErrors(toEmptyListIfNull(readErrors(in)));
+                    break;
+                case MEMBER_BONUS:
+                    builder.setBonusPoints(toEmptyListIfNull(getGson().getAdapter(BONUS_POINTS).read(in)));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return builder.create();
+    }
+
+    private static Map<String, String> readMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> map = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (in.peek()) {
+                case BEGIN_ARRAY:
+                case BEGIN_OBJECT:
+                    // non-primitive values are ignored
+                    in.skipValue();
+                    map.put(name, null);
+                    break;
+                default:
+                    map.put(name, readString(in));
+            }
+        }
+        in.endObject();
+        return map;
+    }
+
+    private static List<Error> readErrors(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        List<Error> errors = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            errors.add(ErrorTypeAdapter.read(in));
+        }
+        in.endArray();
+        return errors;
+    }
+
     private static final class ErrorTypeAdapter extends BaseTypeAdapter<Showcase.Error> {
 
         private static final ErrorTypeAdapter INSTANCE = new ErrorTypeAdapter();
@@ -138,6 +210,27 @@ public final class ShowcaseTypeAdapter extends BaseTypeAdapter<Showcase> {
             return INSTANCE;
         }
 
+        static Error read(JsonReader in) throws IOException {
+            String name = null;
+            String alert = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case MEMBER_NAME:
+                        name = readString(in);
+                        break;
+                    case MEMBER_ALERT:
+                        alert = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            return new Error(name, alert);
+        }
+
         @Override
         public Error deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
                 throws JsonParseException {
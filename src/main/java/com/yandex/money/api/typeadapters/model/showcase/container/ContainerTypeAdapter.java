@@ -25,14 +25,17 @@
 package com.yandex.money.api.typeadapters.model.showcase.container;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.containers.Container;
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.ComponentTypeAdapter;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Base type adapter for subclasses of {@link Container} component.
@@ -46,14 +49,24 @@ abstract class ContainerTypeAdapter<T, U extends Container<T>, K extends Contain
     private static final String MEMBER_LABEL = "label";
 
     @Override
-    protected void deserialize(JsonObject src, K builder, JsonDeserializationContext context) {
-        for (JsonElement item : src.getAsJsonArray(MEMBER_ITEMS)) {
-            T deserializedItem = deserializeItem(item, context);
-            if (deserializedItem != null) {
-                builder.addItem(deserializedItem);
-            }
+    protected boolean readMember(JsonReader in, String name, K builder) throws IOException {
+        switch (name) {
+            case MEMBER_ITEMS:
+                in.beginArray();
+                while (in.hasNext()) {
+                    T item = readItem(in);
+                    if (item != null) {
+                        builder.addItem(item);
+                    }
+                }
+                in.endArray();
+                return true;
+            case MEMBER_LABEL:
+                builder.setLabel(readString(in));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
         }
-        builder.setLabel(getString(src, MEMBER_LABEL));
     }
 
     @Override
@@ -76,11 +89,10 @@ abstract class ContainerTypeAdapter<T, U extends Container<T>, K extends Contain
     protected abstract JsonElement serializeItem(T src, JsonSerializationContext context);
 
     /**
-     * Deserializes {@link Container}'s item.
+     * Reads {@link Container}'s item.
      *
-     * @param src     source JSON
-     * @param context deserialization context
-     * @return {@link Container}'s item
+     * @param in reader positioned at item's value
+     * @return {@link Container}'s item or {@code null} if it should be skipped
      */
-    protected abstract T deserializeItem(JsonElement src, JsonDeserializationContext context);
+    protected abstract T readItem(JsonReader in) throws IOException;
 }
@@ -25,13 +25,14 @@
 package com.yandex.money.api.typeadapters.model.showcase.container;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.yandex.money.api.model.showcase.components.Component;
 import com.yandex.money.api.model.showcase.components.containers.Group;
-import com.yandex.money.api.typeadapters.model.showcase.ComponentsTypeProvider;
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.AmountTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.CheckboxTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.ComponentTypeAdapter;
@@ -45,6 +46,10 @@ import com.yandex.money.api.typeadapters.model.showcase.uicontrol.TelTypeAdapter
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.TextAreaTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.uicontrol.TextTypeAdapter;
 
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 /**
  * Type serializer for {@link Group} component container.
  *
@@ -56,6 +61,8 @@ public final class GroupTypeAdapter extends ContainerTypeAdapter<Component, Grou
 
     private static final String MEMBER_LAYOUT = "layout";
 
+    private static final JsonParser JSON_PARSER = new JsonParser();
+
     private GroupTypeAdapter() {
         // register type adapters to GSON instance.
         NumberTypeAdapter.getInstance();
@@ -79,26 +86,17 @@ public final class GroupTypeAdapter extends ContainerTypeAdapter<Component, Grou
         return INSTANCE;
     }
 
-    /**
-     * Deserializes {@link Component}'s item.
-     *
-     * @param component JSON component
-     * @param context   deserialization context
-     * @return deserialized component {@link Component}
-     */
-    static Component deserializeComponent(JsonElement component, JsonDeserializationContext context) {
-        Component.Type type = getTypeFromJsonElement(component);
-        return type != null ? (Component) context.deserialize(component,
-                ComponentsTypeProvider.getClassOfComponentType(type)) : null;
-    }
-
     @Override
-    protected void deserialize(JsonObject src, Group.Builder builder, JsonDeserializationContext context) {
-        JsonElement layout = src.getAsJsonPrimitive(MEMBER_LAYOUT);
-        if (layout != null) {
-            builder.setLayout(Group.Layout.parse(layout.getAsString()));
+    protected boolean readMember(JsonReader in, String name, Group.Builder builder) throws IOException {
+        if (MEMBER_LAYOUT.equals(name)) {
+            String layout = readString(in);
+            if (layout != null) {
+                builder.setLayout(Group.Layout.parse(layout));
+            }
+            return true;
+        } else {
+            return super.readMember(in, name, builder);
         }
-        super.deserialize(src, builder, context);
     }
 
     @Override
@@ -125,8 +123,8 @@ public final class GroupTypeAdapter extends ContainerTypeAdapter<Component, Grou
     }
 
     @Override
-    protected Component deserializeItem(JsonElement src, JsonDeserializationContext context) {
-        return deserializeComponent(src, context);
+    protected Component readItem(JsonReader in) throws IOException {
+        return readComponent(in);
     }
 
     @Override
@@ -135,14 +133,73 @@ public final class GroupTypeAdapter extends ContainerTypeAdapter<Component, Grou
     }
 
     /**
-     * Extracts {@link Component.Type} from {@link JsonElement}.
+     * Reads {@link Component} dispatching on its type. {@link ComponentTypeAdapter#MEMBER_TYPE} is expected to be the
+     * first member of component's object, otherwise preceding members are buffered until the type is found.
      *
-     * @param component JSON component
-     * @return parsed {@link Component.Type}
+     * @param in reader positioned at component's value
+     * @return component or {@code null} if its type is unknown
      */
-    static Component.Type getTypeFromJsonElement(JsonElement component) {
-        return Component.Type.parse(component.getAsJsonObject()
-                .get(ComponentTypeAdapter.MEMBER_TYPE).getAsString());
+    static Component readComponent(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        JsonObject preceding = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (ComponentTypeAdapter.MEMBER_TYPE.equals(name)) {
+                Component.Type type = Component.Type.parse(readString(in));
+                if (type != null) {
+                    return getComponentTypeAdapter(type).readMembers(in, preceding);
+                }
+                while (in.hasNext()) {
+                    in.nextName();
+                    in.skipValue();
+                }
+                break;
+            }
+            if (preceding == null) {
+                preceding = new JsonObject();
+            }
+            preceding.add(name, JSON_PARSER.parse(in));
+        }
+        in.endObject();
+        return null;
+    }
+
+    private static ComponentTypeAdapter<? extends Component, ?> getComponentTypeAdapter(Component.Type type) {
+        switch (type) {
+            case AMOUNT:
+                return AmountTypeAdapter.getInstance();
+            case CHECKBOX:
+                return CheckboxTypeAdapter.getInstance();
+            case DATE:
+                return DateTypeAdapter.getInstance();
+            case EMAIL:
+                return EmailTypeAdapter.getInstance();
+            case GROUP:
+                return getInstance();
+            case MONTH:
+                return MonthTypeAdapter.getInstance();
+            case NUMBER:
+                return NumberTypeAdapter.getInstance();
+            case PARAGRAPH:
+                return ParagraphTypeAdapter.getInstance();
+            case SELECT:
+                return SelectTypeAdapter.getInstance();
+            case SUBMIT:
+                return SubmitTypeAdapter.getInstance();
+            case TEL:
+                return TelTypeAdapter.getInstance();
+            case TEXT:
+                return TextTypeAdapter.getInstance();
+            case TEXT_AREA:
+                return TextAreaTypeAdapter.getInstance();
+            default:
+                throw new IllegalArgumentException("unsupported component type: " + type);
+        }
     }
 
     /**
@@ -161,14 +218,21 @@ public final class GroupTypeAdapter extends ContainerTypeAdapter<Component, Grou
             return jsonArray;
         }
 
-        public static Group deserialize(JsonArray jsonArray, JsonDeserializationContext context) {
+        public static Group read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
             Group.Builder builder = new Group.Builder();
-            for (JsonElement item : jsonArray) {
-                Component component = deserializeComponent(item, context);
+            in.beginArray();
+            while (in.hasNext()) {
+                Component component = readComponent(in);
                 if (component != null) {
                     builder.addItem(component);
                 }
             }
+            in.endArray();
             return builder.create();
         }
     }
@@ -24,14 +24,19 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.container;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.yandex.money.api.model.showcase.components.TextBlock;
 import com.yandex.money.api.model.showcase.components.containers.Paragraph;
 
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 /**
  * Type serializer for {@link Paragraph} component container.
  *
@@ -68,14 +73,28 @@ public final class ParagraphTypeAdapter extends ContainerTypeAdapter<TextBlock,
     }
 
     @Override
-    protected TextBlock deserializeItem(JsonElement src, JsonDeserializationContext context) {
-        if (src.isJsonObject()) {
-            JsonObject jsonObject = src.getAsJsonObject();
-            return new TextBlock.WithLink(jsonObject.get(MEMBER_LABEL).getAsString(),
-                    jsonObject.get(MEMBER_HREF).getAsString());
-        } else {
-            return new TextBlock(src.getAsString());
+    protected TextBlock readItem(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            return new TextBlock(readString(in));
+        }
+
+        String label = null;
+        String href = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case MEMBER_LABEL:
+                    label = readString(in);
+                    break;
+                case MEMBER_HREF:
+                    href = readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
         }
+        in.endObject();
+        return new TextBlock.WithLink(label, href);
     }
 
     @Override
@@ -24,14 +24,18 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.Currency;
 import com.yandex.money.api.model.showcase.DefaultFee;
-import com.yandex.money.api.model.showcase.Fee;
 import com.yandex.money.api.model.showcase.components.uicontrols.Amount;
 
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.GsonProvider.getGson;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 /**
  * Type adapter for {@link Amount} component.
  *
@@ -55,10 +59,17 @@ public final class AmountTypeAdapter extends BaseNumberTypeAdapter<Amount, Amoun
     }
 
     @Override
-    protected void deserialize(JsonObject src, Amount.Builder builder, JsonDeserializationContext context) {
-        builder.setCurrency(Currency.parseAlphaCode(src.get(MEMBER_CURRENCY).getAsString()));
-        builder.setFee((Fee) context.deserialize(src.get(MEMBER_FEE), DefaultFee.class));
-        super.deserialize(src, builder, context);
+    protected boolean readMember(JsonReader in, String name, Amount.Builder builder) throws IOException {
+        switch (name) {
+            case MEMBER_CURRENCY:
+                builder.setCurrency(Currency.parseAlphaCode(readString(in)));
+                return true;
+            case MEMBER_FEE:
+                builder.setFee(getGson().getAdapter(DefaultFee.class).read(in));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
+        }
     }
 
     @Override
@@ -24,16 +24,18 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.Date;
 import com.yandex.money.api.time.DateTime;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.ParseException;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Base type adapter for subclasses of {@link Date} component.
@@ -47,18 +49,25 @@ abstract class BaseDateTypeAdapter<T extends Date, U extends Date.Builder> exten
     private static final String MEMBER_MIN = "min";
 
     @Override
-    protected final void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        try {
-            builder.setMin(parseDate(src, MEMBER_MIN));
-        } catch (ParseException e) {
-            // ignore restriction
-        }
-        try {
-            builder.setMax(parseDate(src, MEMBER_MAX));
-        } catch (ParseException e) {
-            // ignore restriction
+    protected final boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_MIN:
+                try {
+                    builder.setMin(parseDate(readString(in)));
+                } catch (ParseException e) {
+                    // ignore restriction
+                }
+                return true;
+            case MEMBER_MAX:
+                try {
+                    builder.setMax(parseDate(readString(in)));
+                } catch (ParseException e) {
+                    // ignore restriction
+                }
+                return true;
+            default:
+                return super.readMember(in, name, builder);
         }
-        super.deserialize(src, builder, context);
     }
 
     @Override
@@ -76,7 +85,7 @@ abstract class BaseDateTypeAdapter<T extends Date, U extends Date.Builder> exten
         return Date.FORMATTER;
     }
 
-    private DateTime parseDate(JsonObject src, String memberName) throws ParseException {
-        return Date.parseDate(getString(src, memberName), getFormatter());
+    private DateTime parseDate(String value) throws ParseException {
+        return Date.parseDate(value, getFormatter());
     }
 }
@@ -24,12 +24,14 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.Number;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getBigDecimal;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBigDecimal;
 
 
 /**
@@ -45,11 +47,20 @@ abstract class BaseNumberTypeAdapter<T extends Number, U extends Number.Builder>
     private static final String MEMBER_STEP = "step";
 
     @Override
-    protected void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        builder.setMax(getBigDecimal(src, MEMBER_MAX));
-        builder.setMin(getBigDecimal(src, MEMBER_MIN));
-        builder.setStep(getBigDecimal(src, MEMBER_STEP));
-        super.deserialize(src, builder, context);
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_MAX:
+                builder.setMax(readBigDecimal(in));
+                return true;
+            case MEMBER_MIN:
+                builder.setMin(readBigDecimal(in));
+                return true;
+            case MEMBER_STEP:
+                builder.setStep(readBigDecimal(in));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
+        }
     }
 
     @Override
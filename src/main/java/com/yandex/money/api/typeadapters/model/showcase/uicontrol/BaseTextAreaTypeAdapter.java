@@ -24,12 +24,15 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.TextArea;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getInt;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readInt;
+
 
 /**
  * Base type adapter for subclasses of {@link TextArea} component.
@@ -43,10 +46,17 @@ abstract class BaseTextAreaTypeAdapter<T extends TextArea, U extends TextArea.Bu
     private static final String MEMBER_MINLENGTH = "minlength";
 
     @Override
-    protected void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        builder.setMinLength(getInt(src, MEMBER_MINLENGTH));
-        builder.setMaxLength(getInt(src, MEMBER_MAXLENGTH));
-        super.deserialize(src, builder, context);
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_MINLENGTH:
+                builder.setMinLength(readInt(in));
+                return true;
+            case MEMBER_MAXLENGTH:
+                builder.setMaxLength(readInt(in));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
+        }
     }
 
     @Override
@@ -24,12 +24,15 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.Text;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Base type adapter for subclasses of {@link Text} component.
@@ -42,10 +45,17 @@ abstract class BaseTextTypeAdapter<T extends Text, U extends Text.Builder> exten
     private static final String MEMBER_PATTERN = "pattern";
 
     @Override
-    protected void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        builder.setPattern(getString(src, MEMBER_PATTERN));
-        builder.setKeyboard(Text.Keyboard.parse(getString(src, MEMBER_KEYBOARD_SUGGEST)));
-        super.deserialize(src, builder, context);
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_PATTERN:
+                builder.setPattern(readString(in));
+                return true;
+            case MEMBER_KEYBOARD_SUGGEST:
+                builder.setKeyboard(Text.Keyboard.parse(readString(in)));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
+        }
     }
 
     @Override
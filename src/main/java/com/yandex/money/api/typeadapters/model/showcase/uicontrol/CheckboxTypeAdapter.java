@@ -24,11 +24,15 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.Checkbox;
 
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBoolean;
+
 /**
  * Type adapter for {@link Checkbox} component.
  *
@@ -57,9 +61,13 @@ public final class CheckboxTypeAdapter extends ParameterControlTypeAdapter<Check
     }
 
     @Override
-    protected void deserialize(JsonObject src, Checkbox.Builder builder, JsonDeserializationContext context) {
-        builder.setChecked(src.get(MEMBER_CHECKED).getAsBoolean());
-        super.deserialize(src, builder, context);
+    protected boolean readMember(JsonReader in, String name, Checkbox.Builder builder) throws IOException {
+        if (MEMBER_CHECKED.equals(name)) {
+            builder.setChecked(readBoolean(in));
+            return true;
+        } else {
+            return super.readMember(in, name, builder);
+        }
     }
 
     @Override
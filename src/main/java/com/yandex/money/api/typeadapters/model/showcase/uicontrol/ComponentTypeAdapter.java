@@ -29,15 +29,22 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.yandex.money.api.model.showcase.components.Component;
 import com.yandex.money.api.typeadapters.BaseTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.ComponentsTypeProvider;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
 
 /**
  * Base class for {@link Component} adapters. All specific implementation should have a record in
  * {@link ComponentsTypeProvider} class.
+ * <p/>
+ * Components are read from {@link JsonReader} member by member without building intermediate {@link JsonElement}
+ * trees, see {@link #readMember(JsonReader, String, Component.Builder)}.
  *
  * @author Anton Ermak (ermak@yamoney.ru)
  */
@@ -49,7 +56,7 @@ public abstract class ComponentTypeAdapter<T extends Component, U extends Compon
     @Override
     public final T deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
             throws JsonParseException {
-        return deserializeWithBuilder(json, context);
+        return getGsonTypeAdapter().fromJsonTree(json);
     }
 
     @Override
@@ -61,13 +68,64 @@ public abstract class ComponentTypeAdapter<T extends Component, U extends Compon
     }
 
     /**
-     * Deserialization wrapper for {@param builder} filling.
+     * Reads component's JSON object.
      *
-     * @param src     source JSON
+     * @param in reader positioned at the beginning of the object
+     * @return component or {@code null} if JSON value is {@code null}
+     */
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        in.beginObject();
+        return readMembers(in, null);
+    }
+
+    /**
+     * Reads remaining members of component's JSON object including the end of the object. Used when the type of
+     * component is determined by a caller.
+     *
+     * @param in reader positioned inside the object
+     * @param preceding members that were read by a caller before the type of component was determined, can be
+     *                  {@code null}
+     * @return component
+     */
+    public final T readMembers(JsonReader in, JsonObject preceding) throws IOException {
+        U builder = createBuilderInstance();
+        if (preceding != null) {
+            JsonReader reader = new JsonReader(new StringReader(preceding.toString()));
+            reader.beginObject();
+            fill(reader, builder);
+            reader.endObject();
+        }
+        fill(in, builder);
+        in.endObject();
+        return createInstance(builder);
+    }
+
+    @Override
+    protected StreamingTypeAdapter getGsonTypeAdapter() {
+        return new StreamingTypeAdapter() {
+            @Override
+            public T read(JsonReader in) throws IOException {
+                return ComponentTypeAdapter.this.read(in);
+            }
+        };
+    }
+
+    /**
+     * Reads a member of component's JSON object to {@param builder}. Implementations handle their own members and
+     * pass others to superclass.
+     *
+     * @param in      reader positioned at member's value
+     * @param name    member's name
      * @param builder destination builder
-     * @param context proxy for deserialization of complicated (nested) hierarchies
+     * @return {@code true} if member's value was read, {@code false} if it should be skipped
      */
-    protected abstract void deserialize(JsonObject src, U builder, JsonDeserializationContext context);
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        return false;
+    }
 
     /**
      * Serializes source object to {@link JsonObject}.
@@ -88,9 +146,12 @@ public abstract class ComponentTypeAdapter<T extends Component, U extends Compon
      */
     protected abstract T createInstance(U builder);
 
-    private T deserializeWithBuilder(JsonElement json, JsonDeserializationContext context) {
-        U builder = createBuilderInstance();
-        deserialize(json.getAsJsonObject(), builder, context);
-        return createInstance(builder);
+    private void fill(JsonReader in, U builder) throws IOException {
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!readMember(in, name, builder)) {
+                in.skipValue();
+            }
+        }
     }
 }
@@ -24,13 +24,16 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.uicontrols.Control;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readBoolean;
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Base type adapter for components implementing {@link Control} interface.
@@ -46,19 +49,31 @@ abstract class ControlTypeAdapter<T extends Control, U extends Control.Builder>
     private static final String MEMBER_REQUIRED = "required";
 
     @Override
-    protected void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        builder.setAlert(getString(src, MEMBER_ALERT));
-        builder.setHint(getString(src, MEMBER_HINT));
-        builder.setLabel(getString(src, MEMBER_LABEL));
-
-        JsonElement readOnly = src.get(MEMBER_READONLY);
-        if (readOnly != null) {
-            builder.setReadonly(readOnly.getAsBoolean());
-        }
-
-        JsonElement required = src.get(MEMBER_REQUIRED);
-        if (required != null) {
-            builder.setRequired(required.getAsBoolean());
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_ALERT:
+                builder.setAlert(readString(in));
+                return true;
+            case MEMBER_HINT:
+                builder.setHint(readString(in));
+                return true;
+            case MEMBER_LABEL:
+                builder.setLabel(readString(in));
+                return true;
+            case MEMBER_READONLY:
+                Boolean readonly = readBoolean(in);
+                if (readonly != null) {
+                    builder.setReadonly(readonly);
+                }
+                return true;
+            case MEMBER_REQUIRED:
+                Boolean required = readBoolean(in);
+                if (required != null) {
+                    builder.setRequired(required);
+                }
+                return true;
+            default:
+                return super.readMember(in, name, builder);
         }
     }
 
@@ -24,14 +24,16 @@
 
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.Parameter;
 import com.yandex.money.api.model.showcase.components.uicontrols.ParameterControl;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Base type adapter for components implementing {@link ParameterControl} interface.
@@ -41,20 +43,28 @@ import static com.yandex.money.api.typeadapters.JsonUtils.getString;
 abstract class ParameterControlTypeAdapter<T extends ParameterControl, U extends ParameterControl.Builder>
         extends ControlTypeAdapter<T, U> {
 
-    private final String MEMBER_NAME = "name";
-    private final String MEMBER_VALUE = "value";
-    private final String MEMBER_AUTOFILL = "value_autofill";
+    private static final String MEMBER_NAME = "name";
+    private static final String MEMBER_VALUE = "value";
+    private static final String MEMBER_AUTOFILL = "value_autofill";
 
     @Override
-    protected void deserialize(JsonObject src, U builder, JsonDeserializationContext context) {
-        builder.setName(getString(src, MEMBER_NAME));
-        builder.setValue(getString(src, MEMBER_VALUE));
-
-        JsonElement autofill = src.get(MEMBER_AUTOFILL);
-        if (autofill != null) {
-            builder.setValueAutoFill(Parameter.AutoFill.parse(autofill.getAsString()));
+    protected boolean readMember(JsonReader in, String name, U builder) throws IOException {
+        switch (name) {
+            case MEMBER_NAME:
+                builder.setName(readString(in));
+                return true;
+            case MEMBER_VALUE:
+                builder.setValue(readString(in));
+                return true;
+            case MEMBER_AUTOFILL:
+                String autofill = readString(in);
+                if (autofill != null) {
+                    builder.setValueAutoFill(Parameter.AutoFill.parse(autofill));
+                }
+                return true;
+            default:
+                return super.readMember(in, name, builder);
         }
-        super.deserialize(src, builder, context);
     }
 
     @Override
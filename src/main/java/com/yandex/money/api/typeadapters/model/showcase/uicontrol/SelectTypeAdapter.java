@@ -25,15 +25,17 @@
 package com.yandex.money.api.typeadapters.model.showcase.uicontrol;
 
 import com.google.gson.JsonArray;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
+import com.google.gson.stream.JsonReader;
 import com.yandex.money.api.model.showcase.components.containers.Group;
 import com.yandex.money.api.model.showcase.components.uicontrols.Select;
 import com.yandex.money.api.typeadapters.model.showcase.container.GroupTypeAdapter.ListDelegate;
 
-import static com.yandex.money.api.typeadapters.JsonUtils.getString;
+import java.io.IOException;
+
+import static com.yandex.money.api.typeadapters.JsonReaders.readString;
+
 
 /**
  * Type adapter for {@link @Select} component.
@@ -61,22 +63,21 @@ public final class SelectTypeAdapter extends ParameterControlTypeAdapter<Select,
     }
 
     @Override
-    protected void deserialize(JsonObject src, Select.Builder builder, JsonDeserializationContext context) {
-        for (JsonElement item : src.getAsJsonArray(MEMBER_OPTIONS)) {
-            JsonObject itemObject = item.getAsJsonObject();
-
-            JsonElement jsonGroup = itemObject.get(MEMBER_GROUP);
-            Group group = null;
-            if (jsonGroup != null) {
-                group = ListDelegate.deserialize(jsonGroup.getAsJsonArray(), context);
-            }
-
-            Select.Option option = new Select.Option(itemObject.get(MEMBER_LABEL).getAsString(),
-                    itemObject.get(MEMBER_VALUE).getAsString(), group);
-            builder.addOption(option);
+    protected boolean readMember(JsonReader in, String name, Select.Builder builder) throws IOException {
+        switch (name) {
+            case MEMBER_OPTIONS:
+                in.beginArray();
+                while (in.hasNext()) {
+                    builder.addOption(readOption(in));
+                }
+                in.endArray();
+                return true;
+            case MEMBER_STYLE:
+                builder.setStyle(Select.Style.parse(readString(in)));
+                return true;
+            default:
+                return super.readMember(in, name, builder);
         }
-        builder.setStyle(Select.Style.parse(getString(src, MEMBER_STYLE)));
-        super.deserialize(src, builder, context);
     }
 
     @Override
@@ -108,7 +109,10 @@ public final class SelectTypeAdapter extends ParameterControlTypeAdapter<Select,
 
     @Override
     protected Select.Builder createBuilderInstance() {
-        return new Select.Builder();
+        Select.Builder builder = new Select.Builder();
+        // style is parsed to default value if it is not specified
+        builder.setStyle(Select.Style.parse(null));
+        return builder;
     }
 
     @Override
@@ -120,4 +124,30 @@ public final class SelectTypeAdapter extends ParameterControlTypeAdapter<Select,
     public Class<Select> getType() {
         return Select.class;
     }
+
+    private static Select.Option readOption(JsonReader in) throws IOException {
+        String label = null;
+        String value = null;
+        Group group = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case MEMBER_LABEL:
+                    label = readString(in);
+                    break;
+                case MEMBER_VALUE:
+                    value = readString(in);
+                    break;
+                case MEMBER_GROUP:
+                    group = ListDelegate.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new Select.Option(label, value, group);
+    }
 }
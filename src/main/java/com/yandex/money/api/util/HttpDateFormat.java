@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.util;
+
+import com.yandex.money.api.time.Chronology;
+import com.yandex.money.api.time.DateTime;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static com.yandex.money.api.util.Common.checkNotNull;
+
+/**
+ * Thread safe parser and formatter of HTTP dates (RFC 7231, section 7.1.1.1). Dates are always formatted as
+ * IMF-fixdate in GMT, e.g. {@code Tue, 15 Nov 1994 08:12:00 GMT}. The last formatted second is cached, so
+ * consecutive calls within the same second return the same string.
+ * <p>
+ * IMF-fixdate with {@code GMT}, {@code UT}, {@code UTC} or a numeric offset is parsed without {@link DateFormat}.
+ * Other time zone names as well as obsolete RFC 850 and asctime formats are parsed with a new instance of
+ * {@link SimpleDateFormat} per call.
+ */
+final class HttpDateFormat {
+
+    private static final String[] FALLBACK_PATTERNS = {
+            "EEE, dd MMM yyyy HH:mm:ss zzz",
+            "EEEE, dd-MMM-yy HH:mm:ss zzz",
+            "EEE MMM d HH:mm:ss yyyy"
+    };
+
+    private static final String[] DAYS_OF_WEEK = { "Thu", "Fri", "Sat", "Sun", "Mon", "Tue", "Wed" };
+    private static final String[] MONTHS = {
+            "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final int IMF_FIXDATE_LENGTH = 29;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    private static volatile CachedDate cachedDate = new CachedDate(Long.MIN_VALUE, null);
+
+    private HttpDateFormat() {
+    }
+
+    /**
+     * Parses HTTP date.
+     *
+     * @param value a string to parse
+     * @return parsed date time with default time zone
+     * @throws ParseException if parsing is not possible
+     */
+    static DateTime parse(String value) throws ParseException {
+        checkNotNull(value, "value");
+        long millis = parseImfFixdate(value);
+        return DateTime.from(millis == Long.MIN_VALUE ? parseFallback(value) : millis);
+    }
+
+    /**
+     * Formats date time as IMF-fixdate.
+     *
+     * @param value date time to format
+     * @return formatted date
+     */
+    static String format(DateTime value) {
+        return format(checkNotNull(value, "value").getMillis());
+    }
+
+    /**
+     * Formats the time in UTC milliseconds from the epoch as IMF-fixdate.
+     *
+     * @param millis the time in UTC milliseconds from the epoch
+     * @return formatted date
+     */
+    static String format(long millis) {
+        long second = Chronology.floorDiv(millis, 1000L);
+        CachedDate cached = cachedDate;
+        if (cached.second != second) {
+            cached = new CachedDate(second, formatSecond(second));
+            cachedDate = cached;
+        }
+        return cached.value;
+    }
+
+    private static String formatSecond(long second) {
+        long days = Chronology.floorDiv(second, SECONDS_PER_DAY);
+        int secondOfDay = (int) (second - days * SECONDS_PER_DAY);
+
+        long date = Chronology.civilFromDays(days);
+        int day = Chronology.dayOfMonth(date);
+        int month = Chronology.monthOfYear(date);
+        long year = Chronology.year(date);
+
+        if (year < 0 || year > 9999) {
+            return formatFallback(second * 1000L);
+        }
+
+        char[] chars = new char[IMF_FIXDATE_LENGTH];
+        DAYS_OF_WEEK[(int) Chronology.floorMod(days, 7)].getChars(0, 3, chars, 0);
+        chars[3] = ',';
+        chars[4] = ' ';
+        write2Digits(chars, 5, day);
+        chars[7] = ' ';
+        MONTHS[month - 1].getChars(0, 3, chars, 8);
+        chars[11] = ' ';
+        write2Digits(chars, 12, (int) (year / 100));
+        write2Digits(chars, 14, (int) (year % 100));
+        chars[16] = ' ';
+        write2Digits(chars, 17, secondOfDay / 3600);
+        chars[19] = ':';
+        write2Digits(chars, 20, secondOfDay / 60 % 60);
+        chars[22] = ':';
+        write2Digits(chars, 23, secondOfDay % 60);
+        chars[25] = ' ';
+        chars[26] = 'G';
+        chars[27] = 'M';
+        chars[28] = 'T';
+        return new String(chars);
+    }
+
+    /**
+     * Parses {@code EEE, dd MMM yyyy HH:mm:ss zone} where zone is GMT, UT, UTC or numeric offset.
+     *
+     * @return the time in UTC milliseconds from the epoch or {@link Long#MIN_VALUE} if value can't be parsed
+     */
+    private static long parseImfFixdate(String value) {
+        int length = value.length();
+        if (length < IMF_FIXDATE_LENGTH - 1 || value.charAt(3) != ',' || value.charAt(4) != ' '
+                || value.charAt(7) != ' ' || value.charAt(11) != ' ' || value.charAt(16) != ' '
+                || value.charAt(19) != ':' || value.charAt(22) != ':' || value.charAt(25) != ' '
+                || indexOf(DAYS_OF_WEEK, value, 0) < 0) {
+            return Long.MIN_VALUE;
+        }
+
+        int day = parse2Digits(value, 5);
+        int month = indexOf(MONTHS, value, 8) + 1;
+        int century = parse2Digits(value, 12);
+        int yearOfCentury = parse2Digits(value, 14);
+        int hour = parse2Digits(value, 17);
+        int minute = parse2Digits(value, 20);
+        int second = parse2Digits(value, 23);
+        int offset = parseOffset(value, 26);
+        if (month == 0 || day < 1 || day > 31 || century < 0 || yearOfCentury < 0 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59 || offset == Integer.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+
+        int year = century * 100 + yearOfCentury;
+        if (day > Chronology.daysInMonth(year, month)) {
+            return Long.MIN_VALUE;
+        }
+
+        long seconds = Chronology.daysFromCivil(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600 + minute * 60 + second;
+        return (seconds - offset) * 1000L;
+    }
+
+    /**
+     * @return offset in seconds or {@link Integer#MIN_VALUE} if zone is not supported
+     */
+    private static int parseOffset(String value, int position) {
+        switch (value.length() - position) {
+            case 2:
+                return value.startsWith("UT", position) ? 0 : Integer.MIN_VALUE;
+            case 3:
+                return value.startsWith("GMT", position) || value.startsWith("UTC", position) ? 0 : Integer.MIN_VALUE;
+            case 5:
+                char sign = value.charAt(position);
+                int hours = parse2Digits(value, position + 1);
+                int minutes = parse2Digits(value, position + 3);
+                if ((sign != '+' && sign != '-') || hours < 0 || minutes < 0 || minutes > 59) {
+                    return Integer.MIN_VALUE;
+                }
+                int offset = hours * 3600 + minutes * 60;
+                return sign == '+' ? offset : -offset;
+            default:
+                return Integer.MIN_VALUE;
+        }
+    }
+
+    private static long parseFallback(String value) throws ParseException {
+        for (String pattern : FALLBACK_PATTERNS) {
+            DateFormat format = new SimpleDateFormat(pattern, Locale.US);
+            format.setTimeZone(TimeZone.getTimeZone("GMT"));
+            ParsePosition position = new ParsePosition(0);
+            Date date = format.parse(value, position);
+            if (date != null) {
+                return date.getTime();
+            }
+        }
+        throw new ParseException("unable to parse HTTP date: " + value, 0);
+    }
+
+    private static String formatFallback(long millis) {
+        DateFormat format = new SimpleDateFormat(FALLBACK_PATTERNS[0], Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(millis));
+    }
+
+    private static int indexOf(String[] names, String value, int position) {
+        for (int i = 0; i < names.length; ++i) {
+            if (value.regionMatches(position, names[i], 0, 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parse2Digits(String value, int position) {
+        int high = value.charAt(position) - '0';
+        int low = value.charAt(position + 1) - '0';
+        return high < 0 || high > 9 || low < 0 || low > 9 ? -1 : high * 10 + low;
+    }
+
+    private static void write2Digits(char[] chars, int position, int value) {
+        chars[position] = (char) ('0' + value / 10);
+        chars[position + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Immutable pair of a second and its formatted value.
+     */
+    private static final class CachedDate {
+
+        final long second;
+        final String value;
+
+        CachedDate(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+}
@@ -26,10 +26,7 @@ package com.yandex.money.api.util;
 
 import com.yandex.money.api.time.DateTime;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
 
 /**
  * This is not complete list of headers.
@@ -49,19 +46,28 @@ public final class HttpHeaders {
     public static final String USER_AGENT = "User-Agent";
     public static final String WWW_AUTHENTICATE = "WWW-Authenticate";
 
-    private static final DateFormat DATE_TIME_FORMATTER =
-            new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
-
     private HttpHeaders() {
         // prevents instantiating of this class
     }
 
+    /**
+     * Parses HTTP date of a header like {@link #EXPIRES} or {@link #LAST_MODIFIED}. This method is thread safe.
+     *
+     * @param value header value
+     * @return parsed date time
+     * @throws ParseException if value is not a valid HTTP date
+     */
     public static DateTime parseDateTime(String value) throws ParseException {
-        return DateTime.from(DATE_TIME_FORMATTER.parse(value));
+        return HttpDateFormat.parse(value);
     }
 
+    /**
+     * Formats date time as HTTP date in GMT, e.g. {@code Tue, 15 Nov 1994 08:12:00 GMT}. This method is thread safe.
+     *
+     * @param value date time to format
+     * @return HTTP date
+     */
     public static String formatDateTime(DateTime value) {
-        DATE_TIME_FORMATTER.setTimeZone(value.getTimeZone());
-        return DATE_TIME_FORMATTER.format(value.getDate());
+        return HttpDateFormat.format(value);
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.params.P2pTransferParams;
+import com.yandex.money.api.methods.payment.params.PaymentParams;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.processes.BatchPaymentProcessor;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchPaymentProcessorTest {
+
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private MockApiServer server;
+    private AsyncApiClient client;
+    private PaymentDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        dispatcher = new PaymentDispatcher();
+        server.setDispatcher(dispatcher);
+        client = server.createClient();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testProcess() throws Exception {
+        List<PaymentParams> payments = new ArrayList<>();
+        for (int i = 0; i < 40; ++i) {
+            String to = i % 10 == 3 ? "refused" + i : (i % 10 == 7 ? "broken" + i : "4100" + i);
+            payments.add(new P2pTransferParams.Builder(to)
+                    .setAmount(BigDecimal.ONE)
+                    .create());
+        }
+
+        final List<BatchPaymentProcessor.Result> results = new ArrayList<>();
+        BatchPaymentProcessor.Statistics statistics = new BatchPaymentProcessor(
+                new BatchPaymentProcessor.WalletProcessFactory(client, null, null), scheduler, MAX_IN_FLIGHT)
+                .process(payments.iterator(), new BatchPaymentProcessor.Listener() {
+                    @Override
+                    public void onResult(BatchPaymentProcessor.Result result) {
+                        results.add(result);
+                    }
+                });
+
+        Assert.assertEquals(results.size(), 40);
+        Set<Integer> indices = new HashSet<>();
+        for (BatchPaymentProcessor.Result result : results) {
+            Assert.assertTrue(indices.add(result.index));
+            Assert.assertSame(result.params, payments.get(result.index));
+            switch (result.index % 10) {
+                case 3:
+                    Assert.assertFalse(result.isSuccessful());
+                    Assert.assertEquals(result.requestPayment.status, BaseRequestPayment.Status.REFUSED);
+                    Assert.assertNull(result.processPayment);
+                    break;
+                case 7:
+                    Assert.assertFalse(result.isSuccessful());
+                    Assert.assertNotNull(result.error);
+                    break;
+                default:
+                    Assert.assertTrue(result.isSuccessful(), result.toString());
+                    Assert.assertEquals(result.processPayment.status, BaseProcessPayment.Status.SUCCESS);
+            }
+        }
+
+        Assert.assertEquals(statistics.count, 40);
+        Assert.assertEquals(statistics.succeeded, 32);
+        Assert.assertEquals(statistics.failed, 4);
+        Assert.assertTrue(statistics.getThroughput() > 0);
+        Assert.assertTrue(statistics.getLatency(50) <= statistics.getLatency(99));
+        Assert.assertTrue(dispatcher.concurrency.getMax() <= MAX_IN_FLIGHT);
+        // request payment of next payments is pipelined with processing of previous ones
+        Assert.assertTrue(dispatcher.overlapped.get());
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        BatchPaymentProcessor.Statistics statistics = new BatchPaymentProcessor(
+                new BatchPaymentProcessor.WalletProcessFactory(client, null, null), scheduler, MAX_IN_FLIGHT)
+                .process(new ArrayList<PaymentParams>().iterator(), new BatchPaymentProcessor.Listener() {
+                    @Override
+                    public void onResult(BatchPaymentProcessor.Result result) {
+                        Assert.fail();
+                    }
+                });
+        Assert.assertEquals(statistics.count, 0);
+        Assert.assertEquals(statistics.getLatency(99), 0);
+    }
+
+    /**
+     * Emulates request payment and process payment; process payment is in progress on the first call.
+     */
+    private static final class PaymentDispatcher extends Dispatcher {
+
+        final MockApiServer.ConcurrencyMeter concurrency = new MockApiServer.ConcurrencyMeter();
+        final AtomicInteger processing = new AtomicInteger();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+
+        private final Set<String> inProgress = new HashSet<>();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            concurrency.enter();
+            boolean process = request.getPath().endsWith("/process-payment");
+            if (process) {
+                processing.incrementAndGet();
+            } else if (processing.get() > 0) {
+                overlapped.set(true);
+            }
+            try {
+                Thread.sleep(10);
+                Map<String, String> parameters = MockApiServer.parseParameters(request);
+                String body;
+                if (process) {
+                    String requestId = parameters.get("request_id");
+                    synchronized (inProgress) {
+                        body = inProgress.add(requestId) ? "{\"status\":\"in_progress\",\"next_retry\":5}" :
+                                "{\"status\":\"success\",\"payment_id\":\"" + requestId + "\",\"balance\":1000}";
+                    }
+                } else {
+                    String to = parameters.get("to");
+                    if (to.startsWith("broken")) {
+                        return new MockResponse().setResponseCode(500);
+                    }
+                    body = to.startsWith("refused") ? "{\"status\":\"refused\",\"error\":\"payee_not_found\"}" :
+                            "{\"status\":\"success\",\"request_id\":\"" + to + "\",\"contract_amount\":1}";
+                }
+                return MockApiServer.jsonResponse(body);
+            } finally {
+                if (process) {
+                    processing.decrementAndGet();
+                }
+                concurrency.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.history.HistorySynchronizer;
+import com.yandex.money.api.history.OperationStore;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import com.yandex.money.api.time.Iso8601Format;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class HistorySynchronizerTest {
+
+    private MockApiServer server;
+    private AsyncApiClient client;
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        client = server.createClient();
+        directory = File.createTempFile("history-synchronizer", "");
+        Assert.assertTrue(directory.delete());
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Assert.assertTrue(file.delete());
+            }
+        }
+        Assert.assertTrue(directory.delete());
+    }
+
+    @Test
+    public void testSync() throws Exception {
+        long now = System.currentTimeMillis();
+        HistoryDispatcher dispatcher = new HistoryDispatcher();
+        dispatcher.add(now - TimeUnit.HOURS.toMillis(5), "1", OperationStatus.SUCCESS);
+        dispatcher.add(now - TimeUnit.HOURS.toMillis(4), "2", OperationStatus.IN_PROGRESS);
+        dispatcher.add(now - TimeUnit.HOURS.toMillis(3), "3", OperationStatus.SUCCESS);
+        server.setDispatcher(dispatcher);
+
+        OperationStore store = new OperationStore(directory);
+        HistorySynchronizer synchronizer = new HistorySynchronizer(client, store, Days.ONE, false);
+        Assert.assertEquals(synchronizer.sync(), 3);
+        Assert.assertNull(dispatcher.lastFrom);
+        Assert.assertEquals(store.getWatermark().operationId, "3");
+
+        // operation in progress is rechecked, new operations are fetched
+        dispatcher.setStatus("2", OperationStatus.SUCCESS);
+        dispatcher.add(now - TimeUnit.HOURS.toMillis(2), "4", OperationStatus.SUCCESS);
+        Assert.assertEquals(synchronizer.sync(), 2);
+        Assert.assertEquals(dispatcher.lastFrom.longValue(), now - TimeUnit.HOURS.toMillis(4));
+        Assert.assertEquals(store.get("2").status, OperationStatus.SUCCESS);
+        Assert.assertEquals(store.getWatermark().operationId, "4");
+        store.close();
+
+        // nothing in progress: only operations after watermark are requested
+        store = new OperationStore(directory);
+        synchronizer = new HistorySynchronizer(client, store, Days.ONE, false);
+        Assert.assertEquals(synchronizer.sync(), 0);
+        Assert.assertEquals(dispatcher.lastFrom.longValue(), now - TimeUnit.HOURS.toMillis(2));
+        Assert.assertEquals(store.size(), 4);
+        store.close();
+    }
+
+    /**
+     * Emulates operation history filtered by {@code from}.
+     */
+    private static final class HistoryDispatcher extends Dispatcher {
+
+        private final List<Object[]> operations = new ArrayList<>();
+
+        volatile Long lastFrom;
+
+        synchronized void add(long datetime, String operationId, OperationStatus status) {
+            // operation history is sorted from the newest operation
+            operations.add(0, new Object[] { datetime, operationId, status });
+        }
+
+        synchronized void setStatus(String operationId, OperationStatus status) {
+            for (Object[] operation : operations) {
+                if (operation[1].equals(operationId)) {
+                    operation[2] = status;
+                }
+            }
+        }
+
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            try {
+                String from = MockApiServer.parseParameters(request).get("from");
+                lastFrom = from == null ? null : Iso8601Format.parse(from).getMillis();
+
+                MockApiServer.HistoryPage page = MockApiServer.historyPage();
+                for (Object[] operation : operations) {
+                    if (lastFrom == null || (Long) operation[0] >= lastFrom) {
+                        page.addOperation((String) operation[1], (OperationStatus) operation[2],
+                                DateTime.from((Long) operation[0]));
+                    }
+                }
+                return page.toResponse();
+            } catch (Exception e) {
+                return new MockResponse().setResponseCode(500);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.net.clients.DefaultApiClient;
+import com.yandex.money.api.net.providers.DefaultApiV1HostsProvider;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Iso8601Format;
+import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.MimeTypes;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mock server of Yandex.Money API for tests. Clients created with {@link #createClient()} send all requests to it.
+ */
+public final class MockApiServer implements Closeable {
+
+    private final MockWebServer server = new MockWebServer();
+
+    /**
+     * Creates and starts the server.
+     */
+    public MockApiServer() throws IOException {
+        server.start();
+    }
+
+    /**
+     * @return a new client that sends requests to this server
+     */
+    public DefaultApiClient createClient() {
+        return new DefaultApiClient.Builder()
+                .setClientId(TestEnvironment.getClientId())
+                .setHostsProvider(new DefaultApiV1HostsProvider(false) {
+                    @Override
+                    public String getMoney() {
+                        return server.url("").toString();
+                    }
+                })
+                .create();
+    }
+
+    public void setDispatcher(Dispatcher dispatcher) {
+        server.setDispatcher(dispatcher);
+    }
+
+    /**
+     * Enqueues JSON response.
+     *
+     * @param body body of a response
+     */
+    public void enqueue(String body) {
+        server.enqueue(jsonResponse(body));
+    }
+
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
+    public RecordedRequest takeRequest(long timeout, TimeUnit unit) throws InterruptedException {
+        return server.takeRequest(timeout, unit);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Creates JSON response.
+     *
+     * @param body body of a response
+     * @return response
+     */
+    public static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+                .addHeader(HttpHeaders.CONTENT_TYPE, MimeTypes.Application.JSON)
+                .setBody(body);
+    }
+
+    /**
+     * Parses form parameters of a request.
+     *
+     * @param request request
+     * @return decoded parameters
+     */
+    public static Map<String, String> parseParameters(RecordedRequest request) {
+        Map<String, String> parameters = new HashMap<>();
+        String body = request.getBody().readUtf8();
+        if (body.isEmpty()) {
+            return parameters;
+        }
+        try {
+            for (String parameter : body.split("&")) {
+                int index = parameter.indexOf('=');
+                parameters.put(URLDecoder.decode(parameter.substring(0, index), "UTF-8"),
+                        URLDecoder.decode(parameter.substring(index + 1), "UTF-8"));
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+        return parameters;
+    }
+
+    /**
+     * Creates JSON of an operation. Details of an operation have the same representation.
+     *
+     * @param operationId operation id
+     * @param status status of an operation
+     * @param datetime date and time of an operation
+     * @return JSON object
+     */
+    public static String operation(String operationId, OperationStatus status, DateTime datetime) {
+        return "{\"operation_id\":\"" + operationId + "\",\"status\":\"" + status.code + "\"," +
+                "\"direction\":\"in\",\"amount\":1,\"datetime\":\"" + Iso8601Format.format(datetime) + "\"," +
+                "\"title\":\"title\",\"type\":\"deposition\"}";
+    }
+
+    /**
+     * @return builder of an operation history page
+     */
+    public static HistoryPage historyPage() {
+        return new HistoryPage();
+    }
+
+    /**
+     * Builder of a response to operation history request.
+     */
+    public static final class HistoryPage {
+
+        private final StringBuilder operations = new StringBuilder();
+        private String nextRecord;
+
+        HistoryPage() {
+        }
+
+        public HistoryPage setNextRecord(String nextRecord) {
+            this.nextRecord = nextRecord;
+            return this;
+        }
+
+        public HistoryPage addOperation(String operationId, OperationStatus status, DateTime datetime) {
+            if (operations.length() > 0) {
+                operations.append(',');
+            }
+            operations.append(operation(operationId, status, datetime));
+            return this;
+        }
+
+        public HistoryPage addOperation(String operationId, DateTime datetime) {
+            return addOperation(operationId, OperationStatus.SUCCESS, datetime);
+        }
+
+        public String toJson() {
+            StringBuilder body = new StringBuilder("{");
+            if (nextRecord != null) {
+                body.append("\"next_record\":\"").append(nextRecord).append("\",");
+            }
+            return body.append("\"operations\":[").append(operations).append("]}").toString();
+        }
+
+        public MockResponse toResponse() {
+            return jsonResponse(toJson());
+        }
+    }
+
+    /**
+     * Tracks number of requests that are handled by a dispatcher concurrently.
+     */
+    public static final class ConcurrencyMeter {
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        /**
+         * Called when handling of a request is started.
+         */
+        public void enter() {
+            int current = concurrency.incrementAndGet();
+            while (true) {
+                int max = maxConcurrency.get();
+                if (current <= max || maxConcurrency.compareAndSet(max, current)) {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Called when handling of a request is finished.
+         */
+        public void exit() {
+            concurrency.decrementAndGet();
+        }
+
+        /**
+         * @return max number of requests handled concurrently
+         */
+        public int getMax() {
+            return maxConcurrency.get();
+        }
+    }
+}
@@ -25,8 +25,10 @@
 package com.yandex.money.api;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParser;
 import com.yandex.money.api.methods.InstanceId;
+import com.yandex.money.api.methods.payment.ProcessPayment;
 import com.yandex.money.api.methods.payment.RequestExternalPayment;
 import com.yandex.money.api.methods.payment.RequestPayment;
 import com.yandex.money.api.methods.wallet.AccountInfo;
@@ -39,6 +41,8 @@ import com.yandex.money.api.model.Card;
 import com.yandex.money.api.model.Error;
 import com.yandex.money.api.model.ExternalCard;
 import com.yandex.money.api.model.Fees;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.YearMonth;
 import com.yandex.money.api.typeadapters.GsonProvider;
 import com.yandex.money.api.typeadapters.TypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
@@ -129,6 +133,29 @@ public class ModelTests {
         checkType("/methods/wallet/operation-history-7.json", OperationHistory.class);
     }
 
+    @Test
+    public void testStreamingTypeAdapters() {
+        Gson gson = GsonProvider.getGson();
+        Gson reflective = new GsonBuilder()
+                .registerTypeAdapter(DateTime.class, gson.getAdapter(DateTime.class))
+                .registerTypeAdapter(YearMonth.class, gson.getAdapter(YearMonth.class))
+                .create();
+        for (int i = 1; i <= 5; ++i) {
+            checkStreaming(reflective, "/methods/wallet/operation-details-" + i + ".json", OperationDetails.class);
+        }
+        for (int i = 1; i <= 7; ++i) {
+            checkStreaming(reflective, "/methods/wallet/operation-history-" + i + ".json", OperationHistory.class);
+        }
+        checkStreaming(reflective, "/methods/wallet/account-info.json", AccountInfo.class);
+        checkStreaming(reflective, "/methods/wallet/account-info-no-bonus.json", AccountInfo.class);
+        for (int i = 1; i <= 3; ++i) {
+            checkStreaming(reflective, "/methods/payment/request-payment-" + i + ".json", RequestPayment.class);
+        }
+        for (int i = 1; i <= 4; ++i) {
+            checkStreaming(reflective, "/methods/payment/process-payment-" + i + ".json", ProcessPayment.class);
+        }
+    }
+
     @Test
     public void testRequestExternalPayment() {
         checkType("/methods/payment/request-external-payment-1.json", RequestExternalPayment.class);
@@ -183,6 +210,15 @@ public class ModelTests {
         }
     }
 
+    private static <T> void checkStreaming(Gson reflective, String path, Class<T> type) {
+        try {
+            String json = Resources.load(path);
+            assertEquals(GsonProvider.getGson().fromJson(json, type), reflective.fromJson(json, type));
+        } catch (FileNotFoundException e) {
+            fail();
+        }
+    }
+
     private static <T> void performTest(T value, Class<T> cls) {
         Gson gson = GsonProvider.getGson();
         assertEquals(gson.fromJson(gson.toJson(value), cls), value);
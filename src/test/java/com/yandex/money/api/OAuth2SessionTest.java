@@ -33,15 +33,19 @@ import com.yandex.money.api.exceptions.InsufficientScopeException;
 import com.yandex.money.api.exceptions.InvalidRequestException;
 import com.yandex.money.api.exceptions.InvalidTokenException;
 import com.yandex.money.api.net.FirstApiRequest;
-import com.yandex.money.api.net.clients.ApiClient;
+import com.yandex.money.api.net.clients.ApiCallback;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.net.clients.DefaultApiClient;
 import com.yandex.money.api.net.providers.HostsProvider;
 import com.yandex.money.api.typeadapters.BaseTypeAdapter;
 import com.yandex.money.api.typeadapters.JsonUtils;
 import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.Language;
 import com.yandex.money.api.util.MimeTypes;
 import okhttp3.HttpUrl;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -49,6 +53,11 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Slava Yasevich (vyasevich@yamoney.ru)
@@ -56,7 +65,7 @@ import java.net.HttpURLConnection;
 public class OAuth2SessionTest {
 
     private final MockWebServer server = new MockWebServer();
-    private final ApiClient client = TestEnvironment.createClient();
+    private final AsyncApiClient client = TestEnvironment.createClient();
 
     @BeforeClass
     public void setUp() throws IOException {
@@ -101,6 +110,91 @@ public class OAuth2SessionTest {
         executeTest(createResponse().setResponseCode(HttpURLConnection.HTTP_FORBIDDEN), createRequest(true));
     }
 
+    @Test
+    public void testAsync() throws Exception {
+        server.enqueue(createResponse());
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<Mock> callbackResponse = new AtomicReference<>();
+        Future<Mock> future = client.executeAsync(createRequest(true), new ApiCallback<Mock>() {
+            @Override
+            public void onSuccess(Mock response) {
+                callbackResponse.set(response);
+                latch.countDown();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                latch.countDown();
+            }
+        });
+
+        checkResponse(future.get(10, TimeUnit.SECONDS));
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        checkResponse(callbackResponse.get());
+    }
+
+    @Test
+    public void testAsyncUnauthorized() throws Exception {
+        server.enqueue(createResponse().setResponseCode(HttpURLConnection.HTTP_UNAUTHORIZED));
+        try {
+            client.executeAsync(createRequest(true)).get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof InvalidTokenException);
+        }
+    }
+
+    @Test
+    public void testAsyncCancel() throws Exception {
+        MockWebServer slowServer = new MockWebServer();
+        slowServer.enqueue(createResponse().setHeadersDelay(5, TimeUnit.SECONDS));
+        slowServer.start();
+
+        try {
+            Future<Mock> future = client.executeAsync(new Mock.Request(slowServer.url("/abc")));
+            Assert.assertTrue(future.cancel(true));
+            Assert.assertTrue(future.isCancelled());
+            Assert.assertTrue(future.isDone());
+            Assert.assertFalse(future.cancel(true));
+        } finally {
+            slowServer.shutdown();
+        }
+    }
+
+    @Test
+    public void testTenantCredentials() throws Exception {
+        MockWebServer tenantServer = new MockWebServer();
+        tenantServer.enqueue(createResponse());
+        tenantServer.enqueue(createResponse());
+        tenantServer.enqueue(createResponse());
+        tenantServer.start();
+
+        try {
+            DefaultApiClient defaultClient = (DefaultApiClient) client;
+            AsyncApiClient first = defaultClient.forTenant("first", Language.RUSSIAN);
+            AsyncApiClient second = defaultClient.forTenant("second", Language.ENGLISH);
+            Assert.assertTrue(first.isAuthorized());
+            Assert.assertFalse(client.isAuthorized());
+
+            Mock.Request request = new Mock.Request(tenantServer.url("/abc"));
+            checkResponse(first.execute(request));
+            checkResponse(second.executeAsync(request).get(10, TimeUnit.SECONDS));
+            checkResponse(client.execute(request));
+
+            checkTenantRequest(tenantServer.takeRequest(), "Bearer first", Language.RUSSIAN);
+            checkTenantRequest(tenantServer.takeRequest(), "Bearer second", Language.ENGLISH);
+            checkTenantRequest(tenantServer.takeRequest(), null, client.getLanguage());
+        } finally {
+            tenantServer.shutdown();
+        }
+    }
+
+    private static void checkTenantRequest(RecordedRequest request, String authorization, Language language) {
+        Assert.assertEquals(request.getHeader(HttpHeaders.AUTHORIZATION), authorization);
+        Assert.assertEquals(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), language.iso6391Code);
+    }
+
     private static MockResponse createResponse() {
         return createResponseBase()
                 .addHeader(HttpHeaders.CONTENT_TYPE, MimeTypes.Application.JSON);
@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.wallet.OperationDetails;
+import com.yandex.money.api.methods.wallet.OperationDetailsFetcher;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.net.clients.DefaultApiClient;
+import com.yandex.money.api.time.DateTime;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class OperationDetailsFetcherTest {
+
+    private static final DateTime DATETIME = DateTime.from(1526367600000L);
+
+    private MockApiServer server;
+    private DefaultApiClient client;
+    private DetailsDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        dispatcher = new DetailsDispatcher();
+        server.setDispatcher(dispatcher);
+        client = server.createClient();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testFetch() throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; ++i) {
+            ids.add(Integer.toString(i));
+        }
+        ids.add("0");
+        ids.add("1");
+
+        OperationDetailsFetcher fetcher = new OperationDetailsFetcher(8, 3);
+        List<OperationDetails> details = fetcher.fetch(client, ids);
+        Assert.assertEquals(details.size(), 30);
+        Set<String> fetched = new HashSet<>();
+        for (OperationDetails operation : details) {
+            fetched.add(operation.operationId);
+        }
+        Assert.assertEquals(fetched, new HashSet<>(ids));
+        Assert.assertEquals(server.getRequestCount(), 30);
+        Assert.assertTrue(dispatcher.concurrency.getMax() <= 3);
+
+        // operations in progress are requested again, others are cached
+        Assert.assertEquals(fetcher.fetch(client, ids).size(), 30);
+        Assert.assertEquals(server.getRequestCount(), 40);
+    }
+
+    @Test
+    public void testTenantLimits() throws Exception {
+        final OperationDetailsFetcher fetcher = new OperationDetailsFetcher(4, 4);
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; ++i) {
+            ids.add(Integer.toString(i));
+        }
+
+        final List<Throwable> errors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            final AsyncApiClient tenant = client.forTenant("token" + i, null);
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Assert.assertEquals(fetcher.fetch(tenant, ids).size(), 20);
+                    } catch (Throwable e) {
+                        synchronized (errors) {
+                            errors.add(e);
+                        }
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(errors, new ArrayList<Throwable>());
+        // caches are not shared between tenants
+        Assert.assertEquals(server.getRequestCount(), 60);
+        Assert.assertTrue(dispatcher.concurrency.getMax() <= 4);
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        OperationDetailsFetcher fetcher = new OperationDetailsFetcher(2, 2);
+        List<OperationDetails> details = fetcher.fetch(client, Arrays.asList("1", "missing"));
+        Assert.assertEquals(details.size(), 2);
+        for (OperationDetails operation : details) {
+            if (operation.operationId == null) {
+                Assert.assertEquals(operation.error, Error.ILLEGAL_PARAM_OPERATION_ID);
+            }
+        }
+
+        // error responses are not cached
+        fetcher.fetch(client, Arrays.asList("1", "missing"));
+        Assert.assertEquals(server.getRequestCount(), 3);
+
+        server.close();
+        try {
+            fetcher.fetch(client, Arrays.asList("2", "3", "4"));
+            Assert.fail();
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Responds with details of numeric operations, every third operation is in progress.
+     */
+    private static final class DetailsDispatcher extends Dispatcher {
+
+        final MockApiServer.ConcurrencyMeter concurrency = new MockApiServer.ConcurrencyMeter();
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            concurrency.enter();
+            try {
+                Thread.sleep(10);
+                String operationId = MockApiServer.parseParameters(request).get("operation_id");
+                if (!operationId.matches("\\d+")) {
+                    return MockApiServer.jsonResponse("{\"error\":\"illegal_param_operation_id\"}");
+                }
+                OperationStatus status = Integer.parseInt(operationId) % 3 == 0 ?
+                        OperationStatus.IN_PROGRESS : OperationStatus.SUCCESS;
+                return MockApiServer.jsonResponse(MockApiServer.operation(operationId, status, DATETIME));
+            } finally {
+                concurrency.exit();
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.methods.wallet.OperationHistoryExporter;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import com.yandex.money.api.time.Interval;
+import com.yandex.money.api.time.Iso8601Format;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class OperationHistoryExporterTest {
+
+    private static final long TILL = 1526367600000L;
+    private static final int PARALLELISM = 4;
+
+    private MockApiServer server;
+    private AsyncApiClient client;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        client = server.createClient();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        List<long[]> operations = new ArrayList<>();
+        Random random = new Random(0);
+        long from = TILL - TimeUnit.DAYS.toMillis(30);
+        // sparse operations
+        for (int i = 0; i < 300; ++i) {
+            operations.add(new long[] { from + (long) (random.nextDouble() * (TILL - from)), operations.size() });
+        }
+        // dense hour
+        long denseFrom = TILL - TimeUnit.DAYS.toMillis(10);
+        for (int i = 0; i < 400; ++i) {
+            operations.add(new long[] { denseFrom + random.nextInt(3600000), operations.size() });
+        }
+        // operations within the same millisecond can only be paged with a cursor
+        for (int i = 0; i < 250; ++i) {
+            operations.add(new long[] { denseFrom - 1000, operations.size() });
+        }
+        // operations out of an interval
+        operations.add(new long[] { from - 1, operations.size() });
+        operations.add(new long[] { TILL, operations.size() });
+
+        HistoryDispatcher dispatcher = new HistoryDispatcher(operations);
+        server.setDispatcher(dispatcher);
+
+        final List<Operation> exported = new ArrayList<>();
+        new OperationHistoryExporter(client, new OperationHistory.Request.Builder(), PARALLELISM)
+                .export(new Interval(DateTime.from(from), DateTime.from(TILL)), new OperationHistoryExporter.Consumer() {
+                    @Override
+                    public void accept(Operation operation) {
+                        exported.add(operation);
+                    }
+                });
+
+        List<long[]> expected = dispatcher.select(from, TILL);
+        Assert.assertEquals(exported.size(), expected.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            Assert.assertEquals(exported.get(i).operationId, Long.toString(expected.get(i)[1]));
+            Assert.assertEquals(exported.get(i).datetime.getMillis(), expected.get(i)[0]);
+        }
+        Assert.assertTrue(dispatcher.concurrency.getMax() <= PARALLELISM);
+    }
+
+    @Test
+    public void testConsumerFailure() throws Exception {
+        List<long[]> operations = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            operations.add(new long[] { TILL - TimeUnit.HOURS.toMillis(i + 1), i });
+        }
+        server.setDispatcher(new HistoryDispatcher(operations));
+
+        try {
+            new OperationHistoryExporter(client, new OperationHistory.Request.Builder(), PARALLELISM)
+                    .export(new Interval(Days.ONE, DateTime.from(TILL)), new OperationHistoryExporter.Consumer() {
+                        @Override
+                        public void accept(Operation operation) throws Exception {
+                            throw new IOException("consumer");
+                        }
+                    });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals(e.getMessage(), "consumer");
+        }
+    }
+
+    /**
+     * Emulates operation history: filters operations by dates and pages them with start record.
+     */
+    private static final class HistoryDispatcher extends Dispatcher {
+
+        final MockApiServer.ConcurrencyMeter concurrency = new MockApiServer.ConcurrencyMeter();
+
+        private final List<long[]> operations;
+
+        HistoryDispatcher(List<long[]> operations) {
+            this.operations = new ArrayList<>(operations);
+            // operation history is sorted from the newest operation
+            Collections.sort(this.operations, new Comparator<long[]>() {
+                @Override
+                public int compare(long[] o1, long[] o2) {
+                    int result = Long.compare(o2[0], o1[0]);
+                    return result != 0 ? result : Long.compare(o2[1], o1[1]);
+                }
+            });
+        }
+
+        List<long[]> select(long from, long till) {
+            List<long[]> result = new ArrayList<>();
+            for (long[] operation : operations) {
+                if (operation[0] >= from && operation[0] < till) {
+                    result.add(operation);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+            concurrency.enter();
+            try {
+                Thread.sleep(5);
+                return respond(MockApiServer.parseParameters(request));
+            } catch (Exception e) {
+                return new MockResponse().setResponseCode(500);
+            } finally {
+                concurrency.exit();
+            }
+        }
+
+        private MockResponse respond(Map<String, String> parameters) throws Exception {
+            List<long[]> selected = select(Iso8601Format.parse(parameters.get("from")).getMillis(),
+                    Iso8601Format.parse(parameters.get("till")).getMillis());
+            int start = parameters.containsKey("start_record") ? Integer.parseInt(parameters.get("start_record")) : 0;
+            int end = Math.min(start + Integer.parseInt(parameters.get("records")), selected.size());
+
+            MockApiServer.HistoryPage page = MockApiServer.historyPage();
+            if (end < selected.size()) {
+                page.setNextRecord(Integer.toString(end));
+            }
+            for (int i = start; i < end; ++i) {
+                long[] operation = selected.get(i);
+                page.addOperation(Long.toString(operation[1]), DateTime.from(operation[0]));
+            }
+            return page.toResponse();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.methods.wallet.OperationHistoryIterator;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.time.DateTime;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class OperationHistoryIteratorTest {
+
+    private static final int OPERATIONS = 10;
+    private static final int PAGE_SIZE = 3;
+    private static final DateTime DATETIME = DateTime.from(1525586766000L);
+
+    private MockApiServer server;
+    private AsyncApiClient client;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        client = server.createClient();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testIteratesAllPages() {
+        server.setDispatcher(new PagesDispatcher(-1, null));
+        for (int prefetch : new int[] { 0, 1, 3 }) {
+            OperationHistoryIterator iterator = new OperationHistoryIterator(client, createBuilder(), prefetch);
+            List<String> ids = new ArrayList<>();
+            while (iterator.hasNext()) {
+                ids.add(iterator.next().operationId);
+            }
+            Assert.assertEquals(ids, createIds(0, OPERATIONS));
+        }
+        Assert.assertEquals(server.getRequestCount(), 3 * 4);
+    }
+
+    @Test
+    public void testStartRecord() {
+        server.setDispatcher(new PagesDispatcher(-1, null));
+        OperationHistoryIterator iterator = new OperationHistoryIterator(client, createBuilder().setStartRecord("6"));
+        List<String> ids = new ArrayList<>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().operationId);
+        }
+        Assert.assertEquals(ids, createIds(6, OPERATIONS));
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+        server.setDispatcher(new PagesDispatcher(-1, null));
+        OperationHistoryIterator iterator = new OperationHistoryIterator(client, createBuilder(), 2);
+        Assert.assertEquals(server.getRequestCount(), 0);
+
+        Assert.assertEquals(iterator.next().operationId, "0");
+        // the first page is being consumed, two next pages are requested in background
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertNotNull(server.takeRequest(10, TimeUnit.SECONDS));
+        }
+        Assert.assertNull(server.takeRequest(500, TimeUnit.MILLISECONDS));
+        iterator.close();
+    }
+
+    @Test
+    public void testClose() {
+        server.setDispatcher(new PagesDispatcher(PAGE_SIZE, new MockResponse().setHeadersDelay(5, TimeUnit.SECONDS)));
+        OperationHistoryIterator iterator = new OperationHistoryIterator(client, createBuilder());
+        Assert.assertEquals(iterator.next().operationId, "0");
+
+        long start = System.nanoTime();
+        iterator.close();
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testError() {
+        server.setDispatcher(new PagesDispatcher(PAGE_SIZE, MockApiServer.jsonResponse("{\"error\":\"illegal_param_type\"}")));
+        OperationHistoryIterator iterator = new OperationHistoryIterator(client, createBuilder());
+        List<String> ids = new ArrayList<>();
+        try {
+            while (iterator.hasNext()) {
+                ids.add(iterator.next().operationId);
+            }
+            Assert.fail();
+        } catch (OperationHistoryIterator.FetchException e) {
+            Assert.assertEquals(e.error, Error.ILLEGAL_PARAM_TYPE);
+        }
+        Assert.assertEquals(ids, createIds(0, PAGE_SIZE));
+    }
+
+    private static OperationHistory.Request.Builder createBuilder() {
+        return new OperationHistory.Request.Builder()
+                .setRecords(PAGE_SIZE);
+    }
+
+    private static List<String> createIds(int from, int to) {
+        List<String> ids = new ArrayList<>();
+        for (int i = from; i < to; ++i) {
+            ids.add(Integer.toString(i));
+        }
+        return ids;
+    }
+
+    /**
+     * Responds with pages of operations, a page starting at {@code specialRecord} is replaced with a special response.
+     */
+    private static final class PagesDispatcher extends Dispatcher {
+
+        private final int specialRecord;
+        private final MockResponse specialResponse;
+
+        PagesDispatcher(int specialRecord, MockResponse specialResponse) {
+            this.specialRecord = specialRecord;
+            this.specialResponse = specialResponse;
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String startRecord = MockApiServer.parseParameters(request).get("start_record");
+            int start = startRecord == null ? 0 : Integer.parseInt(startRecord);
+            if (start == specialRecord) {
+                return specialResponse;
+            }
+
+            int end = Math.min(start + PAGE_SIZE, OPERATIONS);
+            MockApiServer.HistoryPage page = MockApiServer.historyPage();
+            if (end < OPERATIONS) {
+                page.setNextRecord(Integer.toString(end));
+            }
+            for (int i = start; i < end; ++i) {
+                page.addOperation(Integer.toString(i), DATETIME);
+            }
+            return page.toResponse();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.wallet.OperationHistory;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.net.clients.AsyncApiClient;
+import com.yandex.money.api.typeadapters.GsonProvider;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class OperationHistoryListenerTest {
+
+    private MockApiServer server;
+    private AsyncApiClient client;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        client = server.createClient();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testStreaming() throws Exception {
+        for (int i = 1; i <= 7; ++i) {
+            String json = Resources.load("/methods/wallet/operation-history-" + i + ".json");
+            OperationHistory expected = GsonProvider.getGson().fromJson(json, OperationHistory.class);
+            server.enqueue(json);
+
+            final List<Operation> operations = new ArrayList<>();
+            OperationHistory history = client.execute(new OperationHistory.Request.Builder()
+                    .setListener(new OperationHistory.Listener() {
+                        @Override
+                        public void onOperation(Operation operation) {
+                            operations.add(operation);
+                        }
+                    })
+                    .create());
+
+            Assert.assertEquals(history.error, expected.error);
+            Assert.assertEquals(history.nextRecord, expected.nextRecord);
+            Assert.assertTrue(history.operations.isEmpty());
+            Assert.assertEquals(operations, expected.operations == null ? new ArrayList<Operation>() :
+                    expected.operations);
+        }
+    }
+
+    @Test
+    public void testError() throws Exception {
+        server.enqueue("{\"error\":\"illegal_param_type\"}");
+        OperationHistory history = client.execute(new OperationHistory.Request.Builder()
+                .setListener(new OperationHistory.Listener() {
+                    @Override
+                    public void onOperation(Operation operation) {
+                        Assert.fail();
+                    }
+                })
+                .create());
+        Assert.assertNotNull(history.error);
+    }
+
+    @Test
+    public void testListenerFailure() throws Exception {
+        server.enqueue(Resources.load("/methods/wallet/operation-history-1.json"));
+        try {
+            client.executeAsync(new OperationHistory.Request.Builder()
+                    .setListener(new OperationHistory.Listener() {
+                        @Override
+                        public void onOperation(Operation operation) throws Exception {
+                            throw new IOException("listener");
+                        }
+                    })
+                    .create()).get();
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "listener");
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.ProcessExternalPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.methods.payment.RequestExternalPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.MoneySource;
+import com.yandex.money.api.net.clients.ApiClient;
+import com.yandex.money.api.processes.ExtendedPaymentProcess;
+import com.yandex.money.api.processes.ExternalPaymentProcess;
+import com.yandex.money.api.processes.PaymentJournal;
+import com.yandex.money.api.processes.PaymentProcess;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+@Test(singleThreaded = true)
+public class PaymentJournalTest {
+
+    private static final int STARTED = 1;
+    private static final int PROCESSING = 2;
+    private static final int COMPLETED = 3;
+
+    private MockApiServer server;
+    private ApiClient client;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        server = new MockApiServer();
+        client = server.createClient();
+    }
+
+    @AfterClass
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        File file = createFile();
+        PaymentJournal journal = new PaymentJournal(file);
+        journal.record("started", createPaymentSavedState(STARTED));
+        journal.record("processing", createPaymentSavedState(STARTED));
+        journal.record("processing", createPaymentSavedState(PROCESSING));
+        journal.record("completed", createPaymentSavedState(STARTED));
+        journal.record("completed", createPaymentSavedState(COMPLETED));
+        journal.record("external", createExternalPaymentSavedState(STARTED));
+        journal.record("extended", new ExtendedPaymentProcess.SavedState(createPaymentSavedState(STARTED),
+                createExternalPaymentSavedState(STARTED), 11));
+        journal.record("removed", createPaymentSavedState(STARTED));
+        journal.remove("removed");
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        Map<String, PaymentProcess.SavedState> payments = journal.getPaymentProcessStates();
+        assertEquals(payments.keySet().toString(), "[started, processing]");
+        assertEquals(payments.get("processing").getFlags(), PROCESSING);
+        assertEquals(payments.get("processing").getRequestPayment(),
+                createPaymentSavedState(PROCESSING).getRequestPayment());
+        assertEquals(payments.get("processing").getProcessPayment(),
+                createPaymentSavedState(PROCESSING).getProcessPayment());
+        assertNull(payments.get("started").getProcessPayment());
+
+        Map<String, ExternalPaymentProcess.SavedState> externalPayments = journal.getExternalPaymentProcessStates();
+        assertEquals(externalPayments.keySet().toString(), "[external]");
+        assertEquals(externalPayments.get("external").getRequestPayment(),
+                createExternalPaymentSavedState(STARTED).getRequestPayment());
+
+        Map<String, ExtendedPaymentProcess.SavedState> extendedPayments = journal.getExtendedPaymentProcessStates();
+        assertEquals(extendedPayments.keySet().toString(), "[extended]");
+        assertEquals(extendedPayments.get("extended").getFlags(), 11);
+
+        journal.record("started", createPaymentSavedState(COMPLETED));
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        assertEquals(journal.getPaymentProcessStates().keySet().toString(), "[processing]");
+        journal.close();
+    }
+
+    @Test
+    public void testRefusedRequestPayment() throws Exception {
+        File file = createFile();
+        PaymentJournal journal = new PaymentJournal(file);
+        journal.record("refused", createPaymentSavedState(STARTED));
+        journal.record("refused", createPaymentSavedState(STARTED, BaseRequestPayment.Status.REFUSED));
+        journal.record("external", createExternalPaymentSavedState(STARTED));
+        assertTrue(journal.getPaymentProcessStates().isEmpty());
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        assertTrue(journal.getPaymentProcessStates().isEmpty());
+        assertEquals(journal.getExternalPaymentProcessStates().keySet().toString(), "[external]");
+        journal.close();
+    }
+
+    @Test
+    public void testIncompleteRecord() throws Exception {
+        File file = createFile();
+        PaymentJournal journal = new PaymentJournal(file);
+        journal.record("payment", createPaymentSavedState(STARTED));
+        journal.close();
+
+        FileOutputStream stream = new FileOutputStream(file, true);
+        stream.write("{\"id\":\"payment\",\"type\":\"payment\",\"state\":{\"fla".getBytes("UTF-8"));
+        stream.close();
+
+        journal = new PaymentJournal(file);
+        assertEquals(journal.getPaymentProcessStates().get("payment").getFlags(), STARTED);
+        journal.record("other", createPaymentSavedState(STARTED));
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        assertEquals(journal.getPaymentProcessStates().keySet().toString(), "[payment, other]");
+        journal.close();
+    }
+
+    @Test
+    public void testCorruptRecord() throws Exception {
+        File file = createFile();
+        PaymentJournal journal = new PaymentJournal(file);
+        journal.record("payment", createPaymentSavedState(STARTED));
+        journal.close();
+
+        byte[] record = Files.readAllBytes(file.toPath());
+        FileOutputStream stream = new FileOutputStream(file, true);
+        stream.write("{\"id\":\"corrupt\",\"type\":\"payment\"}\n".getBytes("UTF-8"));
+        stream.write(record);
+        stream.close();
+        byte[] content = Files.readAllBytes(file.toPath());
+
+        try {
+            new PaymentJournal(file);
+            fail("corrupt record is ignored");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "corrupt record at line 2 of " + file);
+        }
+        assertEquals(Files.readAllBytes(file.toPath()), content);
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        final int threads = 8;
+        final int records = 200;
+
+        final PaymentJournal journal = new PaymentJournal(createFile());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                final String paymentId = "payment-" + i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int j = 0; j < records; ++j) {
+                            journal.record(paymentId + "-" + j, createPaymentSavedState(STARTED));
+                            journal.record(paymentId + "-" + j, createPaymentSavedState(COMPLETED));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(journal.getPaymentProcessStates().isEmpty());
+        assertTrue(journal.getSyncCount() > 0);
+        assertTrue(journal.getSyncCount() < threads * records * 2, "records are not committed in groups");
+        journal.close();
+    }
+
+    @Test
+    public void testAttach() throws Exception {
+        server.enqueue("{\"status\":\"success\",\"request_id\":\"request\",\"contract_amount\":1,\"balance\":8.09," +
+                "\"money_source\":{\"wallet\":{\"allowed\":true}}}");
+        server.enqueue("{\"status\":\"in_progress\",\"next_retry\":1}");
+        server.enqueue("{\"status\":\"success\",\"payment_id\":\"payment\",\"invoice_id\":\"invoice\"," +
+                "\"balance\":1000}");
+
+        File file = createFile();
+        PaymentJournal journal = new PaymentJournal(file);
+        PaymentProcess process = new PaymentProcess(client, createParameterProvider());
+        journal.attach("payment", process);
+
+        assertFalse(process.proceed());
+        assertEquals(journal.getPaymentProcessStates().get("payment").getFlags(), STARTED);
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        PaymentProcess restored = new PaymentProcess(client, createParameterProvider());
+        restored.restoreSavedState(journal.getPaymentProcessStates().get("payment"));
+        journal.attach("payment", restored);
+
+        assertTrue(restored.proceed());
+        assertEquals(restored.getProcessPayment().status, BaseProcessPayment.Status.SUCCESS);
+        assertTrue(journal.getPaymentProcessStates().isEmpty());
+        journal.close();
+
+        journal = new PaymentJournal(file);
+        assertTrue(journal.getPaymentProcessStates().isEmpty());
+        journal.close();
+    }
+
+    private static File createFile() throws IOException {
+        File file = File.createTempFile("payment-journal", ".log");
+        file.deleteOnExit();
+        new File(file.getPath() + ".tmp").deleteOnExit();
+        return file;
+    }
+
+    private static PaymentProcess.SavedState createPaymentSavedState(int flags) {
+        return createPaymentSavedState(flags, BaseRequestPayment.Status.SUCCESS);
+    }
+
+    private static PaymentProcess.SavedState createPaymentSavedState(int flags, BaseRequestPayment.Status status) {
+        return new PaymentProcess.SavedState(
+                (RequestPayment) new RequestPayment.Builder()
+                        .setBalance(BigDecimal.TEN)
+                        .setStatus(status)
+                        .setError(status == BaseRequestPayment.Status.REFUSED ? Error.PAYEE_NOT_FOUND : null)
+                        .setContractAmount(BigDecimal.ONE)
+                        .setRequestId("1234567890")
+                        .create(),
+                flags < PROCESSING ? null : (ProcessPayment) new ProcessPayment.Builder()
+                        .setPaymentId("12346890")
+                        .setBalance(BigDecimal.TEN)
+                        .setStatus(BaseProcessPayment.Status.SUCCESS)
+                        .setAcsParams(Collections.<String, String>emptyMap())
+                        .setInvoiceId("1234567890")
+                        .create(),
+                flags);
+    }
+
+    private static ExternalPaymentProcess.SavedState createExternalPaymentSavedState(int flags) {
+        return new ExternalPaymentProcess.SavedState(
+                (RequestExternalPayment) new RequestExternalPayment.Builder()
+                        .setStatus(BaseRequestPayment.Status.SUCCESS)
+                        .setContractAmount(BigDecimal.ONE)
+                        .setRequestId("1234567890")
+                        .create(),
+                flags < PROCESSING ? null : (ProcessExternalPayment) new ProcessExternalPayment.Builder()
+                        .setAcsParams(Collections.<String, String>emptyMap())
+                        .setStatus(BaseProcessPayment.Status.SUCCESS)
+                        .setInvoiceId("1234567890")
+                        .create(),
+                flags);
+    }
+
+    private static ExternalPaymentProcess.ParameterProvider createParameterProvider() {
+        return new ExternalPaymentProcess.ParameterProvider() {
+            @Override
+            public String getPatternId() {
+                return "1234";
+            }
+
+            @Override
+            public Map<String, String> getPaymentParameters() {
+                return Collections.singletonMap("foo", "bar");
+            }
+
+            @Override
+            public MoneySource getMoneySource() {
+                return null;
+            }
+
+            @Override
+            public String getCsc() {
+                return null;
+            }
+
+            @Override
+            public String getExtAuthSuccessUri() {
+                return "stub";
+            }
+
+            @Override
+            public String getExtAuthFailUri() {
+                return "stub";
+            }
+
+            @Override
+            public boolean isRequestToken() {
+                return false;
+            }
+        };
+    }
+}
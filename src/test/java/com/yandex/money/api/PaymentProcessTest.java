@@ -24,6 +24,8 @@
 
 package com.yandex.money.api;
 
+import com.yandex.money.api.authorization.AuthorizationData;
+import com.yandex.money.api.authorization.AuthorizationParameters;
 import com.yandex.money.api.methods.payment.BaseProcessPayment;
 import com.yandex.money.api.methods.payment.BaseRequestPayment;
 import com.yandex.money.api.methods.payment.ProcessExternalPayment;
@@ -31,18 +33,24 @@ import com.yandex.money.api.methods.payment.ProcessPayment;
 import com.yandex.money.api.methods.payment.RequestExternalPayment;
 import com.yandex.money.api.methods.payment.RequestPayment;
 import com.yandex.money.api.model.MoneySource;
+import com.yandex.money.api.net.ApiRequest;
+import com.yandex.money.api.net.UserAgent;
+import com.yandex.money.api.net.clients.ApiCallback;
 import com.yandex.money.api.net.clients.ApiClient;
 import com.yandex.money.api.net.clients.DefaultApiClient;
 import com.yandex.money.api.net.providers.DefaultApiV1HostsProvider;
+import com.yandex.money.api.net.providers.HostsProvider;
 import com.yandex.money.api.processes.BasePaymentProcess;
 import com.yandex.money.api.processes.ExtendedPaymentProcess;
 import com.yandex.money.api.processes.ExternalPaymentProcess;
 import com.yandex.money.api.processes.PaymentProcess;
 import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.Language;
 import com.yandex.money.api.util.MimeTypes;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -51,6 +59,12 @@ import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Slava Yasevich (vyasevich@yamoney.ru)
@@ -71,12 +85,18 @@ public class PaymentProcessTest {
             .create();
     private final ExternalPaymentProcess.ParameterProvider parameterProvider =
             createParameterProviderStub();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
 
     @BeforeClass
     public void setUp() throws IOException {
         server.start();
     }
 
+    @AfterClass
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
     @Test
     public void testPaymentProcess() throws Exception {
         enqueuePaymentProcess();
@@ -105,6 +125,43 @@ public class PaymentProcessTest {
         checkAsyncPaymentProcess(process);
     }
 
+    @Test
+    public void testScheduledPaymentProcess() throws Exception {
+        enqueuePaymentProcess();
+        checkScheduledPaymentProcess(new PaymentProcess(client, parameterProvider));
+    }
+
+    @Test
+    public void testScheduledExternalPaymentProcess() throws Exception {
+        enqueueExternalPaymentProcess();
+        ExternalPaymentProcess process = new ExternalPaymentProcess(client, parameterProvider);
+        process.setInstanceId("instanceId");
+        checkScheduledPaymentProcess(process);
+    }
+
+    @Test
+    public void testSynchronousClient() throws Exception {
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        Future<Boolean> future = new PaymentProcess(new SynchronousApiClient(client), parameterProvider)
+                .proceedAsync(scheduler, new ApiCallback<Boolean>() {
+                    @Override
+                    public void onSuccess(Boolean response) {
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        failure.set(e);
+                    }
+                });
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail("asynchronous execution with synchronous client");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof UnsupportedOperationException);
+            Assert.assertSame(failure.get(), e.getCause());
+        }
+    }
+
     @Test
     public void testPaymentProcessStateRestore() {
         PaymentProcess paymentProcess = new PaymentProcess(client, parameterProvider);
@@ -194,6 +251,12 @@ public class PaymentProcessTest {
         process.proceed();
     }
 
+    private void checkScheduledPaymentProcess(BasePaymentProcess<?, ?> process) throws Exception {
+        Assert.assertFalse(process.proceedAsync(scheduler, null).get(10, TimeUnit.SECONDS));
+        Assert.assertTrue(process.proceedAsync(scheduler, null).get(10, TimeUnit.SECONDS));
+        Assert.assertEquals(process.getProcessPayment().status, BaseProcessPayment.Status.SUCCESS);
+    }
+
     private ExternalPaymentProcess.ParameterProvider createParameterProviderStub() {
         return new ExternalPaymentProcess.ParameterProvider() {
             @Override
@@ -269,4 +332,53 @@ public class PaymentProcessTest {
                 3
         );
     }
+
+    private static final class SynchronousApiClient implements ApiClient {
+
+        private final ApiClient client;
+
+        SynchronousApiClient(ApiClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public String getClientId() {
+            return client.getClientId();
+        }
+
+        @Override
+        public Language getLanguage() {
+            return client.getLanguage();
+        }
+
+        @Override
+        public HostsProvider getHostsProvider() {
+            return client.getHostsProvider();
+        }
+
+        @Override
+        public UserAgent getUserAgent() {
+            return client.getUserAgent();
+        }
+
+        @Override
+        public <T> T execute(ApiRequest<T> request) throws Exception {
+            return client.execute(request);
+        }
+
+        @Override
+        public AuthorizationData createAuthorizationData(AuthorizationParameters parameters) {
+            return client.createAuthorizationData(parameters);
+        }
+
+        @Override
+        public void setAccessToken(String accessToken) {
+            client.setAccessToken(accessToken);
+        }
+
+        @Override
+        public boolean isAuthorized() {
+            return client.isAuthorized();
+        }
+    }
 }
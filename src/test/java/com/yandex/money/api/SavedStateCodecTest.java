@@ -0,0 +1,218 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api;
+
+import com.google.gson.Gson;
+import com.yandex.money.api.methods.payment.BaseProcessPayment;
+import com.yandex.money.api.methods.payment.BaseRequestPayment;
+import com.yandex.money.api.methods.payment.ProcessExternalPayment;
+import com.yandex.money.api.methods.payment.ProcessPayment;
+import com.yandex.money.api.methods.payment.RequestExternalPayment;
+import com.yandex.money.api.methods.payment.RequestPayment;
+import com.yandex.money.api.model.CardBrand;
+import com.yandex.money.api.model.DigitalGoods;
+import com.yandex.money.api.model.Error;
+import com.yandex.money.api.model.ExternalCard;
+import com.yandex.money.api.model.Good;
+import com.yandex.money.api.processes.ExtendedPaymentProcess;
+import com.yandex.money.api.processes.ExternalPaymentProcess;
+import com.yandex.money.api.processes.PaymentProcess;
+import com.yandex.money.api.processes.SavedStateCodec;
+import com.yandex.money.api.typeadapters.GsonProvider;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class SavedStateCodecTest {
+
+    private final Gson gson = GsonProvider.getGson();
+
+    @Test
+    public void testResponses() throws Exception {
+        for (int i = 1; i <= 3; ++i) {
+            RequestPayment requestPayment = load("/methods/payment/request-payment-" + i + ".json",
+                    RequestPayment.class);
+            assertEquals(SavedStateCodec.decodeRequestPayment(SavedStateCodec.encode(requestPayment)),
+                    requestPayment);
+
+            RequestExternalPayment requestExternalPayment = load(
+                    "/methods/payment/request-external-payment-" + i + ".json", RequestExternalPayment.class);
+            assertEquals(SavedStateCodec.decodeRequestExternalPayment(SavedStateCodec.encode(requestExternalPayment)),
+                    requestExternalPayment);
+        }
+
+        ProcessPayment processPayment = createProcessPayment();
+        assertEquals(SavedStateCodec.decodeProcessPayment(SavedStateCodec.encode(processPayment)), processPayment);
+
+        ProcessExternalPayment processExternalPayment = createProcessExternalPayment();
+        assertEquals(SavedStateCodec.decodeProcessExternalPayment(SavedStateCodec.encode(processExternalPayment)),
+                processExternalPayment);
+
+        ProcessPayment refused = (ProcessPayment) new ProcessPayment.Builder()
+                .setStatus(BaseProcessPayment.Status.REFUSED)
+                .setError(Error.NOT_ENOUGH_FUNDS)
+                .setAcsParams(null)
+                .setNextRetry(-1)
+                .create();
+        assertEquals(SavedStateCodec.decodeProcessPayment(SavedStateCodec.encode(refused)), refused);
+    }
+
+    @Test
+    public void testAmounts() {
+        BigDecimal[] amounts = {
+                BigDecimal.ZERO, new BigDecimal("0.00"), new BigDecimal("-12.5"), new BigDecimal("1E+3"),
+                new BigDecimal("9223372036854775807.99"), new BigDecimal("-123456789012345678901234567890.123")
+        };
+        for (BigDecimal amount : amounts) {
+            RequestExternalPayment requestPayment = (RequestExternalPayment) new RequestExternalPayment.Builder()
+                    .setStatus(BaseRequestPayment.Status.SUCCESS)
+                    .setRequestId("request")
+                    .setContractAmount(amount)
+                    .create();
+            RequestExternalPayment decoded = SavedStateCodec.decodeRequestExternalPayment(
+                    SavedStateCodec.encode(requestPayment));
+            assertEquals(decoded.contractAmount, amount);
+            assertEquals(decoded.contractAmount.scale(), amount.scale());
+        }
+    }
+
+    @Test
+    public void testSavedStates() throws Exception {
+        RequestPayment requestPayment = load("/methods/payment/request-payment-1.json", RequestPayment.class);
+        PaymentProcess.SavedState paymentState = new PaymentProcess.SavedState(requestPayment,
+                createProcessPayment(), 3);
+        PaymentProcess.SavedState decodedPaymentState = SavedStateCodec.decodePaymentProcessSavedState(
+                SavedStateCodec.encode(paymentState));
+        assertEquals(decodedPaymentState.getFlags(), 3);
+        assertEquals(decodedPaymentState.getRequestPayment(), paymentState.getRequestPayment());
+        assertEquals(decodedPaymentState.getProcessPayment(), paymentState.getProcessPayment());
+
+        PaymentProcess.SavedState created = SavedStateCodec.decodePaymentProcessSavedState(
+                SavedStateCodec.encode(new PaymentProcess.SavedState(null, null, 0)));
+        assertEquals(created.getFlags(), 0);
+        assertNull(created.getRequestPayment());
+
+        RequestExternalPayment requestExternalPayment = load("/methods/payment/request-external-payment-1.json",
+                RequestExternalPayment.class);
+        ExternalPaymentProcess.SavedState externalState = new ExternalPaymentProcess.SavedState(
+                requestExternalPayment, null, 1);
+        ExternalPaymentProcess.SavedState decodedExternalState =
+                SavedStateCodec.decodeExternalPaymentProcessSavedState(SavedStateCodec.encode(externalState));
+        assertEquals(decodedExternalState.getFlags(), 1);
+        assertEquals(decodedExternalState.getRequestPayment(), requestExternalPayment);
+        assertNull(decodedExternalState.getProcessPayment());
+
+        ExtendedPaymentProcess.SavedState extendedState = new ExtendedPaymentProcess.SavedState(paymentState,
+                externalState, 11);
+        ExtendedPaymentProcess.SavedState decodedExtendedState =
+                SavedStateCodec.decodeExtendedPaymentProcessSavedState(SavedStateCodec.encode(extendedState));
+        assertEquals(decodedExtendedState.getFlags(), 11);
+        assertEquals(decodedExtendedState.getPaymentProcessSavedState().getProcessPayment(),
+                paymentState.getProcessPayment());
+        assertEquals(decodedExtendedState.getExternalPaymentProcessSavedState().getRequestPayment(),
+                requestExternalPayment);
+
+    }
+
+    @Test
+    public void testSize() throws Exception {
+        RequestPayment requestPayment = load("/methods/payment/request-payment-1.json", RequestPayment.class);
+        ProcessPayment processPayment = createProcessPayment();
+        int binary = SavedStateCodec.encode(new PaymentProcess.SavedState(requestPayment, processPayment, 3)).length;
+        int json = ("3\n" + gson.toJson(requestPayment) + "\n" + gson.toJson(processPayment)).getBytes("UTF-8").length;
+        assertTrue(binary * 2 < json, "binary: " + binary + " bytes, json: " + json + " bytes");
+    }
+
+    @Test
+    public void testMalformed() {
+        byte[] bytes = SavedStateCodec.encode(createProcessPayment());
+        try {
+            SavedStateCodec.decodeRequestPayment(bytes);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            SavedStateCodec.decodeProcessPayment(Arrays.copyOf(bytes, bytes.length - 1));
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        bytes[0] = SavedStateCodec.VERSION + 1;
+        try {
+            SavedStateCodec.decodeProcessPayment(bytes);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private <T> T load(String path, Class<T> type) throws Exception {
+        return gson.fromJson(Resources.load(path), type);
+    }
+
+    private static ProcessPayment createProcessPayment() {
+        Map<String, String> acsParams = new HashMap<>();
+        acsParams.put("MD", "723613-7431F11492F4F2D0");
+        acsParams.put("PaReq", "eJxVUl1T2zAQ/CsZv8f6sB05zkUMNFDoEEqBQsvT");
+        return (ProcessPayment) new ProcessPayment.Builder()
+                .setPaymentId("2ABCDE123456789")
+                .setBalance(new BigDecimal("1000.00"))
+                .setPayer("41001101140")
+                .setPayee("41001000001")
+                .setCreditAmount(new BigDecimal("-0.01"))
+                .setPayeeUid("56")
+                .setDigitalGoods(new DigitalGoods(
+                        Collections.singletonList(new Good("123", "секрет", "https://example.com/s", "article")),
+                        null))
+                .setStatus(BaseProcessPayment.Status.SUCCESS)
+                .setInvoiceId("1234567890123456789")
+                .setAcsParams(acsParams)
+                .create();
+    }
+
+    private static ProcessExternalPayment createProcessExternalPayment() {
+        return (ProcessExternalPayment) new ProcessExternalPayment.Builder()
+                .setExternalCard(new ExternalCard.Builder()
+                        .setType(CardBrand.VISA)
+                        .setPanFragment("**** **** **** 0334")
+                        .setFundingSourceType("payment-card")
+                        .setMoneySourceToken("B6AE719BAF712404E08EF8A430B0F58CD8F2C592")
+                        .create())
+                .setStatus(BaseProcessPayment.Status.SUCCESS)
+                .setInvoiceId("3000130505460")
+                .create();
+    }
+}
@@ -27,6 +27,8 @@ package com.yandex.money.api;
 import com.google.gson.Gson;
 import com.yandex.money.api.model.AllowedMoneySource;
 import com.yandex.money.api.model.showcase.Showcase;
+import com.yandex.money.api.model.showcase.components.containers.Group;
+import com.yandex.money.api.model.showcase.components.uicontrols.Text;
 import com.yandex.money.api.typeadapters.TypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
 import com.yandex.money.api.typeadapters.model.showcase.container.GroupTypeAdapter;
@@ -137,6 +139,17 @@ public final class ShowcaseTypeAdapterTest {
         check("amount_customfee.json", AmountTypeAdapter.getInstance());
     }
 
+    @Test
+    public void testTypeIsNotFirstMember() {
+        GroupTypeAdapter adapter = GroupTypeAdapter.getInstance();
+        Group expected = adapter.fromJson("{\"type\":\"group\",\"items\":[{\"type\":\"text\",\"name\":\"a\"," +
+                "\"label\":\"A\",\"maxlength\":5}]}");
+        Group actual = adapter.fromJson("{\"items\":[{\"name\":\"a\",\"label\":\"A\",\"type\":\"text\"," +
+                "\"maxlength\":5}],\"type\":\"group\"}");
+        assertEquals(actual, expected);
+        assertEquals(actual.items.get(0).getClass(), Text.class);
+    }
+
     @Test
     public void testShowcaseBills() {
         testShowcase("showcase_bills.json");
@@ -24,7 +24,6 @@
 
 package com.yandex.money.api;
 
-import com.yandex.money.api.net.clients.ApiClient;
 import com.yandex.money.api.net.clients.DefaultApiClient;
 import com.yandex.money.api.properties.LocalProperties;
 
@@ -38,7 +37,7 @@ public final class TestEnvironment {
     private TestEnvironment() {
     }
 
-    public static ApiClient createClient() {
+    public static DefaultApiClient createClient() {
         return new DefaultApiClient.Builder()
                 .setClientId(getClientId())
                 .setDebugMode(true)
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.yandex.money.api.model.Currency;
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class OperationColumnsTest {
+
+    private static final DateTime START = DateTime.from(1526367600000L, TimeZone.getTimeZone("GMT"));
+    private static final Currency[] CURRENCIES = { Currency.RUB, Currency.USD, null };
+    private static final String[] LABELS = { "a", "b", "c", null };
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final OperationColumns columns = new OperationColumns(1);
+
+    @BeforeClass
+    public void setUp() {
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            List<Integer> categories = new ArrayList<>();
+            for (int j = random.nextInt(3); j > 0; --j) {
+                categories.add(random.nextInt(5));
+            }
+            operations.add(new Operation.Builder()
+                    .setOperationId(Integer.toString(i))
+                    .setStatus(random.nextInt(10) == 0 ? null : pick(random, OperationStatus.values()))
+                    .setDirection(pick(random, Operation.Direction.values()))
+                    .setAmount(BigDecimal.valueOf(random.nextInt(1000000), random.nextInt(3)))
+                    .setAmountCurrency(pick(random, CURRENCIES))
+                    .setDatetime(random.nextInt(50) == 0 ? null : DateTime.from(START.getMillis() +
+                            random.nextInt(30 * 24 * 3600) * 1000L))
+                    .setLabel(pick(random, LABELS))
+                    .setType(pick(random, Operation.Type.values()))
+                    .setCategories(categories)
+                    .create());
+        }
+        columns.addAll(operations);
+    }
+
+    @Test
+    public void testFilters() {
+        check(OperationColumns.Filter.ALL);
+        check(new OperationColumns.Filter.Builder()
+                .setDirections(Operation.Direction.OUTGOING)
+                .create());
+        check(new OperationColumns.Filter.Builder()
+                .setStatuses(OperationStatus.SUCCESS, OperationStatus.IN_PROGRESS)
+                .setCurrencies(Currency.RUB)
+                .create());
+        check(new OperationColumns.Filter.Builder()
+                .setTypes(Operation.Type.DEPOSITION)
+                .setLabel("b")
+                .setFrom(START.plus(Days.from(5)))
+                .setTill(START.plus(Days.from(20)))
+                .create());
+        check(new OperationColumns.Filter.Builder()
+                .setCategory(3)
+                .setTill(START.plus(Days.from(10)))
+                .create());
+        check(new OperationColumns.Filter.Builder()
+                .setLabel("unknown")
+                .create());
+    }
+
+    @Test
+    public void testSumByPeriod() {
+        OperationColumns.Filter filter = new OperationColumns.Filter.Builder()
+                .setDirections(Operation.Direction.INCOMING)
+                .create();
+        BigDecimal[] sums = columns.sumByPeriod(filter, START.plus(Days.ONE), Days.from(7), 3);
+        BigDecimal[] expected = new BigDecimal[3];
+        Arrays.fill(expected, BigDecimal.ZERO);
+        for (Operation operation : select(filter)) {
+            if (operation.datetime == null) {
+                continue;
+            }
+            long offset = operation.datetime.getMillis() - START.plus(Days.ONE).getMillis();
+            int index = offset < 0 ? -1 : (int) (offset / (7 * 24 * 3600 * 1000L));
+            if (index >= 0 && index < 3) {
+                expected[index] = expected[index].add(operation.amount);
+            }
+        }
+        Assert.assertEquals(sums.length, 3);
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertEquals(sums[i].compareTo(expected[i]), 0);
+        }
+    }
+
+    @Test(expectedExceptions = ArithmeticException.class)
+    public void testScale() {
+        new OperationColumns().add(new Operation.Builder()
+                .setOperationId("1")
+                .setAmount(new BigDecimal("0.001"))
+                .create());
+    }
+
+    private void check(OperationColumns.Filter filter) {
+        List<Operation> selected = select(filter);
+        Assert.assertEquals(columns.count(filter), selected.size());
+        Assert.assertEquals(columns.sum(filter).compareTo(sum(selected)), 0);
+
+        Map<Object, BigDecimal> byDirection = new LinkedHashMap<>();
+        Map<Object, BigDecimal> byCurrency = new LinkedHashMap<>();
+        Map<Object, BigDecimal> byLabel = new LinkedHashMap<>();
+        for (Operation operation : selected) {
+            add(byDirection, operation.direction, operation.amount);
+            add(byCurrency, operation.amountCurrency, operation.amount);
+            add(byLabel, operation.label, operation.amount);
+        }
+        checkGroups(columns.sumByDirection(filter), byDirection);
+        checkGroups(columns.sumByCurrency(filter), byCurrency);
+        checkGroups(columns.sumByLabel(filter), byLabel);
+        Assert.assertEquals(columns.sumByStatus(filter).size() > 0, !selected.isEmpty());
+        Assert.assertEquals(columns.sumByType(filter).size() > 0, !selected.isEmpty());
+    }
+
+    private List<Operation> select(OperationColumns.Filter filter) {
+        List<Operation> selected = new ArrayList<>();
+        for (Operation operation : operations) {
+            if (matches(filter, operation)) {
+                selected.add(operation);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean matches(OperationColumns.Filter filter, Operation operation) {
+        if (filter.from != Long.MIN_VALUE || filter.till != Long.MAX_VALUE) {
+            if (operation.datetime == null || operation.datetime.getMillis() < filter.from ||
+                    operation.datetime.getMillis() >= filter.till) {
+                return false;
+            }
+        }
+        return accepts(filter.directions, operation.direction) &&
+                accepts(filter.types, operation.type) &&
+                accepts(filter.statuses, operation.status) &&
+                accepts(filter.currencies, operation.amountCurrency) &&
+                (filter.label == null || filter.label.equals(operation.label)) &&
+                (filter.category == null || operation.categories.contains(filter.category));
+    }
+
+    private static boolean accepts(boolean[] accepted, Enum<?> value) {
+        return accepted == null || value != null && accepted[value.ordinal()];
+    }
+
+    private static BigDecimal sum(List<Operation> operations) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (Operation operation : operations) {
+            sum = sum.add(operation.amount);
+        }
+        return sum;
+    }
+
+    private static void add(Map<Object, BigDecimal> groups, Object key, BigDecimal amount) {
+        BigDecimal sum = groups.get(key);
+        groups.put(key, sum == null ? amount : sum.add(amount));
+    }
+
+    private static void checkGroups(Map<?, BigDecimal> actual, Map<Object, BigDecimal> expected) {
+        Assert.assertEquals(actual.keySet(), expected.keySet());
+        for (Map.Entry<?, BigDecimal> entry : actual.entrySet()) {
+            Assert.assertEquals(entry.getValue().compareTo(expected.get(entry.getKey())), 0);
+        }
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.history;
+
+import com.yandex.money.api.model.Operation;
+import com.yandex.money.api.model.OperationStatus;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+public class OperationStoreTest {
+
+    private static final DateTime DATETIME = DateTime.from(1526367600000L, TimeZone.getTimeZone("GMT"));
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = File.createTempFile("operation-store", "");
+        Assert.assertTrue(directory.delete());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Assert.assertTrue(file.delete());
+            }
+        }
+        Assert.assertTrue(directory.delete());
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        OperationStore store = new OperationStore(directory);
+        Assert.assertTrue(store.append(createOperation(1, OperationStatus.IN_PROGRESS)));
+        Assert.assertTrue(store.append(createOperation(2, OperationStatus.SUCCESS)));
+        Assert.assertFalse(store.append(createOperation(2, OperationStatus.SUCCESS)));
+        Assert.assertTrue(store.append(createOperation(1, OperationStatus.SUCCESS)));
+
+        Assert.assertEquals(store.size(), 2);
+        Assert.assertEquals(store.get("1"), createOperation(1, OperationStatus.SUCCESS));
+        Assert.assertEquals(store.get("2"), createOperation(2, OperationStatus.SUCCESS));
+        Assert.assertNull(store.get("3"));
+        Assert.assertEquals(readAll(store), ids("2", "1"));
+        store.close();
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+        OperationStore store = new OperationStore(directory, 1024);
+        for (int i = 0; i < 50; ++i) {
+            store.append(createOperation(i, OperationStatus.IN_PROGRESS));
+        }
+        for (int i = 0; i < 50; i += 2) {
+            store.append(createOperation(i, OperationStatus.SUCCESS));
+        }
+        Watermark watermark = new Watermark(DATETIME, "49");
+        store.setWatermark(watermark);
+        store.close();
+        Assert.assertTrue(new File(directory, "segment-00000001.idx").exists());
+
+        store = new OperationStore(directory, 1024);
+        Assert.assertEquals(store.size(), 50);
+        Assert.assertEquals(store.getWatermark(), watermark);
+        for (int i = 0; i < 50; ++i) {
+            OperationStatus status = i % 2 == 0 ? OperationStatus.SUCCESS : OperationStatus.IN_PROGRESS;
+            Assert.assertEquals(store.get(Integer.toString(i)), createOperation(i, status));
+        }
+        Assert.assertFalse(store.append(createOperation(0, OperationStatus.SUCCESS)));
+        Assert.assertEquals(readAll(store).size(), 50);
+        store.close();
+    }
+
+    @Test
+    public void testBrokenTail() throws Exception {
+        OperationStore store = new OperationStore(directory);
+        store.append(createOperation(1, OperationStatus.SUCCESS));
+        store.append(createOperation(2, OperationStatus.SUCCESS));
+        store.close();
+
+        File segment = new File(directory, "segment-00000000.log");
+        long length = segment.length();
+        FileOutputStream output = new FileOutputStream(segment, true);
+        output.write("{\"operation_id\":\"3\",\"sta".getBytes("UTF-8"));
+        output.close();
+
+        store = new OperationStore(directory);
+        Assert.assertEquals(store.size(), 2);
+        Assert.assertEquals(segment.length(), length);
+        Assert.assertTrue(store.append(createOperation(3, OperationStatus.SUCCESS)));
+        store.close();
+
+        RandomAccessFile file = new RandomAccessFile(segment, "rw");
+        file.setLength(segment.length() - 1);
+        file.close();
+        store = new OperationStore(directory);
+        Assert.assertEquals(readAll(store), ids("1", "2"));
+        store.close();
+    }
+
+    @Test
+    public void testOldestInProgress() throws Exception {
+        OperationStore store = new OperationStore(directory);
+        Assert.assertNull(store.getOldestInProgress(DateTime.from(0)));
+        store.append(createOperation(1, OperationStatus.IN_PROGRESS));
+        store.append(createOperation(2, OperationStatus.IN_PROGRESS));
+        store.append(createOperation(3, OperationStatus.SUCCESS));
+
+        DateTime notBefore = DATETIME.minus(Days.ONE);
+        Assert.assertEquals(store.getOldestInProgress(notBefore).getMillis(), notBefore.getMillis());
+        Assert.assertNull(store.getOldestInProgress(DATETIME));
+        store.append(createOperation(1, OperationStatus.SUCCESS));
+        Assert.assertEquals(store.getOldestInProgress(DateTime.from(0)).getMillis(),
+                DATETIME.minus(Days.from(2)).getMillis());
+        store.close();
+    }
+
+    private static Operation createOperation(int id, OperationStatus status) {
+        return new Operation.Builder()
+                .setOperationId(Integer.toString(id))
+                .setStatus(status)
+                .setDirection(Operation.Direction.INCOMING)
+                .setAmount(new BigDecimal("10.00"))
+                .setDatetime(DATETIME.minus(Days.from(id)))
+                .setTitle("operation " + id)
+                .setType(Operation.Type.DEPOSITION)
+                .create();
+    }
+
+    private static List<String> readAll(OperationStore store) throws Exception {
+        final List<String> ids = new ArrayList<>();
+        store.forEach(new OperationStore.Visitor() {
+            @Override
+            public void visit(Operation operation) {
+                ids.add(operation.operationId);
+            }
+        });
+        return ids;
+    }
+
+    private static List<String> ids(String... ids) {
+        List<String> list = new ArrayList<>();
+        for (String id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+}
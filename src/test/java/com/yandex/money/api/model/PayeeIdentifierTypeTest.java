@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.model;
+
+import com.yandex.money.api.util.Patterns;
+import com.yandex.money.api.util.Strings;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PayeeIdentifierTypeTest {
+
+    private static final String ALPHABET = "0123456789000411+-. ()@_%aZx٣é\n";
+    private static final String LABEL_CHARS = "abcXYZ019-";
+
+    @Test
+    public void testDetermine() {
+        assertNull(PayeeIdentifierType.determine((String) null));
+        assertNull(PayeeIdentifierType.determine(""));
+        assertEquals(PayeeIdentifierType.determine("41001000001"), PayeeIdentifierType.ACCOUNT);
+        assertEquals(PayeeIdentifierType.determine("4100100000"), PayeeIdentifierType.PHONE);
+        assertEquals(PayeeIdentifierType.determine("+7 (912) 123-45-67"), PayeeIdentifierType.PHONE);
+        assertEquals(PayeeIdentifierType.determine("+1234"), PayeeIdentifierType.PHONE);
+        assertNull(PayeeIdentifierType.determine("user@"));
+        assertEquals(PayeeIdentifierType.determine("user.name"), PayeeIdentifierType.EMAIL);
+        assertEquals(PayeeIdentifierType.determine("user@yandex.ru"), PayeeIdentifierType.EMAIL);
+        assertNull(PayeeIdentifierType.determine("user@yandex"));
+        assertNull(PayeeIdentifierType.determine("user@-yandex.ru"));
+
+        PayeeIdentifierType[] types = PayeeIdentifierType.determineAll(new CharSequence[] {
+                new StringBuilder("41001000001"), "8-800-250-66-99", "user@example.com", null, "?"
+        });
+        assertEquals(types, new PayeeIdentifierType[] {
+                PayeeIdentifierType.ACCOUNT, PayeeIdentifierType.PHONE, PayeeIdentifierType.EMAIL, null, null
+        });
+    }
+
+    /**
+     * Checks that results are equal to ones of regular expressions on random and structured identifiers.
+     */
+    @Test
+    public void testEquivalence() {
+        Random random = new Random(20170301);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 300000; ++i) {
+            builder.setLength(0);
+            switch (i % 4) {
+                case 0:
+                    appendRandom(random, builder, ALPHABET, random.nextInt(40));
+                    break;
+                case 1:
+                    appendPhone(random, builder);
+                    break;
+                case 2:
+                    appendEmail(random, builder);
+                    break;
+                default:
+                    builder.append("41");
+                    appendRandom(random, builder, "0123456789", 7 + random.nextInt(28));
+                    break;
+            }
+            mutate(random, builder);
+            String identifier = builder.toString();
+            assertEquals(PayeeIdentifierType.determine(identifier), determineWithPatterns(identifier), identifier);
+            assertEquals(Strings.containsDigitsOnly(identifier), identifier.matches("\\d*"), identifier);
+        }
+    }
+
+    @Test
+    public void testLimits() {
+        StringBuilder builder = new StringBuilder();
+        for (int length = 250; length <= 260; ++length) {
+            builder.setLength(0);
+            appendRepeated(builder, 'a', length);
+            checkEquivalence(builder.toString());
+            checkEquivalence(builder + "@example.com");
+        }
+        for (int length = 60; length <= 70; ++length) {
+            builder.setLength(0);
+            builder.append("user@");
+            appendRepeated(builder, 'b', length);
+            checkEquivalence(builder + ".ru");
+            builder.setLength(0);
+            builder.append("user@example.");
+            appendRepeated(builder, 'c', length - 40);
+            checkEquivalence(builder.toString());
+        }
+        assertTrue(Strings.containsDigitsOnly(""));
+        assertFalse(Strings.containsDigitsOnly("٣"));
+    }
+
+    private static void checkEquivalence(String identifier) {
+        assertEquals(PayeeIdentifierType.determine(identifier), determineWithPatterns(identifier), identifier);
+    }
+
+    private static void appendPhone(Random random, StringBuilder builder) {
+        if (random.nextBoolean()) {
+            builder.append('+');
+            appendRandom(random, builder, "0123456789", random.nextInt(4));
+            appendRandom(random, builder, "- .", random.nextInt(3));
+        }
+        if (random.nextBoolean()) {
+            builder.append('(');
+            appendRandom(random, builder, "0123456789", random.nextInt(4));
+            builder.append(')');
+            appendRandom(random, builder, "- .", random.nextInt(3));
+        }
+        appendRandom(random, builder, "0123456789- .", random.nextInt(12));
+    }
+
+    private static void appendEmail(Random random, StringBuilder builder) {
+        appendRandom(random, builder, "abc019+._%-", random.nextInt(6));
+        builder.append('@');
+        int labels = random.nextInt(4);
+        for (int i = 0; i < labels; ++i) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            appendRandom(random, builder, LABEL_CHARS, random.nextInt(5) == 0 ? 20 + random.nextInt(50) :
+                    random.nextInt(6));
+        }
+    }
+
+    private static void mutate(Random random, StringBuilder builder) {
+        if (builder.length() > 0 && random.nextInt(4) == 0) {
+            int index = random.nextInt(builder.length());
+            builder.setCharAt(index, ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+    }
+
+    private static void appendRandom(Random random, StringBuilder builder, String alphabet, int length) {
+        for (int i = 0; i < length; ++i) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+    }
+
+    private static void appendRepeated(StringBuilder builder, char c, int count) {
+        for (int i = 0; i < count; ++i) {
+            builder.append(c);
+        }
+    }
+
+    /**
+     * The original implementation based on {@link Patterns}.
+     */
+    private static PayeeIdentifierType determineWithPatterns(String identifier) {
+        if (Strings.isNullOrEmpty(identifier)) {
+            return null;
+        }
+
+        if (identifier.matches(Patterns.ACCOUNT)) {
+            return PayeeIdentifierType.ACCOUNT;
+        } else if (identifier.matches(Patterns.PHONE)) {
+            return PayeeIdentifierType.PHONE;
+        } else if (identifier.matches(Patterns.YANDEX) || identifier.matches(Patterns.EMAIL)) {
+            return PayeeIdentifierType.EMAIL;
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net;
+
+import okio.Buffer;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+public class ParametersBufferTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Test
+    public void testEncodingMatchesUrlEncoder() throws Exception {
+        String[] values = {
+                "", "plain", "with space", "a+b=c&d", ".-*_~!'()", "/path?query#fragment", "кириллица",
+                "€ \u0000\u007f", "😀 emoji", "broken \ud83d surrogate", "\ude00\ud83d"
+        };
+        for (String value : values) {
+            assertEncoded(value);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; ++i) {
+            char[] chars = new char[random.nextInt(20)];
+            for (int j = 0; j < chars.length; ++j) {
+                chars[j] = (char) (random.nextBoolean() ? random.nextInt(0x80) : random.nextInt(0x10000));
+            }
+            assertEncoded(new String(chars));
+        }
+    }
+
+    @Test
+    public void testPrepare() throws Exception {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("pattern_id", "p2p");
+        params.put("", "ignored");
+        params.put("to", "4100 1");
+        params.put("empty", "");
+        params.put("message", "привет");
+
+        ParametersBuffer buffer = new ParametersBuffer().setParameters(params);
+        String expected = "pattern_id=p2p&to=4100+1&message=" + URLEncoder.encode("привет", "UTF-8");
+
+        assertEquals(buffer.prepareGet(), '?' + expected);
+        assertEquals(new String(buffer.prepareBytes(), UTF8), expected);
+        assertEquals(buffer.contentLength(), expected.length());
+
+        Buffer sink = new Buffer();
+        buffer.writeTo(sink);
+        assertEquals(sink.readUtf8(), expected);
+
+        ParametersBuffer empty = new ParametersBuffer();
+        assertEquals(empty.prepareGet(), "");
+        assertEquals(empty.prepareBytes().length, 0);
+        assertEquals(empty.contentLength(), 0);
+    }
+
+    private static void assertEncoded(String value) throws Exception {
+        String expected = URLEncoder.encode(value, "UTF-8");
+        assertEquals(new String(ParametersBuffer.encodeUtf8(value), UTF8), expected);
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("key", value);
+        ParametersBuffer buffer = new ParametersBuffer().setParameters(params);
+        assertEquals(buffer.contentLength(), value.isEmpty() ? 0 : buffer.prepareBytes().length);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.yandex.money.api.net.DocumentApiRequest;
+import com.yandex.money.api.net.HttpResourceResponse;
+import com.yandex.money.api.net.providers.HostsProvider;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.time.Days;
+import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.MimeTypes;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+public class CachingApiClientTest {
+
+    private static final String LAST_MODIFIED = "Tue, 15 Nov 1994 12:45:26 GMT";
+
+    private MockWebServer server;
+    private CachingApiClient client;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new CachingApiClient(new DefaultApiClient.Builder()
+                .setClientId("clientId")
+                .create(), new LruDocumentCache(2));
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testFreshDocument() throws Exception {
+        server.enqueue(createResponse(DateTime.now().plus(Days.ONE)));
+
+        HttpResourceResponse<Document> first = client.execute(new Request(server.url("/doc")));
+        HttpResourceResponse<Document> second = client.execute(new Request(server.url("/doc")));
+        HttpResourceResponse<Document> third = client.executeAsync(new Request(server.url("/doc")))
+                .get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(first.document.value, "document");
+        Assert.assertSame(second, first);
+        Assert.assertSame(third, first);
+        Assert.assertEquals(server.getRequestCount(), 1);
+        Assert.assertEquals(client.getMissCount(), 1);
+        Assert.assertEquals(client.getHitCount(), 2);
+        Assert.assertEquals(client.getRevalidationCount(), 0);
+    }
+
+    @Test
+    public void testRevalidation() throws Exception {
+        server.enqueue(createResponse(DateTime.now().minus(Days.ONE)));
+        server.enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_NOT_MODIFIED));
+
+        HttpResourceResponse<Document> first = client.execute(new Request(server.url("/doc")));
+        HttpResourceResponse<Document> second = client.execute(new Request(server.url("/doc")));
+
+        Assert.assertNull(server.takeRequest().getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+        RecordedRequest conditional = server.takeRequest();
+        Assert.assertEquals(HttpHeaders.parseDateTime(conditional.getHeader(HttpHeaders.IF_MODIFIED_SINCE)),
+                HttpHeaders.parseDateTime(LAST_MODIFIED));
+
+        Assert.assertTrue(second.hasDocument());
+        Assert.assertEquals(second.document, first.document);
+        Assert.assertEquals(second.lastModified, first.lastModified);
+        Assert.assertEquals(client.getMissCount(), 1);
+        Assert.assertEquals(client.getRevalidationCount(), 1);
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        DateTime expires = DateTime.now().plus(Days.ONE);
+        server.enqueue(createResponse(expires));
+        server.enqueue(createResponse(expires));
+        server.enqueue(createResponse(expires));
+        server.enqueue(createResponse(expires));
+
+        client.execute(new Request(server.url("/first")));
+        client.execute(new Request(server.url("/second")));
+        client.execute(new Request(server.url("/third")));
+        client.execute(new Request(server.url("/first")));
+
+        Assert.assertEquals(server.getRequestCount(), 4);
+        Assert.assertEquals(client.getMissCount(), 4);
+        Assert.assertEquals(client.getHitCount(), 0);
+    }
+
+    private static MockResponse createResponse(DateTime expires) {
+        return new MockResponse()
+                .addHeader(HttpHeaders.CONTENT_TYPE, MimeTypes.Application.JSON)
+                .addHeader(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED)
+                .addHeader(HttpHeaders.EXPIRES, HttpHeaders.formatDateTime(expires))
+                .setBody("{\"value\":\"document\"}");
+    }
+
+    static final class Document {
+
+        String value;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Document && value.equals(((Document) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+    }
+
+    static final class Request extends DocumentApiRequest<Document> {
+
+        private final HttpUrl url;
+
+        Request(HttpUrl url) {
+            super(Document.class);
+            this.url = url;
+        }
+
+        @Override
+        protected String requestUrlBase(HostsProvider hostsProvider) {
+            return url.toString();
+        }
+    }
+}
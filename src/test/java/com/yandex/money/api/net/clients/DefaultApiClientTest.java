@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.net.clients;
+
+import com.google.gson.JsonObject;
+import com.yandex.money.api.net.BaseApiRequest;
+import com.yandex.money.api.net.HttpClientResponse;
+import com.yandex.money.api.net.providers.HostsProvider;
+import com.yandex.money.api.util.HttpHeaders;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+import static org.testng.Assert.assertEquals;
+
+public class DefaultApiClientTest {
+
+    private MockWebServer server;
+    private DefaultApiClient client;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        client = new DefaultApiClient.Builder()
+                .setClientId("clientId")
+                .create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testParametersBody() throws Exception {
+        Request request = new Request(server.url("/form"));
+        request.putParameter("pattern_id", "p2p");
+        request.putParameter("message", "перевод & спасибо");
+
+        assertBody(request);
+    }
+
+    @Test
+    public void testJsonBody() throws Exception {
+        JsonObject json = new JsonObject();
+        json.addProperty("title", "«Заказ» <1>");
+        json.addProperty("amount", 10.5);
+
+        Request request = new Request(server.url("/json"));
+        request.putBody(json);
+
+        assertBody(request);
+    }
+
+    @Test
+    public void testBytesBody() throws Exception {
+        Request request = new Request(server.url("/bytes"));
+        request.putBody(new byte[] { 1, 2, 3 });
+
+        assertBody(request);
+    }
+
+    private void assertBody(Request request) throws Exception {
+        server.enqueue(new MockResponse());
+        client.execute(request);
+
+        RecordedRequest recorded = server.takeRequest();
+        byte[] expected = request.getBody();
+        assertEquals(recorded.getBody().readByteArray(), expected);
+        assertEquals(recorded.getHeader(HttpHeaders.CONTENT_LENGTH), String.valueOf(expected.length));
+        assertEquals(request.getContentLength(), expected.length);
+    }
+
+    private static final class Request extends BaseApiRequest<Void> {
+
+        private final HttpUrl url;
+
+        Request(HttpUrl url) {
+            this.url = url;
+        }
+
+        @Override
+        public Method getMethod() {
+            return Method.POST;
+        }
+
+        @Override
+        public Void parse(HttpClientResponse response) {
+            return null;
+        }
+
+        void putParameter(String key, String value) {
+            addParameter(key, value);
+        }
+
+        void putBody(JsonObject json) {
+            setBody(json);
+        }
+
+        void putBody(byte[] body) {
+            setBody(body);
+        }
+
+        @Override
+        protected String requestUrlBase(HostsProvider hostsProvider) {
+            return url.toString();
+        }
+    }
+}
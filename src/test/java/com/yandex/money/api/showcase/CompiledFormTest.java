@@ -0,0 +1,197 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.showcase;
+
+import com.yandex.money.api.model.AllowedMoneySource;
+import com.yandex.money.api.model.showcase.CompiledForm;
+import com.yandex.money.api.model.showcase.Showcase;
+import com.yandex.money.api.model.showcase.components.Component;
+import com.yandex.money.api.model.showcase.components.containers.Group;
+import com.yandex.money.api.model.showcase.components.uicontrols.Checkbox;
+import com.yandex.money.api.model.showcase.components.uicontrols.Date;
+import com.yandex.money.api.model.showcase.components.uicontrols.Email;
+import com.yandex.money.api.model.showcase.components.uicontrols.Number;
+import com.yandex.money.api.model.showcase.components.uicontrols.ParameterControl;
+import com.yandex.money.api.model.showcase.components.uicontrols.Select;
+import com.yandex.money.api.model.showcase.components.uicontrols.Text;
+import com.yandex.money.api.time.DateTime;
+
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class CompiledFormTest {
+
+    private static final String[] VALUES = {
+            null, "", "1234", "12a", "user@example.com", "user", "2016-05-01", "2020-01-01", "now", "5", "500",
+            "card", "wallet", "cash", "other", "line\nbreak"
+    };
+
+    @Test
+    public void testSelect() {
+        Showcase showcase = createShowcase();
+        CompiledForm form = new CompiledForm(showcase);
+        Select source = (Select) find(form, "source");
+        Text pan = (Text) find(form, "pan");
+        Select wallet = (Select) find(form, "wallet_type");
+
+        assertFalse(form.isActive(pan));
+        assertFalse(form.isValid());
+
+        form.setValue(find(form, "account"), "1234");
+        form.setValue(find(form, "email"), "user@example.com");
+        form.setChecked((Checkbox) find(form, "agree"), true);
+        form.setValue(source, "card");
+        assertTrue(form.isActive(pan));
+        assertFalse(form.isActive(wallet));
+        assertFalse(form.isValid());
+        assertEquals(form.getPaymentParameters().get("pan"), null);
+        assertTrue(form.getPaymentParameters().containsKey("pan"));
+
+        assertTrue(form.setValue(pan, "4111"));
+        assertTrue(form.isValid());
+        assertEquals(form.getPaymentParameters().get("pan"), "4111");
+
+        form.setValue(source, "wallet");
+        assertFalse(form.isActive(pan));
+        assertFalse(form.getPaymentParameters().containsKey("pan"));
+        assertFalse(form.isValid());
+        assertEquals(form.getPaymentParameters().get("comment"), "hidden");
+
+        form.setValue(source, "cash");
+        assertTrue(form.isValid());
+        assertEquals(form.getPaymentParameters(), showcase.getPaymentParameters());
+    }
+
+    @Test
+    public void testEquivalence() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; ++run) {
+            Showcase showcase = createShowcase();
+            CompiledForm form = new CompiledForm(showcase);
+            List<ParameterControl> controls = form.getControls();
+            for (int i = 0; i < 200; ++i) {
+                ParameterControl control = controls.get(random.nextInt(controls.size()));
+                if (control instanceof Checkbox) {
+                    form.setChecked((Checkbox) control, random.nextBoolean());
+                } else {
+                    form.setValue(control, VALUES[random.nextInt(VALUES.length)]);
+                }
+                assertEquals(form.isValid(), showcase.form.isValid());
+                assertEquals(form.getPaymentParameters(), showcase.getPaymentParameters());
+            }
+        }
+    }
+
+    @Test
+    public void testRefresh() {
+        Showcase showcase = createShowcase();
+        CompiledForm form = new CompiledForm(showcase);
+        find(form, "source").setValue("card");
+        find(form, "pan").setValue("4111");
+        assertFalse(form.getPaymentParameters().containsKey("pan"));
+
+        form.refresh();
+        assertEquals(form.getPaymentParameters(), showcase.getPaymentParameters());
+        assertEquals(form.isValid(), showcase.form.isValid());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testForeignControl() {
+        CompiledForm form = new CompiledForm(createShowcase());
+        form.setValue(find(new CompiledForm(createShowcase()), "account"), "1234");
+    }
+
+    private static ParameterControl find(CompiledForm form, String name) {
+        for (ParameterControl control : form.getControls()) {
+            if (control.name.equals(name)) {
+                return control;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static Showcase createShowcase() {
+        Group walletGroup = createGroup(
+                createSelect("wallet_type", false, new Select.Option("Other", "other", createGroup(
+                        createText("comment", "[a-z]+", false)))),
+                new Number.Builder().setMin(BigDecimal.ONE).setMax(BigDecimal.TEN).setName("count").create());
+        Group cardGroup = createGroup(createText("pan", "[0-9]{4}", true),
+                new Date.Builder().setMin(DateTime.from(2016, 1, 1, 0, 0))
+                        .setName("expiry").setRequired(false).create());
+
+        Map<String, String> hiddenFields = new HashMap<>();
+        hiddenFields.put("comment", "hidden");
+        hiddenFields.put("scid", "5551");
+
+        return new Showcase.Builder()
+                .setTitle("title")
+                .setErrors(Collections.<Showcase.Error>emptyList())
+                .setForm(createGroup(
+                        createText("account", "[0-9]+", true),
+                        new Email.Builder().setName("email").create(),
+                        createSelect("source", true,
+                                new Select.Option("Card", "card", cardGroup),
+                                new Select.Option("Wallet", "wallet", walletGroup),
+                                new Select.Option("Cash", "cash", null)),
+                        new Checkbox.Builder().setName("agree").create()))
+                .setHiddenFields(hiddenFields)
+                .setMoneySources(Collections.<AllowedMoneySource>emptyList())
+                .create();
+    }
+
+    private static Text createText(String name, String pattern, boolean required) {
+        return (Text) new Text.Builder()
+                .setPattern(pattern)
+                .setName(name)
+                .setRequired(required)
+                .create();
+    }
+
+    private static Select createSelect(String name, boolean required, Select.Option... options) {
+        Select.Builder builder = new Select.Builder();
+        for (Select.Option option : options) {
+            builder.addOption(option);
+        }
+        return (Select) builder.setName(name).setRequired(required).create();
+    }
+
+    private static Group createGroup(Component... components) {
+        Group.Builder builder = new Group.Builder();
+        for (Component component : components) {
+            builder.addItem(component);
+        }
+        return builder.create();
+    }
+}
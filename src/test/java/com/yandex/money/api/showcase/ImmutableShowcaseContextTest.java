@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.showcase;
+
+import com.yandex.money.api.Resources;
+import com.yandex.money.api.TestEnvironment;
+import com.yandex.money.api.model.showcase.ImmutableShowcaseContext;
+import com.yandex.money.api.model.showcase.Showcase;
+import com.yandex.money.api.model.showcase.ShowcaseContext;
+import com.yandex.money.api.model.showcase.components.Parameter;
+import com.yandex.money.api.net.clients.ApiClient;
+import com.yandex.money.api.time.DateTime;
+import com.yandex.money.api.typeadapters.model.showcase.ShowcaseTypeAdapter;
+import com.yandex.money.api.util.HttpHeaders;
+import com.yandex.money.api.util.MimeTypes;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ImmutableShowcaseContextTest {
+
+    private static final String SHOWCASE = "/showcase/showcase_bills_novalidation.json";
+
+    @Test
+    public void testTransitions() throws Exception {
+        ShowcaseContext.Step first = createStep("http://example.com/1");
+        ShowcaseContext.Step second = createStep("http://example.com/2");
+        ShowcaseContext.Step third = createStep("http://example.com/3");
+
+        ImmutableShowcaseContext context = new ImmutableShowcaseContext(first, DateTime.now(),
+                ShowcaseContext.State.HAS_NEXT_STEP);
+        ImmutableShowcaseContext secondContext = context.pushStep(second);
+        ImmutableShowcaseContext thirdContext = secondContext.pushStep(third);
+
+        assertEquals(context.getHistorySize(), 0);
+        assertSame(context.getCurrentStep(), first);
+        assertEquals(secondContext.getHistory(), Collections.singletonList(first));
+        assertEquals(thirdContext.getHistory(), Arrays.asList(first, second));
+        assertSame(thirdContext.getCurrentStep(), third);
+
+        ImmutableShowcaseContext popped = thirdContext.popStep();
+        assertEquals(popped, secondContext);
+        assertEquals(popped.hashCode(), secondContext.hashCode());
+        assertEquals(popped.popStep(), context);
+        assertSame(context.popStep(), context);
+        assertNotEquals(thirdContext, secondContext);
+
+        ShowcaseContext mutable = thirdContext.toShowcaseContext();
+        assertEquals(mutable.getHistory(), Arrays.asList(first, second));
+        assertSame(mutable.getCurrentStep(), third);
+        assertEquals(ImmutableShowcaseContext.of(mutable), thirdContext);
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        ShowcaseContext.Step first = createStep("http://example.com/1");
+        ShowcaseContext.Step second = createStep("http://example.com/2");
+        Parameter firstParameter = getParameter(first);
+        Parameter secondParameter = getParameter(second);
+
+        firstParameter.setValue("first");
+        ImmutableShowcaseContext context = new ImmutableShowcaseContext(first, DateTime.now(),
+                ShowcaseContext.State.HAS_NEXT_STEP).pushStep(second);
+        secondParameter.setValue("second");
+        ImmutableShowcaseContext snapshot = context.snapshot();
+        assertEquals(snapshot, context);
+
+        firstParameter.setValue("changed");
+        secondParameter.setValue("changed");
+        assertNotEquals(snapshot, context);
+
+        ImmutableShowcaseContext back = snapshot.popStep();
+        assertEquals(firstParameter.getValue(), "changed");
+        assertEquals(back.restore().getCurrentStep().showcase.getPaymentParameters().get("supplierInn"), "first");
+        assertEquals(firstParameter.getValue(), "first");
+
+        assertEquals(snapshot.restore(), context);
+        assertEquals(secondParameter.getValue(), "second");
+    }
+
+    @Test
+    public void testRequest() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.start();
+        try {
+            String showcase = Resources.load(SHOWCASE);
+            String nextUrl = server.url("/step-2").toString();
+            server.enqueue(createResponse(300, showcase).addHeader(HttpHeaders.LOCATION, nextUrl));
+            server.enqueue(createResponse(400, showcase).addHeader(HttpHeaders.LOCATION, nextUrl));
+            server.enqueue(createResponse(200, "{\"params\":{\"sum\":\"100\"}}"));
+
+            ApiClient client = TestEnvironment.createClient();
+            ImmutableShowcaseContext context = new ImmutableShowcaseContext(
+                    createStep(server.url("/step-1").toString()), DateTime.now(), ShowcaseContext.State.HAS_NEXT_STEP);
+
+            ImmutableShowcaseContext next = client.execute(context.createRequest());
+            assertEquals(next.getState(), ShowcaseContext.State.HAS_NEXT_STEP);
+            assertEquals(next.getHistory(), Collections.singletonList(context.getCurrentStep()));
+            assertEquals(next.getCurrentStep().submitUrl, nextUrl);
+
+            ImmutableShowcaseContext invalid = client.execute(next.createRequest());
+            assertEquals(invalid.getState(), ShowcaseContext.State.INVALID_PARAMS);
+            assertEquals(invalid.getHistorySize(), 1);
+
+            ImmutableShowcaseContext completed = client.execute(invalid.createRequest());
+            assertEquals(completed.getState(), ShowcaseContext.State.COMPLETED);
+            assertEquals(completed.getParams(), Collections.singletonMap("sum", "100"));
+
+            ImmutableShowcaseContext back = completed.popStep();
+            assertTrue(back.getParams().isEmpty());
+            assertEquals(back.getState(), ShowcaseContext.State.HAS_NEXT_STEP);
+
+            assertEquals(context.getState(), ShowcaseContext.State.HAS_NEXT_STEP);
+            assertEquals(context.getHistorySize(), 0);
+            assertEquals(next.getState(), ShowcaseContext.State.HAS_NEXT_STEP);
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private static ShowcaseContext.Step createStep(String submitUrl) throws Exception {
+        Showcase showcase = ShowcaseTypeAdapter.getInstance().fromJson(Resources.load(SHOWCASE));
+        return new ShowcaseContext.Step(showcase, submitUrl);
+    }
+
+    private static Parameter getParameter(ShowcaseContext.Step step) {
+        return (Parameter) step.showcase.form.items.get(0);
+    }
+
+    private static MockResponse createResponse(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .addHeader(HttpHeaders.CONTENT_TYPE, MimeTypes.Application.JSON)
+                .setBody(body);
+    }
+}
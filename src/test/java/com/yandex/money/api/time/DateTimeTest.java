@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import java.text.ParseException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
 
@@ -173,6 +174,114 @@ public class DateTimeTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void testPlusPinsDayOfMonth() {
+        TimeZone timeZone = TimeZone.getTimeZone("GMT");
+        DateTime origin = DateTime.from(2016, Calendar.JANUARY, 31, 12, 0, timeZone);
+        assertEquals(origin.plus(Months.ONE), DateTime.from(2016, Calendar.FEBRUARY, 29, 12, 0, timeZone));
+        assertEquals(origin.plus(new Period(1, 1, 0)), DateTime.from(2017, Calendar.FEBRUARY, 28, 12, 0, timeZone));
+
+        DateTime leapDay = DateTime.from(2016, Calendar.FEBRUARY, 29, 12, 0, timeZone);
+        assertEquals(leapDay.plus(new Period(1, 1, 0)), DateTime.from(2017, Calendar.MARCH, 28, 12, 0, timeZone));
+    }
+
+    @Test
+    public void testArithmeticAcrossDaylightSavingTime() {
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        // 2018-03-11 02:30 does not exist, 2018-11-04 01:30 happens twice
+        DateTime[] origins = {
+                DateTime.from(2018, Calendar.MARCH, 10, 2, 30, timeZone),
+                DateTime.from(2018, Calendar.NOVEMBER, 3, 1, 30, timeZone),
+                DateTime.from(2018, Calendar.FEBRUARY, 11, 2, 30, timeZone),
+                DateTime.from(2018, Calendar.OCTOBER, 4, 1, 30, timeZone)
+        };
+        SingleFieldPeriod[] periods = { Hours.ONE, Days.ONE, Weeks.ONE, Months.ONE, Years.ONE };
+        for (DateTime origin : origins) {
+            for (SingleFieldPeriod period : periods) {
+                for (int multiplier : new int[] { 1, -1 }) {
+                    Calendar calendar = origin.toCalendar();
+                    //noinspection MagicConstant
+                    calendar.add(period.getField(), multiplier * period.getAmount());
+                    DateTime actual = multiplier > 0 ? origin.plus(period) : origin.minus(period);
+                    assertEquals(actual.getMillis(), calendar.getTimeInMillis(), origin + " " + period);
+                }
+            }
+
+            Calendar calendar = origin.toCalendar();
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            assertEquals(origin.withTimeAtStartOfDay().getMillis(), calendar.getTimeInMillis());
+        }
+    }
+
+    @Test
+    public void testFieldsMatchCalendar() {
+        TimeZone timeZone = TimeZone.getTimeZone("Europe/Moscow");
+        long millis = -TimeUnit.DAYS.toMillis(365 * 80);
+        for (int i = 0; i < 1000; ++i) {
+            millis += TimeUnit.HOURS.toMillis(1753) + 12345;
+            DateTime dateTime = DateTime.from(millis, timeZone);
+            Calendar calendar = dateTime.toCalendar();
+            assertEquals(dateTime.getYear(), calendar.get(Calendar.YEAR));
+            assertEquals(dateTime.getMonth(), calendar.get(Calendar.MONTH));
+            assertEquals(dateTime.getDayOfMonth(), calendar.get(Calendar.DAY_OF_MONTH));
+            assertEquals(dateTime.getHourOfDay(), calendar.get(Calendar.HOUR_OF_DAY));
+            assertEquals(dateTime.getMinute(), calendar.get(Calendar.MINUTE));
+            assertEquals(dateTime.getSecond(), calendar.get(Calendar.SECOND));
+            assertEquals(dateTime.getMillisecond(), calendar.get(Calendar.MILLISECOND));
+        }
+    }
+
+    @Test
+    public void testJulianCalendar() {
+        TimeZone timeZone = TimeZone.getTimeZone("GMT");
+        // Gregorian 1494-09-02 is Julian 1494-08-24
+        DateTime dateTime = DateTime.from(1494, Calendar.AUGUST, 24, 0, 0, timeZone);
+        assertEquals(dateTime.getMillis(), Chronology.daysFromCivil(1494, 9, 2) * Chronology.MILLIS_PER_DAY);
+        assertEquals(dateTime.getMonth(), Calendar.AUGUST);
+        assertEquals(dateTime.getDayOfMonth(), 24);
+
+        DateTime cutover = DateTime.from(Chronology.GREGORIAN_CUTOVER_DAYS * Chronology.MILLIS_PER_DAY, timeZone);
+        assertEquals(cutover.getDayOfMonth(), 15);
+        assertEquals(cutover.minus(Days.ONE).getDayOfMonth(), 4);
+        assertEquals(cutover.minus(Months.ONE), DateTime.from(1582, Calendar.SEPTEMBER, 15, 0, 0, timeZone));
+
+        // years before 1 AD are years of BC era like in Calendar
+        DateTime bc = DateTime.from(Chronology.daysFromCivil(-1, 6, 1) * Chronology.MILLIS_PER_DAY, timeZone);
+        assertEquals(bc.getYear(), 2);
+        assertEquals(bc.toCalendar().get(Calendar.ERA), GregorianCalendar.BC);
+    }
+
+    @Test
+    public void testJulianFieldsAndArithmeticMatchCalendar() {
+        TimeZone[] timeZones = { TimeZone.getTimeZone("GMT"), TimeZone.getTimeZone("Europe/Moscow") };
+        SingleFieldPeriod[] periods = { Days.ONE, Weeks.ONE, Months.ONE, Years.ONE };
+        for (TimeZone timeZone : timeZones) {
+            long millis = (Chronology.GREGORIAN_CUTOVER_DAYS - 365 * 2100) * Chronology.MILLIS_PER_DAY;
+            for (int i = 0; i < 1000; ++i) {
+                millis += TimeUnit.DAYS.toMillis(771) + 12345;
+                DateTime dateTime = DateTime.from(millis, timeZone);
+                Calendar calendar = dateTime.toCalendar();
+                assertEquals(dateTime.getYear(), calendar.get(Calendar.YEAR));
+                assertEquals(dateTime.getMonth(), calendar.get(Calendar.MONTH));
+                assertEquals(dateTime.getDayOfMonth(), calendar.get(Calendar.DAY_OF_MONTH));
+                assertEquals(dateTime.getHourOfDay(), calendar.get(Calendar.HOUR_OF_DAY));
+                for (SingleFieldPeriod period : periods) {
+                    calendar = dateTime.toCalendar();
+                    //noinspection MagicConstant
+                    calendar.add(period.getField(), period.getAmount());
+                    assertEquals(dateTime.plus(period).getMillis(), calendar.getTimeInMillis(),
+                            dateTime + " " + period);
+                }
+                calendar = dateTime.toCalendar();
+                calendar.add(Calendar.YEAR, 1);
+                calendar.add(Calendar.MONTH, 1);
+                calendar.add(Calendar.DAY_OF_YEAR, 1);
+                assertEquals(dateTime.plus(new Period(1, 1, 1)).getMillis(), calendar.getTimeInMillis());
+            }
+        }
+    }
+
     @Test
     public void testWithTimeAtStartOfDay() {
         DateTime now = DateTime.from(System.currentTimeMillis(), TimeZone.getTimeZone("GMT"));
@@ -0,0 +1,120 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.time;
+
+import com.google.gson.internal.bind.util.ISO8601Utils;
+
+import org.testng.annotations.Test;
+
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class Iso8601FormatTest {
+
+    @Test
+    public void testParsing() throws ParseException {
+        long millis = 784887120123L; // 1994-11-15T08:12:00.123Z
+        assertParsed("1994-11-15T08:12:00.123Z", millis, "GMT");
+        assertParsed("1994-11-15T08:12:00.123+00:00", millis, "GMT");
+        assertParsed("1994-11-15T11:12:00.123+03:00", millis, "GMT+03:00");
+        assertParsed("1994-11-15T11:12:00.123+0300", millis, "GMT+03:00");
+        assertParsed("1994-11-15T11:12:00.123+03", millis, "GMT+03:00");
+        assertParsed("1994-11-15T03:42:00.123-04:30", millis, "GMT-04:30");
+        assertParsed("19941115T081200.123Z", millis, "GMT");
+        assertParsed("1994-11-15T08:12:00.123456Z", millis, "GMT");
+        assertParsed("1994-11-15T08:12:00.12Z", millis - 3, "GMT");
+        assertParsed("1994-11-15T08:12:00.1Z", millis - 23, "GMT");
+        assertParsed("1994-11-15T08:12:00Z", millis - 123, "GMT");
+        assertParsed("1994-11-15T08:12Z", millis - 123, "GMT");
+        assertParsed("1994-11-15T08:12:60Z", millis - 123 + 59000, "GMT");
+    }
+
+    @Test
+    public void testFormatting() throws ParseException {
+        String[] values = {
+                "1994-11-15T08:12:00.123Z",
+                "1994-11-15T11:12:00.123+03:00",
+                "1994-11-15T03:42:00.000-04:30",
+                "1969-12-31T23:59:59.999Z",
+                "0001-01-01T00:00:00.000Z"
+        };
+        for (String value : values) {
+            assertEquals(Iso8601Format.format(Iso8601Format.parse(value)), value);
+        }
+
+        DateTime dateTime = DateTime.from(784887120123L, TimeZone.getTimeZone("Europe/Moscow"));
+        assertEquals(Iso8601Format.format(dateTime), "1994-11-15T11:12:00.123+03:00");
+    }
+
+    @Test
+    public void testJulianCalendar() throws ParseException {
+        DateTime julian = Iso8601Format.parse("1494-08-24T00:00:00.000Z");
+        assertEquals(julian.getMillis(), Chronology.daysFromCivil(1494, 9, 2) * Chronology.MILLIS_PER_DAY);
+        assertEquals(Iso8601Format.format(julian), "1494-08-24T00:00:00.000Z");
+
+        TimeZone timeZone = TimeZone.getTimeZone("GMT+03:00");
+        long millis = (Chronology.GREGORIAN_CUTOVER_DAYS - 365 * 1600) * Chronology.MILLIS_PER_DAY;
+        for (int i = 0; i < 1000; ++i) {
+            millis += TimeUnit.DAYS.toMillis(617) + 12345;
+            DateTime dateTime = DateTime.from(millis, timeZone);
+            String expected = ISO8601Utils.format(new Date(millis), true, timeZone);
+            assertEquals(Iso8601Format.format(dateTime), expected);
+            if (dateTime.toCalendar().get(Calendar.ERA) == GregorianCalendar.AD) {
+                assertEquals(Iso8601Format.parse(expected).getMillis(), millis, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testTimeZonesAreInterned() throws ParseException {
+        int offset = (int) TimeUnit.HOURS.toMillis(3);
+        assertSame(Iso8601Format.getTimeZone(offset), Iso8601Format.getTimeZone(offset));
+        assertEquals(Iso8601Format.getTimeZone(offset).getID(), "GMT+03:00");
+        assertEquals(Iso8601Format.getTimeZone(-offset).getID(), "GMT-03:00");
+    }
+
+    @Test(expectedExceptions = ParseException.class)
+    public void testNoTimeZone() throws ParseException {
+        Iso8601Format.parse("1994-11-15T08:12:00");
+    }
+
+    @Test(expectedExceptions = ParseException.class)
+    public void testInvalidOffset() throws ParseException {
+        Iso8601Format.parse("1994-11-15T08:12:00+3");
+    }
+
+    private static void assertParsed(String value, long millis, String timeZoneId) throws ParseException {
+        DateTime dateTime = Iso8601Format.parse(value);
+        assertEquals(dateTime.getMillis(), millis, value);
+        assertEquals(dateTime.getTimeZone().getID(), timeZoneId, value);
+    }
+}
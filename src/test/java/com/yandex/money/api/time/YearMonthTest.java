@@ -29,6 +29,7 @@ import org.testng.annotations.Test;
 import java.text.SimpleDateFormat;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
 
 public class YearMonthTest {
 
@@ -69,6 +70,19 @@ public class YearMonthTest {
         new YearMonth(2000, -1);
     }
 
+    @Test
+    public void testIllegalValues() {
+        String[] values = { "", "2000", "2000-1", "2000-001", "2000/01", "20a0-01", "2000-0b", "2000-13" };
+        for (String value : values) {
+            try {
+                YearMonth.parse(value);
+                fail(value);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
     private void testParsing(int year, int month) {
         assertEquals(YearMonth.parse(String.format("%04d-%02d", year, month)), new YearMonth(year, month));
     }
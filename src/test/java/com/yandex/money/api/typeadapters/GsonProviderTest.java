@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 NBCO Yandex.Money LLC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.yandex.money.api.typeadapters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class GsonProviderTest {
+
+    @Test
+    public void testRegistrationOfUnusedType() {
+        Gson gson = GsonProvider.getGson();
+        GsonProvider.registerTypeAdapter(Unused.class, new ValueSerializer<>(Unused.class));
+
+        assertSame(GsonProvider.getGson(), gson);
+        assertEquals(gson.toJson(new Unused("a")), "\"a\"");
+        assertEquals(gson.fromJson("\"b\"", Unused.class).value, "b");
+    }
+
+    @Test
+    public void testRegistrationOfUsedType() {
+        Gson gson = GsonProvider.getGson();
+        assertEquals(gson.toJson(new Used("a")), "{\"value\":\"a\"}");
+
+        GsonProvider.registerTypeAdapter(Used.class, new ValueSerializer<>(Used.class));
+
+        Gson rebuilt = GsonProvider.getGson();
+        assertNotSame(rebuilt, gson);
+        assertEquals(rebuilt.toJson(new Used("a")), "\"a\"");
+        assertEquals(rebuilt.fromJson("\"b\"", Used.class).value, "b");
+    }
+
+    @Test
+    public void testConcurrentRegistrations() throws Exception {
+        final int count = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                final boolean register = i % 2 == 0;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        if (register) {
+                            GsonProvider.registerTypeAdapter(Concurrent.class,
+                                    new ValueSerializer<>(Concurrent.class));
+                        }
+                        return GsonProvider.getGson().toJson(new Concurrent("a"));
+                    }
+                }));
+            }
+            for (Future<String> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(GsonProvider.getGson().toJson(new Concurrent("a")), "\"a\"");
+    }
+
+    private static class Value {
+
+        final String value;
+
+        Value(String value) {
+            this.value = value;
+        }
+    }
+
+    private static final class Unused extends Value {
+        Unused(String value) {
+            super(value);
+        }
+    }
+
+    private static final class Used extends Value {
+        Used(String value) {
+            super(value);
+        }
+    }
+
+    private static final class Concurrent extends Value {
+        Concurrent(String value) {
+            super(value);
+        }
+    }
+
+    private static final class ValueSerializer<T extends Value> implements JsonSerializer<T>, JsonDeserializer<T> {
+
+        private final Class<T> type;
+
+        ValueSerializer(Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public JsonElement serialize(T src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(src.value);
+        }
+
+        @Override
+        public T deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
+            try {
+                return type.getDeclaredConstructor(String.class).newInstance(json.getAsString());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
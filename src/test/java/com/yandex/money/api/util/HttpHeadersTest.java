@@ -27,10 +27,20 @@ package com.yandex.money.api.util;
 import com.yandex.money.api.time.DateTime;
 import org.testng.annotations.Test;
 
+import java.text.DateFormat;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Random;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.testng.Assert.assertEquals;
 
@@ -41,7 +51,7 @@ public class HttpHeadersTest {
         testData.put("Tue, 15 Nov 1994 08:12:00 GMT", value);
 
         value = DateTime.from(784876320000L, TimeZone.getTimeZone("Europe/Moscow"));
-        testData.put("Tue, 15 Nov 1994 08:12:00 MSK", value);
+        testData.put("Tue, 15 Nov 1994 08:12:00 +0300", value);
     }
 
     @Test
@@ -51,10 +61,92 @@ public class HttpHeadersTest {
         }
     }
 
+    @Test
+    public void testObsoleteFormats() throws ParseException {
+        long expected = 784887120000L;
+        String[] values = {
+                "Tue, 15 Nov 1994 08:12:00 UTC",
+                "Tue, 15 Nov 1994 08:12:00 UT",
+                "Tue, 15 Nov 1994 03:42:00 -0430",
+                "Tuesday, 15-Nov-94 08:12:00 GMT",
+                "Tue Nov 15 08:12:00 1994"
+        };
+        for (String value : values) {
+            assertEquals(HttpHeaders.parseDateTime(value).getMillis(), expected, value);
+        }
+    }
+
+    @Test(expectedExceptions = ParseException.class)
+    public void testInvalidDate() throws ParseException {
+        HttpHeaders.parseDateTime("15 Nov 1994");
+    }
+
     @Test
     public void testFormatter() {
-        for (Map.Entry<String, DateTime> entry : testData.entrySet()) {
-            assertEquals(HttpHeaders.formatDateTime(entry.getValue()), entry.getKey());
+        assertEquals(HttpHeaders.formatDateTime(testData.get("Tue, 15 Nov 1994 08:12:00 GMT")),
+                "Tue, 15 Nov 1994 08:12:00 GMT");
+        // HTTP dates are always in GMT
+        assertEquals(HttpHeaders.formatDateTime(testData.get("Tue, 15 Nov 1994 08:12:00 +0300")),
+                "Tue, 15 Nov 1994 05:12:00 GMT");
+        assertEquals(HttpHeaders.formatDateTime(DateTime.from(-1L, TimeZone.getTimeZone("UTC"))),
+                "Wed, 31 Dec 1969 23:59:59 GMT");
+    }
+
+    @Test
+    public void testAgainstSimpleDateFormat() throws ParseException {
+        DateFormat format = createReferenceFormat();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; ++i) {
+            assertRoundTrip(format, randomMillis(random));
         }
     }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                final long seed = i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        DateFormat format = createReferenceFormat();
+                        Random random = new Random(seed);
+                        long millis = randomMillis(random);
+                        for (int j = 0; j < 20000; ++j) {
+                            // alternate between close and distant instants to hit the cache and to replace it
+                            millis = random.nextBoolean() ? millis + random.nextInt(2000) : randomMillis(random);
+                            assertRoundTrip(format, millis);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertRoundTrip(DateFormat format, long millis) throws ParseException {
+        String expected = format.format(new java.util.Date(millis));
+        String actual = HttpHeaders.formatDateTime(DateTime.from(millis));
+        assertEquals(actual, expected);
+        assertEquals(HttpHeaders.parseDateTime(actual).getMillis(), millis - ((millis % 1000 + 1000) % 1000));
+    }
+
+    private static DateFormat createReferenceFormat() {
+        DateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    private static long randomMillis(Random random) {
+        // from 1900 to 2100
+        return -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+    }
 }